@@ -17,7 +17,11 @@ package de.thkwalter.et.ortskurve;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.lang.reflect.Field;
 
@@ -25,6 +29,8 @@ import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
 import org.junit.Before;
 import org.junit.Test;
 
+import de.thkwalter.jsf.ApplicationRuntimeException;
+
 /**
  * Diese Klasse enthält Tests für die Klasse {@link Ausgleichsproblem}.
  * 
@@ -83,11 +89,11 @@ public void testAusgleichsproblem() throws NoSuchFieldException, SecurityExcepti
    // Die in den verschiedenen Betriebspunkten gemessenen Stromstärken (in A) im Format (-Im I1, Re I1) werden gelesen.
    Field feld = Ausgleichsproblem.class.getDeclaredField("messpunkte");
    feld.setAccessible(true);
-   Vector2D[] messpunkte = (Vector2D[]) feld.get(this.ausgleichsproblem);
+   MessreiheAnsicht messpunkte = (MessreiheAnsicht) feld.get(this.ausgleichsproblem);
    
    // Es wird überprüft, ob die in den verschiedenen Betriebspunkten gemessenen Stromstärken (in A) im Format 
    // (-Im I1, Re I1) korrekt initialisiert worden sind.
-   assertArrayEquals(this.testMesspunkte, messpunkte);
+   assertArrayEquals(this.testMesspunkte, messpunkte.toVector2D());
    
    // Die Gewichte in der Ausgleichsrechnung werden gelesen.
    feld = Ausgleichsproblem.class.getDeclaredField("gewichte");
@@ -134,6 +140,7 @@ public void testAusgleichsproblemLoesen1()
    assertEquals(2.0, ortskurve.getMittelpunktOrtskurve().getX(), 2.0/1000);
    assertEquals(0.0, ortskurve.getMittelpunktOrtskurve().getY(), 2.0/1000);
    assertEquals(1.0, ortskurve.getRadiusOrtskurve(), 1.0/1000);
+   assertTrue(this.ausgleichsproblem.getLoesungsstatistik().isKonvergiert());
    }
 
 // =====================================================================================================================
@@ -167,5 +174,419 @@ public void testAusgleichsproblemLoesen2()
    assertEquals(1.064, ortskurve.getRadiusOrtskurve(), 1.064/1000);
    
    
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test der Methode {@link Ausgleichsproblem#ausgleichsproblemLoesen(double[], Ausgleichsproblemtyp, 
+ * Loesungsverfahren)} für das Gauß-Newton-Verfahren der Bibliothek Apache Commons Math.
+ */
+@Test
+public void testAusgleichsproblemLoesen3()
+   {
+   // Der in diesem Test verwendete Startpunkt wird erzeugt.
+   double[] testStartpunkt = new double[]{1.7, 0.3, 1.3};
+   
+   // Die zu testende Methode wird aufgerufen.
+   Ortskurve ortskurve = this.ausgleichsproblem.ausgleichsproblemLoesen(testStartpunkt,
+      Ausgleichsproblemtyp.ORTSKURVE_3d, Loesungsverfahren.GAUSS_NEWTON);
+   
+   // Es wird überprüft, ob die Ortskurve korrekt berechnet worden ist.
+   assertNotNull(ortskurve);
+   assertEquals(2.0, ortskurve.getMittelpunktOrtskurve().getX(), 2.0/1000);
+   assertEquals(0.0, ortskurve.getMittelpunktOrtskurve().getY(), 2.0/1000);
+   assertEquals(1.0, ortskurve.getRadiusOrtskurve(), 1.0/1000);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test der Methode {@link Ausgleichsproblem#ausgleichsproblemLoesen(double[], Ausgleichsproblemtyp)} für das 
+ * 3d-Ausgleichsproblem. Als Standardverfahren muss das Levenberg-Marquardt-Verfahren verwendet werden; seine 
+ * Kenngrößen müssen gespeichert werden.
+ */
+@Test
+public void testAusgleichsproblemLoesen4()
+   {
+   // Vor der Lösung des Ausgleichsproblems liegen keine Kenngrößen vor.
+   assertNull(this.ausgleichsproblem.getLoesungsstatistik());
+   
+   // Die zu testende Methode wird aufgerufen.
+   Ortskurve ortskurve = this.ausgleichsproblem.ausgleichsproblemLoesen(new double[]{1.7, 0.3, 1.3},
+      Ausgleichsproblemtyp.ORTSKURVE_3d);
+   
+   // Es wird überprüft, ob die Ortskurve korrekt berechnet worden ist.
+   assertEquals(2.0, ortskurve.getMittelpunktOrtskurve().getX(), 2.0/1000);
+   assertEquals(0.0, ortskurve.getMittelpunktOrtskurve().getY(), 2.0/1000);
+   assertEquals(1.0, ortskurve.getRadiusOrtskurve(), 1.0/1000);
+   
+   // Es wird überprüft, ob die Kenngrößen der Lösung korrekt gespeichert worden sind.
+   Loesungsstatistik loesungsstatistik = this.ausgleichsproblem.getLoesungsstatistik();
+   assertEquals(Loesungsverfahren.LEVENBERG_MARQUARDT, loesungsstatistik.getLoesungsverfahren());
+   assertTrue(loesungsstatistik.getAnzahlIterationen() > 0);
+   assertTrue(loesungsstatistik.getAnzahlAuswertungen() >= loesungsstatistik.getAnzahlIterationen());
+   assertTrue(loesungsstatistik.getAnzahlAuswertungen() < 200);
+   
+   // Die Messpunkte liegen um 0,1 innerhalb bzw. außerhalb des Kreises.
+   assertEquals(0.1, loesungsstatistik.getRmsResiduum(), 1E-3);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test der Methode {@link Ausgleichsproblem#ausgleichsproblemLoesen(double[], Ausgleichsproblemtyp)} für das 
+ * 2d-Ausgleichsproblem. Als Standardverfahren muss das Gauß-Newton-Verfahren mit direkt aufsummierten 
+ * Normalgleichungen verwendet werden.
+ */
+@Test
+public void testAusgleichsproblemLoesen5()
+   {
+   // Die zu testende Methode wird aufgerufen.
+   this.ausgleichsproblem.ausgleichsproblemLoesen(new double[]{1.8, 1}, Ausgleichsproblemtyp.ORTSKURVE_2d);
+   
+   // Es wird überprüft, ob die Kenngrößen der Lösung korrekt gespeichert worden sind.
+   Loesungsstatistik loesungsstatistik = this.ausgleichsproblem.getLoesungsstatistik();
+   assertEquals(Loesungsverfahren.GAUSS_NEWTON_NORMALGLEICHUNGEN, loesungsstatistik.getLoesungsverfahren());
+   assertEquals(loesungsstatistik.getAnzahlIterationen(), loesungsstatistik.getAnzahlAuswertungen());
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test der Methode {@link Ausgleichsproblem#ausgleichsproblemLoesen(double[], Ausgleichsproblemtyp, 
+ * Loesungsverfahren)} für das algebraische Lösungsverfahren.
+ */
+@Test
+public void testAusgleichsproblemLoesen6()
+   {
+   // Die Messpunkte werden mit kleinen Störungen auf einem Kreis erzeugt.
+   this.testMesspunkte = new Vector2D[20];
+   for (int i = 0; i < this.testMesspunkte.length; i++)
+      {
+      double radius = 2.0 + 0.001 * Math.sin(5.0 * i);
+      this.testMesspunkte[i] = new Vector2D(3.0 + radius * Math.cos(0.3 * i), 1.0 + radius * Math.sin(0.3 * i));
+      }
+   this.ausgleichsproblem = new Ausgleichsproblem(this.testMesspunkte);
+   
+   // Die zu testende Methode wird aufgerufen. Der Startpunkt wird nicht benötigt.
+   Ortskurve ortskurve = this.ausgleichsproblem.ausgleichsproblemLoesen(new double[]{0.0, 0.0, 1.0}, 
+      Ausgleichsproblemtyp.ORTSKURVE_3d, Loesungsverfahren.ALGEBRAISCH);
+   
+   // Es wird überprüft, ob der algebraische Kreis ohne Iteration übernommen worden ist.
+   assertEquals(3.0, ortskurve.getMittelpunktOrtskurve().getX(), 1E-3);
+   assertEquals(1.0, ortskurve.getMittelpunktOrtskurve().getY(), 1E-3);
+   assertEquals(2.0, ortskurve.getRadiusOrtskurve(), 1E-3);
+   assertEquals(Loesungsverfahren.ALGEBRAISCH, this.ausgleichsproblem.getLoesungsstatistik().getLoesungsverfahren());
+   assertEquals(0, this.ausgleichsproblem.getLoesungsstatistik().getAnzahlIterationen());
+   
+   // Bei einer strengeren Toleranz wird das Ausgleichsproblem zusätzlich iterativ gelöst.
+   this.ausgleichsproblem.setAlgebraischeToleranz(1E-6);
+   this.ausgleichsproblem.ausgleichsproblemLoesen(new double[]{0.0, 0.0, 1.0}, Ausgleichsproblemtyp.ORTSKURVE_3d, 
+      Loesungsverfahren.ALGEBRAISCH);
+   assertEquals(Loesungsverfahren.LEVENBERG_MARQUARDT, 
+      this.ausgleichsproblem.getLoesungsstatistik().getLoesungsverfahren());
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test der Methode {@link Ausgleichsproblem#ausgleichsproblemLoesen(double[], Ausgleichsproblemtyp, 
+ * Loesungsverfahren)} für das algebraische Lösungsverfahren beim 2d-Ausgleichsproblem. Da die Messpunkte nicht auf 
+ * einem Kreis mit Mittelpunkt auf der x-Achse liegen, wird der geschlossen berechnete Kreis als Startpunkt verwendet.
+ */
+@Test
+public void testAusgleichsproblemLoesen7()
+   {
+   // Die in den Tests verwendeten Stromstärken (in A) im Format (-Im I1, Re I1) werden erzeugt.
+   this.testMesspunkte = new Vector2D[]{new Vector2D(1.1, -0.5), new Vector2D(2.0, 0.6), new Vector2D(2.9, -0.5), 
+      new Vector2D(2.0, -1.6)};
+   this.ausgleichsproblem = new Ausgleichsproblem(this.testMesspunkte);
+   
+   // Die zu testende Methode wird aufgerufen.
+   Ortskurve ortskurve = this.ausgleichsproblem.ausgleichsproblemLoesen(new double[]{0.0, 1.0},
+      Ausgleichsproblemtyp.ORTSKURVE_2d, Loesungsverfahren.ALGEBRAISCH);
+   
+   // Es wird überprüft, ob die Ortskurve korrekt berechnet worden ist.
+   assertEquals(2.0, ortskurve.getMittelpunktOrtskurve().getX(), 2.0/1000);
+   assertEquals(0.0, ortskurve.getMittelpunktOrtskurve().getY(), 0.0);
+   assertEquals(1.064, ortskurve.getRadiusOrtskurve(), 1.064/1000);
+   
+   // Ausgehend vom geschlossen berechneten Kreis werden nur wenige Iterationsschritte benötigt.
+   Loesungsstatistik loesungsstatistik = this.ausgleichsproblem.getLoesungsstatistik();
+   assertEquals(Loesungsverfahren.GAUSS_NEWTON_NORMALGLEICHUNGEN, loesungsstatistik.getLoesungsverfahren());
+   assertTrue(loesungsstatistik.getAnzahlIterationen() <= 3);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test der Methode {@link Ausgleichsproblem#ausgleichsproblemLoesen(double[], Ausgleichsproblemtyp, 
+ * Loesungsverfahren)} für das robuste Lösungsverfahren nach Tukey. Einer der Messpunkte ist eine Fehlmessung, die fast
+ * mit dem Kreismittelpunkt identisch ist.
+ */
+@Test
+public void testAusgleichsproblemLoesen8()
+   {
+   // Die Messpunkte werden auf einem Kreis erzeugt, ein Messpunkt liegt im Kreismittelpunkt.
+   this.testMesspunkte = new Vector2D[12];
+   for (int i = 0; i < this.testMesspunkte.length; i++)
+      {
+      this.testMesspunkte[i] = new Vector2D(3.0 + 2.0 * Math.cos(0.5 * i), 1.0 + 2.0 * Math.sin(0.5 * i));
+      }
+   this.testMesspunkte[5] = new Vector2D(3.001, 1.0);
+   this.ausgleichsproblem = new Ausgleichsproblem(this.testMesspunkte);
+   
+   // Die zu testende Methode wird aufgerufen.
+   Ortskurve ortskurve = this.ausgleichsproblem.ausgleichsproblemLoesen(new double[]{0.0, 0.0, 1.0}, 
+      Ausgleichsproblemtyp.ORTSKURVE_3d, Loesungsverfahren.ROBUST_TUKEY);
+   
+   // Es wird überprüft, ob die Fehlmessung verworfen worden ist.
+   assertEquals(3.0, ortskurve.getMittelpunktOrtskurve().getX(), 1E-6);
+   assertEquals(1.0, ortskurve.getMittelpunktOrtskurve().getY(), 1E-6);
+   assertEquals(2.0, ortskurve.getRadiusOrtskurve(), 1E-6);
+   assertEquals(0.0, this.ausgleichsproblem.getGewichte()[5], 0.0);
+   assertEquals(1.0, this.ausgleichsproblem.getGewichte()[4], 1E-6);
+   assertEquals(Loesungsverfahren.ROBUST_TUKEY, this.ausgleichsproblem.getLoesungsstatistik().getLoesungsverfahren());
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test der Methode {@link Ausgleichsproblem#ausgleichsproblemLoesen(double[], Ausgleichsproblemtyp, 
+ * Loesungsverfahren)} für das robuste Lösungsverfahren nach Tukey mit verrauschten Messpunkten. Der quadratische 
+ * Mittelwert der Residuen ist auf die Summe der Gewichte bezogen, sodass die verworfene Fehlmessung ihn nicht 
+ * verkleinert.
+ */
+@Test
+public void testAusgleichsproblemLoesenRmsGewichtet()
+   {
+   // Die Messpunkte liegen abwechselnd innerhalb und außerhalb eines Kreises, ein Messpunkt liegt im Kreismittelpunkt.
+   this.testMesspunkte = new Vector2D[12];
+   for (int i = 0; i < this.testMesspunkte.length; i++)
+      {
+      double radius = i % 2 == 0 ? 2.05 : 1.95;
+      this.testMesspunkte[i] = new Vector2D(3.0 + radius * Math.cos(0.5 * i), 1.0 + radius * Math.sin(0.5 * i));
+      }
+   this.testMesspunkte[5] = new Vector2D(3.001, 1.0);
+   this.ausgleichsproblem = new Ausgleichsproblem(this.testMesspunkte);
+   
+   // Die zu testende Methode wird aufgerufen.
+   Ortskurve ortskurve = this.ausgleichsproblem.ausgleichsproblemLoesen(new double[]{3.0, 1.0, 2.0}, 
+      Ausgleichsproblemtyp.ORTSKURVE_3d, Loesungsverfahren.ROBUST_TUKEY);
+   
+   // Der gewichtete quadratische Mittelwert der Residuen wird berechnet.
+   double[] gewichte = this.ausgleichsproblem.getGewichte();
+   assertEquals(0.0, gewichte[5], 0.0);
+   double summeQuadrate = 0.0;
+   double summeGewichte = 0.0;
+   for (int i = 0; i < this.testMesspunkte.length; i++)
+      {
+      double residuum = 
+         this.testMesspunkte[i].distance(ortskurve.getMittelpunktOrtskurve()) - ortskurve.getRadiusOrtskurve();
+      summeQuadrate += gewichte[i] * residuum * residuum;
+      summeGewichte += gewichte[i];
+      }
+   
+   // Es wird überprüft, ob der quadratische Mittelwert auf die Summe der Gewichte bezogen ist.
+   double rmsResiduum = this.ausgleichsproblem.getLoesungsstatistik().getRmsResiduum();
+   assertEquals(Math.sqrt(summeQuadrate / summeGewichte), rmsResiduum, 1E-12);
+   assertEquals(0.05, rmsResiduum, 0.01);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test der Methode {@link Ausgleichsproblem#ausgleichsproblemLoesen(double[], Ausgleichsproblemtyp, 
+ * Loesungsverfahren)} für den Fall, dass die Frist bereits abgelaufen ist. Für die Verfahren der Bibliothek Apache 
+ * Commons Math und für das Verfahren mit direkt aufsummierten Normalgleichungen wird statt einer Ausnahme der beste 
+ * bisher ausgewertete Kreis zurückgegeben.
+ */
+@Test
+public void testAusgleichsproblemLoesen9()
+   {
+   double[] testStartpunkt = new double[]{1.7, 0.3, 1.3};
+   this.ausgleichsproblem.setFrist(0L);
+   
+   for (Loesungsverfahren loesungsverfahren : new Loesungsverfahren[]{Loesungsverfahren.LEVENBERG_MARQUARDT, 
+      Loesungsverfahren.GAUSS_NEWTON, Loesungsverfahren.GAUSS_NEWTON_NORMALGLEICHUNGEN})
+      {
+      // Die zu testende Methode wird aufgerufen.
+      Ortskurve ortskurve = this.ausgleichsproblem.ausgleichsproblemLoesen(testStartpunkt, 
+         Ausgleichsproblemtyp.ORTSKURVE_3d, loesungsverfahren);
+      
+      // Es wird überprüft, ob der Startpunkt als nicht konvergierte Lösung zurückgegeben worden ist.
+      assertEquals(1.7, ortskurve.getMittelpunktOrtskurve().getX(), 1E-12);
+      assertEquals(0.3, ortskurve.getMittelpunktOrtskurve().getY(), 1E-12);
+      assertEquals(1.3, ortskurve.getRadiusOrtskurve(), 1E-12);
+      Loesungsstatistik loesungsstatistik = this.ausgleichsproblem.getLoesungsstatistik();
+      assertEquals(loesungsverfahren, loesungsstatistik.getLoesungsverfahren());
+      assertFalse(loesungsstatistik.isKonvergiert());
+      assertEquals(1, loesungsstatistik.getAnzahlAuswertungen());
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test der Methode {@link Ausgleichsproblem#ausgleichsproblemLoesen(double[], Ausgleichsproblemtyp, 
+ * Loesungsverfahren)} für Ströme in der Größenordnung von kA auf einem kurzen Kreisbogen. Dank der Normierung 
+ * konvergieren alle Verfahren mit wenigen Iterationsschritten.
+ */
+@Test
+public void testAusgleichsproblemLoesen10()
+   {
+   // Die Messpunkte werden auf einem Kreisbogen von 20° mit dem Mittelpunkt (20000; 50000) und dem Radius 30000 
+   // erzeugt und leicht verrauscht.
+   this.testMesspunkte = new Vector2D[9];
+   for (int i = 0; i < this.testMesspunkte.length; i++)
+      {
+      double winkel = 1.0 + Math.toRadians(2.5 * i);
+      double radius = 30000.0 + (i % 2 == 0 ? 1.0 : -1.0);
+      this.testMesspunkte[i] = 
+         new Vector2D(20000.0 + radius * Math.cos(winkel), 50000.0 + radius * Math.sin(winkel));
+      }
+   this.ausgleichsproblem = new Ausgleichsproblem(this.testMesspunkte);
+   double[] startpunkt = Startpunktbestimmung.startpunktBerechnen(this.testMesspunkte);
+   
+   for (Loesungsverfahren loesungsverfahren : new Loesungsverfahren[]{Loesungsverfahren.LEVENBERG_MARQUARDT, 
+      Loesungsverfahren.GAUSS_NEWTON, Loesungsverfahren.GAUSS_NEWTON_NORMALGLEICHUNGEN})
+      {
+      // Die zu testende Methode wird aufgerufen.
+      Ortskurve ortskurve = this.ausgleichsproblem.ausgleichsproblemLoesen(startpunkt, 
+         Ausgleichsproblemtyp.ORTSKURVE_3d, loesungsverfahren);
+      
+      // Es wird überprüft, ob die Ortskurve korrekt berechnet worden ist.
+      assertEquals(20000.0, ortskurve.getMittelpunktOrtskurve().getX(), 20.0);
+      assertEquals(50000.0, ortskurve.getMittelpunktOrtskurve().getY(), 50.0);
+      assertEquals(30000.0, ortskurve.getRadiusOrtskurve(), 50.0);
+      assertTrue(this.ausgleichsproblem.getLoesungsstatistik().getRmsResiduum() < 1.5);
+      assertTrue(this.ausgleichsproblem.getLoesungsstatistik().getAnzahlIterationen() <= 10);
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode erzeugt zwölf Messpunkte auf dem Kreis mit dem Mittelpunkt (5; 5) und dem Radius 4 sowie zwei 
+ * Messpunkte (Nr. 4 und Nr. 10) in der Nähe des Mittelpunkts.
+ */
+private void messpunkteNaheMittelpunktErzeugen()
+   {
+   this.testMesspunkte = new Vector2D[14];
+   int j = 0;
+   for (int i = 0; i < this.testMesspunkte.length; i++)
+      {
+      if (i == 3 || i == 9)
+         {
+         this.testMesspunkte[i] = new Vector2D(5.0 + 0.001 * i, 5.0 - 0.001 * i);
+         }
+      else
+         {
+         double winkel = Math.toRadians(30.0 * j++);
+         this.testMesspunkte[i] = new Vector2D(5.0 + 4.0 * Math.cos(winkel), 5.0 + 4.0 * Math.sin(winkel));
+         }
+      }
+   this.ausgleichsproblem = new Ausgleichsproblem(this.testMesspunkte);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test der Methode {@link Ausgleichsproblem#ausgleichsproblemLoesen(double[], Ausgleichsproblemtyp, 
+ * Loesungsverfahren)}, falls Messpunkte fast mit dem Mittelpunkt des Startkreises identisch sind. Alle betroffenen 
+ * Messpunkte werden vor der Iteration auf einmal gemeldet.
+ */
+@Test
+public void testAusgleichsproblemLoesen11()
+   {
+   this.messpunkteNaheMittelpunktErzeugen();
+   
+   for (Loesungsverfahren loesungsverfahren : new Loesungsverfahren[]{Loesungsverfahren.LEVENBERG_MARQUARDT, 
+      Loesungsverfahren.GAUSS_NEWTON_NORMALGLEICHUNGEN})
+      {
+      try
+         {
+         // Die zu testende Methode wird aufgerufen.
+         this.ausgleichsproblem.ausgleichsproblemLoesen(new double[]{5.0, 5.0, 4.0}, Ausgleichsproblemtyp.ORTSKURVE_3d,
+            loesungsverfahren);
+         fail("Die Messpunkte in der Nähe des Mittelpunkts sind nicht gemeldet worden!");
+         }
+      catch (ApplicationRuntimeException e)
+         {
+         // Es wird überprüft, ob beide Messpunkte gemeldet worden sind, bevor eine Iteration durchgeführt worden ist.
+         assertTrue(e.getMessage().contains("Nr. 4") && e.getMessage().contains("Nr. 10"));
+         assertArrayEquals(new int[]{3, 9}, this.ausgleichsproblem.getMesspunkteNaheMittelpunkt());
+         assertNull(this.ausgleichsproblem.getLoesungsstatistik());
+         }
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test der Methode {@link Ausgleichsproblem#ausgleichsproblemLoesen(double[], Ausgleichsproblemtyp, 
+ * Loesungsverfahren)}, falls Messpunkte fast mit dem Mittelpunkt des Startkreises identisch sind und abgewertet 
+ * werden sollen. Die Messpunkte erhalten das Gewicht 0, und der Kreis wird aus den übrigen Messpunkten berechnet.
+ */
+@Test
+public void testAusgleichsproblemLoesen12()
+   {
+   this.messpunkteNaheMittelpunktErzeugen();
+   this.ausgleichsproblem.setMesspunkteNaheMittelpunktAbwerten(true);
+   
+   for (Loesungsverfahren loesungsverfahren : new Loesungsverfahren[]{Loesungsverfahren.LEVENBERG_MARQUARDT, 
+      Loesungsverfahren.GAUSS_NEWTON, Loesungsverfahren.GAUSS_NEWTON_NORMALGLEICHUNGEN})
+      {
+      // Die zu testende Methode wird aufgerufen.
+      Ortskurve ortskurve = this.ausgleichsproblem.ausgleichsproblemLoesen(new double[]{5.01, 4.99, 3.95}, 
+         Ausgleichsproblemtyp.ORTSKURVE_3d, loesungsverfahren);
+      
+      // Es wird überprüft, ob die Ortskurve ohne die abgewerteten Messpunkte berechnet worden ist.
+      assertEquals(5.0, ortskurve.getMittelpunktOrtskurve().getX(), 1E-6);
+      assertEquals(5.0, ortskurve.getMittelpunktOrtskurve().getY(), 1E-6);
+      assertEquals(4.0, ortskurve.getRadiusOrtskurve(), 1E-6);
+      assertArrayEquals(new int[]{3, 9}, this.ausgleichsproblem.getMesspunkteNaheMittelpunkt());
+      assertEquals(0.0, this.ausgleichsproblem.getGewichte()[3], 0.0);
+      assertEquals(0.0, this.ausgleichsproblem.getGewichte()[9], 0.0);
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test der Methode {@link Ausgleichsproblem#ausgleichsproblemLoesen(double[], Ausgleichsproblemtyp, 
+ * Loesungsverfahren)} mit einem robusten Verfahren, falls Messpunkte fast mit dem Mittelpunkt des Startkreises 
+ * identisch sind. Das robuste Verfahren behandelt die Messpunkte als Ausreißer, statt sie zu melden.
+ */
+@Test
+public void testAusgleichsproblemLoesen13()
+   {
+   this.messpunkteNaheMittelpunktErzeugen();
+   
+   // Die zu testende Methode wird aufgerufen.
+   Ortskurve ortskurve = this.ausgleichsproblem.ausgleichsproblemLoesen(new double[]{5.01, 4.99, 3.95}, 
+      Ausgleichsproblemtyp.ORTSKURVE_3d, Loesungsverfahren.ROBUST_TUKEY);
+   
+   // Es wird überprüft, ob die Ortskurve ohne die Ausreißer berechnet worden ist.
+   assertEquals(5.0, ortskurve.getMittelpunktOrtskurve().getX(), 1E-6);
+   assertEquals(5.0, ortskurve.getMittelpunktOrtskurve().getY(), 1E-6);
+   assertEquals(4.0, ortskurve.getRadiusOrtskurve(), 1E-6);
+   assertEquals(0.0, this.ausgleichsproblem.getGewichte()[3], 0.0);
+   assertEquals(0.0, this.ausgleichsproblem.getGewichte()[9], 0.0);
+   assertEquals(0, this.ausgleichsproblem.getMesspunkteNaheMittelpunkt().length);
    }
 }
@@ -0,0 +1,141 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+
+import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+import org.junit.Test;
+
+/**
+ * Diese Klasse enthält Tests für die Klasse {@link Duplikatpruefung}.
+ *
+ * @author Th. K. Walter
+ */
+public class DuplikatpruefungTest
+{
+/**
+ * Test für die Methode {@link Duplikatpruefung#messpunktPruefen(double, double)} mit der Toleranz 0. Nur exakt gleiche 
+ * Messpunkte sind Duplikate; -0.0 und 0.0 gelten als gleich.
+ */
+@Test
+public void testMesspunktPruefenExakt()
+   {
+   Duplikatpruefung duplikatpruefung = new Duplikatpruefung(0.0, 4);
+   
+   assertFalse(duplikatpruefung.messpunktPruefen(1.0, 0.0));
+   assertFalse(duplikatpruefung.messpunktPruefen(1.0 + 1E-15, 0.0));
+   assertTrue(duplikatpruefung.messpunktPruefen(1.0, -0.0));
+   assertFalse(duplikatpruefung.messpunktPruefen(0.0, 1.0));
+   assertEquals(1, duplikatpruefung.getAnzahlDuplikate());
+   assertEquals(3, duplikatpruefung.getMesspunkte().getAnzahl());
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Duplikatpruefung#enthaelt(double, double)}. Die Abfrage speichert keinen Messpunkt.
+ */
+@Test
+public void testEnthaelt()
+   {
+   Duplikatpruefung duplikatpruefung = new Duplikatpruefung(0.0, 4);
+   duplikatpruefung.messpunktPruefen(1.0, 2.0);
+   
+   assertTrue(duplikatpruefung.enthaelt(1.0, 2.0));
+   assertFalse(duplikatpruefung.enthaelt(2.0, 1.0));
+   assertFalse(duplikatpruefung.enthaelt(2.0, 1.0));
+   assertEquals(0, duplikatpruefung.getAnzahlDuplikate());
+   assertEquals(1, duplikatpruefung.getMesspunkte().getAnzahl());
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Duplikatpruefung#messpunktPruefen(double, double)} mit einer Toleranz. Nahezu gleiche 
+ * Messpunkte werden auch dann erkannt, wenn sie in benachbarten Gitterzellen liegen.
+ */
+@Test
+public void testMesspunktPruefenToleranz()
+   {
+   Duplikatpruefung duplikatpruefung = new Duplikatpruefung(0.01, 4);
+   
+   // Die beiden Messpunkte liegen in verschiedenen Gitterzellen, aber innerhalb der Toleranz.
+   assertFalse(duplikatpruefung.messpunktPruefen(0.0999, 0.0999));
+   assertTrue(duplikatpruefung.messpunktPruefen(0.1001, 0.1001));
+   
+   // Dieser Messpunkt liegt in einer benachbarten Gitterzelle, aber außerhalb der Toleranz.
+   assertFalse(duplikatpruefung.messpunktPruefen(0.1089, 0.1089));
+   
+   // Die gespeicherten Messpunkte sind die ersten Messpunkte jeder Gruppe.
+   MessreiheAnsicht messpunkte = duplikatpruefung.getMesspunkte();
+   assertEquals(2, messpunkte.getAnzahl());
+   assertEquals(0.0999, messpunkte.getX(0), 0.0);
+   assertEquals(0.1089, messpunkte.getX(1), 0.0);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Duplikatpruefung#pruefen(MessreiheAnsicht, double)}. Bei der Toleranz 0 stimmt die 
+ * Anzahl der Duplikate mit der eines {@link HashSet} überein, auch wenn die Hashtabelle mehrfach vergrößert wird.
+ */
+@Test
+public void testPruefen()
+   {
+   // Es werden zufällige Messpunkte auf einem groben Gitter erzeugt, so dass viele Messpunkte doppelt vorkommen.
+   Random random = new Random(4711);
+   Vector2D[] testMesspunkte = new Vector2D[5000];
+   HashSet<Vector2D> messpunktSet = new HashSet<Vector2D>();
+   for (int i = 0; i < testMesspunkte.length; i++)
+      {
+      testMesspunkte[i] = new Vector2D(random.nextInt(60) * 0.5, random.nextInt(60) * 0.25);
+      messpunktSet.add(testMesspunkte[i]);
+      }
+   
+   // Die zu testende Methode wird aufgerufen. Die erwartete Kapazität ist absichtlich zu klein.
+   Duplikatpruefung duplikatpruefung = new Duplikatpruefung(0.0, 1);
+   for (Vector2D messpunkt : testMesspunkte)
+      {
+      duplikatpruefung.messpunktPruefen(messpunkt.getX(), messpunkt.getY());
+      }
+   
+   assertEquals(testMesspunkte.length - messpunktSet.size(), duplikatpruefung.getAnzahlDuplikate());
+   assertEquals(messpunktSet.size(), duplikatpruefung.getMesspunkte().getAnzahl());
+   assertEquals(duplikatpruefung.getAnzahlDuplikate(), 
+      Duplikatpruefung.pruefen(MessreiheAnsicht.ansichtErzeugen(testMesspunkte), 0.0).getAnzahlDuplikate());
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für den Konstruktor {@link Duplikatpruefung#Duplikatpruefung(double, int)} mit einer negativen Toleranz.
+ */
+@Test(expected=IllegalArgumentException.class)
+public void testDuplikatpruefungNegativeToleranz()
+   {
+   new Duplikatpruefung(-1.0, 4);
+   }
+}
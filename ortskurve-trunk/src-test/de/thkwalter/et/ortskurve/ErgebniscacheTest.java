@@ -0,0 +1,284 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+import org.junit.Test;
+
+import de.thkwalter.jsf.ApplicationRuntimeException;
+import de.thkwalter.koordinatensystem.PunktPixelKonverter;
+import de.thkwalter.koordinatensystem.Wertebereich;
+
+/**
+ * Diese Klasse enthält Tests für die Klasse {@link Ergebniscache}.
+ *
+ * @author Th. K. Walter
+ */
+public class ErgebniscacheTest
+{
+/**
+ * Test für die Methode {@link Ergebniscache#schluesselBerechnen(MessreiheAnsicht, Loesungsverfahren)}.
+ */
+@Test
+public void testSchluesselBerechnen()
+   {
+   MessreiheAnsicht messreihe1 = MessreiheAnsicht.ansichtErzeugen(new Vector2D[]{new Vector2D(1.0, 2.0), 
+      new Vector2D(3.0, 4.0)});
+   MessreiheAnsicht messreihe2 = MessreiheAnsicht.ansichtErzeugen(new Vector2D[]{new Vector2D(1.0, 2.0), 
+      new Vector2D(3.0, 4.0)});
+   MessreiheAnsicht messreihe3 = MessreiheAnsicht.ansichtErzeugen(new Vector2D[]{new Vector2D(1.0, 2.0), 
+      new Vector2D(3.0, 4.000001)});
+   
+   // Gleiche Messreihen und Lösungsverfahren ergeben denselben Schlüssel, ...
+   String schluessel = Ergebniscache.schluesselBerechnen(messreihe1, null);
+   assertEquals(64, schluessel.length());
+   assertEquals(schluessel, Ergebniscache.schluesselBerechnen(messreihe2, null));
+   
+   // ... verschiedene Messreihen oder Lösungsverfahren verschiedene Schlüssel.
+   assertFalse(schluessel.equals(Ergebniscache.schluesselBerechnen(messreihe3, null)));
+   assertFalse(schluessel.equals(Ergebniscache.schluesselBerechnen(messreihe1, Loesungsverfahren.ALGEBRAISCH)));
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methoden {@link Ergebniscache#lesen(String)} und 
+ * {@link Ergebniscache#speichern(String, Ortskurvenergebnis, Grafikdaten)}. Der am längsten nicht gelesene Eintrag 
+ * wird verdrängt, und die Treffer und Fehlschläge werden gezählt.
+ */
+@Test
+public void testLesen()
+   {
+   Ergebniscache ergebniscache = new Ergebniscache(2);
+   Ortskurvenergebnis ergebnisA = new Ortskurvenergebnis(new Ortskurve(new Vector2D(1.0, 0.0), 1.0), null, null);
+   Ortskurvenergebnis ergebnisB = new Ortskurvenergebnis(new Ortskurve(new Vector2D(2.0, 0.0), 1.0), null, null);
+   Ortskurvenergebnis ergebnisC = new Ortskurvenergebnis(new Ortskurve(new Vector2D(3.0, 0.0), 1.0), null, null);
+   
+   ergebniscache.speichern("a", ergebnisA, null);
+   ergebniscache.speichern("b", ergebnisB, null);
+   
+   // Durch das Lesen wird "a" zum zuletzt verwendeten Eintrag, sodass beim Speichern von "c" der Eintrag "b" verdrängt
+   // wird.
+   assertSame(ergebnisA, ergebniscache.lesen("a").getOrtskurvenergebnis());
+   ergebniscache.speichern("c", ergebnisC, null);
+   
+   assertEquals(2, ergebniscache.getAnzahl());
+   assertNull(ergebniscache.lesen("b"));
+   assertNotNull(ergebniscache.lesen("a"));
+   assertSame(ergebnisC, ergebniscache.lesen("c").getOrtskurvenergebnis());
+   assertEquals(3, ergebniscache.getTreffer());
+   assertEquals(1, ergebniscache.getFehlschlaege());
+   
+   // Nach dem Leeren sind alle Einträge und Zähler zurückgesetzt.
+   ergebniscache.leeren();
+   assertEquals(0, ergebniscache.getAnzahl());
+   assertEquals(0, ergebniscache.getTreffer());
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Ergebniscache#speichern(String, Ortskurvenergebnis, Grafikdaten)}, falls die 
+ * Gesamtzahl der Messpunkte begrenzt ist. Es werden so viele Einträge verdrängt, bis die Grenze wieder eingehalten 
+ * ist, und ein Eintrag, der allein zu viele Messpunkte enthält, wird nicht gespeichert.
+ */
+@Test
+public void testSpeichernMesspunkte()
+   {
+   Ergebniscache ergebniscache = new Ergebniscache(10, 5);
+   Ortskurvenergebnis ergebnis = new Ortskurvenergebnis(new Ortskurve(new Vector2D(1.0, 0.0), 1.0), null, null);
+   
+   ergebniscache.speichern("a", ergebnis, ErgebniscacheTest.grafikdatenErzeugen(2));
+   ergebniscache.speichern("b", ergebnis, ErgebniscacheTest.grafikdatenErzeugen(2));
+   assertEquals(4, ergebniscache.getAnzahlMesspunkte());
+   
+   // Beim Speichern von "c" wird der älteste Eintrag "a" verdrängt.
+   ergebniscache.speichern("c", ergebnis, ErgebniscacheTest.grafikdatenErzeugen(3));
+   assertEquals(2, ergebniscache.getAnzahl());
+   assertEquals(5, ergebniscache.getAnzahlMesspunkte());
+   assertNull(ergebniscache.lesen("a"));
+   
+   // Ein Eintrag mit mehr Messpunkten, als insgesamt gespeichert werden dürfen, wird nicht gespeichert.
+   ergebniscache.speichern("d", ergebnis, ErgebniscacheTest.grafikdatenErzeugen(6));
+   assertNull(ergebniscache.lesen("d"));
+   assertEquals(2, ergebniscache.getAnzahl());
+   
+   ergebniscache.leeren();
+   assertEquals(0, ergebniscache.getAnzahlMesspunkte());
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode erzeugt die Daten einer Grafik mit der angegebenen Anzahl von Messpunkten.
+ * 
+ * @param anzahl Die Anzahl der Messpunkte
+ * 
+ * @return Die Daten der Grafik
+ */
+private static Grafikdaten grafikdatenErzeugen(int anzahl)
+   {
+   Vector2D[] messpunkte = new Vector2D[anzahl];
+   for (int i = 0; i < anzahl; i++)
+      {
+      messpunkte[i] = new Vector2D(i, 1.0);
+      }
+   PunktPixelKonverter punktPixelKonverter = new PunktPixelKonverter(new Wertebereich(10.0, 10.0, 0.0, -10.0), 200, 
+      200);
+   return new Grafikdaten(new MesspunkteGrafik(messpunkte, punktPixelKonverter), null, null, null);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Ergebniscache#berechnen(String, Callable)}. Eine zweite Anfrage, die während einer 
+ * laufenden Berechnung für denselben Schlüssel eintrifft, erhält deren Ergebnis, ohne selbst zu rechnen.
+ * 
+ * @throws Exception
+ */
+@Test
+public void testBerechnen() throws Exception
+   {
+   final Ergebniscache ergebniscache = new Ergebniscache();
+   final CountDownLatch freigabe = new CountDownLatch(1);
+   final AtomicInteger anzahlBerechnungen = new AtomicInteger();
+   final Ergebniscache.Eintrag eintrag = new Ergebniscache.Eintrag(
+      new Ortskurvenergebnis(new Ortskurve(new Vector2D(1.0, 0.0), 1.0), null, null), null);
+   
+   // Die Berechnung wartet auf die Freigabe.
+   final Callable<Ergebniscache.Eintrag> berechnung = new Callable<Ergebniscache.Eintrag>()
+      {
+      @Override
+      public Ergebniscache.Eintrag call() throws Exception
+         {
+         anzahlBerechnungen.incrementAndGet();
+         freigabe.await();
+         return eintrag;
+         }
+      };
+   
+   // Zwei Anfragen werden in eigenen Threads gestartet. Die zweite Anfrage wird erst gestartet, wenn die erste 
+   // Berechnung läuft.
+   ExecutorService executor = Executors.newFixedThreadPool(2);
+   try
+      {
+      Callable<Ergebniscache.Eintrag> anfrage = new Callable<Ergebniscache.Eintrag>()
+         {
+         @Override
+         public Ergebniscache.Eintrag call()
+            {
+            return ergebniscache.berechnen("a", berechnung);
+            }
+         };
+      Future<Ergebniscache.Eintrag> ersteAnfrage = executor.submit(anfrage);
+      while (anzahlBerechnungen.get() == 0)
+         {
+         Thread.sleep(1);
+         }
+      Future<Ergebniscache.Eintrag> zweiteAnfrage = executor.submit(anfrage);
+      while (ergebniscache.getGebuendelt() == 0)
+         {
+         Thread.sleep(1);
+         }
+      freigabe.countDown();
+      
+      // Es wird überprüft, ob beide Anfragen das Ergebnis der einen Berechnung erhalten haben.
+      assertSame(eintrag, ersteAnfrage.get());
+      assertSame(eintrag, zweiteAnfrage.get());
+      assertEquals(1, anzahlBerechnungen.get());
+      assertSame(eintrag, ergebniscache.lesen("a"));
+      }
+   finally
+      {
+      executor.shutdown();
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Ergebniscache#berechnen(String, Callable)}, falls die Berechnung eine Ausnahme wirft. 
+ * Die Ausnahme wird weitergeworfen und nichts gespeichert.
+ */
+@Test
+public void testBerechnen2()
+   {
+   Ergebniscache ergebniscache = new Ergebniscache();
+   try
+      {
+      ergebniscache.berechnen("a", new Callable<Ergebniscache.Eintrag>()
+         {
+         @Override
+         public Ergebniscache.Eintrag call()
+            {
+            throw new ApplicationRuntimeException("Fehler");
+            }
+         });
+      fail();
+      }
+   catch (ApplicationRuntimeException e)
+      {
+      assertEquals("Fehler", e.getMessage());
+      }
+   assertEquals(0, ergebniscache.getAnzahl());
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Ergebniscache#berechnen(String, Callable)}, falls die Ausgleichsrechnung wegen einer 
+ * abgelaufenen Frist nicht konvergiert ist. Das Ergebnis wird zurückgegeben, aber nicht gespeichert.
+ */
+@Test
+public void testBerechnen3()
+   {
+   Ergebniscache ergebniscache = new Ergebniscache();
+   final Ortskurvenergebnis ortskurvenergebnis = new Ortskurvenergebnis(new Ortskurve(new Vector2D(2.0, 0.0), 1.0), 
+      null, new Loesungsstatistik(Loesungsverfahren.LEVENBERG_MARQUARDT, 1, 1, 0.1, false));
+   
+   Ergebniscache.Eintrag eintrag = ergebniscache.berechnen("a", new Callable<Ergebniscache.Eintrag>()
+      {
+      @Override
+      public Ergebniscache.Eintrag call()
+         {
+         return new Ergebniscache.Eintrag(ortskurvenergebnis, null);
+         }
+      });
+   
+   assertSame(ortskurvenergebnis, eintrag.getOrtskurvenergebnis());
+   assertEquals(0, ergebniscache.getAnzahl());
+   }
+}
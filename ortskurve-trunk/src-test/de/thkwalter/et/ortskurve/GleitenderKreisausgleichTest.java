@@ -0,0 +1,111 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+/**
+ * Diese Klasse enthält Tests für die Klasse {@link GleitenderKreisausgleich}.
+ *
+ * @author Th. K. Walter
+ */
+public class GleitenderKreisausgleichTest
+{
+/**
+ * Test für die Methode {@link GleitenderKreisausgleich#messpunktHinzufuegen(double, double, long)} bei einem Fenster,
+ * das durch die Anzahl der Messpunkte begrenzt wird. Nach einem Sprung des Kreises muss die Ortskurve nur noch die 
+ * neuen Messpunkte berücksichtigen, auch nachdem die Momentensummen mehrfach neu berechnet worden sind.
+ */
+@Test
+public void testMesspunktHinzufuegenAnzahl()
+   {
+   GleitenderKreisausgleich gleitenderKreisausgleich = new GleitenderKreisausgleich(10, 0);
+   
+   // Zunächst liegen die Messpunkte auf einem Kreis mit dem Mittelpunkt (2; 0) und dem Radius 1, danach auf einem 
+   // Kreis mit dem Mittelpunkt (5; 1) und dem Radius 3.
+   Ortskurve ortskurve = null;
+   for (int i = 0; i < 500; i++)
+      {
+      double winkel = 0.7 * i;
+      if (i < 250)
+         {
+         ortskurve = gleitenderKreisausgleich.messpunktHinzufuegen(2.0 + Math.cos(winkel), Math.sin(winkel), i);
+         }
+      else
+         {
+         ortskurve = gleitenderKreisausgleich.messpunktHinzufuegen(5.0 + 3.0 * Math.cos(winkel), 
+            1.0 + 3.0 * Math.sin(winkel), i);
+         }
+      }
+   
+   // Es wird überprüft, ob die Ortskurve nur aus den letzten zehn Messpunkten berechnet worden ist.
+   assertEquals(10, gleitenderKreisausgleich.getAnzahl());
+   assertSame(ortskurve, gleitenderKreisausgleich.getOrtskurve());
+   assertEquals(5.0, ortskurve.getMittelpunktOrtskurve().getX(), 1E-9);
+   assertEquals(1.0, ortskurve.getMittelpunktOrtskurve().getY(), 1E-9);
+   assertEquals(3.0, ortskurve.getRadiusOrtskurve(), 1E-9);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link GleitenderKreisausgleich#messpunktHinzufuegen(double, double, long)} bei einem Fenster,
+ * das durch die Zeitspanne begrenzt wird. Der Ringpuffer muss dabei vergrößert werden.
+ */
+@Test
+public void testMesspunktHinzufuegenZeitfenster()
+   {
+   GleitenderKreisausgleich gleitenderKreisausgleich = new GleitenderKreisausgleich(0, 1000);
+   
+   // Bis zum Zeitpunkt 1000 ms wird jede Millisekunde ein Messpunkt auf einem Kreis hinzugefügt, danach jede 
+   // Millisekunde ein Messpunkt auf einem anderen Kreis.
+   for (int i = 0; i <= 1000; i++)
+      {
+      gleitenderKreisausgleich.messpunktHinzufuegen(2.0 + Math.cos(0.3 * i), Math.sin(0.3 * i), i);
+      }
+   assertEquals(1001, gleitenderKreisausgleich.getAnzahl());
+   
+   Ortskurve ortskurve = null;
+   for (int i = 1001; i <= 2500; i++)
+      {
+      ortskurve = gleitenderKreisausgleich.messpunktHinzufuegen(-1.0 + 2.0 * Math.cos(0.3 * i), 
+         2.0 * Math.sin(0.3 * i), i);
+      }
+   
+   // Es wird überprüft, ob nur die Messpunkte der letzten Sekunde berücksichtigt worden sind.
+   assertEquals(1001, gleitenderKreisausgleich.getAnzahl());
+   assertEquals(-1.0, ortskurve.getMittelpunktOrtskurve().getX(), 1E-9);
+   assertEquals(0.0, ortskurve.getMittelpunktOrtskurve().getY(), 1E-9);
+   assertEquals(2.0, ortskurve.getRadiusOrtskurve(), 1E-9);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für den Konstruktor {@link GleitenderKreisausgleich#GleitenderKreisausgleich(int, long)}, falls das Fenster 
+ * nicht begrenzt wird.
+ */
+@Test(expected=IllegalArgumentException.class)
+public void testGleitenderKreisausgleich()
+   {
+   new GleitenderKreisausgleich(0, 0);
+   }
+}
@@ -0,0 +1,92 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+/**
+ * Diese Klasse enthält Tests für die Klasse {@link InkrementellerKreisausgleich}.
+ *
+ * @author Th. K. Walter
+ */
+public class InkrementellerKreisausgleichTest
+{
+/**
+ * Test für die Methode {@link InkrementellerKreisausgleich#getOrtskurve()} ohne geometrische Verbesserung.
+ */
+@Test
+public void testGetOrtskurve()
+   {
+   InkrementellerKreisausgleich inkrementellerKreisausgleich = new InkrementellerKreisausgleich(false);
+   
+   // Mit weniger als drei Messpunkten kann keine Ortskurve berechnet werden.
+   inkrementellerKreisausgleich.messpunktHinzufuegen(3.0, 0.0);
+   inkrementellerKreisausgleich.messpunktHinzufuegen(2.0, 1.0);
+   assertNull(inkrementellerKreisausgleich.getOrtskurve());
+   
+   // Nach dem dritten Messpunkt existiert die Ortskurve.
+   inkrementellerKreisausgleich.messpunktHinzufuegen(1.0, 0.0);
+   Ortskurve ortskurve = inkrementellerKreisausgleich.getOrtskurve();
+   assertEquals(2.0, ortskurve.getMittelpunktOrtskurve().getX(), 1E-9);
+   assertEquals(0.0, ortskurve.getMittelpunktOrtskurve().getY(), 1E-9);
+   assertEquals(1.0, ortskurve.getRadiusOrtskurve(), 1E-9);
+   
+   // Ohne neue Messpunkte wird die Ortskurve nicht neu berechnet.
+   assertSame(ortskurve, inkrementellerKreisausgleich.getOrtskurve());
+   assertEquals(3, inkrementellerKreisausgleich.getAnzahl());
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link InkrementellerKreisausgleich#getOrtskurve()} mit geometrischer Verbesserung. Nach jedem
+ * Messpunkt muss die Ortskurve nahe an der Lösung des vollständigen Ausgleichsproblems liegen.
+ */
+@Test
+public void testGetOrtskurveVerfeinert()
+   {
+   InkrementellerKreisausgleich inkrementellerKreisausgleich = new InkrementellerKreisausgleich(true);
+   Messreihe messreihe = new Messreihe();
+   
+   // Die Messpunkte werden mit Störungen auf einem Kreisbogen erzeugt und einzeln hinzugefügt.
+   for (int i = 0; i < 30; i++)
+      {
+      double radius = 1.5 + 0.02 * Math.sin(3.0 * i);
+      double x = 4.0 + radius * Math.cos(0.2 * i);
+      double y = -1.0 + radius * Math.sin(0.2 * i);
+      inkrementellerKreisausgleich.messpunktHinzufuegen(x, y);
+      messreihe.messpunktHinzufuegen(x, y);
+      
+      // Ab fünf Messpunkten wird die Ortskurve mit der Lösung des vollständigen Ausgleichsproblems verglichen.
+      if (i >= 4)
+         {
+         Ortskurve ortskurve = inkrementellerKreisausgleich.getOrtskurve();
+         Ortskurve erwarteteOrtskurve = new Ausgleichsproblem(messreihe.getAnsicht()).ausgleichsproblemLoesen(
+            Startpunktbestimmung.startpunktBerechnen(messreihe.getAnsicht()), Ausgleichsproblemtyp.ORTSKURVE_3d);
+         assertEquals(erwarteteOrtskurve.getMittelpunktOrtskurve().getX(), 
+            ortskurve.getMittelpunktOrtskurve().getX(), 0.02);
+         assertEquals(erwarteteOrtskurve.getMittelpunktOrtskurve().getY(), 
+            ortskurve.getMittelpunktOrtskurve().getY(), 0.02);
+         assertEquals(erwarteteOrtskurve.getRadiusOrtskurve(), ortskurve.getRadiusOrtskurve(), 0.02);
+         }
+      }
+   }
+}
@@ -0,0 +1,148 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.thkwalter.jsf.ApplicationRuntimeException;
+
+/**
+ * Diese Klasse enthält Tests für die Klasse {@link Kreisgleichungen}.
+ *
+ * @author Th. K. Walter
+ */
+public class KreisgleichungenTest
+{
+/**
+ * Die Messpunkte, die für den Test verwendet werden.
+ */
+private Vector2D[] testMesspunkte;
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode initialisiert die Tests.
+ *
+ * @throws java.lang.Exception
+ */
+@Before
+public void setUp() throws Exception
+   {
+   // Die Messpunkte werden erzeugt.
+   this.testMesspunkte = new Vector2D[]{new Vector2D(0.0, 0.0), new Vector2D(2.0, 1.0)};
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Modellgleichungen und die Jakobi-Matrix des 3d-Ausgleichsproblems.
+ */
+@Test
+public void testKreisgleichungen3d()
+   {
+   // Das zu testende Objekt wird erzeugt.
+   Kreisgleichungen kreisgleichungen = 
+      new Kreisgleichungen(MessreiheAnsicht.ansichtErzeugen(this.testMesspunkte), Ausgleichsproblemtyp.ORTSKURVE_3d);
+   double[] kreisparameter = new double[]{1.0, 0.0, 1.0};
+
+   // Die Modellgleichungen und die Jakobi-Matrix werden berechnet.
+   double[] abstaende = kreisgleichungen.getModellgleichungen().value(kreisparameter);
+   double[][] jmatrix = kreisgleichungen.getJakobimatrix().value(kreisparameter);
+
+   // Es wird überprüft, ob die Abstände und die Jakobi-Matrix korrekt berechnet worden sind.
+   double wurzel2 = Math.sqrt(2.0);
+   assertArrayEquals(new double[]{0.0, wurzel2 - 1.0}, abstaende, 1E-12);
+   assertArrayEquals(new double[]{1.0, 0.0, -1.0}, jmatrix[0], 1E-12);
+   assertArrayEquals(new double[]{-1.0 / wurzel2, -1.0 / wurzel2, -1.0}, jmatrix[1], 1E-12);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Modellgleichungen und die Jakobi-Matrix des 2d-Ausgleichsproblems. Die Jakobi-Matrix wird dabei für
+ * andere Kreisparameter angefordert als die Modellgleichungen.
+ */
+@Test
+public void testKreisgleichungen2d()
+   {
+   // Das zu testende Objekt wird erzeugt.
+   Kreisgleichungen kreisgleichungen = 
+      new Kreisgleichungen(MessreiheAnsicht.ansichtErzeugen(this.testMesspunkte), Ausgleichsproblemtyp.ORTSKURVE_2d);
+
+   // Die Modellgleichungen und die Jakobi-Matrix werden berechnet.
+   double[] abstaende = kreisgleichungen.getModellgleichungen().value(new double[]{1.0, 1.0});
+   double[][] jmatrix = kreisgleichungen.getJakobimatrix().value(new double[]{3.0, 2.0});
+
+   // Es wird überprüft, ob die Abstände und die Jakobi-Matrix korrekt berechnet worden sind.
+   double wurzel2 = Math.sqrt(2.0);
+   assertArrayEquals(new double[]{0.0, wurzel2 - 1.0}, abstaende, 1E-12);
+   assertArrayEquals(new double[]{1.0, -1.0}, jmatrix[0], 1E-12);
+   assertArrayEquals(new double[]{1.0 / wurzel2, -1.0}, jmatrix[1], 1E-12);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Jakobi-Matrix, wenn ein Messpunkt und der Mittelpunkt fast übereinstimmen. Die Modellgleichungen
+ * dürfen in diesem Fall keine Ausnahme werfen.
+ */
+@Test(expected=ApplicationRuntimeException.class)
+public void testNaheMittelpunkt()
+   {
+   // Das zu testende Objekt wird erzeugt.
+   Kreisgleichungen kreisgleichungen = 
+      new Kreisgleichungen(MessreiheAnsicht.ansichtErzeugen(this.testMesspunkte), Ausgleichsproblemtyp.ORTSKURVE_3d);
+   double[] kreisparameter = new double[]{2.0, 1.009, 1.0};
+
+   // Die Modellgleichungen werden ohne Ausnahme berechnet.
+   kreisgleichungen.getModellgleichungen().value(kreisparameter);
+
+   // Es wird getestet, ob eine Ausnahme geworfen wird, wenn die Jakobi-Matrix angefordert wird.
+   kreisgleichungen.getJakobimatrix().value(kreisparameter);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Kreisgleichungen#getBesteKreisparameter()}. Die Summe der Abstandsquadrate muss mit den
+ * Gewichten der Messpunkte berechnet werden: Ein Ausreißer mit dem Gewicht 0 darf die Auswahl nicht beeinflussen.
+ */
+@Test
+public void testBesteKreisparameterGewichtet()
+   {
+   // Vier Messpunkte liegen auf dem Einheitskreis, der fünfte ist ein Ausreißer mit dem Gewicht 0.
+   Vector2D[] messpunkte = new Vector2D[]{new Vector2D(1.0, 0.0), new Vector2D(0.0, 1.0), new Vector2D(-1.0, 0.0), 
+      new Vector2D(0.0, -1.0), new Vector2D(3.0, 0.0)};
+   Kreisgleichungen kreisgleichungen = 
+      new Kreisgleichungen(MessreiheAnsicht.ansichtErzeugen(messpunkte), Ausgleichsproblemtyp.ORTSKURVE_3d);
+   kreisgleichungen.setGewichte(new double[]{1.0, 1.0, 1.0, 1.0, 0.0});
+   
+   // Ungewichtet wäre die Summe der Abstandsquadrate für den Radius 1,5 kleiner (3,25) als für den Radius 1 (4).
+   kreisgleichungen.getModellgleichungen().value(new double[]{0.0, 0.0, 1.0});
+   kreisgleichungen.getModellgleichungen().value(new double[]{0.0, 0.0, 1.5});
+   
+   assertArrayEquals(new double[]{0.0, 0.0, 1.0}, kreisgleichungen.getBesteKreisparameter(), 0.0);
+   }
+}
@@ -0,0 +1,163 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+import org.junit.Test;
+
+/**
+ * Diese Klasse enthält Tests für die Klasse {@link Kreismomente}.
+ *
+ * @author Th. K. Walter
+ */
+public class KreismomenteTest
+{
+/**
+ * Test für die Methode {@link Kreismomente#kreisBerechnen()}. Die Messpunkte liegen exakt auf einem Kreisbogen, der 
+ * weit vom Ursprung entfernt ist.
+ */
+@Test
+public void testKreisBerechnen()
+   {
+   // Die Messpunkte werden auf einem Viertelkreis mit dem Mittelpunkt (1000; -500) und dem Radius 3 erzeugt.
+   Kreismomente kreismomente = new Kreismomente();
+   for (int i = 0; i < 10; i++)
+      {
+      double winkel = 0.17 * i;
+      kreismomente.messpunktHinzufuegen(1000.0 + 3.0 * Math.cos(winkel), -500.0 + 3.0 * Math.sin(winkel));
+      }
+   
+   // Die zu testende Methode wird aufgerufen.
+   double[] kreisparameter = kreismomente.kreisBerechnen();
+   
+   // Es wird überprüft, ob der Kreis korrekt berechnet worden ist.
+   assertEquals(10, kreismomente.getAnzahl());
+   assertEquals(1000.0, kreisparameter[0], 1E-6);
+   assertEquals(-500.0, kreisparameter[1], 1E-6);
+   assertEquals(3.0, kreisparameter[2], 1E-6);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methoden {@link Kreismomente#messpunktEntfernen(double, double)} und 
+ * {@link Kreismomente#zusammenfuehren(Kreismomente)}.
+ */
+@Test
+public void testEntfernenZusammenfuehren()
+   {
+   // Die Momentensummen werden aus zwei Teilen zusammengeführt, die denselben Bezugspunkt besitzen.
+   Kreismomente teil1 = new Kreismomente(2.0, 0.0);
+   Kreismomente teil2 = new Kreismomente(2.0, 0.0);
+   teil1.messpunktHinzufuegen(1.0, 0.0);
+   teil1.messpunktHinzufuegen(2.0, 1.0);
+   teil2.messpunktHinzufuegen(3.0, 0.0);
+   teil2.messpunktHinzufuegen(2.0, -1.0);
+   teil1.zusammenfuehren(teil2);
+   
+   // Ein Messpunkt, der nicht auf dem Kreis liegt, wird hinzugefügt und wieder entfernt.
+   teil1.messpunktHinzufuegen(7.0, 7.0);
+   teil1.messpunktEntfernen(7.0, 7.0);
+   
+   // Es wird überprüft, ob der Kreis korrekt berechnet wird.
+   double[] kreisparameter = teil1.kreisBerechnen();
+   assertEquals(4, teil1.getAnzahl());
+   assertEquals(2.0, kreisparameter[0], 1E-9);
+   assertEquals(0.0, kreisparameter[1], 1E-9);
+   assertEquals(1.0, kreisparameter[2], 1E-9);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Kreismomente#kreisBerechnen()}, falls die Messpunkte auf einer Geraden liegen.
+ */
+@Test
+public void testKreisBerechnenGerade()
+   {
+   // Die Momentensummen werden für vier Messpunkte auf einer Geraden berechnet.
+   Kreismomente kreismomente = Kreismomente.berechnen(MessreiheAnsicht.ansichtErzeugen(new Vector2D[]{
+      new Vector2D(0.0, 0.0), new Vector2D(1.0, 1.0), new Vector2D(2.0, 2.0), new Vector2D(3.0, 3.0)}));
+   
+   // Es wird überprüft, ob kein Kreis berechnet wird.
+   assertNull(kreismomente.kreisBerechnen());
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Kreismomente#zusammenfuehren(Kreismomente)}, falls die Bezugspunkte nicht 
+ * übereinstimmen.
+ */
+@Test(expected=IllegalArgumentException.class)
+public void testZusammenfuehrenBezugspunkt()
+   {
+   Kreismomente kreismomente1 = new Kreismomente(0.0, 0.0);
+   Kreismomente kreismomente2 = new Kreismomente(1.0, 0.0);
+   kreismomente2.messpunktHinzufuegen(1.0, 1.0);
+   kreismomente1.zusammenfuehren(kreismomente2);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Kreismomente#kreis2dBerechnen()}. Die Messpunkte liegen exakt auf einem Kreis, dessen
+ * Mittelpunkt auf der x-Achse liegt.
+ */
+@Test
+public void testKreis2dBerechnen()
+   {
+   // Die Messpunkte werden auf einem Kreisbogen mit dem Mittelpunkt (5; 0) und dem Radius 2 erzeugt.
+   Kreismomente kreismomente = new Kreismomente();
+   for (int i = 0; i < 8; i++)
+      {
+      double winkel = 0.2 * i;
+      kreismomente.messpunktHinzufuegen(5.0 + 2.0 * Math.cos(winkel), 2.0 * Math.sin(winkel));
+      }
+   
+   // Die zu testende Methode wird aufgerufen.
+   double[] kreisparameter = kreismomente.kreis2dBerechnen();
+   
+   // Es wird überprüft, ob der Kreis korrekt berechnet worden ist.
+   assertEquals(5.0, kreisparameter[0], 1E-9);
+   assertEquals(2.0, kreisparameter[1], 1E-9);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Kreismomente#kreis2dBerechnen()}, falls alle Messpunkte dieselbe x-Komponente besitzen.
+ */
+@Test
+public void testKreis2dBerechnenSenkrecht()
+   {
+   Kreismomente kreismomente = new Kreismomente();
+   kreismomente.messpunktHinzufuegen(1.0, 1.0);
+   kreismomente.messpunktHinzufuegen(1.0, 2.0);
+   kreismomente.messpunktHinzufuegen(1.0, 3.0);
+   
+   // Es wird überprüft, ob kein Kreis berechnet wird.
+   assertNull(kreismomente.kreis2dBerechnen());
+   }
+}
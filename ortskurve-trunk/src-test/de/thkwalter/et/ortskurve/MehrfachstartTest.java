@@ -0,0 +1,155 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+import org.junit.Test;
+
+/**
+ * Diese Klasse enthält Tests für die Klasse {@link Mehrfachstart}.
+ *
+ * @author Th. K. Walter
+ */
+public class MehrfachstartTest
+{
+/**
+ * Test für die Methode {@link Mehrfachstart#loesen(double[])}. Der übergebene Startpunkt liegt auf einem Messpunkt, 
+ * sodass die Lösung von diesem Startpunkt aus scheitert. Die Lösung muss trotzdem gefunden werden.
+ */
+@Test
+public void testLoesen()
+   {
+   // Die Messpunkte werden auf einem Kreis mit dem Mittelpunkt (3; 1) und dem Radius 2 erzeugt.
+   Vector2D[] messpunkte = new Vector2D[12];
+   for (int i = 0; i < messpunkte.length; i++)
+      {
+      messpunkte[i] = new Vector2D(3.0 + 2.0 * Math.cos(0.4 * i), 1.0 + 2.0 * Math.sin(0.4 * i));
+      }
+   
+   // Die zu testende Methode wird über die Klasse Ausgleichsproblem aufgerufen.
+   Ausgleichsproblem ausgleichsproblem = new Ausgleichsproblem(messpunkte);
+   Ortskurve ortskurve = ausgleichsproblem.ausgleichsproblemLoesen(new double[]{messpunkte[3].getX(), 
+      messpunkte[3].getY(), 2.0}, Ausgleichsproblemtyp.ORTSKURVE_3d, Loesungsverfahren.MEHRFACHSTART);
+   
+   // Es wird überprüft, ob die Ortskurve korrekt berechnet worden ist.
+   assertEquals(3.0, ortskurve.getMittelpunktOrtskurve().getX(), 1E-6);
+   assertEquals(1.0, ortskurve.getMittelpunktOrtskurve().getY(), 1E-6);
+   assertEquals(2.0, ortskurve.getRadiusOrtskurve(), 1E-6);
+   assertEquals(Loesungsverfahren.MEHRFACHSTART, ausgleichsproblem.getLoesungsstatistik().getLoesungsverfahren());
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Mehrfachstart#loesen(double[])} beim 2d-Ausgleichsproblem ohne übergebenen Startpunkt.
+ */
+@Test
+public void testLoesen2()
+   {
+   // Die Messpunkte werden auf einem Kreis mit dem Mittelpunkt (4; 0) und dem Radius 1,5 erzeugt.
+   Vector2D[] messpunkte = new Vector2D[9];
+   for (int i = 0; i < messpunkte.length; i++)
+      {
+      messpunkte[i] = new Vector2D(4.0 + 1.5 * Math.cos(0.6 * i), 1.5 * Math.sin(0.6 * i));
+      }
+   
+   // Die zu testende Methode wird aufgerufen.
+   Mehrfachstart mehrfachstart = 
+      new Mehrfachstart(MessreiheAnsicht.ansichtErzeugen(messpunkte), Ausgleichsproblemtyp.ORTSKURVE_2d);
+   Ortskurve ortskurve = mehrfachstart.loesen(null);
+   
+   // Es wird überprüft, ob die Ortskurve korrekt berechnet worden ist.
+   assertEquals(4.0, ortskurve.getMittelpunktOrtskurve().getX(), 1E-6);
+   assertEquals(1.5, ortskurve.getRadiusOrtskurve(), 1E-6);
+   assertEquals(0.0, mehrfachstart.getLoesungsstatistik().getRmsResiduum(), 1E-6);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Mehrfachstart#loesen(double[])} mit einem übergebenen Thread-Pool.
+ * 
+ * @throws InterruptedException Falls der Test beim Beenden des Thread-Pools unterbrochen wird.
+ */
+@Test
+public void testLoesenExecutor() throws InterruptedException
+   {
+   // Die Messpunkte werden auf einem Kreis mit dem Mittelpunkt (3; 1) und dem Radius 2 erzeugt.
+   Vector2D[] messpunkte = new Vector2D[12];
+   for (int i = 0; i < messpunkte.length; i++)
+      {
+      messpunkte[i] = new Vector2D(3.0 + 2.0 * Math.cos(0.4 * i), 1.0 + 2.0 * Math.sin(0.4 * i));
+      }
+   
+   // Die zu testende Methode wird mit einem Thread-Pool aufgerufen.
+   Mehrfachstart mehrfachstart = 
+      new Mehrfachstart(MessreiheAnsicht.ansichtErzeugen(messpunkte), Ausgleichsproblemtyp.ORTSKURVE_3d);
+   ExecutorService executor = Executors.newFixedThreadPool(4);
+   Ortskurve ortskurve;
+   try
+      {
+      mehrfachstart.setExecutor(executor);
+      ortskurve = mehrfachstart.loesen(null);
+      }
+   finally
+      {
+      executor.shutdown();
+      }
+   
+   // Es wird überprüft, ob die Ortskurve korrekt berechnet worden ist.
+   assertEquals(3.0, ortskurve.getMittelpunktOrtskurve().getX(), 1E-6);
+   assertEquals(1.0, ortskurve.getMittelpunktOrtskurve().getY(), 1E-6);
+   assertEquals(2.0, ortskurve.getRadiusOrtskurve(), 1E-6);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Mehrfachstart#loesen(double[])}, falls die Frist bereits abgelaufen ist. Da keine 
+ * Lösung konvergiert, wird keine vorzeitig übernommen, sondern die Lösung mit den kleinsten Residuen.
+ */
+@Test
+public void testLoesenFrist()
+   {
+   // Die Messpunkte werden auf einem Kreis mit dem Mittelpunkt (4; 0) und dem Radius 1,5 erzeugt.
+   Vector2D[] messpunkte = new Vector2D[9];
+   for (int i = 0; i < messpunkte.length; i++)
+      {
+      messpunkte[i] = new Vector2D(4.0 + 1.5 * Math.cos(0.6 * i), 1.5 * Math.sin(0.6 * i));
+      }
+   
+   // Die zu testende Methode wird mit einer abgelaufenen Frist aufgerufen.
+   Mehrfachstart mehrfachstart = 
+      new Mehrfachstart(MessreiheAnsicht.ansichtErzeugen(messpunkte), Ausgleichsproblemtyp.ORTSKURVE_2d);
+   mehrfachstart.setFrist(0L);
+   Ortskurve ortskurve = mehrfachstart.loesen(new double[]{3.0, 2.0});
+   
+   // Es wird überprüft, ob die Lösung mit den kleinsten Residuen übernommen und als nicht konvergiert gekennzeichnet 
+   // worden ist.
+   assertEquals(4.0, ortskurve.getMittelpunktOrtskurve().getX(), 1E-6);
+   assertEquals(1.5, ortskurve.getRadiusOrtskurve(), 1E-6);
+   assertFalse(mehrfachstart.getLoesungsstatistik().isKonvergiert());
+   }
+}
@@ -0,0 +1,132 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import static org.junit.Assert.assertEquals;
+
+import javax.faces.component.html.HtmlInputTextarea;
+import javax.faces.convert.ConverterException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.thkwalter.jsf.converter.FacesContextMock;
+
+/**
+ * Diese Klasse enthält Tests für die Klasse {@link MessreiheConverter}.
+ *
+ * @author Th. K. Walter
+ */
+public class MessreiheConverterTest
+{
+/**
+ * Das Objekt, das für die Tests verwendet wird.
+ */
+private MessreiheConverter messreiheConverter;
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode initialisiert die Tests.
+ */
+@Before
+public void setUp()
+   {
+   this.messreiheConverter = new MessreiheConverter();
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link MessreiheConverter#getAsObject(javax.faces.context.FacesContext,
+ * javax.faces.component.UIComponent, java.lang.String)}.
+ */
+@Test
+public void testGetAsObject1()
+   {
+   // Die zu testende Methode wird aufgerufen.
+   Messreihe messreihe = (Messreihe) this.messreiheConverter.getAsObject(null, null, "1.0,2.0\r\n3.0; 4.0\n5 6\n");
+
+   // Es wird überprüft, ob die Zeichenkette in die korrekte Messreihe konvertiert worden ist.
+   MessreiheAnsicht messpunkte = messreihe.getAnsicht();
+   assertEquals(3, messpunkte.getAnzahl());
+   assertEquals(3.0, messpunkte.getX(1), 0.0);
+   assertEquals(4.0, messpunkte.getY(1), 0.0);
+   assertEquals(6.0, messpunkte.getY(2), 0.0);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link MessreiheConverter#getAsObject(javax.faces.context.FacesContext,
+ * javax.faces.component.UIComponent, java.lang.String)}.
+ */
+@Test(expected=ConverterException.class)
+public void testGetAsObject2()
+   {
+   this.messreiheConverter.getAsObject(new FacesContextMock(), null, "1.0,2.0\n3.0a,4.0\n");
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link MessreiheConverter#getAsString(javax.faces.context.FacesContext,
+ * javax.faces.component.UIComponent, java.lang.Object)}.
+ */
+@Test
+public void testGetAsString()
+   {
+   Messreihe messreihe = new Messreihe();
+   messreihe.messpunktHinzufuegen(1.0, 2.0);
+   messreihe.messpunktHinzufuegen(3.0, 4.0);
+
+   assertEquals("1.0, 2.0\n3.0, 4.0\n", this.messreiheConverter.getAsString(null, null, messreihe));
+   assertEquals("", this.messreiheConverter.getAsString(null, null, null));
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methoden {@link MessreiheConverter#getAsObject(javax.faces.context.FacesContext,
+ * javax.faces.component.UIComponent, java.lang.String)} und {@link MessreiheConverter#getAsString(
+ * javax.faces.context.FacesContext, javax.faces.component.UIComponent, java.lang.Object)}. Die eingegebene 
+ * Zeichenkette wird unverändert zurückgegeben, solange die Messreihe nicht verändert worden ist.
+ */
+@Test
+public void testEingabeBeibehalten()
+   {
+   HtmlInputTextarea eingabefeld = new HtmlInputTextarea();
+   eingabefeld.getAttributes().put(MessreiheConverter.ATTRIBUT_EINGABE_BEIBEHALTEN, "true");
+   String eingabe = "1.50;2\r\n3 4\r\n";
+   
+   // Die Zeichenkette wird konvertiert und wieder ausgegeben.
+   Messreihe messreihe = (Messreihe) this.messreiheConverter.getAsObject(null, eingabefeld, eingabe);
+   assertEquals(eingabe, this.messreiheConverter.getAsString(null, eingabefeld, messreihe));
+   
+   // Nach einer Veränderung der Messreihe werden die Messpunkte formatiert.
+   messreihe.messpunktHinzufuegen(5.0, 6.0);
+   assertEquals("1.5, 2.0\n3.0, 4.0\n5.0, 6.0\n", this.messreiheConverter.getAsString(null, eingabefeld, messreihe));
+   
+   // Ohne das Attribut wird die Zeichenkette nicht aufbewahrt.
+   messreihe = (Messreihe) this.messreiheConverter.getAsObject(null, new HtmlInputTextarea(), eingabe);
+   assertEquals("1.5, 2.0\n3.0, 4.0\n", this.messreiheConverter.getAsString(null, null, messreihe));
+   }
+}
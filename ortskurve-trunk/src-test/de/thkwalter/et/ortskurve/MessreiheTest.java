@@ -0,0 +1,96 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+import org.junit.Test;
+
+/**
+ * Diese Klasse enthält Tests für die Klassen {@link Messreihe} und {@link MessreiheAnsicht}.
+ *
+ * @author Th. K. Walter
+ */
+public class MessreiheTest
+{
+/**
+ * Test für den Konstruktor {@link Messreihe#Messreihe(Vector2D[])} und die Methode 
+ * {@link MessreiheAnsicht#toVector2D()}.
+ */
+@Test
+public void testMessreiheVector2D()
+   {
+   // Die Messpunkte, die für den Test verwendet werden.
+   Vector2D[] testMesspunkte = new Vector2D[]{new Vector2D(1.0, 2.0), new Vector2D(3.0, 4.0)};
+
+   // Die Ansicht der Messreihe wird erzeugt.
+   MessreiheAnsicht ansicht = new Messreihe(testMesspunkte).getAnsicht();
+
+   // Es wird überprüft, ob die Messpunkte korrekt übernommen worden sind.
+   assertEquals(2, ansicht.getAnzahl());
+   assertEquals(3.0, ansicht.getX(1), 0.0);
+   assertEquals(4.0, ansicht.getY(1), 0.0);
+   assertEquals(testMesspunkte[0], ansicht.getMesspunkt(0));
+   assertArrayEquals(testMesspunkte, ansicht.toVector2D());
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Messreihe#messpunktHinzufuegen(double, double)}. Eine zuvor erzeugte Ansicht darf sich
+ * durch das Hinzufügen weiterer Messpunkte nicht verändern.
+ */
+@Test
+public void testMesspunktHinzufuegen()
+   {
+   // Eine Messreihe mit kleiner Kapazität wird erzeugt, damit die Felder vergrößert werden müssen.
+   Messreihe messreihe = new Messreihe(1);
+   messreihe.messpunktHinzufuegen(1.0, 2.0);
+   MessreiheAnsicht ansicht = messreihe.getAnsicht();
+
+   // Weitere Messpunkte werden hinzugefügt.
+   for (int i = 0; i < 100; i++)
+      {
+      messreihe.messpunktHinzufuegen(i, -i);
+      }
+
+   // Es wird überprüft, ob die Messpunkte korrekt gespeichert worden sind.
+   assertEquals(101, messreihe.getAnzahl());
+   assertEquals(99.0, messreihe.getAnsicht().getX(100), 0.0);
+   assertEquals(-99.0, messreihe.getAnsicht().getY(100), 0.0);
+
+   // Es wird überprüft, ob die frühere Ansicht unverändert geblieben ist.
+   assertEquals(1, ansicht.getAnzahl());
+   assertEquals(1.0, ansicht.getX(0), 0.0);
+   assertEquals(2.0, ansicht.getY(0), 0.0);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für den Konstruktor {@link Messreihe#Messreihe(double[], double[], int)}.
+ */
+@Test(expected=IllegalArgumentException.class)
+public void testMessreiheFelder()
+   {
+   // Es wird überprüft, ob eine Ausnahme geworfen wird, wenn die Felder unterschiedlich lang sind.
+   new Messreihe(new double[2], new double[3], 2);
+   }
+}
@@ -0,0 +1,99 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+import org.junit.Test;
+
+import de.thkwalter.jsf.converter.CSVFormatausnahme;
+
+/**
+ * Diese Klasse enthält Tests für die Klasse {@link MessreiheUploadServlet}.
+ *
+ * @author Th. K. Walter
+ */
+public class MessreiheUploadServletTest
+{
+/**
+ * Test für die Methode {@link MessreiheUploadServlet#messreiheEinlesen(Reader, int)}. Die Datei ist größer als der
+ * Zeichenpuffer, so dass Zahlen und Zeilenumbrüche über die Grenzen der Abschnitte hinweg gelesen werden.
+ *
+ * @throws IOException
+ */
+@Test
+public void testMessreiheEinlesen1() throws IOException
+   {
+   StringBuilder datei = new StringBuilder("\uFEFF");
+   for (int i = 0; i < 5000; i++)
+      {
+      datei.append(i).append(".125; -").append(i).append(".5\r\n");
+      }
+
+   // Die zu testende Methode wird aufgerufen.
+   Messreihe messreihe = MessreiheUploadServlet.messreiheEinlesen(new StringReader(datei.toString()), 5000);
+
+   // Es wird überprüft, ob alle Messpunkte korrekt gelesen worden sind.
+   MessreiheAnsicht messpunkte = messreihe.getAnsicht();
+   assertEquals(5000, messpunkte.getAnzahl());
+   for (int i = 0; i < 5000; i++)
+      {
+      assertEquals(i + 0.125, messpunkte.getX(i), 0.0);
+      assertEquals(-i - 0.5, messpunkte.getY(i), 0.0);
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link MessreiheUploadServlet#messreiheEinlesen(Reader, int)}. Es wird überprüft, ob die größte
+ * Anzahl der Messpunkte eingehalten wird.
+ *
+ * @throws IOException
+ */
+@Test
+public void testMessreiheEinlesen2() throws IOException
+   {
+   try
+      {
+      MessreiheUploadServlet.messreiheEinlesen(new StringReader("1,2\n3,4\n5,6\n7,8\n"), 3);
+      throw new AssertionError("Die größte Anzahl der Messpunkte wurde nicht eingehalten!");
+      }
+   catch (CSVFormatausnahme csvFormatausnahme)
+      {
+      assertEquals(4, csvFormatausnahme.getZeile());
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link MessreiheUploadServlet#messreiheEinlesen(Reader, int)}. Eine leere Datei ist ein Fehler.
+ *
+ * @throws IOException
+ */
+@Test(expected=CSVFormatausnahme.class)
+public void testMessreiheEinlesen3() throws IOException
+   {
+   MessreiheUploadServlet.messreiheEinlesen(new StringReader("\r\n  \r\n"), 10);
+   }
+}
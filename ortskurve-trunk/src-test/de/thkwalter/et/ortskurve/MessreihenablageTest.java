@@ -0,0 +1,112 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+/**
+ * Diese Klasse enthält Tests für die Klasse {@link Messreihenablage}.
+ *
+ * @author Th. K. Walter
+ */
+public class MessreihenablageTest
+{
+/**
+ * Diese Methode erzeugt eine Messreihe mit der angegebenen Anzahl von Messpunkten.
+ * 
+ * @param anzahl Die Anzahl der Messpunkte
+ * 
+ * @return Die Messreihe
+ */
+private static Messreihe messreiheErzeugen(int anzahl)
+   {
+   Messreihe messreihe = new Messreihe(anzahl);
+   for (int i = 0; i < anzahl; i++)
+      {
+      messreihe.messpunktHinzufuegen(i, -i);
+      }
+   return messreihe;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methoden {@link Messreihenablage#ablegen(Messreihe)} und {@link Messreihenablage#entnehmen(String)}. 
+ * Eine Messreihe kann nur einmal entnommen werden.
+ */
+@Test
+public void testAblegenEntnehmen()
+   {
+   Messreihenablage messreihenablage = new Messreihenablage();
+   Messreihe messreihe = MessreihenablageTest.messreiheErzeugen(10);
+   
+   String schluessel = messreihenablage.ablegen(messreihe);
+   String andererSchluessel = messreihenablage.ablegen(MessreihenablageTest.messreiheErzeugen(5));
+   
+   assertEquals(32, schluessel.length());
+   assertFalse(schluessel.equals(andererSchluessel));
+   assertEquals(15, messreihenablage.getAnzahlMesspunkte());
+   assertSame(messreihe, messreihenablage.entnehmen(schluessel));
+   assertNull(messreihenablage.entnehmen(schluessel));
+   assertEquals(5, messreihenablage.getAnzahlMesspunkte());
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Messreihenablage#ablegen(Messreihe)}. Falls die Obergrenze überschritten würde, wird die 
+ * älteste Messreihe verdrängt.
+ */
+@Test
+public void testAblegenObergrenze()
+   {
+   Messreihenablage messreihenablage = new Messreihenablage(25, 60000L);
+   
+   String ersterSchluessel = messreihenablage.ablegen(MessreihenablageTest.messreiheErzeugen(10));
+   String zweiterSchluessel = messreihenablage.ablegen(MessreihenablageTest.messreiheErzeugen(10));
+   String dritterSchluessel = messreihenablage.ablegen(MessreihenablageTest.messreiheErzeugen(10));
+   
+   assertEquals(20, messreihenablage.getAnzahlMesspunkte());
+   assertNull(messreihenablage.entnehmen(ersterSchluessel));
+   assertEquals(10, messreihenablage.entnehmen(zweiterSchluessel).getAnzahl());
+   assertEquals(10, messreihenablage.entnehmen(dritterSchluessel).getAnzahl());
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Messreihenablage#entnehmen(String)}. Eine abgelaufene Messreihe wird nicht mehr 
+ * zurückgegeben.
+ */
+@Test
+public void testEntnehmenAbgelaufen()
+   {
+   Messreihenablage messreihenablage = new Messreihenablage(100, -1L);
+   
+   String schluessel = messreihenablage.ablegen(MessreihenablageTest.messreiheErzeugen(10));
+   
+   assertNull(messreihenablage.entnehmen(schluessel));
+   assertEquals(0, messreihenablage.getAnzahlMesspunkte());
+   }
+}
@@ -0,0 +1,199 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Diese Klasse enthält Tests für die Klasse {@link Messreihendatei}.
+ *
+ * @author Th. K. Walter
+ */
+public class MessreihendateiTest
+{
+/**
+ * Das temporäre Verzeichnis für die Dateien der Tests
+ */
+@Rule
+public TemporaryFolder verzeichnis = new TemporaryFolder();
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methoden {@link Messreihendatei#schreiben(Path, MessreiheAnsicht, String)} und
+ * {@link Messreihendatei#lesen(Path)}.
+ *
+ * @throws IOException
+ */
+@Test
+public void testSchreibenLesen() throws IOException
+   {
+   // Eine Messreihe mit mehr Messpunkten, als in den Schreibpuffer passen, wird erzeugt.
+   Messreihe messreihe = new Messreihe();
+   for (int i = 0; i < 100000; i++)
+      {
+      messreihe.messpunktHinzufuegen(Math.cos(i) * 3.0 + 1.0 / 3.0, Math.sin(i) * 3.0);
+      }
+   Path datei = this.verzeichnis.newFile("messreihe.bin").toPath();
+
+   // Die zu testenden Methoden werden aufgerufen.
+   Messreihendatei.schreiben(datei, messreihe.getAnsicht(), "A");
+   Messreihendatei messreihendatei = Messreihendatei.lesen(datei);
+
+   // Es wird überprüft, ob die Messreihe bitgenau gelesen worden ist.
+   assertEquals(Messreihendatei.KOPFLAENGE + 16L * 100000, Files.size(datei));
+   assertEquals("A", messreihendatei.getEinheit());
+   MessreiheAnsicht original = messreihe.getAnsicht();
+   MessreiheAnsicht gelesen = messreihendatei.getMessreihe().getAnsicht();
+   assertEquals(original.getAnzahl(), gelesen.getAnzahl());
+   for (int i = 0; i < original.getAnzahl(); i++)
+      {
+      assertEquals(Double.doubleToRawLongBits(original.getX(i)), Double.doubleToRawLongBits(gelesen.getX(i)));
+      assertEquals(Double.doubleToRawLongBits(original.getY(i)), Double.doubleToRawLongBits(gelesen.getY(i)));
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Messreihendatei#lesen(Path)}. Eine veränderte Datei wird an der Prüfsumme erkannt.
+ *
+ * @throws IOException
+ */
+@Test(expected=IOException.class)
+public void testLesenPruefsumme() throws IOException
+   {
+   Path datei = this.verzeichnis.newFile("messreihe.bin").toPath();
+   Messreihe messreihe = new Messreihe();
+   messreihe.messpunktHinzufuegen(1.0, 2.0);
+   messreihe.messpunktHinzufuegen(3.0, 4.0);
+   Messreihendatei.schreiben(datei, messreihe.getAnsicht(), "A");
+
+   // Ein Bit eines Messpunkts wird verändert.
+   RandomAccessFile zugriff = new RandomAccessFile(datei.toFile(), "rw");
+   try
+      {
+      zugriff.seek(Messreihendatei.KOPFLAENGE + 20);
+      int wert = zugriff.read();
+      zugriff.seek(Messreihendatei.KOPFLAENGE + 20);
+      zugriff.write(wert ^ 1);
+      }
+   finally
+      {
+      zugriff.close();
+      }
+
+   // Die zu testende Methode wird aufgerufen.
+   Messreihendatei.lesen(datei);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Messreihendatei#lesen(Path)}. Werden die Vorzeichen beider Komponenten eines Messpunkts 
+ * umgekehrt, so muss sich die Prüfsumme ändern.
+ *
+ * @throws IOException
+ */
+@Test(expected=IOException.class)
+public void testLesenPruefsummeVorzeichen() throws IOException
+   {
+   Path datei = this.verzeichnis.newFile("messreihe.bin").toPath();
+   Messreihe messreihe = new Messreihe();
+   messreihe.messpunktHinzufuegen(1.5, 4.5);
+   Messreihendatei.schreiben(datei, messreihe.getAnsicht(), "A");
+
+   // Die Vorzeichenbits beider Komponenten werden umgekehrt, der Messpunkt lautet also (-1,5; -4,5).
+   RandomAccessFile zugriff = new RandomAccessFile(datei.toFile(), "rw");
+   try
+      {
+      for (int position : new int[]{Messreihendatei.KOPFLAENGE + 7, Messreihendatei.KOPFLAENGE + 15})
+         {
+         zugriff.seek(position);
+         int wert = zugriff.read();
+         zugriff.seek(position);
+         zugriff.write(wert ^ 0x80);
+         }
+      }
+   finally
+      {
+      zugriff.close();
+      }
+
+   // Die zu testende Methode wird aufgerufen.
+   Messreihendatei.lesen(datei);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Messreihendatei#lesen(Path)}. Eine Datei ohne Kennung wird abgewiesen.
+ *
+ * @throws IOException
+ */
+@Test(expected=IOException.class)
+public void testLesenKennung() throws IOException
+   {
+   Path datei = this.verzeichnis.newFile("messreihe.bin").toPath();
+   byte[] inhalt = new byte[Messreihendatei.KOPFLAENGE];
+   Arrays.fill(inhalt, (byte) 1);
+   Files.write(datei, inhalt);
+
+   Messreihendatei.lesen(datei);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Messreihendatei#ausCSVKonvertieren(Path, Path, String)}.
+ *
+ * @throws IOException
+ */
+@Test
+public void testAusCSVKonvertieren() throws IOException
+   {
+   Path csvDatei = this.verzeichnis.newFile("messreihe.csv").toPath();
+   Files.write(csvDatei, "1.5, 2.5\r\n-3.0;4.0\r\n".getBytes(Charset.forName("UTF-8")));
+   Path binaerdatei = this.verzeichnis.newFile("messreihe.bin").toPath();
+
+   // Die zu testende Methode wird aufgerufen.
+   assertEquals(2, Messreihendatei.ausCSVKonvertieren(csvDatei, binaerdatei, "mA"));
+
+   // Es wird überprüft, ob die Binärdatei die Messpunkte enthält.
+   Messreihendatei messreihendatei = Messreihendatei.lesen(binaerdatei);
+   MessreiheAnsicht messpunkte = messreihendatei.getMessreihe().getAnsicht();
+   assertEquals("mA", messreihendatei.getEinheit());
+   assertEquals(2, messpunkte.getAnzahl());
+   assertEquals(-3.0, messpunkte.getX(1), 0.0);
+   assertEquals(4.0, messpunkte.getY(1), 0.0);
+   }
+}
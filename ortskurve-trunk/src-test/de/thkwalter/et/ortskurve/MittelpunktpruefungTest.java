@@ -0,0 +1,102 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+import org.junit.Test;
+
+import de.thkwalter.jsf.ApplicationRuntimeException;
+
+/**
+ * Diese Klasse enthält Tests für die Klasse {@link Mittelpunktpruefung}.
+ *
+ * @author Th. K. Walter
+ */
+public class MittelpunktpruefungTest
+{
+/**
+ * Test für die Methode {@link Mittelpunktpruefung#messpunkteNaheMittelpunkt(MessreiheAnsicht, double[], Ortskurve)}.
+ * Messpunkte mit dem Gewicht 0 werden nicht berücksichtigt.
+ */
+@Test
+public void testMesspunkteNaheMittelpunkt()
+   {
+   MessreiheAnsicht messpunkte = MessreiheAnsicht.ansichtErzeugen(new Vector2D[]{new Vector2D(12.0, 0.0), 
+      new Vector2D(2.05, 0.0), new Vector2D(2.0, 10.0), new Vector2D(2.0, 0.09), new Vector2D(1.99, 0.0)});
+   Ortskurve kreis = new Ortskurve(new Vector2D(2.0, 0.0), 10.0);
+   
+   assertArrayEquals(new int[]{1, 3, 4}, Mittelpunktpruefung.messpunkteNaheMittelpunkt(messpunkte, null, kreis));
+   assertArrayEquals(new int[]{1, 4}, 
+      Mittelpunktpruefung.messpunkteNaheMittelpunkt(messpunkte, new double[]{1.0, 1.0, 1.0, 0.0, 1.0}, kreis));
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Mittelpunktpruefung#melden(MessreiheAnsicht, int[], Ortskurve)}. Alle betroffenen 
+ * Messpunkte werden mit ihren Nummern in einer Meldung aufgeführt.
+ */
+@Test
+public void testMelden()
+   {
+   MessreiheAnsicht messpunkte = MessreiheAnsicht.ansichtErzeugen(new Vector2D[]{new Vector2D(12.0, 0.0), 
+      new Vector2D(2.05, 0.0), new Vector2D(2.0, 10.0), new Vector2D(2.0, 0.09)});
+   
+   try
+      {
+      Mittelpunktpruefung.melden(messpunkte, new int[]{1, 3}, new Ortskurve(new Vector2D(2.0, 0.0), 10.0));
+      fail("Es ist keine Ausnahme geworfen worden!");
+      }
+   catch (ApplicationRuntimeException e)
+      {
+      assertTrue(e.getMessage().startsWith("Die Messpunkte Nr. 2 {2,05; 0} und Nr. 4 {2; 0,09}") || 
+         e.getMessage().startsWith("Die Messpunkte Nr. 2 {2.05; 0} und Nr. 4 {2; 0.09}"));
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Mittelpunktpruefung#aufzaehlen(MessreiheAnsicht, int[])} mit mehr Messpunkten, als 
+ * einzeln aufgeführt werden.
+ */
+@Test
+public void testAufzaehlen()
+   {
+   Vector2D[] testMesspunkte = new Vector2D[15];
+   int[] indizes = new int[15];
+   for (int i = 0; i < testMesspunkte.length; i++)
+      {
+      testMesspunkte[i] = new Vector2D(i, 0.0);
+      indizes[i] = i;
+      }
+   
+   String aufzaehlung = Mittelpunktpruefung.aufzaehlen(MessreiheAnsicht.ansichtErzeugen(testMesspunkte), indizes);
+   
+   assertTrue(aufzaehlung.startsWith("Nr. 1 "));
+   assertTrue(aufzaehlung.contains("Nr. 10 "));
+   assertTrue(!aufzaehlung.contains("Nr. 11 "));
+   assertTrue(aufzaehlung.endsWith(" und 5 weitere"));
+   assertEquals(10, aufzaehlung.split("Nr. ").length - 1);
+   }
+}
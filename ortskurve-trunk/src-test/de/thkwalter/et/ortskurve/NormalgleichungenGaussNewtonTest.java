@@ -0,0 +1,224 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.commons.math3.exception.TooManyEvaluationsException;
+import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+import org.apache.commons.math3.optim.InitialGuess;
+import org.apache.commons.math3.optim.MaxEval;
+import org.apache.commons.math3.optim.PointVectorValuePair;
+import org.apache.commons.math3.optim.SimpleVectorValueChecker;
+import org.apache.commons.math3.optim.nonlinear.vector.ModelFunction;
+import org.apache.commons.math3.optim.nonlinear.vector.ModelFunctionJacobian;
+import org.apache.commons.math3.optim.nonlinear.vector.Target;
+import org.apache.commons.math3.optim.nonlinear.vector.Weight;
+import org.apache.commons.math3.optim.nonlinear.vector.jacobian.GaussNewtonOptimizer;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.thkwalter.jsf.ApplicationRuntimeException;
+
+/**
+ * Diese Klasse enthält Tests für die Klasse {@link NormalgleichungenGaussNewton}.
+ *
+ * @author Th. K. Walter
+ */
+public class NormalgleichungenGaussNewtonTest
+{
+/**
+ * Die Messpunkte, die für den Test verwendet werden. Sie liegen mit Störungen auf einem Kreis mit dem Mittelpunkt 
+ * (2,0; -0,3) und dem Radius 1,0.
+ */
+private MessreiheAnsicht testMesspunkte;
+
+/**
+ * Die Gewichte der Messpunkte
+ */
+private double[] testGewichte;
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode initialisiert die Tests.
+ *
+ * @throws java.lang.Exception
+ */
+@Before
+public void setUp() throws Exception
+   {
+   // Die Messpunkte werden erzeugt.
+   Messreihe messreihe = new Messreihe();
+   for (int i = 0; i < 40; i++)
+      {
+      double winkel = 0.1 * i;
+      double stoerung = 0.02 * Math.sin(7.0 * i);
+      messreihe.messpunktHinzufuegen(2.0 + (1.0 + stoerung) * Math.cos(winkel), 
+         -0.3 + (1.0 + stoerung) * Math.sin(winkel));
+      }
+   this.testMesspunkte = messreihe.getAnsicht();
+   
+   // Alle Messpunkte werden gleich gewichtet.
+   this.testGewichte = new double[this.testMesspunkte.getAnzahl()];
+   for (int i = 0; i < this.testGewichte.length; i++)
+      {
+      this.testGewichte[i] = 1.0;
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test der Methode {@link NormalgleichungenGaussNewton#optimieren(double[], int)} für das 3d-Ausgleichsproblem. Das
+ * Ergebnis und die Anzahl der Iterationsschritte müssen mit denen des GaussNewtonOptimizer übereinstimmen.
+ */
+@Test
+public void testOptimieren3d()
+   {
+   double[] startpunkt = new double[]{1.5, 0.4, 1.5};
+   
+   // Die zu testende Methode wird aufgerufen.
+   NormalgleichungenGaussNewton normalgleichungenGaussNewton = 
+      new NormalgleichungenGaussNewton(this.testMesspunkte, this.testGewichte, Ausgleichsproblemtyp.ORTSKURVE_3d);
+   double[] kreisparameter = normalgleichungenGaussNewton.optimieren(startpunkt, 200);
+   
+   // Das Ergebnis wird mit dem des GaussNewtonOptimizer verglichen.
+   GaussNewtonOptimizer optimizer = new GaussNewtonOptimizer(false, new SimpleVectorValueChecker(0.01, -1.0));
+   double[] erwarteteKreisparameter = this.vergleichsloesungBerechnen(optimizer, startpunkt, 
+      Ausgleichsproblemtyp.ORTSKURVE_3d);
+   
+   assertEquals(optimizer.getIterations(), normalgleichungenGaussNewton.getAnzahlIterationen());
+   assertEquals(optimizer.getEvaluations(), normalgleichungenGaussNewton.getAnzahlAuswertungen());
+   for (int j = 0; j < 3; j++)
+      {
+      assertEquals(erwarteteKreisparameter[j], kreisparameter[j], 1E-10);
+      }
+   assertEquals(2.0, kreisparameter[0], 0.02);
+   assertEquals(-0.3, kreisparameter[1], 0.02);
+   assertEquals(1.0, kreisparameter[2], 0.02);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test der Methode {@link NormalgleichungenGaussNewton#optimieren(double[], int)} für das 2d-Ausgleichsproblem.
+ */
+@Test
+public void testOptimieren2d()
+   {
+   double[] startpunkt = new double[]{1.5, 1.5};
+   
+   // Die zu testende Methode wird aufgerufen.
+   NormalgleichungenGaussNewton normalgleichungenGaussNewton = 
+      new NormalgleichungenGaussNewton(this.testMesspunkte, this.testGewichte, Ausgleichsproblemtyp.ORTSKURVE_2d);
+   double[] kreisparameter = normalgleichungenGaussNewton.optimieren(startpunkt, 200);
+   
+   // Das Ergebnis wird mit dem des GaussNewtonOptimizer verglichen.
+   GaussNewtonOptimizer optimizer = new GaussNewtonOptimizer(false, new SimpleVectorValueChecker(0.01, -1.0));
+   double[] erwarteteKreisparameter = this.vergleichsloesungBerechnen(optimizer, startpunkt, 
+      Ausgleichsproblemtyp.ORTSKURVE_2d);
+   
+   assertEquals(optimizer.getIterations(), normalgleichungenGaussNewton.getAnzahlIterationen());
+   assertEquals(erwarteteKreisparameter[0], kreisparameter[0], 1E-10);
+   assertEquals(erwarteteKreisparameter[1], kreisparameter[1], 1E-10);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test der Methode {@link NormalgleichungenGaussNewton#optimieren(double[], int)} für den Fall, dass die maximale 
+ * Anzahl der Auswertungen überschritten wird.
+ */
+@Test(expected=TooManyEvaluationsException.class)
+public void testOptimierenMaxAuswertungen()
+   {
+   NormalgleichungenGaussNewton normalgleichungenGaussNewton = 
+      new NormalgleichungenGaussNewton(this.testMesspunkte, this.testGewichte, Ausgleichsproblemtyp.ORTSKURVE_3d);
+   normalgleichungenGaussNewton.optimieren(new double[]{1.5, 0.4, 1.5}, 1);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test der Methode {@link NormalgleichungenGaussNewton#optimieren(double[], int)} für den Fall, dass ein Messpunkt 
+ * fast mit dem Mittelpunkt identisch ist.
+ */
+@Test(expected=ApplicationRuntimeException.class)
+public void testOptimierenNaheMittelpunkt()
+   {
+   NormalgleichungenGaussNewton normalgleichungenGaussNewton = 
+      new NormalgleichungenGaussNewton(this.testMesspunkte, this.testGewichte, Ausgleichsproblemtyp.ORTSKURVE_3d);
+   normalgleichungenGaussNewton.optimieren(new double[]{3.0, -0.3, 1.0}, 200);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode löst das Ausgleichsproblem mit dem GaussNewtonOptimizer der Bibliothek Apache Commons Math.
+ * 
+ * @param optimizer Der GaussNewtonOptimizer
+ * @param startpunkt Der Startpunkt
+ * @param ausgleichsproblemtyp Der Typ des Ausgleichsproblems
+ * 
+ * @return Die Kreisparameter der Lösung
+ */
+private double[] vergleichsloesungBerechnen(GaussNewtonOptimizer optimizer, double[] startpunkt, 
+   Ausgleichsproblemtyp ausgleichsproblemtyp)
+   {
+   Kreisgleichungen kreisgleichungen = new Kreisgleichungen(this.testMesspunkte, ausgleichsproblemtyp);
+   PointVectorValuePair ergebnis = optimizer.optimize(new Weight(this.testGewichte), 
+      new Target(new double[this.testMesspunkte.getAnzahl()]), new InitialGuess(startpunkt), new MaxEval(200), 
+      new ModelFunction(kreisgleichungen.getModellgleichungen()), 
+      new ModelFunctionJacobian(kreisgleichungen.getJakobimatrix()));
+   return ergebnis.getPoint();
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test der Methode {@link NormalgleichungenGaussNewton#optimieren(double[], int)} für den Fall, dass die Frist vor der
+ * Konvergenz abläuft. Statt einer Ausnahme werden die bisher besten Kreisparameter zurückgegeben.
+ */
+@Test
+public void testOptimierenFrist()
+   {
+   NormalgleichungenGaussNewton normalgleichungenGaussNewton = 
+      new NormalgleichungenGaussNewton(this.testMesspunkte, this.testGewichte, Ausgleichsproblemtyp.ORTSKURVE_3d);
+   
+   // Ohne Frist konvergiert das Verfahren.
+   normalgleichungenGaussNewton.optimieren(new double[]{1.5, 0.4, 1.5}, 200);
+   assertTrue(normalgleichungenGaussNewton.isKonvergiert());
+   
+   // Mit einer bereits abgelaufenen Frist wird nach dem ersten Iterationsschritt der Startpunkt zurückgegeben.
+   normalgleichungenGaussNewton.setFrist(0L);
+   double[] kreisparameter = normalgleichungenGaussNewton.optimieren(new double[]{1.5, 0.4, 1.5}, 200);
+   assertFalse(normalgleichungenGaussNewton.isKonvergiert());
+   assertEquals(1, normalgleichungenGaussNewton.getAnzahlIterationen());
+   assertEquals(1.5, kreisparameter[0], 0.0);
+   assertEquals(0.4, kreisparameter[1], 0.0);
+   assertEquals(1.5, kreisparameter[2], 0.0);
+   }
+}
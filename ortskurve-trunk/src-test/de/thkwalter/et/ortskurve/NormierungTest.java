@@ -0,0 +1,154 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import static org.junit.Assert.assertEquals;
+
+import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+import org.junit.Test;
+
+/**
+ * Diese Klasse enthält Tests für die Klasse {@link Normierung}.
+ *
+ * @author Th. K. Walter
+ */
+public class NormierungTest
+{
+/**
+ * Test für die Methoden {@link Normierung#berechnen(MessreiheAnsicht, Ausgleichsproblemtyp)} und 
+ * {@link Normierung#messreiheNormieren(MessreiheAnsicht)} beim 3d-Ausgleichsproblem. Die normierten Messpunkte haben 
+ * den Schwerpunkt (0; 0) und den quadratischen Mittelwert 1 ihrer Abstände vom Schwerpunkt.
+ */
+@Test
+public void testMessreiheNormieren3d()
+   {
+   MessreiheAnsicht messpunkte = MessreiheAnsicht.ansichtErzeugen(new Vector2D[]{new Vector2D(1000.0, 2000.0), 
+      new Vector2D(1004.0, 2000.0), new Vector2D(1000.0, 2003.0), new Vector2D(996.0, 1997.0)});
+   
+   // Die zu testenden Methoden werden aufgerufen.
+   Normierung normierung = Normierung.berechnen(messpunkte, Ausgleichsproblemtyp.ORTSKURVE_3d);
+   MessreiheAnsicht normierteMesspunkte = normierung.messreiheNormieren(messpunkte);
+   
+   // Es wird überprüft, ob die Messpunkte korrekt normiert worden sind.
+   double summeX = 0.0;
+   double summeY = 0.0;
+   double summeQuadrate = 0.0;
+   for (int i = 0; i < normierteMesspunkte.getAnzahl(); i++)
+      {
+      summeX += normierteMesspunkte.getX(i);
+      summeY += normierteMesspunkte.getY(i);
+      summeQuadrate += normierteMesspunkte.getX(i) * normierteMesspunkte.getX(i) + 
+         normierteMesspunkte.getY(i) * normierteMesspunkte.getY(i);
+      }
+   assertEquals(0.0, summeX, 1E-12);
+   assertEquals(0.0, summeY, 1E-12);
+   assertEquals(normierteMesspunkte.getAnzahl(), summeQuadrate, 1E-12);
+   assertEquals(Math.sqrt(12.5), normierung.getSkalierung(), 1E-12);
+   
+   // Die ursprünglichen Messpunkte bleiben unverändert, und eine erneute Normierung der normierten Messpunkte ändert
+   // sie nicht mehr.
+   assertEquals(1004.0, messpunkte.getX(1), 0.0);
+   MessreiheAnsicht zweifachNormierteMesspunkte = Normierung.berechnen(normierteMesspunkte, 
+      Ausgleichsproblemtyp.ORTSKURVE_3d).messreiheNormieren(normierteMesspunkte);
+   assertEquals(normierteMesspunkte.getX(1), zweifachNormierteMesspunkte.getX(1), 1E-12);
+   assertEquals(normierteMesspunkte.getY(2), zweifachNormierteMesspunkte.getY(2), 1E-12);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Normierung#berechnen(MessreiheAnsicht, Ausgleichsproblemtyp)} beim 2d-Ausgleichs-
+ * problem. Die Messpunkte werden nicht in y-Richtung verschoben, damit der Mittelpunkt auf der x-Achse bleibt.
+ */
+@Test
+public void testMessreiheNormieren2d()
+   {
+   MessreiheAnsicht messpunkte = MessreiheAnsicht.ansichtErzeugen(new Vector2D[]{new Vector2D(1.0, 3.0), 
+      new Vector2D(3.0, 3.0), new Vector2D(2.0, 4.0)});
+   
+   // Die zu testenden Methoden werden aufgerufen.
+   Normierung normierung = Normierung.berechnen(messpunkte, Ausgleichsproblemtyp.ORTSKURVE_2d);
+   MessreiheAnsicht normierteMesspunkte = normierung.messreiheNormieren(messpunkte);
+   
+   // Es wird überprüft, ob die y-Komponenten nur skaliert worden sind.
+   double skalierung = Math.sqrt((1.0 + 9.0 + 1.0 + 9.0 + 0.0 + 16.0) / 3.0);
+   assertEquals(skalierung, normierung.getSkalierung(), 1E-12);
+   assertEquals(-1.0 / skalierung, normierteMesspunkte.getX(0), 1E-12);
+   assertEquals(3.0 / skalierung, normierteMesspunkte.getY(0), 1E-12);
+   assertEquals(4.0 / skalierung, normierteMesspunkte.getY(2), 1E-12);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methoden {@link Normierung#kreisparameterNormieren(double[], Ausgleichsproblemtyp)}, 
+ * {@link Normierung#kreisparameterZurueckrechnen(double[], Ausgleichsproblemtyp)} und 
+ * {@link Normierung#ortskurveZurueckrechnen(Ortskurve)}.
+ */
+@Test
+public void testZurueckrechnen()
+   {
+   MessreiheAnsicht messpunkte = MessreiheAnsicht.ansichtErzeugen(new Vector2D[]{new Vector2D(10.0, 20.0), 
+      new Vector2D(14.0, 20.0), new Vector2D(10.0, 23.0)});
+   
+   for (Ausgleichsproblemtyp ausgleichsproblemtyp : Ausgleichsproblemtyp.values())
+      {
+      Normierung normierung = Normierung.berechnen(messpunkte, ausgleichsproblemtyp);
+      double[] kreisparameter = ausgleichsproblemtyp == Ausgleichsproblemtyp.ORTSKURVE_2d ? 
+         new double[]{12.0, 5.0} : new double[]{12.0, 21.0, 5.0};
+      
+      // Die Kreisparameter werden normiert und zurückgerechnet.
+      double[] normierteKreisparameter = normierung.kreisparameterNormieren(kreisparameter, ausgleichsproblemtyp);
+      double[] zurueckgerechneteKreisparameter = 
+         normierung.kreisparameterZurueckrechnen(normierteKreisparameter, ausgleichsproblemtyp);
+      for (int j = 0; j < kreisparameter.length; j++)
+         {
+         assertEquals(kreisparameter[j], zurueckgerechneteKreisparameter[j], 1E-12);
+         }
+      }
+   
+   // Die Ortskurve wird aus den normierten Koordinaten zurückgerechnet.
+   Normierung normierung = Normierung.berechnen(messpunkte, Ausgleichsproblemtyp.ORTSKURVE_3d);
+   double[] normierterKreis = normierung.kreisparameterNormieren(new double[]{12.0, 21.0, 5.0}, 
+      Ausgleichsproblemtyp.ORTSKURVE_3d);
+   Ortskurve ortskurve = normierung.ortskurveZurueckrechnen(
+      new Ortskurve(new Vector2D(normierterKreis[0], normierterKreis[1]), normierterKreis[2]));
+   assertEquals(12.0, ortskurve.getMittelpunktOrtskurve().getX(), 1E-12);
+   assertEquals(21.0, ortskurve.getMittelpunktOrtskurve().getY(), 1E-12);
+   assertEquals(5.0, ortskurve.getRadiusOrtskurve(), 1E-12);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Normierung#berechnen(MessreiheAnsicht, Ausgleichsproblemtyp)}, falls alle Messpunkte
+ * identisch sind. Dann wird nur verschoben.
+ */
+@Test
+public void testBerechnenIdentischeMesspunkte()
+   {
+   MessreiheAnsicht messpunkte = MessreiheAnsicht.ansichtErzeugen(new Vector2D[]{new Vector2D(2.0, 1.0), 
+      new Vector2D(2.0, 1.0)});
+   
+   Normierung normierung = Normierung.berechnen(messpunkte, Ausgleichsproblemtyp.ORTSKURVE_3d);
+   
+   assertEquals(1.0, normierung.getSkalierung(), 0.0);
+   assertEquals(0.0, normierung.messreiheNormieren(messpunkte).getX(1), 0.0);
+   }
+}
@@ -16,17 +16,15 @@
 package de.thkwalter.et.ortskurve;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
 import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
 import org.junit.Before;
 import org.junit.Test;
 
-import de.thkwalter.jsf.ApplicationRuntimeException;
-
 /**
  * Diese Klasse enthält Tests für die Klasse {@link OrtskurveController}.
  *
@@ -112,80 +110,33 @@ public void testSetOrtskurveModell()
 // =====================================================================================================================
 
 /**
- * Test für die Methode {@link OrtskurveController#messpunkteValidieren(Vector2D[])}.
- * 
- * @throws Throwable 
- */
-@Test(expected=ApplicationRuntimeException.class)
-public void testMesspunkteValidieren1() throws Throwable
-   {
-   // Die in diesem Test verwendeten Messpunkte werden erzeugt.
-   Vector2D[] testMesspunkte = new Vector2D[]{new Vector2D(1.0, 0.0), new Vector2D(3.0, 0.0), new Vector2D(1, 0)};
-   
-   try
-      {
-      // Die zu testende Methode wird aufgerufen.
-      Method methode = OrtskurveController.class.getDeclaredMethod("messpunkteValidieren", Vector2D[].class);
-      methode.setAccessible(true);
-      methode.invoke(this.ortskurveController, (Object) testMesspunkte);
-      }
-   
-   // Die InvocationTargetException wird gefangen und die ursprüngliche Ausnahme weitergeworfen.
-   catch (InvocationTargetException invocationTargetException)
-      {
-      throw invocationTargetException.getCause();
-      }
-   }
-
-// =====================================================================================================================
-// =====================================================================================================================
-
-/**
- * Test für die Methode {@link OrtskurveController#messpunkteValidieren(Vector2D[])}.
+ * Test für die Methode {@link OrtskurveController#ortskurveBerechnenIntern()}. Bei der zweiten Berechnung derselben 
+ * Messreihe wird das Ergebnis aus dem Zwischenspeicher übernommen.
  * 
- * @throws Throwable 
- */
-@Test
-public void testMesspunkteValidieren2() throws Throwable
-   {
-   // Die in diesem Test verwendeten Messpunkte werden erzeugt.
-   Vector2D[] testMesspunkte = new Vector2D[]{new Vector2D(1.0, 0.0), new Vector2D(3.0, 0.0), new Vector2D(2, 1)};
-   
-   // Die zu testende Methode wird aufgerufen.
-   Method methode = OrtskurveController.class.getDeclaredMethod("messpunkteValidieren", Vector2D[].class);
-   methode.setAccessible(true);
-   methode.invoke(this.ortskurveController, (Object) testMesspunkte);
-   }
-
-// =====================================================================================================================
-// =====================================================================================================================
-
-/**
- * Test für die Methode {@link OrtskurveController#ortskurveBestimmen(Vector2D[], double[])}.
- * @throws SecurityException 
- * @throws NoSuchMethodException 
- * @throws InvocationTargetException 
- * @throws IllegalArgumentException 
- * @throws IllegalAccessException 
+ * @throws Exception
  */
 @Test
-public void testOrtskurveBestimmen() throws NoSuchMethodException, SecurityException, IllegalAccessException, 
-   IllegalArgumentException, InvocationTargetException
+public void testOrtskurveBerechnenIntern() throws Exception
    {
-   // Die in diesem Test verwendeten Messpunkte werden deklariert.
-   Vector2D[] testMesspunkte = new Vector2D[]{new Vector2D(2.0, 0.0), new Vector2D(3.0, 1.0), new Vector2D(3.0, -1.0)};
-   
-   // Der in diesem Test verwendete Startpunkt wird deklariert.
-   double[] testStartpunkt = new double[]{3.0, 0.0, 1.0};
+   // Der Zwischenspeicher und die Messpunkte werden festgelegt.
+   Ergebniscache ergebniscache = new Ergebniscache();
+   this.ortskurveController.setErgebniscache(ergebniscache);
+   this.testOrtskurveModell.setMesspunkte(new Vector2D[]{new Vector2D(2.0, 0.0), new Vector2D(3.0, 1.0), 
+      new Vector2D(3.0, -1.0), new Vector2D(4.0, 0.0)});
    
-   // Die zu testenden Methode wird aufgerufen.
-   Method methode = OrtskurveController.class.getDeclaredMethod("ortskurveBestimmen", Vector2D[].class, double[].class);
+   // Die zu testende Methode wird zweimal aufgerufen.
+   Method methode = OrtskurveController.class.getDeclaredMethod("ortskurveBerechnenIntern");
    methode.setAccessible(true);
-   Ortskurve ortskurve = (Ortskurve) methode.invoke(this.ortskurveController, testMesspunkte, testStartpunkt);
+   methode.invoke(this.ortskurveController);
+   Ortskurve ortskurve = this.testOrtskurveModell.getOrtskurve();
+   OrtskurveGrafik ortskurveGrafik = this.testOrtskurveModell.getOrtskurveGrafik();
+   methode.invoke(this.ortskurveController);
    
-   // Es wird überprüft, ob der Startpunkt als Ortskurve zurückgegeben worden ist.
-   assertEquals(testStartpunkt[0], ortskurve.getMittelpunktOrtskurve().getX(), 0.0);
-   assertEquals(testStartpunkt[1], ortskurve.getMittelpunktOrtskurve().getY(), 0.0);
-   assertEquals(testStartpunkt[2], ortskurve.getRadiusOrtskurve(), 0.0);
+   // Es wird überprüft, ob beim zweiten Aufruf die zwischengespeicherten Objekte übernommen worden sind.
+   assertEquals(1, ergebniscache.getFehlschlaege());
+   assertEquals(1, ergebniscache.getTreffer());
+   assertSame(ortskurve, this.testOrtskurveModell.getOrtskurve());
+   assertSame(ortskurveGrafik, this.testOrtskurveModell.getOrtskurveGrafik());
+   assertEquals(1.0, ortskurve.getRadiusOrtskurve(), 1E-6);
    }
 }
@@ -16,6 +16,8 @@
 package de.thkwalter.et.ortskurve;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.lang.reflect.Field;
@@ -561,7 +563,7 @@ public void testGetMesspunkte() throws SecurityException, NoSuchFieldException,
    // Die Messpunkte werden im Objekt der zu testenden Klasse gespeichert.
    Field messpunkteFeld = OrtskurveModell.class.getDeclaredField("messpunkte");
    messpunkteFeld.setAccessible(true);
-   messpunkteFeld.set(this.ortskurveModell, this.test_messpunkte);
+   messpunkteFeld.set(this.ortskurveModell, new Messreihe(this.test_messpunkte));
    
    // Die zu testende Methode wird aufgerufen.
    Vector2D[] messpunkte = this.ortskurveModell.getMesspunkte();
@@ -624,4 +626,31 @@ public void testRandpunkteOrtskurveZusammenstellen() throws NoSuchMethodExceptio
    assertTrue(randpunkteOrtskurve.contains(new Vector2D(1, 1)));
    assertTrue(randpunkteOrtskurve.contains(new Vector2D(1, -1)));
    }
-}
\ No newline at end of file
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methoden {@link OrtskurveModell#setMesspunkteEingabe(Messreihe)} und 
+ * {@link OrtskurveModell#hochgeladeneMessreiheVerwerfen()}.
+ */
+@Test
+public void testHochgeladeneMessreiheVerwerfen()
+   {
+   // Die Messreihe wird gespeichert.
+   Messreihe messreihe = new Messreihe(this.test_messpunkte);
+   this.ortskurveModell.setMesspunkteEingabe(messreihe);
+   
+   // Es wird überprüft, ob die Messreihe ohne Kopie gespeichert worden ist.
+   assertTrue(messreihe == this.ortskurveModell.getMesspunkteEingabe());
+   assertEquals(this.test_messpunkte.length, this.ortskurveModell.getAnzahlMesspunkte());
+   assertFalse(this.ortskurveModell.isMessreiheHochgeladen());
+   
+   // Die zu testende Methode wird aufgerufen.
+   this.ortskurveModell.hochgeladeneMessreiheVerwerfen();
+   
+   // Es wird überprüft, ob die Messreihe verworfen worden ist.
+   assertNull(this.ortskurveModell.getMesspunkteEingabe());
+   assertEquals(0, this.ortskurveModell.getAnzahlMesspunkte());
+   }
+}
@@ -0,0 +1,339 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+
+import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+import org.junit.Test;
+
+import de.thkwalter.jsf.ApplicationRuntimeException;
+
+/**
+ * Diese Klasse enthält Tests für die Klasse {@link Ortskurvenberechnung}.
+ *
+ * @author Th. K. Walter
+ */
+public class OrtskurvenberechnungTest
+{
+/**
+ * Test für die Methode {@link Ortskurvenberechnung#messpunkteValidieren(MessreiheAnsicht)}.
+ */
+@Test(expected=ApplicationRuntimeException.class)
+public void testMesspunkteValidieren1()
+   {
+   // Die in diesem Test verwendeten Messpunkte werden erzeugt.
+   Vector2D[] testMesspunkte = new Vector2D[]{new Vector2D(1.0, 0.0), new Vector2D(3.0, 0.0), new Vector2D(1, 0)};
+   
+   // Die zu testende Methode wird aufgerufen.
+   Ortskurvenberechnung.messpunkteValidieren(MessreiheAnsicht.ansichtErzeugen(testMesspunkte));
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Ortskurvenberechnung#messpunkteValidieren(MessreiheAnsicht)}.
+ */
+@Test
+public void testMesspunkteValidieren2()
+   {
+   // Die in diesem Test verwendeten Messpunkte werden erzeugt.
+   Vector2D[] testMesspunkte = new Vector2D[]{new Vector2D(1.0, 0.0), new Vector2D(3.0, 0.0), new Vector2D(2, 1)};
+   
+   // Die zu testende Methode wird aufgerufen.
+   Ortskurvenberechnung.messpunkteValidieren(MessreiheAnsicht.ansichtErzeugen(testMesspunkte));
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Ortskurvenberechnung#messpunkteValidieren(MessreiheAnsicht, double, boolean)}. Ein 
+ * nahezu doppelter Messpunkt wird mit einer Duplikattoleranz als Fehler gemeldet.
+ */
+@Test(expected=ApplicationRuntimeException.class)
+public void testMesspunkteValidieren3()
+   {
+   // Die in diesem Test verwendeten Messpunkte werden erzeugt.
+   Vector2D[] testMesspunkte = new Vector2D[]{new Vector2D(1.0, 0.0), new Vector2D(3.0, 0.0), new Vector2D(2, 1), 
+      new Vector2D(1.0 + 1E-12, 0.0)};
+   
+   // Die zu testende Methode wird aufgerufen.
+   Ortskurvenberechnung.messpunkteValidieren(MessreiheAnsicht.ansichtErzeugen(testMesspunkte), 1E-9, false);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Ortskurvenberechnung#messpunkteValidieren(MessreiheAnsicht, double, boolean)}. Ein 
+ * nahezu doppelter Messpunkt wird zusammengefasst, wenn Duplikate zusammengefasst werden sollen.
+ */
+@Test
+public void testMesspunkteValidieren4()
+   {
+   // Die in diesem Test verwendeten Messpunkte werden erzeugt.
+   Vector2D[] testMesspunkte = new Vector2D[]{new Vector2D(1.0, 0.0), new Vector2D(3.0, 0.0), 
+      new Vector2D(1.0 + 1E-12, 0.0), new Vector2D(2, 1)};
+   
+   // Die zu testende Methode wird aufgerufen.
+   MessreiheAnsicht messpunkte = 
+      Ortskurvenberechnung.messpunkteValidieren(MessreiheAnsicht.ansichtErzeugen(testMesspunkte), 1E-9, true);
+   
+   // Es wird überprüft, ob der nahezu doppelte Messpunkt entfernt worden ist.
+   assertEquals(3, messpunkte.getAnzahl());
+   assertEquals(1.0, messpunkte.getX(0), 0.0);
+   assertEquals(3.0, messpunkte.getX(1), 0.0);
+   assertEquals(2.0, messpunkte.getX(2), 0.0);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Ortskurvenberechnung#messpunktePruefen(MessreiheAnsicht)}. Ein doppelter Messpunkt und 
+ * die dadurch singuläre Matrix der Startpunktbestimmung werden gemeinsam gemeldet, ohne dass eine Ausnahme geworfen 
+ * wird.
+ */
+@Test
+public void testMesspunktePruefen()
+   {
+   // Die in diesem Test verwendeten Messpunkte werden erzeugt.
+   Vector2D[] testMesspunkte = new Vector2D[]{new Vector2D(1.0, 0.0), new Vector2D(3.0, 0.0), new Vector2D(1, 0)};
+   
+   // Die zu testende Methode wird aufgerufen.
+   Validierungsergebnis validierungsergebnis = 
+      new Ortskurvenberechnung(null).messpunktePruefen(MessreiheAnsicht.ansichtErzeugen(testMesspunkte));
+   
+   // Es wird überprüft, ob beide Fehler vermerkt worden sind.
+   assertFalse(validierungsergebnis.isValide());
+   assertEquals(2, validierungsergebnis.getFehler().size());
+   assertEquals(Fehlercode.DOPPELTE_MESSPUNKTE, validierungsergebnis.getFehler().get(0).getFehlercode());
+   assertEquals(Fehlercode.SINGULAERE_MESSPUNKTE, validierungsergebnis.getFehler().get(1).getFehlercode());
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Ortskurvenberechnung#ortskurveBerechnen(MessreiheAnsicht)} mit zu wenigen Messpunkten. 
+ * Der Fehler wird als {@link Validierungsausnahme} ohne Stacktrace gemeldet.
+ */
+@Test
+public void testOrtskurveBerechnenZuWenigeMesspunkte()
+   {
+   try
+      {
+      new Ortskurvenberechnung(null).ortskurveBerechnen(
+         MessreiheAnsicht.ansichtErzeugen(new Vector2D[]{new Vector2D(1.0, 0.0), new Vector2D(3.0, 0.0)}));
+      fail("Es ist keine Ausnahme geworfen worden!");
+      }
+   catch (Validierungsausnahme e)
+      {
+      assertEquals(0, e.getStackTrace().length);
+      assertTrue(e.getValidierungsergebnis().enthaelt(Fehlercode.ZU_WENIGE_MESSPUNKTE));
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Ortskurvenberechnung#ortskurveBerechnen(MessreiheAnsicht)} mit drei Messpunkten. Der 
+ * Kreis durch die drei Messpunkte ist die Ortskurve.
+ */
+@Test
+public void testOrtskurveBerechnen1()
+   {
+   // Die in diesem Test verwendeten Messpunkte werden deklariert.
+   Vector2D[] testMesspunkte = new Vector2D[]{new Vector2D(2.0, 0.0), new Vector2D(3.0, 1.0), new Vector2D(3.0, -1.0)};
+   
+   // Die zu testenden Methode wird aufgerufen.
+   Ortskurvenergebnis ortskurvenergebnis = 
+      new Ortskurvenberechnung(null).ortskurveBerechnen(MessreiheAnsicht.ansichtErzeugen(testMesspunkte));
+   
+   // Es wird überprüft, ob der Kreis durch die drei Messpunkte als Ortskurve zurückgegeben worden ist.
+   Ortskurve ortskurve = ortskurvenergebnis.getOrtskurve();
+   assertEquals(3.0, ortskurve.getMittelpunktOrtskurve().getX(), 1E-12);
+   assertEquals(0.0, ortskurve.getMittelpunktOrtskurve().getY(), 1E-12);
+   assertEquals(1.0, ortskurve.getRadiusOrtskurve(), 1E-12);
+   assertNull(ortskurvenergebnis.getOptimalerAusgleichskreis());
+   assertNull(ortskurvenergebnis.getLoesungsstatistik());
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Ortskurvenberechnung#ortskurveBerechnen(MessreiheAnsicht)}, falls der Mittelpunkt des 
+ * optimalen Ausgleichskreises einen negativen Realteil besitzt.
+ */
+@Test
+public void testOrtskurveBerechnen2()
+   {
+   // Die in diesem Test verwendeten Messpunkte werden deklariert.
+   Vector2D[] testMesspunkte = new Vector2D[]{new Vector2D(1.1, -0.5), new Vector2D(2.0, 0.6), 
+      new Vector2D(2.9, -0.5), new Vector2D(2.0, -1.6)};
+   
+   // Die zu testenden Methode wird aufgerufen.
+   Ortskurvenergebnis ortskurvenergebnis = 
+      new Ortskurvenberechnung(null).ortskurveBerechnen(MessreiheAnsicht.ansichtErzeugen(testMesspunkte));
+   
+   // Es wird überprüft, ob die Ortskurve mit Mittelpunkt auf der Imaginärachse zurückgegeben worden ist.
+   assertEquals(2.0, ortskurvenergebnis.getOrtskurve().getMittelpunktOrtskurve().getX(), 2.0/1000);
+   assertEquals(0.0, ortskurvenergebnis.getOrtskurve().getMittelpunktOrtskurve().getY(), 0.0);
+   assertEquals(-0.5, ortskurvenergebnis.getOptimalerAusgleichskreis().getMittelpunktOrtskurve().getY(), 1E-3);
+   assertEquals(Loesungsverfahren.GAUSS_NEWTON_NORMALGLEICHUNGEN, 
+      ortskurvenergebnis.getLoesungsstatistik().getLoesungsverfahren());
+   assertNotNull(ortskurvenergebnis.toString());
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Ortskurvenberechnung#kleineAenderung(MessreiheAnsicht, MessreiheAnsicht)}.
+ */
+@Test
+public void testKleineAenderung()
+   {
+   // Die vorherige Messreihe besteht aus acht Messpunkten.
+   Vector2D[] vorherigeMesspunkte = new Vector2D[8];
+   for (int i = 0; i < vorherigeMesspunkte.length; i++)
+      {
+      vorherigeMesspunkte[i] = new Vector2D(i, i * i);
+      }
+   MessreiheAnsicht vorherigeMessreihe = MessreiheAnsicht.ansichtErzeugen(vorherigeMesspunkte);
+   
+   // Zwei geänderte Messpunkte gelten als kleine Änderung, drei nicht.
+   Vector2D[] messpunkte = vorherigeMesspunkte.clone();
+   messpunkte[0] = new Vector2D(0.1, 0.0);
+   messpunkte[1] = new Vector2D(1.1, 1.0);
+   assertTrue(Ortskurvenberechnung.kleineAenderung(MessreiheAnsicht.ansichtErzeugen(messpunkte), vorherigeMessreihe));
+   messpunkte[2] = new Vector2D(2.1, 4.0);
+   assertFalse(Ortskurvenberechnung.kleineAenderung(MessreiheAnsicht.ansichtErzeugen(messpunkte), 
+      vorherigeMessreihe));
+   
+   // Ein hinzugefügter Messpunkt gilt als kleine Änderung.
+   Vector2D[] erweiterteMesspunkte = Arrays.copyOf(vorherigeMesspunkte, 9);
+   erweiterteMesspunkte[8] = new Vector2D(8.0, 64.0);
+   assertTrue(Ortskurvenberechnung.kleineAenderung(MessreiheAnsicht.ansichtErzeugen(erweiterteMesspunkte), 
+      vorherigeMessreihe));
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Ortskurvenberechnung#ortskurveBerechnen(MessreiheAnsicht, MessreiheAnsicht, 
+ * Ortskurvenergebnis)}. Nach dem Ändern eines Messpunkts benötigt der Warmstart höchstens so viele Iterationsschritte
+ * wie die Berechnung ohne vorherige Lösung und liefert dieselbe Ortskurve.
+ */
+@Test
+public void testOrtskurveBerechnen3()
+   {
+   // Die vorherige Messreihe wird berechnet.
+   Vector2D[] vorherigeMesspunkte = new Vector2D[10];
+   for (int i = 0; i < vorherigeMesspunkte.length; i++)
+      {
+      double radius = 2.0 + 0.05 * Math.sin(3.0 * i);
+      vorherigeMesspunkte[i] = new Vector2D(3.0 + radius * Math.cos(0.3 * i), 1.0 + radius * Math.sin(0.3 * i));
+      }
+   Ortskurvenberechnung ortskurvenberechnung = new Ortskurvenberechnung(Loesungsverfahren.LEVENBERG_MARQUARDT);
+   MessreiheAnsicht vorherigeMessreihe = MessreiheAnsicht.ansichtErzeugen(vorherigeMesspunkte);
+   Ortskurvenergebnis vorherigesErgebnis = ortskurvenberechnung.ortskurveBerechnen(vorherigeMessreihe);
+   
+   // Ein Messpunkt wird geändert.
+   Vector2D[] messpunkte = vorherigeMesspunkte.clone();
+   messpunkte[4] = new Vector2D(3.0 + 2.02 * Math.cos(1.2), 1.0 + 2.02 * Math.sin(1.2));
+   MessreiheAnsicht messreihe = MessreiheAnsicht.ansichtErzeugen(messpunkte);
+   
+   // Die zu testende Methode wird mit und ohne Warmstart aufgerufen.
+   Ortskurvenergebnis kalt = ortskurvenberechnung.ortskurveBerechnen(messreihe);
+   Ortskurvenergebnis warm = ortskurvenberechnung.ortskurveBerechnen(messreihe, vorherigeMessreihe, 
+      vorherigesErgebnis);
+   
+   // Es wird überprüft, ob beide Berechnungen dieselbe Ortskurve liefern.
+   assertEquals(kalt.getOrtskurve().getMittelpunktOrtskurve().getX(), 
+      warm.getOrtskurve().getMittelpunktOrtskurve().getX(), 1E-3);
+   assertEquals(kalt.getOrtskurve().getMittelpunktOrtskurve().getY(), 
+      warm.getOrtskurve().getMittelpunktOrtskurve().getY(), 1E-3);
+   assertEquals(kalt.getOrtskurve().getRadiusOrtskurve(), warm.getOrtskurve().getRadiusOrtskurve(), 1E-3);
+   assertTrue(warm.getLoesungsstatistik().getAnzahlIterationen() <= 
+      kalt.getLoesungsstatistik().getAnzahlIterationen());
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Ortskurvenberechnung#ortskurveBerechnen(MessreiheAnsicht, MessreiheAnsicht, 
+ * Ortskurvenergebnis)}, falls der Warmstart scheitert, weil der vorherige Mittelpunkt auf einem Messpunkt liegt. 
+ * Die Ortskurve muss dann ohne vorherige Lösung berechnet werden.
+ */
+@Test
+public void testOrtskurveBerechnen4()
+   {
+   Vector2D[] messpunkte = new Vector2D[]{new Vector2D(2.0, 0.0), new Vector2D(3.0, 1.0), new Vector2D(3.0, -1.0), 
+      new Vector2D(4.0, 0.0), new Vector2D(3.0 + Math.cos(1.0), Math.sin(1.0))};
+   MessreiheAnsicht vorherigeMesspunkte = MessreiheAnsicht.ansichtErzeugen(Arrays.copyOf(messpunkte, 4));
+   Ortskurvenergebnis vorherigesErgebnis = 
+      new Ortskurvenergebnis(new Ortskurve(new Vector2D(4.0, 0.0), 1.0), null, null);
+   
+   // Die zu testende Methode wird aufgerufen.
+   Ortskurvenergebnis ortskurvenergebnis = new Ortskurvenberechnung(null).ortskurveBerechnen(
+      MessreiheAnsicht.ansichtErzeugen(messpunkte), vorherigeMesspunkte, vorherigesErgebnis);
+   
+   // Es wird überprüft, ob die Ortskurve korrekt berechnet worden ist.
+   assertEquals(3.0, ortskurvenergebnis.getOrtskurve().getMittelpunktOrtskurve().getX(), 1E-6);
+   assertEquals(0.0, ortskurvenergebnis.getOrtskurve().getMittelpunktOrtskurve().getY(), 1E-6);
+   assertEquals(1.0, ortskurvenergebnis.getOrtskurve().getRadiusOrtskurve(), 1E-6);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Ortskurvenberechnung#ortskurveBerechnen(MessreiheAnsicht)}, falls das Zeitbudget 
+ * erschöpft ist. Das Ergebnis enthält dann eine nicht konvergierte Näherung statt einer Fehlermeldung.
+ */
+@Test
+public void testOrtskurveBerechnenZeitbudget()
+   {
+   MessreiheAnsicht messreihe = MessreiheAnsicht.ansichtErzeugen(new Vector2D[]{new Vector2D(2.0, 0.1), 
+      new Vector2D(3.0, 1.0), new Vector2D(3.1, -1.0), new Vector2D(4.0, 0.0), new Vector2D(2.3, 0.7)});
+   Ortskurvenberechnung ortskurvenberechnung = new Ortskurvenberechnung(null);
+   
+   // Ohne Zeitbudget konvergiert die Ausgleichsrechnung.
+   assertTrue(ortskurvenberechnung.ortskurveBerechnen(messreihe).isKonvergiert());
+   
+   // Mit einem bereits erschöpften Zeitbudget wird eine nicht konvergierte Näherung zurückgegeben.
+   ortskurvenberechnung.setZeitbudget(-1000L);
+   Ortskurvenergebnis ortskurvenergebnis = ortskurvenberechnung.ortskurveBerechnen(messreihe);
+   assertTrue(ortskurvenergebnis.isErfolgreich());
+   assertNotNull(ortskurvenergebnis.getOrtskurve());
+   assertFalse(ortskurvenergebnis.isKonvergiert());
+   assertFalse(ortskurvenergebnis.getLoesungsstatistik().isKonvergiert());
+   }
+}
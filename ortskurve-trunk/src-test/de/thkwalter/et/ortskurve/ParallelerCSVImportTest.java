@@ -0,0 +1,157 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.thkwalter.jsf.converter.CSVFormatausnahme;
+import de.thkwalter.jsf.converter.CSVParser;
+
+/**
+ * Diese Klasse enthält Tests für die Klasse {@link ParallelerCSVImport}.
+ *
+ * @author Th. K. Walter
+ */
+public class ParallelerCSVImportTest
+{
+/**
+ * Das temporäre Verzeichnis für die Dateien der Tests
+ */
+@Rule
+public TemporaryFolder verzeichnis = new TemporaryFolder();
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode erzeugt eine Datei im CSV-Format mit der angegebenen Anzahl von Zeilen.
+ *
+ * @param anzahl Die Anzahl der Zeilen
+ * @param fehlerzeile Die Zeile, die einen Formatfehler enthält, oder 0
+ *
+ * @return Der Inhalt der Datei
+ */
+private static String inhaltErzeugen(int anzahl, int fehlerzeile)
+   {
+   StringBuilder inhalt = new StringBuilder("\uFEFF");
+   for (int i = 1; i <= anzahl; i++)
+      {
+      inhalt.append(i == fehlerzeile ? "x" : "").append(i).append(".25; -").append(i).append("e-3");
+      inhalt.append(i % 3 == 0 ? "\n" : "\r\n");
+      }
+   return inhalt.toString();
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link ParallelerCSVImport#lesen(Path)}. Die Datei wird in viele kleine Abschnitte zerlegt, 
+ * die auf einem Thread-Pool zerlegt werden; das Ergebnis muss dem des sequentiellen Parsers entsprechen.
+ *
+ * @throws IOException
+ * @throws InterruptedException
+ */
+@Test
+public void testLesen1() throws IOException, InterruptedException
+   {
+   String inhalt = ParallelerCSVImportTest.inhaltErzeugen(20000, 0);
+   Path datei = this.verzeichnis.newFile("messreihe.csv").toPath();
+   Files.write(datei, inhalt.getBytes(Charset.forName("UTF-8")));
+
+   // Die zu testende Methode wird aufgerufen.
+   ExecutorService executor = Executors.newFixedThreadPool(4);
+   MessreiheAnsicht messpunkte;
+   try
+      {
+      ParallelerCSVImport parallelerCSVImport = new ParallelerCSVImport(executor);
+      parallelerCSVImport.setAbschnittsgroesse(1000);
+      messpunkte = parallelerCSVImport.lesen(datei).getAnsicht();
+      }
+   finally
+      {
+      executor.shutdown();
+      }
+
+   // Es wird überprüft, ob die Messpunkte in der richtigen Reihenfolge gelesen worden sind.
+   CSVParser parser = CSVParser.parsen(inhalt);
+   assertEquals(20000, messpunkte.getAnzahl());
+   for (int i = 0; i < parser.getAnzahl(); i++)
+      {
+      assertEquals(parser.getX()[i], messpunkte.getX(i), 0.0);
+      assertEquals(parser.getY()[i], messpunkte.getY(i), 0.0);
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link ParallelerCSVImport#lesen(Path)}. Ein Formatfehler in einem späteren Abschnitt wird mit
+ * der Zeile in der gesamten Datei gemeldet.
+ *
+ * @throws IOException
+ * @throws InterruptedException
+ */
+@Test
+public void testLesen2() throws IOException, InterruptedException
+   {
+   Path datei = this.verzeichnis.newFile("messreihe.csv").toPath();
+   Files.write(datei, ParallelerCSVImportTest.inhaltErzeugen(5000, 4321).getBytes(Charset.forName("UTF-8")));
+
+   ParallelerCSVImport parallelerCSVImport = new ParallelerCSVImport();
+   parallelerCSVImport.setAbschnittsgroesse(777);
+   try
+      {
+      parallelerCSVImport.lesen(datei);
+      fail("Der Formatfehler wurde nicht erkannt!");
+      }
+   catch (CSVFormatausnahme csvFormatausnahme)
+      {
+      assertEquals(4321, csvFormatausnahme.getZeile());
+      assertEquals(1, csvFormatausnahme.getSpalte());
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link ParallelerCSVImport#lesen(Path)}. Eine leere Datei ergibt eine leere Messreihe.
+ *
+ * @throws IOException
+ * @throws InterruptedException
+ */
+@Test
+public void testLesen3() throws IOException, InterruptedException
+   {
+   Path datei = this.verzeichnis.newFile("messreihe.csv").toPath();
+
+   assertEquals(0, new ParallelerCSVImport().lesen(datei).getAnzahl());
+   }
+}
@@ -0,0 +1,155 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Diese Klasse enthält Tests für die Klasse {@link RobusterKreisausgleich}.
+ *
+ * @author Th. K. Walter
+ */
+public class RobusterKreisausgleichTest
+{
+/**
+ * Die Messpunkte: 30 Messpunkte auf einem Kreis mit dem Mittelpunkt (4; 1) und dem Radius 3, von denen jeder fünfte 
+ * durch eine Fehlmessung ersetzt worden ist
+ */
+private MessreiheAnsicht messpunkte;
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode erzeugt die Messpunkte.
+ */
+@Before
+public void setUp()
+   {
+   Vector2D[] messpunkteFeld = new Vector2D[30];
+   for (int i = 0; i < messpunkteFeld.length; i++)
+      {
+      messpunkteFeld[i] = i % 5 == 2 ? new Vector2D(4.0 + 0.3 * i, 8.0 - 0.4 * i) : 
+         new Vector2D(4.0 + 3.0 * Math.cos(0.2 * i), 1.0 + 3.0 * Math.sin(0.2 * i));
+      }
+   this.messpunkte = MessreiheAnsicht.ansichtErzeugen(messpunkteFeld);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link RobusterKreisausgleich#ransacDurchfuehren()}. Das Ergebnis muss reproduzierbar sein.
+ */
+@Test
+public void testRansacDurchfuehren()
+   {
+   RobusterKreisausgleich robusterKreisausgleich = 
+      new RobusterKreisausgleich(this.messpunkte, Ausgleichsproblemtyp.ORTSKURVE_3d, Loesungsverfahren.ROBUST_TUKEY);
+   
+   double[] kreisparameter = robusterKreisausgleich.ransacDurchfuehren();
+   
+   assertArrayEquals(new double[]{4.0, 1.0, 3.0}, kreisparameter, 1E-9);
+   assertArrayEquals(kreisparameter, robusterKreisausgleich.ransacDurchfuehren(), 0.0);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link RobusterKreisausgleich#ransacDurchfuehren()} mit einem übergebenen Thread-Pool. Das 
+ * Ergebnis muss mit dem der Bewertung im aufrufenden Thread übereinstimmen.
+ * 
+ * @throws InterruptedException Falls der Test beim Beenden des Thread-Pools unterbrochen wird.
+ */
+@Test
+public void testRansacDurchfuehrenExecutor() throws InterruptedException
+   {
+   RobusterKreisausgleich robusterKreisausgleich = 
+      new RobusterKreisausgleich(this.messpunkte, Ausgleichsproblemtyp.ORTSKURVE_3d, Loesungsverfahren.ROBUST_TUKEY);
+   double[] sequentiell = robusterKreisausgleich.ransacDurchfuehren();
+   
+   ExecutorService executor = Executors.newFixedThreadPool(4);
+   try
+      {
+      robusterKreisausgleich.setExecutor(executor);
+      assertArrayEquals(sequentiell, robusterKreisausgleich.ransacDurchfuehren(), 0.0);
+      }
+   finally
+      {
+      executor.shutdown();
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link RobusterKreisausgleich#ransacDurchfuehren()}, falls zu wenige Messpunkte vorhanden sind.
+ */
+@Test
+public void testRansacDurchfuehren2()
+   {
+   RobusterKreisausgleich robusterKreisausgleich = new RobusterKreisausgleich(
+      MessreiheAnsicht.ansichtErzeugen(new Vector2D[]{new Vector2D(1.0, 0.0), new Vector2D(0.0, 1.0)}), 
+      Ausgleichsproblemtyp.ORTSKURVE_3d, Loesungsverfahren.ROBUST_TUKEY);
+   
+   assertNull(robusterKreisausgleich.ransacDurchfuehren());
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link RobusterKreisausgleich#irlsDurchfuehren(double[], double[], int)} mit der 
+ * Gewichtsfunktion nach Huber beim 2d-Ausgleichsproblem. Die Fehlmessungen erhalten kleine Gewichte.
+ */
+@Test
+public void testIrlsDurchfuehren()
+   {
+   // Der Kreis wird auf den Mittelpunkt (4; 0) verschoben.
+   Vector2D[] messpunkteFeld = new Vector2D[this.messpunkte.getAnzahl()];
+   for (int i = 0; i < messpunkteFeld.length; i++)
+      {
+      messpunkteFeld[i] = new Vector2D(this.messpunkte.getX(i), this.messpunkte.getY(i) - 1.0);
+      }
+   RobusterKreisausgleich robusterKreisausgleich = new RobusterKreisausgleich(
+      MessreiheAnsicht.ansichtErzeugen(messpunkteFeld), Ausgleichsproblemtyp.ORTSKURVE_2d, 
+      Loesungsverfahren.ROBUST_HUBER);
+   
+   // Die zu testende Methode wird mit dem Ergebnis des RANSAC-Verfahrens aufgerufen.
+   double[] gewichte = new double[messpunkteFeld.length];
+   double[] kreisparameter = 
+      robusterKreisausgleich.irlsDurchfuehren(robusterKreisausgleich.ransacDurchfuehren(), gewichte, 200);
+   
+   // Es wird überprüft, ob der Kreis gefunden und die Fehlmessungen schwach gewichtet worden sind.
+   assertEquals(4.0, kreisparameter[0], 1E-3);
+   assertEquals(3.0, kreisparameter[1], 1E-3);
+   assertTrue(gewichte[7] < 0.01);
+   assertEquals(1.0, gewichte[8], 0.0);
+   assertTrue(robusterKreisausgleich.getAnzahlIterationen() > 0);
+   }
+}
@@ -0,0 +1,117 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+import org.junit.Test;
+
+/**
+ * Diese Klasse enthält Tests für die Klasse {@link Stapelberechnung}.
+ *
+ * @author Th. K. Walter
+ */
+public class StapelberechnungTest
+{
+/**
+ * Test für die Methode {@link Stapelberechnung#ortskurvenBerechnen(List, Loesungsverfahren)}. Jede zehnte Messreihe 
+ * enthält einen doppelten Messpunkt; ihr Ergebnis muss die Fehlermeldung enthalten, ohne dass die übrigen Messreihen 
+ * betroffen sind.
+ * 
+ * @throws InterruptedException
+ */
+@Test
+public void testOrtskurvenBerechnen() throws InterruptedException
+   {
+   // Die Messreihen werden erzeugt. Die Mittelpunkte der Kreise liegen bei (k; 2), die Radien betragen 1.
+   List<MessreiheAnsicht> messreihen = new ArrayList<MessreiheAnsicht>();
+   for (int k = 0; k < 100; k++)
+      {
+      Vector2D[] messpunkte = new Vector2D[8];
+      for (int i = 0; i < messpunkte.length; i++)
+         {
+         messpunkte[i] = new Vector2D(k + Math.cos(0.7 * i), 2.0 + Math.sin(0.7 * i));
+         }
+      if (k % 10 == 3)
+         {
+         messpunkte[5] = messpunkte[4];
+         }
+      messreihen.add(MessreiheAnsicht.ansichtErzeugen(messpunkte));
+      }
+   
+   // Die zu testende Methode wird mit einem eigenen Executor aufgerufen.
+   ExecutorService executor = Executors.newFixedThreadPool(4);
+   List<Ortskurvenergebnis> ergebnisse;
+   try
+      {
+      ergebnisse = new Stapelberechnung(executor).ortskurvenBerechnen(messreihen, null);
+      }
+   finally
+      {
+      executor.shutdown();
+      }
+   
+   // Es wird überprüft, ob die Ergebnisse in der Reihenfolge der Messreihen korrekt sind.
+   assertEquals(messreihen.size(), ergebnisse.size());
+   for (int k = 0; k < ergebnisse.size(); k++)
+      {
+      Ortskurvenergebnis ergebnis = ergebnisse.get(k);
+      if (k % 10 == 3)
+         {
+         assertFalse(ergebnis.isErfolgreich());
+         assertTrue(ergebnis.getFehlermeldung().contains("doppelt"));
+         assertTrue(ergebnis.getValidierungsergebnis().enthaelt(Fehlercode.DOPPELTE_MESSPUNKTE));
+         }
+      else
+         {
+         assertTrue(ergebnis.isErfolgreich());
+         assertEquals(k, ergebnis.getOrtskurve().getMittelpunktOrtskurve().getX(), 1E-6);
+         assertEquals(2.0, ergebnis.getOrtskurve().getMittelpunktOrtskurve().getY(), 1E-6);
+         assertEquals(1.0, ergebnis.getOrtskurve().getRadiusOrtskurve(), 1E-6);
+         }
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Stapelberechnung#ortskurvenBerechnen(List, Loesungsverfahren)} mit der voreingestellten
+ * Berechnung im aufrufenden Thread.
+ * 
+ * @throws InterruptedException
+ */
+@Test
+public void testOrtskurvenBerechnen2() throws InterruptedException
+   {
+   List<MessreiheAnsicht> messreihen = new ArrayList<MessreiheAnsicht>();
+   messreihen.add(MessreiheAnsicht.ansichtErzeugen(new Vector2D[]{new Vector2D(2.0, 0.0), new Vector2D(3.0, 1.0), 
+      new Vector2D(3.0, -1.0)}));
+   
+   List<Ortskurvenergebnis> ergebnisse = new Stapelberechnung().ortskurvenBerechnen(messreihen, null);
+   
+   assertEquals(1, ergebnisse.size());
+   assertEquals(1.0, ergebnisse.get(0).getOrtskurve().getRadiusOrtskurve(), 1E-12);
+   }
+}
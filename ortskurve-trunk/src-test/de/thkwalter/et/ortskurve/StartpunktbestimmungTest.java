@@ -15,11 +15,13 @@
  */
 package de.thkwalter.et.ortskurve;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
 
 import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
 import org.junit.Test;
@@ -42,7 +44,7 @@ public class StartpunktbestimmungTest
 public void testStartpunktbestimmung1() throws ApplicationRuntimeException
    {   
    // Es wird überprüft, ob der Konstruktor eine Ausnahme wirft, wenn null übergeben wird.
-   Startpunktbestimmung.startpunktBerechnen(null);
+   Startpunktbestimmung.startpunktBerechnen((Vector2D[]) null);
    }
 
 // =====================================================================================================================
@@ -88,9 +90,10 @@ public void testStartpunktbestimmung3()
 @Test
 public void testStartpunktbestimmung4() 
    {
-   // Die Startpunktbestimmung wird mit genau drei Messpunkten durchgeführt.
+   // Die Startpunktbestimmung wird mit vier Messpunkten durchgeführt, die auf einem Kreis liegen. Der Startpunkt wird
+   // algebraisch aus allen Messpunkten berechnet.
    double[] startparameter = Startpunktbestimmung.startpunktBerechnen(new Vector2D[]{new Vector2D(0.0, 0.0), 
-      new Vector2D(2.0, 2.0), new Vector2D(4.0, 0.0), new Vector2D(1.0, -1.0)});
+      new Vector2D(2.0, 2.0), new Vector2D(4.0, 0.0), new Vector2D(2.0, -2.0)});
    
    // Es wird überprüft, ob der Startpunkt korrekt bestimmt worden ist.
    assertEquals(2.0, startparameter[0], 2.0/1000);
@@ -102,7 +105,7 @@ public void testStartpunktbestimmung4()
 // =====================================================================================================================
 
 /**
- * Test für die Methode {@link Startpunktbestimmung#startpunktBestimmen(Vector2D[])}.
+ * Test für die Methode {@link Startpunktbestimmung#startpunktBestimmen(Vector2D[], Validierungsergebnis)}.
  * 
  * @throws ApplicationRuntimeException 
  * @throws NoSuchMethodException 
@@ -119,11 +122,11 @@ public void testStartpunktBestimmen1() throws ApplicationRuntimeException, Secur
       new Vector2D[]{new Vector2D(0.0, 0.0), new Vector2D(2.0, 2.0), new Vector2D(4.0, 0.0)};
    
    // Die zu testende Methode wird aufgerufen
-   Method methode = 
-      Startpunktbestimmung.class.getDeclaredMethod("startpunktBestimmen", Vector2D[].class);
+   Method methode = Startpunktbestimmung.class.getDeclaredMethod("startpunktBestimmen", Vector2D[].class, 
+      Validierungsergebnis.class);
    methode.setAccessible(true);
-   double[] startpunkt = 
-      (double[]) methode.invoke(Startpunktbestimmung.class, (Object) messpunkteZurStartpunktbestimmung);
+   double[] startpunkt = (double[]) methode.invoke(Startpunktbestimmung.class, messpunkteZurStartpunktbestimmung, 
+      new Validierungsergebnis());
    
    assertEquals(2.0, startpunkt[0], 2.0/1000);
    assertEquals(0.0, startpunkt[1], 2.0/1000);
@@ -134,40 +137,39 @@ public void testStartpunktBestimmen1() throws ApplicationRuntimeException, Secur
 // =====================================================================================================================
 
 /**
- * Test für die Methode {@link Startpunktbestimmung#startpunktBestimmen()}.
+ * Test für die Methode {@link Startpunktbestimmung#startpunktBestimmen(Vector2D[], Validierungsergebnis)}. Die Matrix 
+ * aus drei Messpunkten auf einer Geraden ist singulär; der Fehler wird im Validierungsergebnis vermerkt.
  * 
- * @throws ApplicationRuntimeException 
  * @throws NoSuchMethodException 
  * @throws SecurityException 
  * @throws InvocationTargetException 
  * @throws IllegalAccessException 
  * @throws IllegalArgumentException 
  */
-@Test(expected=ApplicationRuntimeException.class)
-public void testStartpunktBestimmen2() throws Throwable
+@Test
+public void testStartpunktBestimmen2() throws SecurityException, NoSuchMethodException, IllegalArgumentException, 
+   IllegalAccessException, InvocationTargetException
    {   
    Vector2D[] messpunkteZurStartpunktbestimmung = 
       new Vector2D[]{new Vector2D(1.0, 0.0), new Vector2D(2.0, 0.0), new Vector2D(3.0, 0.0)};
+   Validierungsergebnis validierungsergebnis = new Validierungsergebnis();
          
    // Die zu testende Methode wird aufgerufen
-   Method methode = 
-      Startpunktbestimmung.class.getDeclaredMethod("startpunktBestimmen", Vector2D[].class);
+   Method methode = Startpunktbestimmung.class.getDeclaredMethod("startpunktBestimmen", Vector2D[].class, 
+      Validierungsergebnis.class);
    methode.setAccessible(true);
-   try
-      {
-      methode.invoke(Startpunktbestimmung.class, (Object) messpunkteZurStartpunktbestimmung);
-      }
-   catch (InvocationTargetException invocationTargetException)
-      {
-      throw invocationTargetException.getCause();
-      }
+   Object startpunkt = 
+      methode.invoke(Startpunktbestimmung.class, messpunkteZurStartpunktbestimmung, validierungsergebnis);
+   
+   assertNull(startpunkt);
+   assertTrue(validierungsergebnis.enthaelt(Fehlercode.SINGULAERE_MESSPUNKTE));
    }
 
 // =====================================================================================================================
 // =====================================================================================================================
 
 /**
- * Test für die Methode {@link Startpunktbestimmung#messpunkteAuswaehlen(Vector2D[])}.
+ * Test für die Methode {@link Startpunktbestimmung#messpunkteAuswaehlen(MessreiheAnsicht)}.
  * 
  * @throws NoSuchMethodException 
  * @throws SecurityException 
@@ -186,10 +188,10 @@ public void testMesspunkteAuswaehlen1() throws SecurityException, NoSuchMethodEx
    
    // Die zu testende Methode wird aufgerufen
    Method methode = 
-      Startpunktbestimmung.class.getDeclaredMethod("messpunkteAuswaehlen", Vector2D[].class);
+      Startpunktbestimmung.class.getDeclaredMethod("messpunkteAuswaehlen", MessreiheAnsicht.class);
    methode.setAccessible(true);
-   Vector2D[] messpunkteZurStartpunktbestimmung = 
-      (Vector2D[]) methode.invoke(Startpunktbestimmung.class, (Object) messpunkte);
+   Vector2D[] messpunkteZurStartpunktbestimmung = (Vector2D[]) methode.invoke(Startpunktbestimmung.class, 
+      MessreiheAnsicht.ansichtErzeugen(messpunkte));
    
    // Es wird geprüft, ob die korrekten Messpunkt gefunden worden sind.
    assertEquals(messpunkte[0], messpunkteZurStartpunktbestimmung[0]);
@@ -201,7 +203,7 @@ public void testMesspunkteAuswaehlen1() throws SecurityException, NoSuchMethodEx
 // =====================================================================================================================
 
 /**
- * Test für die Methode {@link Startpunktbestimmung#messpunkteAuswaehlen(Vector2D[])}.
+ * Test für die Methode {@link Startpunktbestimmung#messpunkteAuswaehlen(MessreiheAnsicht)}.
  * 
  * @throws NoSuchMethodException 
  * @throws SecurityException 
@@ -220,10 +222,10 @@ public void testMesspunkteAuswaehlen2() throws SecurityException, NoSuchMethodEx
    
    // Die zu testende Methode wird aufgerufen
    Method methode = 
-      Startpunktbestimmung.class.getDeclaredMethod("messpunkteAuswaehlen", Vector2D[].class);
+      Startpunktbestimmung.class.getDeclaredMethod("messpunkteAuswaehlen", MessreiheAnsicht.class);
    methode.setAccessible(true);
-   Vector2D[] messpunkteZurStartpunktbestimmung = 
-      (Vector2D[]) methode.invoke(Startpunktbestimmung.class, (Object) messpunkte);
+   Vector2D[] messpunkteZurStartpunktbestimmung = (Vector2D[]) methode.invoke(Startpunktbestimmung.class, 
+      MessreiheAnsicht.ansichtErzeugen(messpunkte));
    
    // Es wird geprüft, ob die korrekten Messpunkt gefunden worden sind.
    assertEquals(messpunkte[2], messpunkteZurStartpunktbestimmung[0]);
@@ -235,212 +237,105 @@ public void testMesspunkteAuswaehlen2() throws SecurityException, NoSuchMethodEx
 // =====================================================================================================================
 
 /**
- * Test für die Methode {@link Startpunktbestimmung#mittlerenMesspunktBestimmen(ArrayList, double)}.
- * 
- * @throws NoSuchMethodException 
- * @throws SecurityException 
- * @throws InvocationTargetException 
- * @throws IllegalAccessException 
- * @throws IllegalArgumentException 
- * @throws NoSuchFieldException 
- */
-@Test
-public void testMittlerenMesspunktBestimmen1() throws SecurityException, NoSuchMethodException, 
-   IllegalArgumentException, IllegalAccessException, InvocationTargetException, NoSuchFieldException
-   {
-   // Die Testdaten werden erzeugt.
-   Vector2D messpunkt = new Vector2D(0.0, 0.1);
-   ArrayList<YKomponenteMesspunkt> yListe = new ArrayList<YKomponenteMesspunkt>();
-   yListe.add(new YKomponenteMesspunkt(new Vector2D(1.0, 1.0)));
-   yListe.add(new YKomponenteMesspunkt(new Vector2D(1.0, -1.0)));
-   yListe.add(new YKomponenteMesspunkt(messpunkt));
-   
-   // Die zu testende Methode wird aufgerufen
-   Method methode = 
-      Startpunktbestimmung.class.getDeclaredMethod("mittlerenMesspunktBestimmen", ArrayList.class, double.class);
-   methode.setAccessible(true);
-   Vector2D mittlererMesspunkt = (Vector2D) methode.invoke(Startpunktbestimmung.class, yListe, 0.0);
-   
-   // Es wird geprüft, ob der korrekte Messpunkt gefunden worden ist.
-   assertEquals(messpunkt, mittlererMesspunkt);
-   }
-
-// =====================================================================================================================
-// =====================================================================================================================
-
-/**
- * Test für die Methode {@link Startpunktbestimmung#mittlerenMesspunktBestimmen(ArrayList, double)}.
- * 
- * @throws NoSuchMethodException 
- * @throws SecurityException 
- * @throws InvocationTargetException 
- * @throws IllegalAccessException 
- * @throws IllegalArgumentException 
- * @throws NoSuchFieldException 
+ * Test für die Methode {@link Startpunktbestimmung#messpunkteAuswaehlen(MessreiheAnsicht)}, falls Komponenten mehrfach
+ * auftreten. Es wird jeweils der erste Messpunkt gewählt, und der mittlere Messpunkt ist keiner der beiden äußeren 
+ * Messpunkte.
  */
 @Test
-public void testMittlerenMesspunktBestimmen2() throws SecurityException, NoSuchMethodException, 
-   IllegalArgumentException, IllegalAccessException, InvocationTargetException, NoSuchFieldException
+public void testMesspunkteAuswaehlen3()
    {
-   // Die Testdaten werden erzeugt.
-   Vector2D messpunkt = new Vector2D(1.9, 0.0);
-   ArrayList<XKomponenteMesspunkt> xListe = new ArrayList<XKomponenteMesspunkt>();
-   xListe.add(new XKomponenteMesspunkt(new Vector2D(1.0, 0.0)));
-   xListe.add(new XKomponenteMesspunkt(new Vector2D(3.0, 0.0)));
-   xListe.add(new XKomponenteMesspunkt(messpunkt));
-   
-   // Die zu testende Methode wird aufgerufen
-   Method methode = 
-      Startpunktbestimmung.class.getDeclaredMethod("mittlerenMesspunktBestimmen", ArrayList.class, double.class);
-   methode.setAccessible(true);
-   Vector2D mittlererMesspunkt = (Vector2D) methode.invoke(Startpunktbestimmung.class, xListe, 2.0);
+   // Alle Messpunkte besitzen dieselbe x-Komponente, zwei Messpunkte die größte y-Komponente.
+   Vector2D[] messpunkte = new Vector2D[]{new Vector2D(1.0, 0.0), new Vector2D(1.0, 2.0), new Vector2D(1.0, 2.0), 
+      new Vector2D(1.0, 0.9), new Vector2D(1.0, 1.1)};
    
-   // Es wird geprüft, ob der korrekte Messpunkt gefunden worden ist.
-   assertEquals(messpunkt, mittlererMesspunkt);
-   }
-
-// =====================================================================================================================
-// =====================================================================================================================
-
-/**
- * Test für die Methode {@link Startpunktbestimmung#maxMesspunktBestimmen(ArrayList)}.
- * 
- * @throws NoSuchMethodException 
- * @throws SecurityException 
- * @throws InvocationTargetException 
- * @throws IllegalAccessException 
- * @throws IllegalArgumentException 
- */
-@Test
-public void testMaxMesspunktBestimmen1() throws SecurityException, NoSuchMethodException, IllegalArgumentException, 
-   IllegalAccessException, InvocationTargetException 
-   {
-   // Die Testdaten werden erzeugt.
-   Vector2D messpunkt1 = new Vector2D(1.0, 0.0);
-   Vector2D messpunkt2 = new Vector2D(2.0, 0.0);
-   ArrayList<XKomponenteMesspunkt> xListe = new ArrayList<XKomponenteMesspunkt>();
-   xListe.add(new XKomponenteMesspunkt(messpunkt1));
-   xListe.add(new XKomponenteMesspunkt(messpunkt2));
-   
-   // Die zu testende Methode wird aufgerufen
-   Method methode = Startpunktbestimmung.class.getDeclaredMethod("maxMesspunktBestimmen", ArrayList.class);
-   methode.setAccessible(true);
-   Vector2D maxXMesspunkt = (Vector2D) methode.invoke(Startpunktbestimmung.class, xListe);
+   // Die zu testende Methode wird aufgerufen.
+   Vector2D[] messpunkteZurStartpunktbestimmung = 
+      Startpunktbestimmung.messpunkteAuswaehlen(MessreiheAnsicht.ansichtErzeugen(messpunkte));
    
-   // Es wird überprüft, ob der korrekte Messpunkt zurückgegeben wird.
-   assertEquals(messpunkt2, maxXMesspunkt);
+   // Es wird geprüft, ob die korrekten Messpunkt gefunden worden sind.
+   assertEquals(messpunkte[1], messpunkteZurStartpunktbestimmung[0]);
+   assertEquals(messpunkte[0], messpunkteZurStartpunktbestimmung[1]);
+   assertEquals(messpunkte[3], messpunkteZurStartpunktbestimmung[2]);
    
-   // Es wird überprüft, ob der korrekte Messpunkt aus der Liste entfernt worden ist.
-   assertEquals(1, xListe.size());
-   assertEquals(messpunkt1, xListe.get(0).getMesspunkt());
+   // Falls alle Messpunkte identisch sind, werden trotzdem drei verschiedene Indizes ausgewählt. Der mittlere Messpunkt
+   // ist dann der dritte Messpunkt.
+   Vector2D[] gleicheMesspunkte = new Vector2D[]{new Vector2D(1.0, 1.0), new Vector2D(1.0, 1.0), 
+      new Vector2D(1.0, 1.0), new Vector2D(1.0, 1.0)};
+   messpunkteZurStartpunktbestimmung = 
+      Startpunktbestimmung.messpunkteAuswaehlen(MessreiheAnsicht.ansichtErzeugen(gleicheMesspunkte));
+   assertEquals(3, messpunkteZurStartpunktbestimmung.length);
+   assertEquals(gleicheMesspunkte[2], messpunkteZurStartpunktbestimmung[2]);
    }
 
 // =====================================================================================================================
 // =====================================================================================================================
 
 /**
- * Test für die Methode {@link Startpunktbestimmung#maxMesspunktBestimmen(ArrayList)}.
- * 
- * @throws NoSuchMethodException 
- * @throws SecurityException 
- * @throws InvocationTargetException 
- * @throws IllegalAccessException 
- * @throws IllegalArgumentException 
+ * Test für die Methode {@link Startpunktbestimmung#kreisDurchDreiPunkteBerechnen(double, double, double, double, 
+ * double, double)}.
  */
 @Test
-public void testMaxMesspunktBestimmen2() throws SecurityException, NoSuchMethodException, IllegalArgumentException, 
-   IllegalAccessException, InvocationTargetException 
+public void testKreisDurchDreiPunkteBerechnen()
    {
-   // Die Testdaten werden erzeugt.
-   Vector2D messpunkt1 = new Vector2D(0.0, 2.0);
-   Vector2D messpunkt2 = new Vector2D(0.0, 1.0);
-   ArrayList<YKomponenteMesspunkt> yListe = new ArrayList<YKomponenteMesspunkt>();
-   yListe.add(new YKomponenteMesspunkt(messpunkt1));
-   yListe.add(new YKomponenteMesspunkt(messpunkt2));
+   double[] kreis = Startpunktbestimmung.kreisDurchDreiPunkteBerechnen(5.0, 1.0, 2.0, 4.0, -1.0, 1.0);
+   assertArrayEquals(new double[]{2.0, 1.0, 3.0}, kreis, 1E-12);
    
-   // Die zu testende Methode wird aufgerufen
-   Method methode = Startpunktbestimmung.class.getDeclaredMethod("maxMesspunktBestimmen", ArrayList.class);
-   methode.setAccessible(true);
-   Vector2D maxYMesspunkt = (Vector2D) methode.invoke(Startpunktbestimmung.class, yListe);
-   
-   // Es wird überprüft, ob der korrekte Messpunkt zurückgegeben wird.
-   assertEquals(messpunkt1, maxYMesspunkt);
-   
-   // Es wird überprüft, ob der korrekte Messpunkt aus der Liste entfernt worden ist.
-   assertEquals(1, yListe.size());
-   assertEquals(messpunkt2, yListe.get(0).getMesspunkt());
+   // Falls die Punkte auf einer Geraden liegen, kann kein Kreis berechnet werden.
+   assertNull(Startpunktbestimmung.kreisDurchDreiPunkteBerechnen(0.0, 0.0, 1.0, 1.0, 2.0, 2.0));
    }
 
 // =====================================================================================================================
 // =====================================================================================================================
 
 /**
- * Test für die Methode {@link Startpunktbestimmung#minMesspunktBestimmen(ArrayList)}.
- * 
- * @throws NoSuchMethodException 
- * @throws SecurityException 
- * @throws InvocationTargetException 
- * @throws IllegalAccessException 
- * @throws IllegalArgumentException 
+ * Test für die Methode {@link Startpunktbestimmung#startpunktBerechnen(Vector2D[])} für drei Ströme in der 
+ * Größenordnung von kA auf einem kurzen Kreisbogen. Der Startpunkt wird mit normierten Messpunkten berechnet.
  */
 @Test
-public void testMinMesspunktBestimmen1() throws SecurityException, NoSuchMethodException, IllegalArgumentException, 
-   IllegalAccessException, InvocationTargetException 
+public void testStartpunktBerechnenKurzerKreisbogen()
    {
-   // Die Testdaten werden erzeugt.
-   Vector2D messpunkt1 = new Vector2D(1.0, 0.0);
-   Vector2D messpunkt2 = new Vector2D(2.0, 0.0);
-   ArrayList<XKomponenteMesspunkt> xListe = new ArrayList<XKomponenteMesspunkt>();
-   xListe.add(new XKomponenteMesspunkt(messpunkt1));
-   xListe.add(new XKomponenteMesspunkt(messpunkt2));
-   
-   // Die zu testende Methode wird aufgerufen
-   Method methode = Startpunktbestimmung.class.getDeclaredMethod("minMesspunktBestimmen", ArrayList.class);
-   methode.setAccessible(true);
-   Vector2D minXMesspunkt = (Vector2D) methode.invoke(Startpunktbestimmung.class, xListe);
+   // Drei Messpunkte auf einem Kreisbogen von 1° mit dem Mittelpunkt (20000; 50000) und dem Radius 30000.
+   Vector2D[] messpunkte = new Vector2D[3];
+   for (int i = 0; i < 3; i++)
+      {
+      double winkel = 1.0 + Math.toRadians(0.5 * i);
+      messpunkte[i] = new Vector2D(20000.0 + 30000.0 * Math.cos(winkel), 50000.0 + 30000.0 * Math.sin(winkel));
+      }
    
-   // Es wird überprüft, ob der korrekte Messpunkt zurückgegeben wird.
-   assertEquals(messpunkt1, minXMesspunkt);
+   // Die zu testende Methode wird aufgerufen.
+   double[] startpunkt = Startpunktbestimmung.startpunktBerechnen(messpunkte);
    
-   // Es wird überprüft, ob der korrekte Messpunkt aus der Liste entfernt worden ist.
-   assertEquals(1, xListe.size());
-   assertEquals(messpunkt2, xListe.get(0).getMesspunkt());
+   // Es wird überprüft, ob der Kreis durch die drei Messpunkte gefunden worden ist.
+   assertEquals(20000.0, startpunkt[0], 1E-3);
+   assertEquals(50000.0, startpunkt[1], 1E-3);
+   assertEquals(30000.0, startpunkt[2], 1E-3);
    }
 
 // =====================================================================================================================
 // =====================================================================================================================
 
 /**
- * Test für die Methode {@link Startpunktbestimmung#minMesspunktBestimmen(ArrayList)}.
+ * Test der Methode {@link Startpunktbestimmung#startpunktBerechnen(Vector2D[])} für sehr kleine Koordinaten.
  * 
- * @throws NoSuchMethodException 
- * @throws SecurityException 
- * @throws InvocationTargetException 
- * @throws IllegalAccessException 
- * @throws IllegalArgumentException 
+ * Ohne Normierung der Messpunkte wird das lineare Gleichungssystem hier fälschlich als singulär erkannt.
  */
 @Test
-public void testMinMesspunktBestimmen2() throws SecurityException, NoSuchMethodException, IllegalArgumentException, 
-   IllegalAccessException, InvocationTargetException 
+public void testStartpunktBerechnenKleineKoordinaten()
    {
-   // Die Testdaten werden erzeugt.
-   Vector2D messpunkt1 = new Vector2D(0.0, 2.0);
-   Vector2D messpunkt2 = new Vector2D(0.0, 1.0);
-   ArrayList<YKomponenteMesspunkt> yListe = new ArrayList<YKomponenteMesspunkt>();
-   yListe.add(new YKomponenteMesspunkt(messpunkt1));
-   yListe.add(new YKomponenteMesspunkt(messpunkt2));
-   
-   // Die zu testende Methode wird aufgerufen
-   Method methode = Startpunktbestimmung.class.getDeclaredMethod("minMesspunktBestimmen", ArrayList.class);
-   methode.setAccessible(true);
-   Vector2D minYMesspunkt = (Vector2D) methode.invoke(Startpunktbestimmung.class, yListe);
+   // Drei Messpunkte auf einem Kreisbogen von 0,01° mit dem Mittelpunkt (0,0002; 0,0005) und dem Radius 0,0003.
+   Vector2D[] messpunkte = new Vector2D[3];
+   for (int i = 0; i < 3; i++)
+      {
+      double winkel = 1.0 + Math.toRadians(0.005 * i);
+      messpunkte[i] = new Vector2D(0.0002 + 0.0003 * Math.cos(winkel), 0.0005 + 0.0003 * Math.sin(winkel));
+      }
    
-   // Es wird überprüft, ob der korrekte Messpunkt zurückgegeben wird.
-   assertEquals(messpunkt2, minYMesspunkt);
+   // Die zu testende Methode wird aufgerufen.
+   double[] startpunkt = Startpunktbestimmung.startpunktBerechnen(messpunkte);
    
-   // Es wird überprüft, ob der korrekte Messpunkt aus der Liste entfernt worden ist.
-   assertEquals(1, yListe.size());
-   assertEquals(messpunkt1, yListe.get(0).getMesspunkt());
+   // Es wird überprüft, ob der Kreis durch die drei Messpunkte gefunden worden ist.
+   assertEquals(0.0002, startpunkt[0], 1E-9);
+   assertEquals(0.0005, startpunkt[1], 1E-9);
+   assertEquals(0.0003, startpunkt[2], 1E-9);
    }
-
-}
\ No newline at end of file
+}
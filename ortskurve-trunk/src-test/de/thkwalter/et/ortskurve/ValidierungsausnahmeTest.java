@@ -16,30 +16,29 @@
 package de.thkwalter.et.ortskurve;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
-import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
 import org.junit.Test;
 
 /**
- * Diese Klasse enthält Tests für die Klasse {@link XKomponenteMesspunkt}.
+ * Diese Klasse enthält Tests für die Klasse {@link Validierungsausnahme}.
  *
  * @author Th. K. Walter
  */
-public class XKomponenteMesspunktTest
+public class ValidierungsausnahmeTest
 {
 /**
- * Test für die Methode {@link de.thkwalter.et.ortskurve.XKomponenteMesspunkt#getWert()}.
+ * Test für den Konstruktor {@link Validierungsausnahme#Validierungsausnahme(Fehlercode, String)}. Die Ausnahme besitzt 
+ * keinen Stacktrace.
  */
 @Test
-public void testGetWert()
+public void testValidierungsausnahme()
    {
-   // Ein Messpunkt wird erzeugt.
-   Vector2D messpunkt = new Vector2D(1.0, 2.0);
+   Validierungsausnahme validierungsausnahme = 
+      new Validierungsausnahme(Fehlercode.NICHT_KONVERGIERT, "Konvergiert nicht!");
    
-   // Das Objekt, das für die Tests verwendet wird, wird erzeugt.
-   KomponenteMesspunkt xKomponenteMesspunkt = new XKomponenteMesspunkt(messpunkt);
-   
-   // Es wird geprüft, ob die Methode getWert() den Wert der x-Komponente zurückgibt.
-   assertEquals(messpunkt.getX(), xKomponenteMesspunkt.getWert(), messpunkt.getX() / 1000);
+   assertEquals("Konvergiert nicht!", validierungsausnahme.getMessage());
+   assertEquals(0, validierungsausnahme.getStackTrace().length);
+   assertTrue(validierungsausnahme.getValidierungsergebnis().enthaelt(Fehlercode.NICHT_KONVERGIERT));
    }
 }
@@ -0,0 +1,66 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Diese Klasse enthält Tests für die Klasse {@link Validierungsergebnis}.
+ *
+ * @author Th. K. Walter
+ */
+public class ValidierungsergebnisTest
+{
+/**
+ * Test für die Methode {@link Validierungsergebnis#fehlerHinzufuegen(Fehlercode, String)}.
+ */
+@Test
+public void testFehlerHinzufuegen()
+   {
+   Validierungsergebnis validierungsergebnis = new Validierungsergebnis();
+   assertTrue(validierungsergebnis.isValide());
+   assertEquals("", validierungsergebnis.getMeldung());
+   
+   // Die zu testende Methode wird aufgerufen.
+   validierungsergebnis.fehlerHinzufuegen(Fehlercode.ZU_WENIGE_MESSPUNKTE, "Zu wenige!");
+   validierungsergebnis.fehlerHinzufuegen(Fehlercode.DOPPELTE_MESSPUNKTE, "Doppelt!");
+   
+   // Es wird überprüft, ob die Fehler in der Reihenfolge ihres Auftretens vermerkt worden sind.
+   assertFalse(validierungsergebnis.isValide());
+   assertEquals(2, validierungsergebnis.getFehler().size());
+   assertEquals(Fehlercode.ZU_WENIGE_MESSPUNKTE, validierungsergebnis.getFehler().get(0).getFehlercode());
+   assertEquals("Doppelt!", validierungsergebnis.getFehler().get(1).getMeldung());
+   assertTrue(validierungsergebnis.enthaelt(Fehlercode.DOPPELTE_MESSPUNKTE));
+   assertFalse(validierungsergebnis.enthaelt(Fehlercode.NICHT_KONVERGIERT));
+   assertEquals("Zu wenige! Doppelt!", validierungsergebnis.getMeldung());
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Validierungsergebnis#getFehler()}. Die Liste der Fehler kann nicht verändert werden.
+ */
+@Test(expected=UnsupportedOperationException.class)
+public void testGetFehler()
+   {
+   new Validierungsergebnis().getFehler().clear();
+   }
+}
@@ -0,0 +1,54 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.jsf;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import javax.faces.FacesException;
+
+import org.junit.Test;
+
+/**
+ * Diese Klasse enthält Tests für die Klasse {@link ApplicationExceptionHandler}.
+ * 
+ * @author Th. K. Walter
+ */
+public class ApplicationExceptionHandlerTest
+{
+/**
+ * Test für die Methode {@link ApplicationExceptionHandler#ausnahmeOhneStacktrace(Throwable)}. Die Ausnahme ohne 
+ * Stacktrace wird auch gefunden, wenn JSF sie verpackt hat. Eine Ausnahme, deren Stacktrace nur nachträglich geleert
+ * worden ist, gilt nicht als Fehler in den Eingaben des Benutzers.
+ */
+@Test
+public void testAusnahmeOhneStacktrace()
+   {
+   ApplicationRuntimeException ohneStacktrace = new ApplicationRuntimeException("Fehler in der Eingabe", false) 
+      {
+      private static final long serialVersionUID = 1L;
+      };
+   
+   assertSame(ohneStacktrace, 
+      ApplicationExceptionHandler.ausnahmeOhneStacktrace(new FacesException(new RuntimeException(ohneStacktrace))));
+   assertNull(ApplicationExceptionHandler.ausnahmeOhneStacktrace(
+      new FacesException(new ApplicationRuntimeException("Fehler mit Stacktrace"))));
+   
+   ApplicationRuntimeException geleerterStacktrace = new ApplicationRuntimeException("Fehler mit Stacktrace");
+   geleerterStacktrace.setStackTrace(new StackTraceElement[0]);
+   assertNull(ApplicationExceptionHandler.ausnahmeOhneStacktrace(geleerterStacktrace));
+   }
+}
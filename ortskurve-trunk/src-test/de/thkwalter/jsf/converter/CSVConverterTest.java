@@ -97,6 +97,42 @@ public void testGetAsObject2()
 // =====================================================================================================================
 // =====================================================================================================================
 
+/**
+ * Test für die Methode {@link CSVConverter#getAsObject(javax.faces.context.FacesContext, 
+ * javax.faces.component.UIComponent, java.lang.String)}. Zeilenumbrüche im Format \r\n und Semikolons als 
+ * Trennzeichen werden akzeptiert.
+ */
+@Test
+public void testGetAsObject3()
+   {
+   // Die zu erstellende Zeichemkette wird erstellt.
+   String eingabe = "1.0; 2.0\r\n3.0;4.0\r\n";
+   
+   // Die zu testende Methode wird aufgerufen.
+   Vector2D[] vektoren = (Vector2D[]) this.csvConverter.getAsObject(null, null, eingabe);
+   
+   // Es wird überprüft, ob die Zeichenkette in das korrekte Feld von Vector2D-Objekten konvertiert worden ist.
+   assertEquals(2, vektoren.length);
+   assertEquals(new Vector2D(1.0, 2.0), vektoren[0]);
+   assertEquals(new Vector2D(3.0, 4.0), vektoren[1]);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link CSVConverter#getAsObject(javax.faces.context.FacesContext, 
+ * javax.faces.component.UIComponent, java.lang.String)}. Eine leere Eingabe ist ein Formatfehler.
+ */
+@Test(expected=ConverterException.class)
+public void testGetAsObject4()
+   {
+   this.csvConverter.getAsObject(new FacesContextMock(), null, "  \n ");
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
 /**
  * Test für die Methode {@link CSVConverter#getAsString(javax.faces.context.FacesContext, 
  * javax.faces.component.UIComponent, java.lang.Object)}.
@@ -0,0 +1,170 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.jsf.converter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Diese Klasse enthält Tests für die Klasse {@link CSVParser}.
+ *
+ * @author Th. K. Walter
+ */
+public class CSVParserTest
+{
+/**
+ * Diese Methode prüft, ob die Zeichenfolge einen Formatfehler an der erwarteten Stelle auslöst.
+ *
+ * @param eingabe Die Zeichenfolge
+ * @param zeile Die erwartete Zeile
+ * @param spalte Die erwartete Spalte
+ */
+private static void formatfehlerPruefen(String eingabe, int zeile, int spalte)
+   {
+   try
+      {
+      CSVParser.parsen(eingabe);
+      fail("Keine CSVFormatausnahme für: " + eingabe);
+      }
+   catch (CSVFormatausnahme csvFormatausnahme)
+      {
+      assertEquals(zeile, csvFormatausnahme.getZeile());
+      assertEquals(spalte, csvFormatausnahme.getSpalte());
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link CSVParser#parsen(CharSequence)}.
+ */
+@Test
+public void testParsen1()
+   {
+   // Die Zeichenfolge enthält verschiedene Zeilenumbrüche, Trennzeichen, Leerraum und leere Zeilen.
+   CSVParser parser = CSVParser.parsen(" 1.0,2.0\r\n3.0 ; -4.5\r\n\r\n\t5e1\t6E-1  \r.25,+7.\n\n");
+
+   assertEquals(4, parser.getAnzahl());
+   double[] x = parser.getX();
+   double[] y = parser.getY();
+   assertEquals(1.0, x[0], 0.0);
+   assertEquals(2.0, y[0], 0.0);
+   assertEquals(3.0, x[1], 0.0);
+   assertEquals(-4.5, y[1], 0.0);
+   assertEquals(50.0, x[2], 0.0);
+   assertEquals(0.6, y[2], 0.0);
+   assertEquals(0.25, x[3], 0.0);
+   assertEquals(7.0, y[3], 0.0);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link CSVParser#parsen(CharSequence)}. Es wird geprüft, ob die Zahlen genau so umgewandelt
+ * werden wie durch {@link Double#parseDouble(String)}.
+ */
+@Test
+public void testParsen2()
+   {
+   String[] zahlen = {"0", "-0.0", "0.1", "123456789012345", "1234567890123456789012", "0.000000000000000000001",
+      "1.7976931348623157E308", "4.9E-324", "2.2250738585072014E-308", "9007199254740993", "1e22", "1e23",
+      "-3.14159265358979323846", "00012.500", "1E-5"};
+
+   for (String zahl : zahlen)
+      {
+      CSVParser parser = CSVParser.parsen(zahl + "," + zahl);
+      assertEquals(zahl, Double.doubleToLongBits(Double.parseDouble(zahl)), Double.doubleToLongBits(parser.getX()[0]));
+      }
+
+   // Zufällige Zahlen werden ebenfalls geprüft.
+   Random random = new Random(4711);
+   for (int i = 0; i < 10000; i++)
+      {
+      String zahl = Double.toString((random.nextDouble() - 0.5) * Math.pow(10.0, random.nextInt(40) - 20));
+      CSVParser parser = CSVParser.parsen(zahl + ";0");
+      assertEquals(zahl, Double.parseDouble(zahl), parser.getX()[0], 0.0);
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link CSVParser#parsen(CharSequence)}. Es wird geprüft, ob Zeile und Spalte des ersten Fehlers
+ * gemeldet werden.
+ */
+@Test
+public void testParsen3()
+   {
+   formatfehlerPruefen("1.0,2.0\n3.0a,4.0\n", 2, 4);
+   formatfehlerPruefen("1.0,2.0\r\n3.0,4.0\r\nx,5\r\n", 3, 1);
+   formatfehlerPruefen("1.0,2.0\n3.0\n", 2, 4);
+   formatfehlerPruefen("1.0,2.0\n3.0,  ", 2, 7);
+   formatfehlerPruefen("1.0,2.0,3.0", 1, 8);
+   formatfehlerPruefen("1.0-2,2.0", 1, 4);
+   formatfehlerPruefen("1.0,2e", 1, 7);
+   formatfehlerPruefen("1.0,,2.0", 1, 5);
+   formatfehlerPruefen("1e999,2.0", 1, 1);
+   formatfehlerPruefen("NaN,2.0", 1, 1);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link CSVParser#verarbeiten(char[], int, int)}. Es wird geprüft, ob eine Eingabe, die in
+ * beliebigen Abschnitten übergeben wird, genauso zerlegt wird wie die vollständige Eingabe.
+ */
+@Test
+public void testVerarbeiten()
+   {
+   String eingabe = "1.5,2.5\r\n-3.25;4e2\r\n\r\n5 , 6\n";
+   char[] zeichen = eingabe.toCharArray();
+
+   // Jede mögliche Aufteilung in zwei Abschnitte wird geprüft, auch die Aufteilung innerhalb von \r\n.
+   for (int teilung = 0; teilung <= zeichen.length; teilung++)
+      {
+      CSVParser parser = new CSVParser(1);
+      parser.verarbeiten(zeichen, 0, teilung);
+      parser.verarbeiten(zeichen, teilung, zeichen.length - teilung);
+      parser.abschliessen();
+
+      assertEquals(3, parser.getAnzahl());
+      assertEquals(-3.25, parser.getX()[1], 0.0);
+      assertEquals(400.0, parser.getY()[1], 0.0);
+      assertEquals(6.0, parser.getY()[2], 0.0);
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link CSVParser#parsen(CharSequence)}. Eine Eingabe ohne Datensätze ist kein Fehler.
+ */
+@Test
+public void testParsenLeer()
+   {
+   assertEquals(0, CSVParser.parsen("").getAnzahl());
+   assertEquals(0, CSVParser.parsen(" \r\n\t\n").getAnzahl());
+   }
+}
@@ -0,0 +1,96 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.jsf.converter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Diese Klasse enthält Tests für die Klasse {@link Zahlformatierer}.
+ *
+ * @author Th. K. Walter
+ */
+public class ZahlformatiererTest
+{
+/**
+ * Diese Methode formatiert einen double-Wert.
+ *
+ * @param wert Der double-Wert
+ *
+ * @return Die Darstellung des double-Werts
+ */
+private static String formatieren(double wert)
+   {
+   return new Zahlformatierer().anhaengen(new StringBuilder(), wert).toString();
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Zahlformatierer#anhaengen(StringBuilder, double)}.
+ */
+@Test
+public void testAnhaengen1()
+   {
+   assertEquals("2.11", ZahlformatiererTest.formatieren(2.11));
+   assertEquals("-1.6", ZahlformatiererTest.formatieren(-1.60));
+   assertEquals("1.0", ZahlformatiererTest.formatieren(1.0));
+   assertEquals("-3.0", ZahlformatiererTest.formatieren(-3.0));
+   assertEquals("0.001", ZahlformatiererTest.formatieren(0.001));
+   assertEquals("0.30000000000000004", ZahlformatiererTest.formatieren(0.1 + 0.2));
+   assertEquals("1234567.125", ZahlformatiererTest.formatieren(1234567.125));
+   assertEquals("0.0", ZahlformatiererTest.formatieren(0.0));
+   assertEquals("-0.0", ZahlformatiererTest.formatieren(-0.0));
+   assertEquals("1.0E-4", ZahlformatiererTest.formatieren(1E-4));
+   assertEquals("1.0E7", ZahlformatiererTest.formatieren(1E7));
+   assertEquals("NaN", ZahlformatiererTest.formatieren(Double.NaN));
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Test für die Methode {@link Zahlformatierer#anhaengen(StringBuilder, double)}. Für zufällige Werte wird geprüft, ob
+ * die Darstellung wieder genau den Wert ergibt und nicht länger ist als die von {@link Double#toString(double)}.
+ */
+@Test
+public void testAnhaengen2()
+   {
+   Zahlformatierer zahlformatierer = new Zahlformatierer();
+   StringBuilder stringBuilder = new StringBuilder();
+   Random random = new Random(815);
+   for (int i = 0; i < 100000; i++)
+      {
+      // Es werden sowohl beliebige Werte als auch Werte mit wenigen Nachkommastellen erzeugt.
+      double wert = (random.nextDouble() - 0.5) * Math.pow(10.0, random.nextInt(12) - 4);
+      if (i % 2 == 0)
+         {
+         wert = Math.rint(wert * 1000.0) / 1000.0;
+         }
+
+      stringBuilder.setLength(0);
+      String darstellung = zahlformatierer.anhaengen(stringBuilder, wert).toString();
+      assertEquals(darstellung, Double.doubleToLongBits(wert), 
+         Double.doubleToLongBits(Double.parseDouble(darstellung)));
+      assertTrue(darstellung, darstellung.length() <= Double.toString(wert).length());
+      }
+   }
+}
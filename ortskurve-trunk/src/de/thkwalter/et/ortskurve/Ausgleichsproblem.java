@@ -15,6 +15,9 @@
  */
 package de.thkwalter.et.ortskurve;
 
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Logger;
 
 import org.apache.commons.math3.analysis.MultivariateMatrixFunction;
@@ -29,13 +32,24 @@ import org.apache.commons.math3.optim.nonlinear.vector.ModelFunction;
 import org.apache.commons.math3.optim.nonlinear.vector.ModelFunctionJacobian;
 import org.apache.commons.math3.optim.nonlinear.vector.Target;
 import org.apache.commons.math3.optim.nonlinear.vector.Weight;
+import org.apache.commons.math3.optim.nonlinear.vector.jacobian.AbstractLeastSquaresOptimizer;
 import org.apache.commons.math3.optim.nonlinear.vector.jacobian.GaussNewtonOptimizer;
-
-import de.thkwalter.jsf.ApplicationRuntimeException;
+import org.apache.commons.math3.optim.nonlinear.vector.jacobian.LevenbergMarquardtOptimizer;
 
 /**
- * Diese Klasse kapselt die Lösung eines nichtlinearen Ausgleichsproblems mit Hilfe des Gauß-Newton-Verfahrens. Das 
- * Verfahren ist für die Berechnung der Ortskurvenparameter optimiert.
+ * Diese Klasse kapselt die Lösung eines nichtlinearen Ausgleichsproblems mit Hilfe des Gauß-Newton- oder des
+ * Levenberg-Marquardt-Verfahrens. Die Verfahren sind für die Berechnung der Ortskurvenparameter optimiert. Das 
+ * Ausgleichsproblem wird für normierte Messpunkte gelöst (siehe {@link Normierung}), die berechnete Ortskurve wird 
+ * anschließend in die ursprünglichen Koordinaten zurückgerechnet.
+ * 
+ * Optional kann eine Frist gesetzt werden (siehe {@link #setFrist(long)} und {@link #setZeitbudget(long)}). Läuft sie 
+ * ab, bevor das Verfahren konvergiert ist, so wird statt einer Ausnahme die beste bis dahin gefundene Ortskurve 
+ * zurückgegeben und in den Kenngrößen der Lösung als nicht konvergiert gekennzeichnet.
+ * 
+ * Vor der Lösung wird für den Startpunkt (außer bei den robusten Verfahren) und nach der Lösung für die berechnete 
+ * Ortskurve geprüft, ob Messpunkte fast mit dem Mittelpunkt identisch sind (siehe {@link Mittelpunktpruefung}). Solche 
+ * Messpunkte werden alle auf einmal gemeldet. Optional erhalten sie stattdessen vor der Lösung das Gewicht 0 (siehe 
+ * {@link #setMesspunkteNaheMittelpunktAbwerten(boolean)}).
  * 
  * @author Th. K. Walter
  * @version 1.0
@@ -47,10 +61,15 @@ public class Ausgleichsproblem
  */
 private GaussNewtonOptimizer gaussNewtonOptimizer;
 
+/**
+ * Der Levenberg-Marquardt-Algorithmus
+ */
+private LevenbergMarquardtOptimizer levenbergMarquardtOptimizer;
+
 /**
  * Die in den verschiedenen Betriebspunkten gemessenen Stromstärken (in A) im Format (-Im I1, Re I1)
  */
-private Vector2D[] messpunkte;
+private MessreiheAnsicht messpunkte;
 
 /**
  * Die Gewichte in der Ausgleichsrechnung
@@ -62,6 +81,44 @@ private double[] gewichte;
  */
 private double[] zielwerte;
 
+/**
+ * Die relative Toleranz des algebraischen Lösungsverfahrens: Der algebraisch berechnete Kreis wird ohne Iteration 
+ * übernommen, wenn der quadratische Mittelwert der Residuen höchstens dieser Anteil des Radius ist.
+ */
+private double algebraischeToleranz = 0.01;
+
+/**
+ * Die Frist der Lösung (in Millisekunden seit dem 1.1.1970) oder {@link Long#MAX_VALUE}, falls keine Frist gesetzt 
+ * ist
+ */
+private long frist = Long.MAX_VALUE;
+
+/**
+ * Der Executor, auf dem die Teilaufgaben der robusten Verfahren berechnet werden
+ */
+private ExecutorService executor = SequentiellerExecutor.INSTANZ;
+
+/**
+ * Das Abbruchsignal: Ist es gesetzt, so endet die Lösung wie nach dem Ablauf der Frist.
+ */
+private AtomicBoolean abbruch = new AtomicBoolean();
+
+/**
+ * <tt>true</tt>, falls Messpunkte, die fast mit dem Mittelpunkt des Startkreises identisch sind, das Gewicht 0 
+ * erhalten sollen; <tt>false</tt>, falls sie als Fehler gemeldet werden sollen
+ */
+private boolean messpunkteNaheMittelpunktAbwerten = false;
+
+/**
+ * Die Indizes der Messpunkte, die bei der letzten Lösung fast mit dem Mittelpunkt identisch waren
+ */
+private int[] messpunkteNaheMittelpunkt = new int[0];
+
+/**
+ * Die Kenngrößen der letzten Lösung des Ausgleichsproblems
+ */
+private Loesungsstatistik loesungsstatistik;
+
 /*
  * Der Logger dieser Klasse.
  */
@@ -71,11 +128,24 @@ private static Logger logger = Logger.getLogger(Ausgleichsproblem.class.getName(
 // =====================================================================================================================
 
 /**
- * Dieser Konstruktor initialisiert den Gauß-Newton-Algorithmus.
+ * Dieser Konstruktor initialisiert den Gauß-Newton- und den Levenberg-Marquardt-Algorithmus.
  * 
  * @param messpunkte Die in den verschiedenen Betriebspunkten gemessenen Stromstärken (in A) im Format (-Im I1, Re I1).
  */
 public Ausgleichsproblem(Vector2D[] messpunkte)
+   {
+   this(MessreiheAnsicht.ansichtErzeugen(messpunkte));
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor initialisiert den Gauß-Newton- und den Levenberg-Marquardt-Algorithmus.
+ * 
+ * @param messpunkte Die in den verschiedenen Betriebspunkten gemessenen Stromstärken (in A) im Format (-Im I1, Re I1).
+ */
+public Ausgleichsproblem(MessreiheAnsicht messpunkte)
    {
    // Die in den verschiedenen Betriebspunkten gemessenen Stromstärken (in A) im Format (-Im I1, Re I1) werden 
    // initialisiert.
@@ -86,10 +156,13 @@ public Ausgleichsproblem(Vector2D[] messpunkte)
    // mehr als 1 Prozent ändert.
    this.gaussNewtonOptimizer = new GaussNewtonOptimizer(false, new SimpleVectorValueChecker(0.01, -1.0));
    
+   // Der Levenberg-Marquardt-Algorithmus wird mit den voreingestellten Toleranzen erzeugt.
+   this.levenbergMarquardtOptimizer = new LevenbergMarquardtOptimizer();
+   
    // Die Zielwerte und die Gewichte in der Ausgleichsrechnung werden erzeugt.
-   this.gewichte = new double[messpunkte.length];
-   this.zielwerte = new double[messpunkte.length];
-   for (int i = 0; i < messpunkte.length; i++)
+   this.gewichte = new double[messpunkte.getAnzahl()];
+   this.zielwerte = new double[messpunkte.getAnzahl()];
+   for (int i = 0; i < messpunkte.getAnzahl(); i++)
       {
       gewichte[i] = 1.0;
       zielwerte[i] = 0.0;
@@ -100,7 +173,8 @@ public Ausgleichsproblem(Vector2D[] messpunkte)
 // =====================================================================================================================
 
 /**
- * Diese Methode löst das Ausgleichsproblem.
+ * Diese Methode löst das Ausgleichsproblem mit dem Standardverfahren für den Typ des Ausgleichsproblems (siehe 
+ * {@link Loesungsverfahren#standardverfahren(Ausgleichsproblemtyp)}).
  * 
  * @param startpunkt Der Startpunkt der Ausgleichsrechnung
  * @param ausgleichsproblemtyp Der Typ des Ausgleichsproblems
@@ -109,56 +183,273 @@ public Ausgleichsproblem(Vector2D[] messpunkte)
  */
 public Ortskurve ausgleichsproblemLoesen(double[] startpunkt, Ausgleichsproblemtyp ausgleichsproblemtyp)
    {
-   // Die Referenzen auf die Modellgleichungen und die Jakobimatrix werden deklariert.
-   MultivariateVectorFunction modellgleichungen = null;
-   MultivariateMatrixFunction jakobiMatrix = null;
+   return this.ausgleichsproblemLoesen(startpunkt, ausgleichsproblemtyp, null);
+   }
    
-   // Falls das zweidimensionale Ausgleichsproblem gelöst werden soll, ...
-   if (ausgleichsproblemtyp == Ausgleichsproblemtyp.ORTSKURVE_2d)
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode löst das Ausgleichsproblem mit dem angegebenen Lösungsverfahren.
+ * 
+ * @param startpunkt Der Startpunkt der Ausgleichsrechnung
+ * @param ausgleichsproblemtyp Der Typ des Ausgleichsproblems
+ * @param loesungsverfahren Das Verfahren, mit dem das Ausgleichsproblem gelöst wird, oder <tt>null</tt>, falls das 
+ *        Standardverfahren für den Typ des Ausgleichsproblems verwendet werden soll.
+ * 
+ * @return Die berechnete Ortskurve
+ */
+public Ortskurve ausgleichsproblemLoesen(double[] startpunkt, Ausgleichsproblemtyp ausgleichsproblemtyp, 
+   Loesungsverfahren loesungsverfahren)
+   {
+   // Falls kein Lösungsverfahren angegeben worden ist, wird das Standardverfahren verwendet.
+   if (loesungsverfahren == null)
       {
-      // Die Modellgleichungen (die Kreisgleichungen) werden erzeugt.
-      modellgleichungen = new Modellgleichungen2d(this.messpunkte);
-      
-      // Die Jakobi-Matrix der Modellgleichungen (der Kreisgleichungen) wird erzeugt.
-      jakobiMatrix = new Jakobimatrix2d(this.messpunkte);
+      loesungsverfahren = Loesungsverfahren.standardverfahren(ausgleichsproblemtyp);
       }
    
-   // Falls das dreidimensionale Ausgleichsproblem gelöst werden soll, ...
-   else if (ausgleichsproblemtyp == Ausgleichsproblemtyp.ORTSKURVE_3d)
+   // Die Kenngrößen und die Gewichte einer früheren Lösung werden zurückgesetzt.
+   this.loesungsstatistik = null;
+   this.messpunkteNaheMittelpunkt = new int[0];
+   Arrays.fill(this.gewichte, 1.0);
+   
+   // Falls das Ausgleichsproblem von mehreren Startpunkten aus gleichzeitig gelöst werden soll, ...
+   if (loesungsverfahren == Loesungsverfahren.MEHRFACHSTART)
+      {
+      Mehrfachstart mehrfachstart = new Mehrfachstart(this.messpunkte, ausgleichsproblemtyp);
+      mehrfachstart.setFrist(this.frist);
+      mehrfachstart.setExecutor(this.executor);
+      Ortskurve ortskurve = mehrfachstart.loesen(startpunkt);
+      this.loesungsstatistik = mehrfachstart.getLoesungsstatistik();
+      Ausgleichsproblem.logger.info(this.loesungsstatistik.toString());
+      return ortskurve;
+      }
+   
+   // Bevor Rechenzeit in die Iteration investiert wird, wird geprüft, ob Messpunkte fast mit dem Mittelpunkt des 
+   // Startkreises identisch sind. Die robusten Verfahren geben solchen Ausreißern selbst das Gewicht 0.
+   if (startpunkt != null && loesungsverfahren != Loesungsverfahren.ROBUST_HUBER && 
+      loesungsverfahren != Loesungsverfahren.ROBUST_TUKEY)
+      {
+      this.mittelpunktPruefen(this.ortskurveErzeugen(startpunkt, ausgleichsproblemtyp), true);
+      }
+   
+   // Die Messpunkte und der Startpunkt werden normiert, damit die Gleichungssysteme unabhängig von der Einheit und der 
+   // Lage der Messpunkte gut konditioniert sind. Die Messpunkte werden dabei nicht kopiert, sondern erst beim Lesen 
+   // normiert.
+   Normierung normierung = Normierung.berechnen(this.messpunkte, ausgleichsproblemtyp);
+   MessreiheAnsicht normierteMesspunkte = normierung.messreiheNormieren(this.messpunkte);
+   startpunkt = normierung.kreisparameterNormieren(startpunkt, ausgleichsproblemtyp);
+   
+   // Falls der Kreis algebraisch berechnet werden soll, ...
+   if (loesungsverfahren == Loesungsverfahren.ALGEBRAISCH)
       {
-      // Die Modellgleichungen (die Kreisgleichungen) werden erzeugt.
-      modellgleichungen = new Modellgleichungen(this.messpunkte);
+      // Der Kreis wird algebraisch aus allen Messpunkten berechnet.
+      Kreismomente kreismomente = Kreismomente.berechnen(normierteMesspunkte);
+      double[] algebraischerKreis = ausgleichsproblemtyp == Ausgleichsproblemtyp.ORTSKURVE_2d ? 
+         kreismomente.kreis2dBerechnen() : kreismomente.kreisBerechnen();
       
-      // Die Jakobi-Matrix der Modellgleichungen (der Kreisgleichungen) wird erzeugt.
-      jakobiMatrix = new Jakobimatrix(this.messpunkte);
+      if (algebraischerKreis != null)
+         {
+         // Falls die Residuen des algebraischen Kreises klein genug sind, wird er ohne Iteration übernommen.
+         Ortskurve ortskurve = normierung.ortskurveZurueckrechnen(algebraischerKreis, ausgleichsproblemtyp);
+         double rmsResiduum = this.rmsResiduumBerechnen(ortskurve);
+         if (rmsResiduum <= this.algebraischeToleranz * ortskurve.getRadiusOrtskurve())
+            {
+            this.mittelpunktPruefen(ortskurve, false);
+            this.loesungsstatistik = new Loesungsstatistik(Loesungsverfahren.ALGEBRAISCH, 0, 1, rmsResiduum);
+            Ausgleichsproblem.logger.info(this.loesungsstatistik.toString());
+            return ortskurve;
+            }
+         
+         // Andernfalls dient der algebraische Kreis als Startpunkt.
+         startpunkt = algebraischerKreis;
+         }
+      
+      // Das Ausgleichsproblem wird mit dem Standardverfahren gelöst.
+      loesungsverfahren = Loesungsverfahren.standardverfahren(ausgleichsproblemtyp);
       }
    
    // Das Ausgleichsproblem wird gelöst, wobei höchstens 200 Iterationsschritte durchgeführt werden.
    double[] ortskurvenparameter = null;
+   int anzahlIterationen = 0;
+   int anzahlAuswertungen = 0;
+   boolean konvergiert = true;
    try
       {
-      PointVectorValuePair endParameter = this.gaussNewtonOptimizer.optimize(new Weight(gewichte), 
-         new Target(zielwerte), new  InitialGuess(startpunkt), new MaxEval(200), new ModelFunction(modellgleichungen), 
-         new ModelFunctionJacobian(jakobiMatrix));
+      // Falls die Normalgleichungen direkt aufsummiert werden sollen, ...
+      if (loesungsverfahren == Loesungsverfahren.GAUSS_NEWTON_NORMALGLEICHUNGEN)
+         {
+         NormalgleichungenGaussNewton normalgleichungenGaussNewton = 
+            new NormalgleichungenGaussNewton(normierteMesspunkte, this.gewichte, ausgleichsproblemtyp);
+         normalgleichungenGaussNewton.setNormierung(normierung);
+         normalgleichungenGaussNewton.setFrist(this.frist);
+         normalgleichungenGaussNewton.setAbbruch(this.abbruch);
+         ortskurvenparameter = normalgleichungenGaussNewton.optimieren(startpunkt, 200);
+         
+         anzahlIterationen = normalgleichungenGaussNewton.getAnzahlIterationen();
+         anzahlAuswertungen = normalgleichungenGaussNewton.getAnzahlAuswertungen();
+         konvergiert = normalgleichungenGaussNewton.isKonvergiert();
+         }
+      
+      // Falls das Ausgleichsproblem robust gelöst werden soll, ...
+      else if (loesungsverfahren == Loesungsverfahren.ROBUST_HUBER || 
+         loesungsverfahren == Loesungsverfahren.ROBUST_TUKEY)
+         {
+         // Der Startpunkt wird mit dem RANSAC-Verfahren bestimmt. Falls dabei kein Kreis gefunden wird, wird der 
+         // übergebene Startpunkt verwendet.
+         RobusterKreisausgleich robusterKreisausgleich = 
+            new RobusterKreisausgleich(normierteMesspunkte, ausgleichsproblemtyp, loesungsverfahren);
+         robusterKreisausgleich.setNormierung(normierung);
+         robusterKreisausgleich.setFrist(this.frist);
+         robusterKreisausgleich.setAbbruch(this.abbruch);
+         robusterKreisausgleich.setExecutor(this.executor);
+         double[] ransacKreis = robusterKreisausgleich.ransacDurchfuehren();
+         
+         // Das Ausgleichsproblem wird iterativ neu gewichtet gelöst. Die Gewichte der Messpunkte werden dabei in den
+         // Gewichten der Ausgleichsrechnung gespeichert.
+         ortskurvenparameter = robusterKreisausgleich.irlsDurchfuehren(ransacKreis != null ? ransacKreis : startpunkt, 
+            this.gewichte, 200);
+         
+         anzahlIterationen = robusterKreisausgleich.getAnzahlIterationen();
+         anzahlAuswertungen = robusterKreisausgleich.getAnzahlAuswertungen();
+         konvergiert = robusterKreisausgleich.isKonvergiert();
+         }
       
-      ortskurvenparameter = endParameter.getPoint();
+      // Falls ein Verfahren der Bibliothek Apache Commons Math verwendet werden soll, ...
+      else
+         {
+         // Der Algorithmus wird ausgewählt.
+         AbstractLeastSquaresOptimizer optimizer = loesungsverfahren == Loesungsverfahren.LEVENBERG_MARQUARDT ? 
+            this.levenbergMarquardtOptimizer : this.gaussNewtonOptimizer;
+         
+         // Die Modellgleichungen (die Kreisgleichungen) und ihre Jakobi-Matrix werden erzeugt. Beide werden in einem 
+         // gemeinsamen Durchlauf über die Messpunkte berechnet.
+         Kreisgleichungen kreisgleichungen = new Kreisgleichungen(normierteMesspunkte, ausgleichsproblemtyp);
+         kreisgleichungen.setNormierung(normierung);
+         kreisgleichungen.setGewichte(this.gewichte);
+         kreisgleichungen.setFrist(this.frist);
+         kreisgleichungen.setAbbruch(this.abbruch);
+         MultivariateVectorFunction modellgleichungen = kreisgleichungen.getModellgleichungen();
+         MultivariateMatrixFunction jakobiMatrix = kreisgleichungen.getJakobimatrix();
+         
+         try
+            {
+            PointVectorValuePair endParameter = optimizer.optimize(new Weight(gewichte), new Target(zielwerte), 
+               new  InitialGuess(startpunkt), new MaxEval(200), new ModelFunction(modellgleichungen), 
+               new ModelFunctionJacobian(jakobiMatrix));
+            ortskurvenparameter = endParameter.getPoint();
+            }
+         
+         // Falls die Frist abgelaufen ist, werden die bisher besten Kreisparameter übernommen.
+         catch (Kreisgleichungen.FristAbgelaufenException e)
+            {
+            ortskurvenparameter = kreisgleichungen.getBesteKreisparameter();
+            konvergiert = false;
+            }
+         
+         anzahlIterationen = optimizer.getIterations();
+         anzahlAuswertungen = optimizer.getEvaluations();
+         }
       }
    
    // Falls das Verfahren nicht konvergiert hat, wird die entsprechende Ausnahme gefangen.
    catch (TooManyEvaluationsException e)
       {
+      // Der Name des Algorithmus wird für die Fehlermeldungen festgelegt.
+      String algorithmus = loesungsverfahren == Loesungsverfahren.LEVENBERG_MARQUARDT ? 
+         "Levenberg-Marquardt-Algorithmus" : "Gauss-Newton-Algorithmus";
+      
       // Die Fehlermeldung für den Entwickler wird erzeugt und protokolliert.
-      String fehlermeldung = "Der Gauss-Newton-Algorithmus konvergiert nicht!";
+      String fehlermeldung = "Der " + algorithmus + " konvergiert nicht!";
       Ausgleichsproblem.logger.severe(fehlermeldung);
       
       // Die Ausnahme wird erzeugt und mit der Fehlermeldung für den Benutzer initialisiert.
-      String jsfMeldung = "Der Gauss-Newton-Algorithmus zur Berechnung der Ortskurve konvergiert nicht! " +
+      String jsfMeldung = "Der " + algorithmus + " zur Berechnung der Ortskurve konvergiert nicht! " +
          "Überprüfen Sie bitte, ob die eingegebenen Punkte annähernd auf einem Kreis liegen.";
-      ApplicationRuntimeException applicationRuntimeException = new ApplicationRuntimeException(jsfMeldung);
-      
-      throw applicationRuntimeException;
+      throw new Validierungsausnahme(Fehlercode.NICHT_KONVERGIERT, jsfMeldung);
+      }
+   
+   // Die Ortskurve wird aus den in die ursprünglichen Koordinaten zurückgerechneten Ortskurvenparametern erzeugt.
+   Ortskurve ortskurve = normierung.ortskurveZurueckrechnen(ortskurvenparameter, ausgleichsproblemtyp);
+   
+   // Es wird geprüft, ob Messpunkte fast mit dem Mittelpunkt der berechneten Ortskurve identisch sind.
+   this.mittelpunktPruefen(ortskurve, false);
+   
+   // Die Kenngrößen der Lösung werden gespeichert und protokolliert.
+   this.loesungsstatistik = new Loesungsstatistik(loesungsverfahren, anzahlIterationen, anzahlAuswertungen, 
+      this.rmsResiduumBerechnen(ortskurve), konvergiert);
+   Ausgleichsproblem.logger.info(this.loesungsstatistik.toString());
+   if (!konvergiert)
+      {
+      Ausgleichsproblem.logger.warning("Die Frist ist abgelaufen, bevor das Verfahren konvergiert ist. Es wird die " +
+         "beste bis dahin gefundene Ortskurve zurückgegeben.");
+      }
+   
+   // Die berechnete Ortskurve wird zurückgegeben.
+   return ortskurve;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode prüft, ob Messpunkte fast mit dem Mittelpunkt eines Kreises identisch sind. Alle betroffenen 
+ * Messpunkte werden auf einmal gemeldet. Vor der Lösung erhalten sie stattdessen das Gewicht 0, falls dies 
+ * festgelegt worden ist; nach der Lösung werden sie in diesem Fall nur protokolliert.
+ * 
+ * @param kreis Der Startkreis oder die berechnete Ortskurve
+ * @param vorDerLoesung <tt>true</tt>, falls die Prüfung vor der Lösung erfolgt
+ * 
+ * @throws Validierungsausnahme Falls Messpunkte fast mit dem Mittelpunkt identisch sind und nicht abgewertet 
+ *         werden sollen.
+ */
+private void mittelpunktPruefen(Ortskurve kreis, boolean vorDerLoesung)
+   {
+   // Die betroffenen Messpunkte werden bestimmt. Messpunkte mit dem Gewicht 0 werden nicht berücksichtigt.
+   int[] indizes = Mittelpunktpruefung.messpunkteNaheMittelpunkt(this.messpunkte, this.gewichte, kreis);
+   if (indizes.length == 0)
+      {
+      return;
       }
    
+   // Die Indizes werden zu denen einer vorherigen Prüfung hinzugefügt.
+   int anzahlBisher = this.messpunkteNaheMittelpunkt.length;
+   this.messpunkteNaheMittelpunkt = Arrays.copyOf(this.messpunkteNaheMittelpunkt, anzahlBisher + indizes.length);
+   System.arraycopy(indizes, 0, this.messpunkteNaheMittelpunkt, anzahlBisher, indizes.length);
+   Arrays.sort(this.messpunkteNaheMittelpunkt);
+   
+   // Falls die Messpunkte nicht abgewertet werden sollen, werden sie gemeldet.
+   if (!this.messpunkteNaheMittelpunktAbwerten)
+      {
+      Mittelpunktpruefung.melden(this.messpunkte, indizes, kreis);
+      }
+   
+   // Vor der Lösung erhalten die Messpunkte das Gewicht 0.
+   if (vorDerLoesung)
+      {
+      for (int index : indizes)
+         {
+         this.gewichte[index] = 0.0;
+         }
+      }
+   Ausgleichsproblem.logger.warning("Messpunkte in der Nähe des Mittelpunkts " + 
+      (vorDerLoesung ? "werden nicht berücksichtigt: " : "der berechneten Ortskurve: ") + 
+      Mittelpunktpruefung.aufzaehlen(this.messpunkte, indizes));
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode erzeugt die Ortskurve aus den Ortskurvenparametern.
+ * 
+ * @param ortskurvenparameter Die Ortskurvenparameter
+ * @param ausgleichsproblemtyp Der Typ des Ausgleichsproblems
+ * 
+ * @return Die Ortskurve
+ */
+private Ortskurve ortskurveErzeugen(double[] ortskurvenparameter, Ausgleichsproblemtyp ausgleichsproblemtyp)
+   {
    // Die Referenz auf die Ortskurve wird deklariert.
    Ortskurve ortskurve = null;
    
@@ -174,7 +465,170 @@ public Ortskurve ausgleichsproblemLoesen(double[] startpunkt, Ausgleichsproblemt
       ortskurve = new Ortskurve(new Vector2D(ortskurvenparameter[0], ortskurvenparameter[1]), ortskurvenparameter[2]);
       }
    
-   // Die berechnete Ortskurve wird zurückgegeben.
+   // Die Ortskurve wird zurückgegeben.
    return ortskurve;
    }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode berechnet den gewichteten quadratischen Mittelwert der Abstände der Messpunkte von der Ortskurve. Die
+ * Summe der gewichteten Quadrate wird durch die Summe der Gewichte geteilt, damit Messpunkte mit dem Gewicht 0 (z. B. 
+ * von den robusten Verfahren verworfene Ausreißer) den Mittelwert nicht verkleinern.
+ * 
+ * @param ortskurve Die Ortskurve
+ * 
+ * @return Der quadratische Mittelwert der Residuen (in A) oder {@link Double#NaN}, falls alle Gewichte 0 sind
+ */
+private double rmsResiduumBerechnen(Ortskurve ortskurve)
+   {
+   // Die Parameter der Ortskurve werden gelesen.
+   double mx = ortskurve.getMittelpunktOrtskurve().getX();
+   double my = ortskurve.getMittelpunktOrtskurve().getY();
+   double radius = ortskurve.getRadiusOrtskurve();
+   
+   // Die gewichteten Quadrate der Residuen und die Gewichte werden aufsummiert.
+   double summeQuadrate = 0.0;
+   double summeGewichte = 0.0;
+   for (int i = 0; i < this.messpunkte.getAnzahl(); i++)
+      {
+      double dx = mx - this.messpunkte.getX(i);
+      double dy = my - this.messpunkte.getY(i);
+      double residuum = Math.sqrt(dx * dx + dy * dy) - radius;
+      summeQuadrate += this.gewichte[i] * residuum * residuum;
+      summeGewichte += this.gewichte[i];
+      }
+   
+   // Der gewichtete quadratische Mittelwert wird zurückgegeben.
+   return summeGewichte > 0.0 ? Math.sqrt(summeQuadrate / summeGewichte) : Double.NaN;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode legt die relative Toleranz des algebraischen Lösungsverfahrens fest.
+ * 
+ * @param algebraischeToleranz Der größte Anteil des Radius, den der quadratische Mittelwert der Residuen des 
+ *        algebraisch berechneten Kreises annehmen darf, damit er ohne Iteration übernommen wird.
+ */
+public void setAlgebraischeToleranz(double algebraischeToleranz)
+   {
+   this.algebraischeToleranz = algebraischeToleranz;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode legt die Frist der Lösung fest.
+ * 
+ * @param frist Die Frist (in Millisekunden seit dem 1.1.1970) oder {@link Long#MAX_VALUE}, falls die Lösung nicht 
+ *        befristet ist.
+ */
+public void setFrist(long frist)
+   {
+   this.frist = frist;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode legt die Frist der Lösung als Zeitbudget ab dem aktuellen Zeitpunkt fest.
+ * 
+ * @param zeitbudget Die Zeit (in ms), die für die Lösung höchstens zur Verfügung steht
+ */
+public void setZeitbudget(long zeitbudget)
+   {
+   this.frist = System.currentTimeMillis() + zeitbudget;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode legt das Abbruchsignal der Lösung fest. Wird es gesetzt, so endet die Lösung wie nach dem Ablauf der 
+ * Frist mit der besten bis dahin gefundenen Ortskurve.
+ * 
+ * @param abbruch Das Abbruchsignal, das z. B. von mehreren gleichzeitig gelösten Ausgleichsproblemen geteilt wird
+ */
+public void setAbbruch(AtomicBoolean abbruch)
+   {
+   this.abbruch = abbruch;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode legt den Executor fest, auf dem die Teilaufgaben der Lösung berechnet werden. Ohne Angabe werden sie 
+ * im aufrufenden Thread berechnet (siehe {@link SequentiellerExecutor}). Der Executor wird von dieser Klasse nicht 
+ * beendet.
+ * 
+ * @param executor Der Executor, auf dem die Teilaufgaben berechnet werden
+ */
+public void setExecutor(ExecutorService executor)
+   {
+   this.executor = executor;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode legt fest, ob Messpunkte, die fast mit dem Mittelpunkt des Startkreises identisch sind, als Fehler 
+ * gemeldet werden oder in der Ausgleichsrechnung das Gewicht 0 erhalten. Die robusten Lösungsverfahren bestimmen die
+ * Gewichte selbst und überschreiben dabei die Abwertung.
+ * 
+ * @param messpunkteNaheMittelpunktAbwerten <tt>true</tt>, falls die Messpunkte das Gewicht 0 erhalten sollen; 
+ *        <tt>false</tt>, falls sie als Fehler gemeldet werden sollen.
+ */
+public void setMesspunkteNaheMittelpunktAbwerten(boolean messpunkteNaheMittelpunktAbwerten)
+   {
+   this.messpunkteNaheMittelpunktAbwerten = messpunkteNaheMittelpunktAbwerten;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Indizes der Messpunkte zurück, die bei der letzten Lösung vor oder nach der Iteration fast
+ * mit dem Mittelpunkt identisch waren.
+ * 
+ * @return Die aufsteigend sortierten Indizes der Messpunkte
+ */
+public int[] getMesspunkteNaheMittelpunkt()
+   {
+   return this.messpunkteNaheMittelpunkt.clone();
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Gewichte der Messpunkte in der letzten Ausgleichsrechnung zurück. Bei den robusten 
+ * Lösungsverfahren kennzeichnen kleine Gewichte die Ausreißer.
+ * 
+ * @return Die Gewichte der Messpunkte
+ */
+public double[] getGewichte()
+   {
+   return this.gewichte.clone();
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Kenngrößen der letzten Lösung des Ausgleichsproblems zurück.
+ * 
+ * @return Die Kenngrößen der letzten Lösung oder <tt>null</tt>, falls das Ausgleichsproblem noch nicht gelöst worden
+ *         ist.
+ */
+public Loesungsstatistik getLoesungsstatistik()
+   {
+   return this.loesungsstatistik;
+   }
 }
@@ -0,0 +1,374 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import java.util.Arrays;
+
+/**
+ * Diese Klasse erkennt doppelte und nahezu doppelte Messpunkte. Die Messpunkte werden nacheinander geprüft, so dass 
+ * die Prüfung auch während des Einlesens einer Messreihe erfolgen kann. Ein Messpunkt ist ein Duplikat, falls sein 
+ * Abstand zu einem bereits gespeicherten Messpunkt höchstens so groß wie die Toleranz ist. Duplikate werden nicht 
+ * gespeichert; es bleibt jeweils der zuerst geprüfte Messpunkt erhalten.
+ * 
+ * Die Koordinaten werden auf ein Gitter mit der Toleranz als Maschenweite abgebildet. Die Gitterzellen werden in einer
+ * Hashtabelle mit offener Adressierung auf Feldern primitiver Werte gespeichert, so dass pro Messpunkt kein Objekt 
+ * erzeugt wird. Ein Messpunkt muss nur mit den Messpunkten in seiner und den acht benachbarten Zellen verglichen 
+ * werden. Bei der Toleranz 0 werden nur exakt gleiche Messpunkte erkannt.
+ *
+ * @author Th. K. Walter
+ */
+final class Duplikatpruefung
+{
+/**
+ * Die Toleranz, innerhalb der zwei Messpunkte als gleich gelten
+ */
+private final double toleranz;
+
+/**
+ * Das Quadrat der Toleranz
+ */
+private final double toleranzQuadrat;
+
+/**
+ * Die x-Indizes der Gitterzellen in der Hashtabelle
+ */
+private long[] zelleX;
+
+/**
+ * Die y-Indizes der Gitterzellen in der Hashtabelle
+ */
+private long[] zelleY;
+
+/**
+ * Der um eins erhöhte Index des zuletzt gespeicherten Messpunkts jeder Gitterzelle in der Hashtabelle oder 0, falls 
+ * der Eintrag der Hashtabelle leer ist
+ */
+private int[] kopf;
+
+/**
+ * Die Anzahl der belegten Einträge der Hashtabelle
+ */
+private int anzahlZellen;
+
+/**
+ * Die x-Komponenten der gespeicherten Messpunkte
+ */
+private double[] x;
+
+/**
+ * Die y-Komponenten der gespeicherten Messpunkte
+ */
+private double[] y;
+
+/**
+ * Der um eins erhöhte Index des vorherigen Messpunkts derselben Gitterzelle oder 0
+ */
+private int[] naechster;
+
+/**
+ * Die Anzahl der gespeicherten Messpunkte
+ */
+private int anzahl;
+
+/**
+ * Die Anzahl der erkannten Duplikate
+ */
+private int anzahlDuplikate;
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor erzeugt eine leere Duplikatprüfung.
+ * 
+ * @param toleranz Der Abstand, bis zu dem zwei Messpunkte als gleich gelten, oder 0, falls nur exakt gleiche 
+ *        Messpunkte erkannt werden sollen.
+ * @param kapazitaet Die erwartete Anzahl der Messpunkte
+ */
+Duplikatpruefung(double toleranz, int kapazitaet)
+   {
+   // Falls die Toleranz nicht zulässig ist, wird eine Ausnahme geworfen.
+   if (!(toleranz >= 0.0) || Double.isInfinite(toleranz))
+      {
+      throw new IllegalArgumentException("Die Toleranz " + toleranz + " ist nicht zulässig!");
+      }
+   
+   this.toleranz = toleranz;
+   this.toleranzQuadrat = toleranz * toleranz;
+   
+   // Die Hashtabelle wird höchstens zur Hälfte gefüllt. Ihre Größe ist eine Zweierpotenz.
+   int groesse = Integer.highestOneBit(Math.max(kapazitaet, 4) * 2 - 1) << 1;
+   this.zelleX = new long[groesse];
+   this.zelleY = new long[groesse];
+   this.kopf = new int[groesse];
+   
+   int anfangskapazitaet = Math.max(kapazitaet, 4);
+   this.x = new double[anfangskapazitaet];
+   this.y = new double[anfangskapazitaet];
+   this.naechster = new int[anfangskapazitaet];
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode prüft, ob ein Messpunkt ein Duplikat eines bereits gespeicherten Messpunkts ist. Falls nicht, wird
+ * der Messpunkt gespeichert.
+ * 
+ * @param xKomponente Die x-Komponente des Messpunkts
+ * @param yKomponente Die y-Komponente des Messpunkts
+ * 
+ * @return <tt>true</tt>, falls der Messpunkt ein Duplikat ist; <tt>false</tt> sonst
+ */
+boolean messpunktPruefen(double xKomponente, double yKomponente)
+   {
+   // Die Gitterzelle des Messpunkts wird bestimmt.
+   long zx = this.zellindex(xKomponente);
+   long zy = this.zellindex(yKomponente);
+   
+   if (this.enthaelt(xKomponente, yKomponente, zx, zy))
+      {
+      this.anzahlDuplikate++;
+      return true;
+      }
+   
+   // Der Messpunkt ist kein Duplikat und wird gespeichert.
+   this.speichern(xKomponente, yKomponente, zx, zy);
+   return false;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode prüft, ob ein Messpunkt ein Duplikat eines bereits gespeicherten Messpunkts ist, ohne ihn zu 
+ * speichern.
+ * 
+ * @param xKomponente Die x-Komponente des Messpunkts
+ * @param yKomponente Die y-Komponente des Messpunkts
+ * 
+ * @return <tt>true</tt>, falls der Messpunkt ein Duplikat ist; <tt>false</tt> sonst
+ */
+boolean enthaelt(double xKomponente, double yKomponente)
+   {
+   return this.enthaelt(xKomponente, yKomponente, this.zellindex(xKomponente), this.zellindex(yKomponente));
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode prüft, ob ein Messpunkt ein Duplikat eines bereits gespeicherten Messpunkts ist.
+ * 
+ * @param xKomponente Die x-Komponente des Messpunkts
+ * @param yKomponente Die y-Komponente des Messpunkts
+ * @param zx Der x-Index der Gitterzelle des Messpunkts
+ * @param zy Der y-Index der Gitterzelle des Messpunkts
+ * 
+ * @return <tt>true</tt>, falls der Messpunkt ein Duplikat ist; <tt>false</tt> sonst
+ */
+private boolean enthaelt(double xKomponente, double yKomponente, long zx, long zy)
+   {
+   // Bei der Toleranz 0 ist jeder Messpunkt in derselben Zelle ein Duplikat, da die Zellindizes die Bitmuster der 
+   // Komponenten sind.
+   if (this.toleranz == 0.0)
+      {
+      return this.kopf[this.eintragSuchen(zx, zy)] != 0;
+      }
+   
+   // Sonst werden die Messpunkte in der Zelle des Messpunkts und den acht benachbarten Zellen durchsucht.
+   for (long dx = -1; dx <= 1; dx++)
+      {
+      for (long dy = -1; dy <= 1; dy++)
+         {
+         for (int j = this.kopf[this.eintragSuchen(zx + dx, zy + dy)]; j != 0; j = this.naechster[j - 1])
+            {
+            double abstandX = xKomponente - this.x[j - 1];
+            double abstandY = yKomponente - this.y[j - 1];
+            if (abstandX * abstandX + abstandY * abstandY <= this.toleranzQuadrat)
+               {
+               return true;
+               }
+            }
+         }
+      }
+   return false;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Anzahl der erkannten Duplikate zurück.
+ * 
+ * @return Die Anzahl der erkannten Duplikate
+ */
+int getAnzahlDuplikate()
+   {
+   return this.anzahlDuplikate;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt eine Ansicht der gespeicherten Messpunkte zurück, also der geprüften Messpunkte ohne die 
+ * Duplikate. Die Reihenfolge der Messpunkte bleibt erhalten.
+ * 
+ * @return Die Ansicht der gespeicherten Messpunkte
+ */
+MessreiheAnsicht getMesspunkte()
+   {
+   return new MessreiheAnsicht(Arrays.copyOf(this.x, this.anzahl), Arrays.copyOf(this.y, this.anzahl), this.anzahl);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode prüft alle Messpunkte einer Messreihe auf Duplikate.
+ * 
+ * @param messpunkte Die Messpunkte
+ * @param toleranz Der Abstand, bis zu dem zwei Messpunkte als gleich gelten
+ * 
+ * @return Die Duplikatprüfung, in der alle Messpunkte der Messreihe geprüft worden sind
+ */
+static Duplikatpruefung pruefen(MessreiheAnsicht messpunkte, double toleranz)
+   {
+   Duplikatpruefung duplikatpruefung = new Duplikatpruefung(toleranz, messpunkte.getAnzahl());
+   for (int i = 0; i < messpunkte.getAnzahl(); i++)
+      {
+      duplikatpruefung.messpunktPruefen(messpunkte.getX(i), messpunkte.getY(i));
+      }
+   return duplikatpruefung;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode bestimmt den Index der Gitterzelle einer Komponente. Bei der Toleranz 0 ist der Index das Bitmuster
+ * der Komponente; -0.0 und 0.0 werden dabei gleich behandelt.
+ * 
+ * @param komponente Die Komponente eines Messpunkts
+ * 
+ * @return Der Index der Gitterzelle
+ */
+private long zellindex(double komponente)
+   {
+   if (this.toleranz == 0.0)
+      {
+      return Double.doubleToLongBits(komponente + 0.0);
+      }
+   return (long) Math.floor(komponente / this.toleranz);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode sucht den Eintrag einer Gitterzelle in der Hashtabelle (lineares Sondieren).
+ * 
+ * @param zx Der x-Index der Gitterzelle
+ * @param zy Der y-Index der Gitterzelle
+ * 
+ * @return Der Index des Eintrags der Gitterzelle oder des ersten leeren Eintrags, falls die Zelle nicht enthalten ist
+ */
+private int eintragSuchen(long zx, long zy)
+   {
+   int maske = this.kopf.length - 1;
+   long hash = zx * 0x9E3779B97F4A7C15L + zy;
+   hash = (hash ^ (hash >>> 32)) * 0xC2B2AE3D27D4EB4FL;
+   int index = (int) (hash ^ (hash >>> 29)) & maske;
+   while (this.kopf[index] != 0 && (this.zelleX[index] != zx || this.zelleY[index] != zy))
+      {
+      index = (index + 1) & maske;
+      }
+   return index;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode speichert einen Messpunkt und trägt ihn in seine Gitterzelle ein.
+ * 
+ * @param xKomponente Die x-Komponente des Messpunkts
+ * @param yKomponente Die y-Komponente des Messpunkts
+ * @param zx Der x-Index der Gitterzelle
+ * @param zy Der y-Index der Gitterzelle
+ */
+private void speichern(double xKomponente, double yKomponente, long zx, long zy)
+   {
+   // Falls die Felder der Messpunkte voll sind, werden sie vergrößert.
+   if (this.anzahl == this.x.length)
+      {
+      int neueKapazitaet = this.x.length + (this.x.length >> 1) + 1;
+      this.x = Arrays.copyOf(this.x, neueKapazitaet);
+      this.y = Arrays.copyOf(this.y, neueKapazitaet);
+      this.naechster = Arrays.copyOf(this.naechster, neueKapazitaet);
+      }
+   
+   // Der Messpunkt wird gespeichert.
+   this.x[this.anzahl] = xKomponente;
+   this.y[this.anzahl] = yKomponente;
+   
+   // Der Messpunkt wird am Anfang der Liste seiner Gitterzelle eingetragen.
+   int index = this.eintragSuchen(zx, zy);
+   if (this.kopf[index] == 0)
+      {
+      this.zelleX[index] = zx;
+      this.zelleY[index] = zy;
+      this.anzahlZellen++;
+      }
+   this.naechster[this.anzahl] = this.kopf[index];
+   this.anzahl++;
+   this.kopf[index] = this.anzahl;
+   
+   // Falls die Hashtabelle mehr als zur Hälfte gefüllt ist, wird sie vergrößert.
+   if (2 * this.anzahlZellen > this.kopf.length)
+      {
+      this.hashtabelleVergroessern();
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode verdoppelt die Größe der Hashtabelle und trägt alle Gitterzellen neu ein.
+ */
+private void hashtabelleVergroessern()
+   {
+   long[] alteZelleX = this.zelleX;
+   long[] alteZelleY = this.zelleY;
+   int[] alterKopf = this.kopf;
+   
+   this.zelleX = new long[alterKopf.length * 2];
+   this.zelleY = new long[alterKopf.length * 2];
+   this.kopf = new int[alterKopf.length * 2];
+   for (int i = 0; i < alterKopf.length; i++)
+      {
+      if (alterKopf[i] != 0)
+         {
+         int index = this.eintragSuchen(alteZelleX[i], alteZelleY[i]);
+         this.zelleX[index] = alteZelleX[i];
+         this.zelleY[index] = alteZelleY[i];
+         this.kopf[index] = alterKopf[i];
+         }
+      }
+   }
+}
@@ -0,0 +1,542 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import javax.faces.bean.ApplicationScoped;
+import javax.faces.bean.ManagedBean;
+
+import de.thkwalter.jsf.ApplicationRuntimeException;
+
+/**
+ * Dieser anwendungsweite Zwischenspeicher enthält die Ergebnisse der zuletzt berechneten Ortskurven. Der Schlüssel ist
+ * der SHA-256-Hashwert der Messpunkte und des Lösungsverfahrens, sodass eine erneut eingegebene Messreihe (z. B. nach 
+ * der Rückkehr von der Schlupfbezifferung oder von einem anderen Benutzer) nicht noch einmal berechnet werden muss. 
+ * Wenn der Zwischenspeicher voll ist, wird der am längsten nicht mehr gelesene Eintrag verdrängt. Da die Daten der 
+ * Grafik und das Validierungsergebnis für jeden Messpunkt einen Punkt enthalten, ist neben der Anzahl der Einträge 
+ * auch die Gesamtzahl der gespeicherten Messpunkte begrenzt. Ein Eintrag, der allein mehr Messpunkte enthält, wird 
+ * nicht gespeichert.
+ * 
+ * Gleichzeitige Anfragen für dieselbe Messreihe werden gebündelt (siehe {@link #berechnen(String, Callable)}): Nur die
+ * erste Anfrage berechnet die Ortskurve, die übrigen warten auf ihr Ergebnis oder ihre Ausnahme.
+ *
+ * @author Th. K. Walter
+ * @version 1.0
+ */
+@ApplicationScoped
+@ManagedBean(name="ergebniscache")
+public class Ergebniscache
+{
+/**
+ * Die voreingestellte maximale Anzahl der Einträge
+ */
+private static final int STANDARD_MAX_EINTRAEGE = 1000;
+
+/**
+ * Die voreingestellte maximale Gesamtzahl der gespeicherten Messpunkte
+ */
+private static final long STANDARD_MAX_MESSPUNKTE = 200000;
+
+/**
+ * Die maximale Anzahl der Einträge
+ */
+private final int maxEintraege;
+
+/**
+ * Die maximale Gesamtzahl der gespeicherten Messpunkte
+ */
+private final long maxMesspunkte;
+
+/**
+ * Die Gesamtzahl der gespeicherten Messpunkte
+ */
+private long anzahlMesspunkte;
+
+/**
+ * Die Einträge in der Reihenfolge ihrer letzten Verwendung
+ */
+private final LinkedHashMap<String, Eintrag> eintraege;
+
+/**
+ * Die laufenden Berechnungen, geordnet nach ihren Schlüsseln
+ */
+private final ConcurrentHashMap<String, FutureTask<Eintrag>> laufendeBerechnungen = 
+   new ConcurrentHashMap<String, FutureTask<Eintrag>>();
+
+/**
+ * Die Anzahl der Zugriffe, bei denen ein Eintrag gefunden worden ist
+ */
+private final AtomicLong treffer = new AtomicLong();
+
+/**
+ * Die Anzahl der Zugriffe, bei denen kein Eintrag gefunden worden ist
+ */
+private final AtomicLong fehlschlaege = new AtomicLong();
+
+/**
+ * Die Anzahl der Anfragen, die auf eine bereits laufende Berechnung gewartet haben
+ */
+private final AtomicLong gebuendelt = new AtomicLong();
+
+/*
+ * Der Logger dieser Klasse.
+ */
+private static Logger logger = Logger.getLogger(Ergebniscache.class.getName());
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor erzeugt einen Zwischenspeicher mit der voreingestellten maximalen Anzahl von Einträgen und 
+ * Messpunkten.
+ */
+public Ergebniscache()
+   {
+   this(Ergebniscache.STANDARD_MAX_EINTRAEGE, Ergebniscache.STANDARD_MAX_MESSPUNKTE);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor erzeugt einen Zwischenspeicher mit der angegebenen maximalen Anzahl von Einträgen und der 
+ * voreingestellten maximalen Gesamtzahl der Messpunkte.
+ * 
+ * @param maxEintraege Die maximale Anzahl der Einträge
+ */
+public Ergebniscache(int maxEintraege)
+   {
+   this(maxEintraege, Ergebniscache.STANDARD_MAX_MESSPUNKTE);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor erzeugt einen Zwischenspeicher mit der angegebenen maximalen Anzahl von Einträgen und 
+ * Messpunkten.
+ * 
+ * @param maxEintraege Die maximale Anzahl der Einträge
+ * @param maxMesspunkte Die maximale Gesamtzahl der gespeicherten Messpunkte
+ */
+public Ergebniscache(int maxEintraege, long maxMesspunkte)
+   {
+   this.maxEintraege = maxEintraege;
+   this.maxMesspunkte = maxMesspunkte;
+   this.eintraege = new LinkedHashMap<String, Eintrag>(16, 0.75f, true);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode berechnet den Schlüssel einer Messreihe.
+ * 
+ * @param messpunkte Die Messpunkte
+ * @param loesungsverfahren Das Lösungsverfahren oder <tt>null</tt> für das Standardverfahren
+ * 
+ * @return Der SHA-256-Hashwert der Messpunkte und des Lösungsverfahrens als Hexadezimalzahl
+ */
+public static String schluesselBerechnen(MessreiheAnsicht messpunkte, Loesungsverfahren loesungsverfahren)
+   {
+   MessageDigest messageDigest;
+   try
+      {
+      messageDigest = MessageDigest.getInstance("SHA-256");
+      }
+   
+   // Jede Java-Plattform muss SHA-256 unterstützen.
+   catch (NoSuchAlgorithmException e)
+      {
+      throw new IllegalStateException(e);
+      }
+   
+   // Das Lösungsverfahren und die Bitmuster der Komponenten aller Messpunkte werden in den Hashwert eingerechnet.
+   messageDigest.update((byte) (loesungsverfahren == null ? -1 : loesungsverfahren.ordinal()));
+   ByteBuffer puffer = ByteBuffer.allocate(16);
+   for (int i = 0; i < messpunkte.getAnzahl(); i++)
+      {
+      puffer.clear();
+      puffer.putDouble(messpunkte.getX(i)).putDouble(messpunkte.getY(i));
+      messageDigest.update(puffer.array());
+      }
+   
+   // Der Hashwert wird in eine Hexadezimalzahl umgewandelt.
+   StringBuilder schluessel = new StringBuilder(64);
+   for (byte b : messageDigest.digest())
+      {
+      schluessel.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+      }
+   return schluessel.toString();
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode liest einen Eintrag und zählt den Zugriff als Treffer oder Fehlschlag.
+ * 
+ * @param schluessel Der Schlüssel
+ * 
+ * @return Der Eintrag oder <tt>null</tt>, falls kein Eintrag zu dem Schlüssel existiert.
+ */
+public Eintrag lesen(String schluessel)
+   {
+   Eintrag eintrag;
+   synchronized (this.eintraege)
+      {
+      eintrag = this.eintraege.get(schluessel);
+      }
+   
+   if (eintrag != null)
+      {
+      this.treffer.incrementAndGet();
+      }
+   else
+      {
+      this.fehlschlaege.incrementAndGet();
+      }
+   return eintrag;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode speichert ein Ergebnis.
+ * 
+ * @param schluessel Der Schlüssel
+ * @param ortskurvenergebnis Das Ergebnis der Ortskurvenberechnung
+ * @param grafikdaten Die Daten der Grafik der Ortskurve
+ */
+public void speichern(String schluessel, Ortskurvenergebnis ortskurvenergebnis, Grafikdaten grafikdaten)
+   {
+   this.einfuegen(schluessel, new Eintrag(ortskurvenergebnis, grafikdaten));
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode fügt einen Eintrag ein und verdrängt die am längsten nicht mehr gelesenen Einträge, bis die maximale 
+ * Anzahl der Einträge und die maximale Gesamtzahl der Messpunkte wieder eingehalten sind. Ein Eintrag, der allein 
+ * mehr Messpunkte enthält, als gespeichert werden dürfen, wird nicht eingefügt.
+ * 
+ * @param schluessel Der Schlüssel
+ * @param eintrag Der Eintrag
+ */
+private void einfuegen(String schluessel, Eintrag eintrag)
+   {
+   long anzahl = eintrag.getAnzahlMesspunkte();
+   if (anzahl > this.maxMesspunkte)
+      {
+      return;
+      }
+   
+   synchronized (this.eintraege)
+      {
+      // Ein bereits vorhandener Eintrag zu demselben Schlüssel wird ersetzt.
+      Eintrag alterEintrag = this.eintraege.put(schluessel, eintrag);
+      if (alterEintrag != null)
+         {
+         this.anzahlMesspunkte -= alterEintrag.getAnzahlMesspunkte();
+         }
+      this.anzahlMesspunkte += anzahl;
+      
+      // Die am längsten nicht mehr gelesenen Einträge werden verdrängt.
+      Iterator<Eintrag> iterator = this.eintraege.values().iterator();
+      while (this.eintraege.size() > this.maxEintraege || this.anzahlMesspunkte > this.maxMesspunkte)
+         {
+         this.anzahlMesspunkte -= iterator.next().getAnzahlMesspunkte();
+         iterator.remove();
+         }
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt den Eintrag zu dem Schlüssel zurück. Falls kein Eintrag existiert, wird er mit der übergebenen 
+ * Berechnung erzeugt und gespeichert. Läuft für denselben Schlüssel bereits eine Berechnung, so wird keine weitere 
+ * Berechnung gestartet, sondern auf deren Ergebnis gewartet. Wirft die Berechnung eine Ausnahme, so erhalten alle 
+ * wartenden Anfragen diese Ausnahme; in diesem Fall wird nichts gespeichert. Ergebnisse, deren Ausgleichsrechnung 
+ * wegen einer abgelaufenen Frist nicht konvergiert ist, werden ebenfalls nicht gespeichert, damit eine spätere Anfrage
+ * die Ortskurve vollständig berechnen kann.
+ * 
+ * @param schluessel Der Schlüssel
+ * @param berechnung Die Berechnung des Eintrags. Sie wird im Thread der ersten Anfrage ausgeführt.
+ * 
+ * @return Der Eintrag
+ * 
+ * @throws ApplicationRuntimeException Falls die Berechnung eine {@link ApplicationRuntimeException} geworfen hat oder 
+ *         der Thread beim Warten unterbrochen worden ist.
+ */
+public Eintrag berechnen(String schluessel, Callable<Eintrag> berechnung)
+   {
+   // Falls der Eintrag bereits existiert, wird er zurückgegeben.
+   Eintrag eintrag = this.lesen(schluessel);
+   if (eintrag != null)
+      {
+      return eintrag;
+      }
+   
+   // Die Berechnung wird angemeldet. Falls für denselben Schlüssel bereits eine Berechnung läuft, wird diese verwendet.
+   FutureTask<Eintrag> eigeneBerechnung = new FutureTask<Eintrag>(berechnung);
+   FutureTask<Eintrag> laufendeBerechnung = this.laufendeBerechnungen.putIfAbsent(schluessel, eigeneBerechnung);
+   
+   // Falls keine Berechnung lief, wird die eigene Berechnung ausgeführt und ihr Ergebnis gespeichert.
+   if (laufendeBerechnung == null)
+      {
+      try
+         {
+         eigeneBerechnung.run();
+         Eintrag neuerEintrag = Ergebniscache.ergebnisAbwarten(eigeneBerechnung);
+         if (neuerEintrag.getOrtskurvenergebnis().isKonvergiert())
+            {
+            this.einfuegen(schluessel, neuerEintrag);
+            }
+         return neuerEintrag;
+         }
+      finally
+         {
+         this.laufendeBerechnungen.remove(schluessel, eigeneBerechnung);
+         }
+      }
+   
+   // Andernfalls wird auf das Ergebnis der laufenden Berechnung gewartet.
+   this.gebuendelt.incrementAndGet();
+   return Ergebniscache.ergebnisAbwarten(laufendeBerechnung);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode wartet auf das Ergebnis einer Berechnung. Ausnahmen der Berechnung werden unverändert weitergeworfen,
+ * sofern es sich um Laufzeitausnahmen oder Errors handelt.
+ * 
+ * @param berechnung Die Berechnung
+ * 
+ * @return Das Ergebnis der Berechnung
+ */
+private static Eintrag ergebnisAbwarten(FutureTask<Eintrag> berechnung)
+   {
+   try
+      {
+      return berechnung.get();
+      }
+   catch (ExecutionException e)
+      {
+      Throwable ursache = e.getCause();
+      if (ursache instanceof RuntimeException)
+         {
+         throw (RuntimeException) ursache;
+         }
+      if (ursache instanceof Error)
+         {
+         throw (Error) ursache;
+         }
+      throw new IllegalStateException(ursache);
+      }
+   
+   // Falls der Thread beim Warten unterbrochen worden ist, wird die Unterbrechung vermerkt und eine Ausnahme geworfen.
+   catch (InterruptedException e)
+      {
+      Thread.currentThread().interrupt();
+      
+      // Die Fehlermeldung für den Entwickler wird erzeugt und protokolliert.
+      String fehlermeldung = "Das Warten auf eine laufende Berechnung der Ortskurve ist unterbrochen worden!";
+      Ergebniscache.logger.severe(fehlermeldung);
+      
+      // Die Ausnahme wird erzeugt und mit der Fehlermeldung für den Benutzer initialisiert.
+      String jsfMeldung = "Die Berechnung der Ortskurve ist unterbrochen worden. Versuchen Sie es bitte noch einmal.";
+      throw new ApplicationRuntimeException(jsfMeldung);
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode entfernt alle Einträge und setzt die Zähler zurück.
+ */
+public void leeren()
+   {
+   synchronized (this.eintraege)
+      {
+      this.eintraege.clear();
+      this.anzahlMesspunkte = 0;
+      }
+   this.treffer.set(0);
+   this.fehlschlaege.set(0);
+   this.gebuendelt.set(0);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Anzahl der Einträge zurück.
+ * 
+ * @return Die Anzahl der Einträge
+ */
+public int getAnzahl()
+   {
+   synchronized (this.eintraege)
+      {
+      return this.eintraege.size();
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Gesamtzahl der gespeicherten Messpunkte zurück.
+ * 
+ * @return Die Gesamtzahl der gespeicherten Messpunkte
+ */
+public long getAnzahlMesspunkte()
+   {
+   synchronized (this.eintraege)
+      {
+      return this.anzahlMesspunkte;
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Anzahl der Zugriffe zurück, bei denen ein Eintrag gefunden worden ist.
+ * 
+ * @return Die Anzahl der Treffer
+ */
+public long getTreffer()
+   {
+   return this.treffer.get();
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Anzahl der Zugriffe zurück, bei denen kein Eintrag gefunden worden ist.
+ * 
+ * @return Die Anzahl der Fehlschläge
+ */
+public long getFehlschlaege()
+   {
+   return this.fehlschlaege.get();
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Anzahl der Anfragen zurück, die auf eine bereits laufende Berechnung gewartet haben.
+ * 
+ * @return Die Anzahl der gebündelten Anfragen
+ */
+public long getGebuendelt()
+   {
+   return this.gebuendelt.get();
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Klasse repräsentiert einen Eintrag des Zwischenspeichers.
+ */
+public static class Eintrag
+{
+/**
+ * Das Ergebnis der Ortskurvenberechnung
+ */
+private final Ortskurvenergebnis ortskurvenergebnis;
+
+/**
+ * Die Daten der Grafik der Ortskurve
+ */
+private final Grafikdaten grafikdaten;
+
+/**
+ * Dieser Konstruktor initialisiert den Eintrag.
+ * 
+ * @param ortskurvenergebnis Das Ergebnis der Ortskurvenberechnung
+ * @param grafikdaten Die Daten der Grafik der Ortskurve
+ */
+public Eintrag(Ortskurvenergebnis ortskurvenergebnis, Grafikdaten grafikdaten)
+   {
+   this.ortskurvenergebnis = ortskurvenergebnis;
+   this.grafikdaten = grafikdaten;
+   }
+
+/**
+ * Diese Methode gibt das Ergebnis der Ortskurvenberechnung zurück.
+ * 
+ * @return Das Ergebnis der Ortskurvenberechnung
+ */
+public Ortskurvenergebnis getOrtskurvenergebnis()
+   {
+   return this.ortskurvenergebnis;
+   }
+
+/**
+ * Diese Methode gibt die Daten der Grafik der Ortskurve zurück.
+ * 
+ * @return Die Daten der Grafik der Ortskurve
+ */
+public Grafikdaten getGrafikdaten()
+   {
+   return this.grafikdaten;
+   }
+
+/**
+ * Diese Methode gibt die Anzahl der Messpunkte zurück, die der Eintrag über die Daten der Grafik und das 
+ * Validierungsergebnis im Speicher hält.
+ * 
+ * @return Die Anzahl der Messpunkte
+ */
+int getAnzahlMesspunkte()
+   {
+   int anzahl = 0;
+   if (this.grafikdaten != null && this.grafikdaten.getMesspunkteGrafik() != null)
+      {
+      anzahl += this.grafikdaten.getMesspunkteGrafik().getMesspunkteInPixeln().length;
+      }
+   if (this.ortskurvenergebnis != null && this.ortskurvenergebnis.getValidierungsergebnis() != null &&
+      this.ortskurvenergebnis.getValidierungsergebnis().getMesspunkte() != null)
+      {
+      anzahl += this.ortskurvenergebnis.getValidierungsergebnis().getMesspunkte().getAnzahl();
+      }
+   return anzahl;
+   }
+}
+}
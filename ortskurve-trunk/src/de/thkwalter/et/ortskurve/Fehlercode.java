@@ -0,0 +1,51 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+/**
+ * Dieser Aufzählungstyp charakterisiert die Fehler in den Messpunkten, die eine Berechnung der Ortskurve verhindern 
+ * (siehe {@link Validierungsergebnis}).
+ * 
+ * @author Th. K. Walter
+ */
+public enum Fehlercode
+{
+/**
+ * Es existieren weniger als drei Messpunkte.
+ */
+ZU_WENIGE_MESSPUNKTE,
+
+/**
+ * Messpunkte sind doppelt oder nahezu doppelt eingegeben worden.
+ */
+DOPPELTE_MESSPUNKTE,
+
+/**
+ * Die Matrix aus den zur Startpunktbestimmung ausgewählten Messpunkten ist singulär (z. B. weil die Messpunkte auf 
+ * einer Geraden liegen).
+ */
+SINGULAERE_MESSPUNKTE,
+
+/**
+ * Messpunkte sind fast mit dem Mittelpunkt des Kreises identisch.
+ */
+MESSPUNKTE_NAHE_MITTELPUNKT,
+
+/**
+ * Das Verfahren zur Lösung des Ausgleichsproblems konvergiert nicht.
+ */
+NICHT_KONVERGIERT;
+}
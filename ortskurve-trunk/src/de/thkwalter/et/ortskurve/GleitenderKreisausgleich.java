@@ -0,0 +1,271 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+
+/**
+ * Diese Klasse berechnet die Ortskurve über ein gleitendes Fenster der zuletzt hinzugefügten Messpunkte, z. B. für die
+ * laufende Zustandsüberwachung. Das Fenster wird durch eine maximale Anzahl von Messpunkten, eine maximale Zeitspanne
+ * oder beides begrenzt. 
+ * 
+ * Die Messpunkte des Fensters werden in einem Ringpuffer gespeichert. Beim Hinzufügen eines Messpunkts werden seine 
+ * Beiträge zu den Momentensummen ({@link Kreismomente}) addiert, beim Herausfallen aus dem Fenster wieder subtrahiert.
+ * Damit sich die Rundungsfehler der Subtraktionen nicht ansammeln, werden die Momentensummen in regelmäßigen Abständen
+ * aus den Messpunkten im Fenster neu berechnet.
+ *
+ * @author Th. K. Walter
+ * @version 1.0
+ */
+public class GleitenderKreisausgleich
+{
+/**
+ * Die Anfangskapazität des Ringpuffers, falls das Fenster nur durch die Zeitspanne begrenzt wird.
+ */
+private static final int ANFANGSKAPAZITAET = 64;
+
+/**
+ * Die maximale Anzahl der Messpunkte im Fenster oder 0, falls die Anzahl nicht begrenzt ist.
+ */
+private int maxAnzahl;
+
+/**
+ * Die maximale Zeitspanne (in ms) zwischen dem ältesten und dem neuesten Messpunkt im Fenster oder 0, falls die 
+ * Zeitspanne nicht begrenzt ist.
+ */
+private long zeitfenster;
+
+/**
+ * Die x-Komponenten der Messpunkte im Ringpuffer
+ */
+private double[] x;
+
+/**
+ * Die y-Komponenten der Messpunkte im Ringpuffer
+ */
+private double[] y;
+
+/**
+ * Die Zeitstempel (in ms) der Messpunkte im Ringpuffer
+ */
+private long[] zeitstempel;
+
+/**
+ * Der Index des ältesten Messpunkts im Ringpuffer
+ */
+private int kopf;
+
+/**
+ * Die Anzahl der Messpunkte im Fenster
+ */
+private int anzahl;
+
+/**
+ * Die Momentensummen der Messpunkte im Fenster
+ */
+private Kreismomente kreismomente;
+
+/**
+ * Die Anzahl der entfernten Messpunkte seit der letzten Neuberechnung der Momentensummen
+ */
+private int anzahlEntfernungen;
+
+/**
+ * Die Ortskurve der Messpunkte im Fenster
+ */
+private Ortskurve ortskurve;
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor erzeugt einen gleitenden Kreisausgleich mit leerem Fenster.
+ * 
+ * @param maxAnzahl Die maximale Anzahl der Messpunkte im Fenster oder 0, falls die Anzahl nicht begrenzt ist.
+ * @param zeitfenster Die maximale Zeitspanne (in ms) zwischen dem ältesten und dem neuesten Messpunkt im Fenster oder
+ *        0, falls die Zeitspanne nicht begrenzt ist.
+ *        
+ * @throws IllegalArgumentException Falls das Fenster weder durch die Anzahl noch durch die Zeitspanne begrenzt wird
+ *         oder falls die Anzahl kleiner als drei ist.
+ */
+public GleitenderKreisausgleich(int maxAnzahl, long zeitfenster)
+   {
+   // Die Parameter des Fensters werden überprüft.
+   if ((maxAnzahl <= 0 && zeitfenster <= 0) || (maxAnzahl > 0 && maxAnzahl < 3) || maxAnzahl < 0 || zeitfenster < 0)
+      {
+      throw new IllegalArgumentException("Das Fenster muss durch mindestens drei Messpunkte oder durch eine " +
+         "positive Zeitspanne begrenzt werden!");
+      }
+   
+   this.maxAnzahl = maxAnzahl;
+   this.zeitfenster = zeitfenster;
+   
+   // Der Ringpuffer wird erzeugt.
+   int kapazitaet = maxAnzahl > 0 ? maxAnzahl : GleitenderKreisausgleich.ANFANGSKAPAZITAET;
+   this.x = new double[kapazitaet];
+   this.y = new double[kapazitaet];
+   this.zeitstempel = new long[kapazitaet];
+   this.kopf = 0;
+   this.anzahl = 0;
+   
+   this.kreismomente = new Kreismomente();
+   this.anzahlEntfernungen = 0;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode fügt einen Messpunkt zum Fenster hinzu, entfernt die Messpunkte, die aus dem Fenster herausfallen, und
+ * berechnet die Ortskurve neu. Die Zeitstempel müssen monoton steigen.
+ * 
+ * @param x Die x-Komponente des Messpunkts (-Im I1 in A)
+ * @param y Die y-Komponente des Messpunkts (Re I1 in A)
+ * @param zeitstempel Der Zeitstempel des Messpunkts (in ms)
+ * 
+ * @return Die Ortskurve der Messpunkte im Fenster oder <tt>null</tt>, falls sie nicht berechnet werden kann.
+ */
+public Ortskurve messpunktHinzufuegen(double x, double y, long zeitstempel)
+   {
+   // Falls das Fenster durch die Anzahl begrenzt wird und voll ist, wird der älteste Messpunkt entfernt.
+   if (this.maxAnzahl > 0 && this.anzahl == this.maxAnzahl)
+      {
+      this.aeltestenMesspunktEntfernen();
+      }
+   
+   // Falls der Ringpuffer voll ist, wird er vergrößert.
+   if (this.anzahl == this.x.length)
+      {
+      this.ringpufferVergroessern();
+      }
+   
+   // Der Messpunkt wird im Ringpuffer gespeichert und zu den Momentensummen hinzugefügt.
+   int index = (this.kopf + this.anzahl) % this.x.length;
+   this.x[index] = x;
+   this.y[index] = y;
+   this.zeitstempel[index] = zeitstempel;
+   this.anzahl++;
+   this.kreismomente.messpunktHinzufuegen(x, y);
+   
+   // Falls das Fenster durch die Zeitspanne begrenzt wird, werden die zu alten Messpunkte entfernt.
+   if (this.zeitfenster > 0)
+      {
+      while (zeitstempel - this.zeitstempel[this.kopf] > this.zeitfenster)
+         {
+         this.aeltestenMesspunktEntfernen();
+         }
+      }
+   
+   // Falls seit der letzten Neuberechnung so viele Messpunkte entfernt worden sind, wie das Fenster enthält, werden 
+   // die Momentensummen neu berechnet.
+   if (this.anzahlEntfernungen >= Math.max(this.anzahl, GleitenderKreisausgleich.ANFANGSKAPAZITAET))
+      {
+      this.kreismomenteNeuBerechnen();
+      }
+   
+   // Die Ortskurve wird aus den Momentensummen berechnet und zurückgegeben.
+   double[] kreisparameter = this.kreismomente.kreisBerechnen();
+   this.ortskurve = kreisparameter == null ? null : 
+      new Ortskurve(new Vector2D(kreisparameter[0], kreisparameter[1]), kreisparameter[2]);
+   return this.ortskurve;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode entfernt den ältesten Messpunkt aus dem Fenster und aus den Momentensummen.
+ */
+private void aeltestenMesspunktEntfernen()
+   {
+   this.kreismomente.messpunktEntfernen(this.x[this.kopf], this.y[this.kopf]);
+   this.kopf = (this.kopf + 1) % this.x.length;
+   this.anzahl--;
+   this.anzahlEntfernungen++;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode verdoppelt die Kapazität des Ringpuffers. Der älteste Messpunkt steht danach am Anfang der Felder.
+ */
+private void ringpufferVergroessern()
+   {
+   int neueKapazitaet = 2 * this.x.length;
+   double[] neuesX = new double[neueKapazitaet];
+   double[] neuesY = new double[neueKapazitaet];
+   long[] neueZeitstempel = new long[neueKapazitaet];
+   
+   // Die Messpunkte werden in der Reihenfolge ihres Alters kopiert.
+   int anzahlBisEnde = Math.min(this.anzahl, this.x.length - this.kopf);
+   System.arraycopy(this.x, this.kopf, neuesX, 0, anzahlBisEnde);
+   System.arraycopy(this.y, this.kopf, neuesY, 0, anzahlBisEnde);
+   System.arraycopy(this.zeitstempel, this.kopf, neueZeitstempel, 0, anzahlBisEnde);
+   System.arraycopy(this.x, 0, neuesX, anzahlBisEnde, this.anzahl - anzahlBisEnde);
+   System.arraycopy(this.y, 0, neuesY, anzahlBisEnde, this.anzahl - anzahlBisEnde);
+   System.arraycopy(this.zeitstempel, 0, neueZeitstempel, anzahlBisEnde, this.anzahl - anzahlBisEnde);
+   
+   this.x = neuesX;
+   this.y = neuesY;
+   this.zeitstempel = neueZeitstempel;
+   this.kopf = 0;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode berechnet die Momentensummen aus den Messpunkten im Fenster neu. Als Bezugspunkt dient der älteste
+ * Messpunkt im Fenster.
+ */
+private void kreismomenteNeuBerechnen()
+   {
+   this.kreismomente = new Kreismomente();
+   for (int i = 0; i < this.anzahl; i++)
+      {
+      int index = (this.kopf + i) % this.x.length;
+      this.kreismomente.messpunktHinzufuegen(this.x[index], this.y[index]);
+      }
+   this.anzahlEntfernungen = 0;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Anzahl der Messpunkte im Fenster zurück.
+ * 
+ * @return Die Anzahl der Messpunkte im Fenster
+ */
+public int getAnzahl()
+   {
+   return this.anzahl;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die zuletzt berechnete Ortskurve zurück.
+ * 
+ * @return Die Ortskurve der Messpunkte im Fenster oder <tt>null</tt>, falls sie nicht berechnet werden kann.
+ */
+public Ortskurve getOrtskurve()
+   {
+   return this.ortskurve;
+   }
+}
@@ -0,0 +1,127 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import java.io.Serializable;
+
+import de.thkwalter.koordinatensystem.Koordinatenachsen;
+
+/**
+ * Diese Klasse fasst die berechneten Daten der Grafik der Ortskurve zusammen, damit sie gemeinsam mit der Ortskurve
+ * zwischengespeichert werden können (siehe {@link Ergebniscache}). Die enthaltenen Objekte sind unveränderlich.
+ *
+ * @author Th. K. Walter
+ * @version 1.0
+ */
+public class Grafikdaten implements Serializable
+{
+/**
+ * Die Serialisierungsnummer
+ */
+private static final long serialVersionUID = 7780213969046237013L;
+
+/**
+ * Die Grafikdarstellung der Messpunkte
+ */
+private MesspunkteGrafik messpunkteGrafik;
+
+/**
+ * Die Grafikdarstellung der Ortskurve
+ */
+private OrtskurveGrafik ortskurveGrafik;
+
+/**
+ * Die Grafikdarstellung des optimalen Ausgleichskreises oder <tt>null</tt>
+ */
+private OrtskurveGrafik optimalerAusgleichskreisGrafik;
+
+/**
+ * Die Grafikdarstellung der Koordinatenachsen
+ */
+private Koordinatenachsen koordinatenachsen;
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor initialisiert die Daten der Grafik.
+ * 
+ * @param messpunkteGrafik Die Grafikdarstellung der Messpunkte
+ * @param ortskurveGrafik Die Grafikdarstellung der Ortskurve
+ * @param optimalerAusgleichskreisGrafik Die Grafikdarstellung des optimalen Ausgleichskreises oder <tt>null</tt>
+ * @param koordinatenachsen Die Grafikdarstellung der Koordinatenachsen
+ */
+public Grafikdaten(MesspunkteGrafik messpunkteGrafik, OrtskurveGrafik ortskurveGrafik, 
+   OrtskurveGrafik optimalerAusgleichskreisGrafik, Koordinatenachsen koordinatenachsen)
+   {
+   this.messpunkteGrafik = messpunkteGrafik;
+   this.ortskurveGrafik = ortskurveGrafik;
+   this.optimalerAusgleichskreisGrafik = optimalerAusgleichskreisGrafik;
+   this.koordinatenachsen = koordinatenachsen;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Grafikdarstellung der Messpunkte zurück.
+ * 
+ * @return Die Grafikdarstellung der Messpunkte
+ */
+public MesspunkteGrafik getMesspunkteGrafik()
+   {
+   return this.messpunkteGrafik;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Grafikdarstellung der Ortskurve zurück.
+ * 
+ * @return Die Grafikdarstellung der Ortskurve
+ */
+public OrtskurveGrafik getOrtskurveGrafik()
+   {
+   return this.ortskurveGrafik;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Grafikdarstellung des optimalen Ausgleichskreises zurück.
+ * 
+ * @return Die Grafikdarstellung des optimalen Ausgleichskreises oder <tt>null</tt>
+ */
+public OrtskurveGrafik getOptimalerAusgleichskreisGrafik()
+   {
+   return this.optimalerAusgleichskreisGrafik;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Grafikdarstellung der Koordinatenachsen zurück.
+ * 
+ * @return Die Grafikdarstellung der Koordinatenachsen
+ */
+public Koordinatenachsen getKoordinatenachsen()
+   {
+   return this.koordinatenachsen;
+   }
+}
@@ -0,0 +1,195 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import java.util.logging.Logger;
+
+import org.apache.commons.math3.exception.MathIllegalStateException;
+import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+
+import de.thkwalter.jsf.ApplicationRuntimeException;
+
+/**
+ * Diese Klasse berechnet die Ortskurve inkrementell, während laufend neue Messpunkte hinzukommen (z. B. von einem 
+ * Prüfstand). Statt bei jedem neuen Messpunkt die Startpunktbestimmung und das Ausgleichsproblem über alle Messpunkte
+ * zu wiederholen, werden nur die Momentensummen ({@link Kreismomente}) aktualisiert; der algebraische Kreis wird 
+ * daraus mit konstantem Aufwand berechnet.
+ * 
+ * Optional wird der Kreis mit einem Iterationsschritt des Gauß-Newton-Verfahrens geometrisch verbessert. Der Schritt 
+ * geht von der zuletzt berechneten Ortskurve aus und benötigt einen Durchlauf über alle Messpunkte; die Messpunkte 
+ * werden dafür in einer {@link Messreihe} gespeichert.
+ *
+ * @author Th. K. Walter
+ * @version 1.0
+ */
+public class InkrementellerKreisausgleich
+{
+/**
+ * Die Momentensummen der bisherigen Messpunkte
+ */
+private Kreismomente kreismomente;
+
+/**
+ * Die bisherigen Messpunkte, falls der Kreis geometrisch verbessert werden soll, sonst <tt>null</tt>
+ */
+private Messreihe messreihe;
+
+/**
+ * Die zuletzt berechnete Ortskurve
+ */
+private Ortskurve ortskurve;
+
+/**
+ * Gibt an, ob die zuletzt berechnete Ortskurve alle bisherigen Messpunkte berücksichtigt.
+ */
+private boolean ortskurveAktuell;
+
+/*
+ * Der Logger dieser Klasse.
+ */
+private static Logger logger = Logger.getLogger(InkrementellerKreisausgleich.class.getName());
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor erzeugt einen inkrementellen Kreisausgleich ohne Messpunkte.
+ * 
+ * @param verfeinern <tt>true</tt>, falls der algebraische Kreis mit einem Iterationsschritt des 
+ *        Gauß-Newton-Verfahrens geometrisch verbessert werden soll.
+ */
+public InkrementellerKreisausgleich(boolean verfeinern)
+   {
+   this.kreismomente = new Kreismomente();
+   this.messreihe = verfeinern ? new Messreihe() : null;
+   this.ortskurve = null;
+   this.ortskurveAktuell = true;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode fügt einen Messpunkt hinzu. Der Aufwand ist unabhängig von der Anzahl der bisherigen Messpunkte.
+ * 
+ * @param x Die x-Komponente des Messpunkts (-Im I1 in A)
+ * @param y Die y-Komponente des Messpunkts (Re I1 in A)
+ */
+public void messpunktHinzufuegen(double x, double y)
+   {
+   this.kreismomente.messpunktHinzufuegen(x, y);
+   if (this.messreihe != null)
+      {
+      this.messreihe.messpunktHinzufuegen(x, y);
+      }
+   this.ortskurveAktuell = false;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Anzahl der bisherigen Messpunkte zurück.
+ * 
+ * @return Die Anzahl der bisherigen Messpunkte
+ */
+public long getAnzahl()
+   {
+   return this.kreismomente.getAnzahl();
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Ortskurve für die bisherigen Messpunkte zurück. Sie wird nur neu berechnet, wenn seit dem 
+ * letzten Aufruf Messpunkte hinzugekommen sind.
+ * 
+ * @return Die Ortskurve oder <tt>null</tt>, falls noch keine Ortskurve berechnet werden kann (weniger als drei 
+ *         Messpunkte oder alle Messpunkte auf einer Geraden).
+ */
+public Ortskurve getOrtskurve()
+   {
+   // Falls keine neuen Messpunkte hinzugekommen sind, wird die zuletzt berechnete Ortskurve zurückgegeben.
+   if (this.ortskurveAktuell)
+      {
+      return this.ortskurve;
+      }
+   
+   // Falls der Kreis geometrisch verbessert werden soll und bereits eine Ortskurve existiert, geht der 
+   // Iterationsschritt von dieser aus. Andernfalls wird der algebraische Kreis berechnet.
+   double[] kreisparameter = null;
+   if (this.messreihe != null && this.ortskurve != null)
+      {
+      kreisparameter = this.kreisVerbessern(new double[]{this.ortskurve.getMittelpunktOrtskurve().getX(), 
+         this.ortskurve.getMittelpunktOrtskurve().getY(), this.ortskurve.getRadiusOrtskurve()});
+      }
+   if (kreisparameter == null)
+      {
+      kreisparameter = this.kreismomente.kreisBerechnen();
+      
+      // Der erste algebraische Kreis wird ebenfalls geometrisch verbessert.
+      if (kreisparameter != null && this.messreihe != null)
+         {
+         double[] verbesserteKreisparameter = this.kreisVerbessern(kreisparameter);
+         if (verbesserteKreisparameter != null)
+            {
+            kreisparameter = verbesserteKreisparameter;
+            }
+         }
+      }
+   
+   // Die Ortskurve wird gespeichert und zurückgegeben.
+   this.ortskurve = kreisparameter == null ? null :
+      new Ortskurve(new Vector2D(kreisparameter[0], kreisparameter[1]), kreisparameter[2]);
+   this.ortskurveAktuell = true;
+   return this.ortskurve;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode verbessert einen Kreis mit einem Iterationsschritt des Gauß-Newton-Verfahrens über alle Messpunkte.
+ * 
+ * @param kreisparameter Die Kreisparameter, von denen der Iterationsschritt ausgeht
+ * 
+ * @return Die verbesserten Kreisparameter oder <tt>null</tt>, falls der Iterationsschritt nicht ausgeführt werden 
+ *         konnte
+ */
+private double[] kreisVerbessern(double[] kreisparameter)
+   {
+   try
+      {
+      NormalgleichungenGaussNewton normalgleichungenGaussNewton = new NormalgleichungenGaussNewton(
+         this.messreihe.getAnsicht(), null, Ausgleichsproblemtyp.ORTSKURVE_3d);
+      return normalgleichungenGaussNewton.iterationsschrittAusfuehren(kreisparameter);
+      }
+   
+   // Falls ein Messpunkt nahe am Mittelpunkt liegt oder die Normalgleichungen singulär sind, wird auf die 
+   // Verbesserung verzichtet.
+   catch (ApplicationRuntimeException e)
+      {
+      InkrementellerKreisausgleich.logger.warning("Der Kreis konnte nicht verbessert werden: " + e.getMessage());
+      return null;
+      }
+   catch (MathIllegalStateException e)
+      {
+      InkrementellerKreisausgleich.logger.warning("Der Kreis konnte nicht verbessert werden: " + e.getMessage());
+      return null;
+      }
+   }
+}
@@ -0,0 +1,457 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+import org.apache.commons.math3.analysis.MultivariateMatrixFunction;
+import org.apache.commons.math3.analysis.MultivariateVectorFunction;
+import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+
+/**
+ * Diese Klasse berechnet die Modellgleichungen (die Kreisgleichungen) und ihre Jakobi-Matrix in einem gemeinsamen
+ * Durchlauf über die Messpunkte. Die Abstände der Messpunkte vom Mittelpunkt werden dabei nur einmal pro
+ * Parametervektor berechnet, da das Gauß-Newton-Verfahren die Jakobi-Matrix stets für dieselben Kreisparameter
+ * anfordert wie zuvor die Modellgleichungen. Die Klasse unterstützt sowohl das 2d- als auch das 3d-Ausgleichsproblem.
+ * 
+ * Da die Optimierer der Bibliothek Apache Commons Math keine Frist kennen, merkt sich diese Klasse die Kreisparameter
+ * mit der kleinsten Summe der Abstandsquadrate und bricht die Optimierung nach Ablauf der Frist oder nach dem Setzen 
+ * des Abbruchsignals (siehe {@link #setAbbruch(AtomicBoolean)}) mit einer {@link FristAbgelaufenException} ab.
+ *
+ * @author Th. K. Walter
+ */
+public class Kreisgleichungen
+{
+/**
+ * Dieses Feld enthält die Messpunkte.
+ */
+private MessreiheAnsicht messpunkte;
+
+/**
+ * Der Typ des Ausgleichsproblems
+ */
+private Ausgleichsproblemtyp ausgleichsproblemtyp;
+
+/**
+ * Die Kreisparameter, für welche die Jakobi-Matrix zuletzt berechnet worden ist.
+ */
+private double[] berechneteKreisparameter;
+
+/**
+ * Die Jakobi-Matrix für die zuletzt berechneten Kreisparameter. Das Feld wird bei jeder Auswertung wiederverwendet.
+ */
+private double[][] jakobiMatrix;
+
+/**
+ * Der Index des ersten Messpunkts, der für die zuletzt berechneten Kreisparameter fast mit dem Mittelpunkt identisch
+ * ist, oder -1, falls kein solcher Messpunkt existiert.
+ */
+private int indexMesspunktNaheMittelpunkt;
+
+/**
+ * Die Normierung der Messpunkte oder <tt>null</tt>, falls die Messpunkte nicht normiert sind
+ */
+private Normierung normierung;
+
+/**
+ * Die Gewichte der Messpunkte oder <tt>null</tt>, falls alle Messpunkte das Gewicht 1 besitzen
+ */
+private double[] gewichte;
+
+/**
+ * Die Frist der Optimierung (in Millisekunden seit dem 1.1.1970) oder {@link Long#MAX_VALUE}, falls keine Frist
+ * gesetzt ist
+ */
+private long frist = Long.MAX_VALUE;
+
+/**
+ * Das Abbruchsignal: Ist es gesetzt, so wird die Optimierung wie nach dem Ablauf der Frist beendet.
+ */
+private AtomicBoolean abbruch = new AtomicBoolean();
+
+/**
+ * Die Kreisparameter mit der bisher kleinsten gewichteten Summe der Abstandsquadrate oder <tt>null</tt>
+ */
+private double[] besteKreisparameter;
+
+/**
+ * Die bisher kleinste gewichtete Summe der Abstandsquadrate
+ */
+private double besteQuadratsumme = Double.POSITIVE_INFINITY;
+
+/**
+ * Die Modellgleichungen als Funktion für den Optimierer.
+ */
+private MultivariateVectorFunction modellgleichungen;
+
+/**
+ * Die Jakobi-Matrix der Modellgleichungen als Funktion für den Optimierer.
+ */
+private MultivariateMatrixFunction jakobimatrixfunktion;
+
+/**
+ * Der Logger dieser Klasse.
+ */
+private static Logger logger = Logger.getLogger(Kreisgleichungen.class.getName());
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor initialisiert das Feld der Messpunkte und den Typ des Ausgleichsproblems.
+ *
+ * @param messpunkte Die Messpunkte
+ * @param ausgleichsproblemtyp Der Typ des Ausgleichsproblems
+ */
+public Kreisgleichungen(MessreiheAnsicht messpunkte, Ausgleichsproblemtyp ausgleichsproblemtyp)
+   {
+   // Die Messpunkte und der Typ des Ausgleichsproblems werden gespeichert.
+   this.messpunkte = messpunkte;
+   this.ausgleichsproblemtyp = ausgleichsproblemtyp;
+
+   // Das Feld für die Jakobi-Matrix wird einmalig erzeugt. Die Anzahl der Spalten entspricht der Anzahl der
+   // Kreisparameter.
+   int anzahlKreisparameter = ausgleichsproblemtyp == Ausgleichsproblemtyp.ORTSKURVE_2d ? 2 : 3;
+   this.jakobiMatrix = new double[messpunkte.getAnzahl()][anzahlKreisparameter];
+
+   // Die Modellgleichungen werden als Funktion für den Optimierer bereitgestellt.
+   this.modellgleichungen = new MultivariateVectorFunction()
+      {
+      @Override
+      public double[] value(double[] kreisparameter)
+         {
+         return Kreisgleichungen.this.modellgleichungenBerechnen(kreisparameter);
+         }
+      };
+
+   // Die Jakobi-Matrix wird als Funktion für den Optimierer bereitgestellt.
+   this.jakobimatrixfunktion = new MultivariateMatrixFunction()
+      {
+      @Override
+      public double[][] value(double[] kreisparameter)
+         {
+         return Kreisgleichungen.this.jakobimatrixBerechnen(kreisparameter);
+         }
+      };
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Modellgleichungen (die Kreisgleichungen) als Funktion für den Optimierer zurück.
+ *
+ * @return Die Modellgleichungen
+ */
+public MultivariateVectorFunction getModellgleichungen()
+   {
+   return this.modellgleichungen;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Jakobi-Matrix der Modellgleichungen als Funktion für den Optimierer zurück.
+ *
+ * @return Die Jakobi-Matrix der Modellgleichungen
+ */
+public MultivariateMatrixFunction getJakobimatrix()
+   {
+   return this.jakobimatrixfunktion;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode berechnet die Werte der Modellgleichungen (der Kreisgleichungen). Im selben Durchlauf wird die
+ * Jakobi-Matrix für dieselben Kreisparameter berechnet und zwischengespeichert.
+ *
+ * @param kreisparameter Die Parameterwerte der Kreisgleichungen. Beim 3d-Ausgleichsproblem sind dies die x- und die
+ *        y-Koordinate des Kreismittelpunkts sowie der Radius, beim 2d-Ausgleichsproblem die x-Koordinate des
+ *        Kreismittelpunkts und der Radius.
+ *
+ * @return Die Werte der Modellgleichungen. Der Index des Feldes läuft über die Gleichungen.
+ */
+double[] modellgleichungenBerechnen(double[] kreisparameter)
+   {
+   // Das Feld für die Abstände wird bei jeder Auswertung neu erzeugt, da der Optimierer frühere Werte aufbewahrt.
+   double[] abstaende = new double[this.messpunkte.getAnzahl()];
+
+   // Die Abstände und die Jakobi-Matrix werden berechnet.
+   this.auswerten(kreisparameter, abstaende);
+
+   // Falls die Kreisparameter die bisher kleinste Summe der Abstandsquadrate besitzen, werden sie gespeichert. Die 
+   // Abstandsquadrate werden wie im Optimierer mit den Gewichten der Messpunkte multipliziert.
+   double quadratsumme = 0.0;
+   for (int i = 0; i < abstaende.length; i++)
+      {
+      double gewicht = this.gewichte == null ? 1.0 : this.gewichte[i];
+      quadratsumme += gewicht * abstaende[i] * abstaende[i];
+      }
+   if (quadratsumme < this.besteQuadratsumme)
+      {
+      this.besteQuadratsumme = quadratsumme;
+      this.besteKreisparameter = kreisparameter.clone();
+      }
+
+   // Falls die Frist abgelaufen oder das Abbruchsignal gesetzt ist, wird die Optimierung abgebrochen.
+   if (System.currentTimeMillis() > this.frist || this.abbruch.get())
+      {
+      throw new FristAbgelaufenException();
+      }
+
+   return abstaende;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Jakobi-Matrix der Modellgleichungen zurück. Falls die Modellgleichungen zuvor für dieselben
+ * Kreisparameter berechnet worden sind, wird die dabei berechnete Jakobi-Matrix verwendet.
+ *
+ * @param kreisparameter Die Parameterwerte der Kreisgleichungen.
+ *
+ * @return Die Jakobi-Matrix der Modellgleichungen. Der erste Index des Feldes läuft über die Gleichungen, der zweite
+ *         Index über die Kreisparameter.
+ */
+double[][] jakobimatrixBerechnen(double[] kreisparameter)
+   {
+   // Falls die Jakobi-Matrix noch nicht für diese Kreisparameter berechnet worden ist, wird sie berechnet.
+   if (!Arrays.equals(kreisparameter, this.berechneteKreisparameter))
+      {
+      this.auswerten(kreisparameter, null);
+      }
+
+   // Falls ein Messpunkt fast mit dem Mittelpunkt identisch ist, wird eine Ausnahme geworfen, da sonst das Inverse des
+   // Abstands unendlich groß wird.
+   if (this.indexMesspunktNaheMittelpunkt >= 0)
+      {
+      // Der betroffene Messpunkt und der Mittelpunkt werden in den ursprünglichen Koordinaten bestimmt.
+      Vector2D messpunkt = this.messpunkte.getMesspunkt(this.indexMesspunktNaheMittelpunkt);
+      Vector2D mittelpunkt = this.mittelpunktBestimmen(kreisparameter);
+      if (this.normierung != null)
+         {
+         messpunkt = this.normierung.punktZurueckrechnen(messpunkt);
+         mittelpunkt = this.normierung.punktZurueckrechnen(mittelpunkt);
+         }
+
+      // Die Fehlermeldung für den Entwickler wird erzeugt und protokolliert.
+      String fehlermeldung = "Der Punkt " + messpunkt.toString() + " ist fast identisch mit dem " +
+         " Mittelpunkt " + mittelpunkt.toString() + "!";
+      Kreisgleichungen.logger.severe(fehlermeldung);
+
+      // Die Ausnahme wird erzeugt und mit der Fehlermeldung für den Benutzer initialisiert.
+      String jsfMeldung = "Der Punkt " + messpunkt.toString() +
+         " scheint in der Nähe des Kreismittelpunktes zu liegen! Überprüfen Sie bitte diesen Punkt.";
+      throw new Validierungsausnahme(Fehlercode.MESSPUNKTE_NAHE_MITTELPUNKT, jsfMeldung);
+      }
+
+   return this.jakobiMatrix;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode berechnet in einem Durchlauf über die Messpunkte die Abstände der Messpunkte vom Kreis und die
+ * Jakobi-Matrix.
+ *
+ * @param kreisparameter Die Parameterwerte der Kreisgleichungen.
+ * @param abstaende Das Feld, in das die Abstände der Messpunkte vom Kreis geschrieben werden, oder <tt>null</tt>,
+ *        falls nur die Jakobi-Matrix benötigt wird.
+ */
+private void auswerten(double[] kreisparameter, double[] abstaende)
+   {
+   // Die Koordinaten des Mittelpunkts und der Radius werden gelesen.
+   boolean zweidimensional = this.ausgleichsproblemtyp == Ausgleichsproblemtyp.ORTSKURVE_2d;
+   double mx = kreisparameter[0];
+   double my = zweidimensional ? 0.0 : kreisparameter[1];
+   double radius = zweidimensional ? kreisparameter[1] : kreisparameter[2];
+
+   // Der Abstand, unterhalb dessen ein Messpunkt als fast identisch mit dem Mittelpunkt gilt (ein Prozent des aktuell
+   // vermuteten Radius).
+   double minAbstand = 0.01 * radius;
+
+   // In dieser Schleife werden die Abstände und die Jakobi-Matrix berechnet.
+   this.indexMesspunktNaheMittelpunkt = -1;
+   for (int i = 0; i < this.messpunkte.getAnzahl(); i++)
+      {
+      // Der Abstand des Messpunktes vom Mittelpunkt wird berechnet.
+      double dx = mx - this.messpunkte.getX(i);
+      double dy = my - this.messpunkte.getY(i);
+      double abstandMesspunktMittelpunkt = Math.sqrt(dx * dx + dy * dy);
+
+      // Der Abstand des Messpunkts vom Kreis wird gespeichert.
+      if (abstaende != null)
+         {
+         abstaende[i] = abstandMesspunktMittelpunkt - radius;
+         }
+
+      // Die Zeile der Jakobi-Matrix wird initialisiert.
+      double[] zeile = this.jakobiMatrix[i];
+
+      // Messpunkte mit dem Gewicht 0 tragen nicht zur Ausgleichsrechnung bei. Ihre Zeile der Jakobi-Matrix wird auf 
+      // null gesetzt, auch wenn sie fast mit dem Mittelpunkt identisch sind.
+      if (this.gewichte != null && this.gewichte[i] == 0.0)
+         {
+         Arrays.fill(zeile, 0.0);
+         continue;
+         }
+
+      // Falls der Messpunkt fast mit dem Mittelpunkt identisch ist, wird dies vermerkt. Die Ausnahme wird erst
+      // geworfen, wenn die Jakobi-Matrix tatsächlich benötigt wird.
+      if (abstandMesspunktMittelpunkt < minAbstand)
+         {
+         if (this.indexMesspunktNaheMittelpunkt < 0)
+            {
+            this.indexMesspunktNaheMittelpunkt = i;
+            }
+         continue;
+         }
+
+      // Das Inverse des Abstands des Messpunkts vom Mittelpunkt wird berechnet.
+      double inverserAbstandMesspunktMittelpunkt = 1.0 / abstandMesspunktMittelpunkt;
+
+      // Die Elemente der Jakobi-Matrix werden initialisiert.
+      zeile[0] = inverserAbstandMesspunktMittelpunkt * dx;
+      if (zweidimensional)
+         {
+         zeile[1] = -1.0;
+         }
+      else
+         {
+         zeile[1] = inverserAbstandMesspunktMittelpunkt * dy;
+         zeile[2] = -1.0;
+         }
+      }
+
+   // Die Kreisparameter, für welche die Jakobi-Matrix berechnet worden ist, werden gespeichert.
+   this.berechneteKreisparameter = kreisparameter.clone();
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode bestimmt den Mittelpunkt des Kreises aus den Kreisparametern.
+ *
+ * @param kreisparameter Die Parameterwerte der Kreisgleichungen.
+ *
+ * @return Der Mittelpunkt des Kreises
+ */
+private Vector2D mittelpunktBestimmen(double[] kreisparameter)
+   {
+   return this.ausgleichsproblemtyp == Ausgleichsproblemtyp.ORTSKURVE_2d ? new Vector2D(kreisparameter[0], 0.0) :
+      new Vector2D(kreisparameter[0], kreisparameter[1]);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode legt die Gewichte der Messpunkte fest. Messpunkte mit dem Gewicht 0 führen nicht zu einer Ausnahme, 
+ * wenn sie fast mit dem Mittelpunkt identisch sind.
+ *
+ * @param gewichte Die Gewichte der Messpunkte oder <tt>null</tt>, falls alle Messpunkte das Gewicht 1 besitzen
+ */
+public void setGewichte(double[] gewichte)
+   {
+   this.gewichte = gewichte;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode legt die Frist der Optimierung fest.
+ *
+ * @param frist Die Frist (in Millisekunden seit dem 1.1.1970) oder {@link Long#MAX_VALUE}, falls die Optimierung
+ *        nicht befristet ist.
+ */
+public void setFrist(long frist)
+   {
+   this.frist = frist;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode legt das Abbruchsignal der Optimierung fest. Wird es gesetzt, so endet die Optimierung wie nach dem 
+ * Ablauf der Frist.
+ *
+ * @param abbruch Das Abbruchsignal, das z. B. von mehreren gleichzeitig gelösten Ausgleichsproblemen geteilt wird
+ */
+public void setAbbruch(AtomicBoolean abbruch)
+   {
+   this.abbruch = abbruch;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Kreisparameter mit der bisher kleinsten Summe der Abstandsquadrate zurück.
+ *
+ * @return Die besten bisher ausgewerteten Kreisparameter oder <tt>null</tt>, falls die Modellgleichungen noch nicht
+ *         ausgewertet worden sind.
+ */
+public double[] getBesteKreisparameter()
+   {
+   return this.besteKreisparameter == null ? null : this.besteKreisparameter.clone();
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Ausnahme bricht die Optimierung ab, wenn die Frist abgelaufen oder das Abbruchsignal gesetzt ist.
+ */
+static class FristAbgelaufenException extends RuntimeException
+{
+/**
+ * Die Serialisierungsnummer
+ */
+private static final long serialVersionUID = 1L;
+
+/**
+ * Dieser Konstruktor erzeugt die Ausnahme ohne Stacktrace, da sie nur den Kontrollfluss steuert.
+ */
+FristAbgelaufenException()
+   {
+   super("Die Frist der Optimierung ist abgelaufen.", null, false, false);
+   }
+}
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode legt die Normierung der Messpunkte fest. Sie wird nur benötigt, um in Meldungen die Messpunkte in den
+ * ursprünglichen Koordinaten anzugeben.
+ *
+ * @param normierung Die Normierung der Messpunkte oder <tt>null</tt>, falls die Messpunkte nicht normiert sind.
+ */
+public void setNormierung(Normierung normierung)
+   {
+   this.normierung = normierung;
+   }
+}
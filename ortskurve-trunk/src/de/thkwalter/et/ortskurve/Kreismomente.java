@@ -0,0 +1,451 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import java.io.Serializable;
+
+import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+
+/**
+ * Diese Klasse enthält die Momentensummen der Messpunkte, aus denen sich ein Kreis algebraisch (ohne Iteration) 
+ * berechnen lässt. Mit z = x² + y² werden die Summen von 1, x, y, x², xy, y², z, xz, yz und z² gespeichert. Damit bei
+ * weit vom Ursprung entfernten Messpunkten keine Stellen verloren gehen, werden die Koordinaten relativ zu einem 
+ * Bezugspunkt summiert; als Bezugspunkt dient der erste hinzugefügte Messpunkt.
+ * 
+ * Messpunkte können einzeln hinzugefügt und wieder entfernt werden; Momentensummen mit demselben Bezugspunkt können
+ * zusammengeführt werden. Der Kreis wird mit dem Verfahren von Taubin berechnet (Newton-Iteration für die kleinste 
+ * Nullstelle des charakteristischen Polynoms nach N. Chernov). Für einen Kreis, dessen Mittelpunkt auf der x-Achse 
+ * liegt, ist das algebraische Ausgleichsproblem linear und wird geschlossen gelöst.
+ *
+ * @author Th. K. Walter
+ * @version 1.0
+ */
+public class Kreismomente implements Serializable
+{
+/**
+ * Die Serialisierungsnummer
+ */
+private static final long serialVersionUID = 5178026354929416392L;
+
+/**
+ * Die Höchstzahl der Newton-Iterationen beim Verfahren von Taubin
+ */
+private static final int MAX_NEWTON_ITERATIONEN = 99;
+
+/**
+ * Gibt an, ob der Bezugspunkt bereits festgelegt ist.
+ */
+private boolean bezugspunktFestgelegt;
+
+/**
+ * Die x-Komponente des Bezugspunkts
+ */
+private double x0;
+
+/**
+ * Die y-Komponente des Bezugspunkts
+ */
+private double y0;
+
+/**
+ * Die Anzahl der Messpunkte
+ */
+private long anzahl;
+
+/**
+ * Die Summe der x-Komponenten
+ */
+private double sx;
+
+/**
+ * Die Summe der y-Komponenten
+ */
+private double sy;
+
+/**
+ * Die Summe der Quadrate der x-Komponenten
+ */
+private double sxx;
+
+/**
+ * Die Summe der Produkte aus x- und y-Komponenten
+ */
+private double sxy;
+
+/**
+ * Die Summe der Quadrate der y-Komponenten
+ */
+private double syy;
+
+/**
+ * Die Summe von z = x² + y²
+ */
+private double sz;
+
+/**
+ * Die Summe der Produkte aus x und z
+ */
+private double sxz;
+
+/**
+ * Die Summe der Produkte aus y und z
+ */
+private double syz;
+
+/**
+ * Die Summe der Quadrate von z
+ */
+private double szz;
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor erzeugt leere Momentensummen. Der Bezugspunkt wird durch den ersten hinzugefügten Messpunkt 
+ * festgelegt.
+ */
+public Kreismomente()
+   {
+   this.bezugspunktFestgelegt = false;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor erzeugt leere Momentensummen mit dem angegebenen Bezugspunkt.
+ * 
+ * @param x0 Die x-Komponente des Bezugspunkts
+ * @param y0 Die y-Komponente des Bezugspunkts
+ */
+public Kreismomente(double x0, double y0)
+   {
+   this.x0 = x0;
+   this.y0 = y0;
+   this.bezugspunktFestgelegt = true;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode berechnet die Momentensummen der Messpunkte in einem Durchlauf.
+ * 
+ * @param messpunkte Die Messpunkte
+ * 
+ * @return Die Momentensummen der Messpunkte
+ */
+public static Kreismomente berechnen(MessreiheAnsicht messpunkte)
+   {
+   Kreismomente kreismomente = new Kreismomente();
+   for (int i = 0; i < messpunkte.getAnzahl(); i++)
+      {
+      kreismomente.messpunktHinzufuegen(messpunkte.getX(i), messpunkte.getY(i));
+      }
+   return kreismomente;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode fügt einen Messpunkt zu den Momentensummen hinzu.
+ * 
+ * @param x Die x-Komponente des Messpunkts
+ * @param y Die y-Komponente des Messpunkts
+ */
+public void messpunktHinzufuegen(double x, double y)
+   {
+   // Falls noch kein Bezugspunkt festgelegt ist, wird der Messpunkt zum Bezugspunkt.
+   if (!this.bezugspunktFestgelegt)
+      {
+      this.x0 = x;
+      this.y0 = y;
+      this.bezugspunktFestgelegt = true;
+      }
+   
+   this.summieren(x - this.x0, y - this.y0, 1.0);
+   this.anzahl++;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode entfernt einen zuvor hinzugefügten Messpunkt aus den Momentensummen. Durch wiederholtes Hinzufügen und
+ * Entfernen können sich Rundungsfehler ansammeln; in diesem Fall sollten die Momentensummen gelegentlich neu berechnet
+ * werden.
+ * 
+ * @param x Die x-Komponente des Messpunkts
+ * @param y Die y-Komponente des Messpunkts
+ */
+public void messpunktEntfernen(double x, double y)
+   {
+   this.summieren(x - this.x0, y - this.y0, -1.0);
+   this.anzahl--;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode addiert die Beiträge eines Messpunkts (relativ zum Bezugspunkt) mit dem angegebenen Vorzeichen zu den
+ * Momentensummen.
+ * 
+ * @param x Die x-Komponente des Messpunkts relativ zum Bezugspunkt
+ * @param y Die y-Komponente des Messpunkts relativ zum Bezugspunkt
+ * @param vorzeichen +1 beim Hinzufügen, -1 beim Entfernen
+ */
+private void summieren(double x, double y, double vorzeichen)
+   {
+   double z = x * x + y * y;
+   this.sx += vorzeichen * x;
+   this.sy += vorzeichen * y;
+   this.sxx += vorzeichen * x * x;
+   this.sxy += vorzeichen * x * y;
+   this.syy += vorzeichen * y * y;
+   this.sz += vorzeichen * z;
+   this.sxz += vorzeichen * x * z;
+   this.syz += vorzeichen * y * z;
+   this.szz += vorzeichen * z * z;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode führt die übergebenen Momentensummen mit diesen Momentensummen zusammen. Beide Momentensummen müssen
+ * denselben Bezugspunkt besitzen.
+ * 
+ * @param andere Die Momentensummen, die hinzugefügt werden
+ * 
+ * @throws IllegalArgumentException Falls die Bezugspunkte nicht übereinstimmen
+ */
+public void zusammenfuehren(Kreismomente andere)
+   {
+   // Leere Momentensummen ändern nichts.
+   if (andere.anzahl == 0)
+      {
+      return;
+      }
+   
+   // Falls diese Momentensummen noch keinen Bezugspunkt besitzen, wird der Bezugspunkt übernommen.
+   if (!this.bezugspunktFestgelegt)
+      {
+      this.x0 = andere.x0;
+      this.y0 = andere.y0;
+      this.bezugspunktFestgelegt = true;
+      }
+   
+   // Falls die Bezugspunkte nicht übereinstimmen, wird eine Ausnahme geworfen.
+   if (this.x0 != andere.x0 || this.y0 != andere.y0)
+      {
+      throw new IllegalArgumentException("Die Momentensummen besitzen unterschiedliche Bezugspunkte!");
+      }
+   
+   this.anzahl += andere.anzahl;
+   this.sx += andere.sx;
+   this.sy += andere.sy;
+   this.sxx += andere.sxx;
+   this.sxy += andere.sxy;
+   this.syy += andere.syy;
+   this.sz += andere.sz;
+   this.sxz += andere.sxz;
+   this.syz += andere.syz;
+   this.szz += andere.szz;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Anzahl der Messpunkte zurück.
+ * 
+ * @return Die Anzahl der Messpunkte
+ */
+public long getAnzahl()
+   {
+   return this.anzahl;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode berechnet den Kreis algebraisch mit dem Verfahren von Taubin.
+ * 
+ * @return Die Kreisparameter (die x- und die y-Koordinate des Kreismittelpunkts sowie der Radius) oder <tt>null</tt>,
+ *         falls weniger als drei Messpunkte vorhanden sind oder die Messpunkte auf einer Geraden liegen.
+ */
+public double[] kreisBerechnen()
+   {
+   // Falls weniger als drei Messpunkte vorhanden sind, kann kein Kreis berechnet werden.
+   if (this.anzahl < 3)
+      {
+      return null;
+      }
+   
+   // Die Mittelwerte der Momentensummen werden berechnet.
+   double n = this.anzahl;
+   double ex = this.sx / n;
+   double ey = this.sy / n;
+   double exx = this.sxx / n;
+   double exy = this.sxy / n;
+   double eyy = this.syy / n;
+   double ez = this.sz / n;
+   double exz = this.sxz / n;
+   double eyz = this.syz / n;
+   double ezz = this.szz / n;
+   
+   // Die zentralen Momente (bezogen auf den Schwerpunkt der Messpunkte) werden aus den Mittelwerten berechnet.
+   double c = ex * ex + ey * ey;
+   double mxx = exx - ex * ex;
+   double myy = eyy - ey * ey;
+   double mxy = exy - ex * ey;
+   double mxz = exz - 2.0 * ex * exx - 2.0 * ey * exy - ex * ez + 2.0 * c * ex;
+   double myz = eyz - 2.0 * ex * exy - 2.0 * ey * eyy - ey * ez + 2.0 * c * ey;
+   double mzz = ezz + 4.0 * ex * ex * exx + 4.0 * ey * ey * eyy + 8.0 * ex * ey * exy - 4.0 * ex * exz - 
+      4.0 * ey * eyz + 2.0 * c * ez - 3.0 * c * c;
+   double mz = mxx + myy;
+   
+   // Die Koeffizienten des charakteristischen Polynoms werden berechnet.
+   double covXy = mxx * myy - mxy * mxy;
+   double varZ = mzz - mz * mz;
+   double a3 = 4.0 * mz;
+   double a2 = -3.0 * mz * mz - mzz;
+   double a1 = varZ * mz + 4.0 * covXy * mz - mxz * mxz - myz * myz;
+   double a0 = mxz * (mxz * myy - myz * mxy) + myz * (myz * mxx - mxz * mxy) - varZ * covXy;
+   
+   // Die kleinste Nullstelle des charakteristischen Polynoms wird mit dem Newton-Verfahren bestimmt, beginnend bei
+   // null.
+   double nullstelle = 0.0;
+   double polynomwert = a0;
+   for (int i = 0; i < Kreismomente.MAX_NEWTON_ITERATIONEN; i++)
+      {
+      double ableitung = a1 + nullstelle * (2.0 * a2 + 3.0 * a3 * nullstelle);
+      double neueNullstelle = nullstelle - polynomwert / ableitung;
+      if (neueNullstelle == nullstelle || Double.isNaN(neueNullstelle) || Double.isInfinite(neueNullstelle))
+         {
+         break;
+         }
+      double neuerPolynomwert = a0 + neueNullstelle * (a1 + neueNullstelle * (a2 + neueNullstelle * a3));
+      if (Math.abs(neuerPolynomwert) >= Math.abs(polynomwert))
+         {
+         break;
+         }
+      nullstelle = neueNullstelle;
+      polynomwert = neuerPolynomwert;
+      }
+   
+   // Der Mittelpunkt und der Radius werden berechnet.
+   double determinante = nullstelle * nullstelle - nullstelle * mz + covXy;
+   double xc = (mxz * (myy - nullstelle) - myz * mxy) / determinante / 2.0;
+   double yc = (myz * (mxx - nullstelle) - mxz * mxy) / determinante / 2.0;
+   double radius = Math.sqrt(xc * xc + yc * yc + mz);
+   
+   // Falls die Messpunkte auf einer Geraden liegen, existiert kein endlicher Kreis.
+   if (determinante == 0.0 || Double.isNaN(radius) || Double.isInfinite(radius))
+      {
+      return null;
+      }
+   
+   // Die Kreisparameter werden in das ursprüngliche Koordinatensystem umgerechnet und zurückgegeben.
+   return new double[]{xc + ex + this.x0, yc + ey + this.y0, radius};
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode berechnet den Kreis algebraisch mit dem Verfahren von Taubin.
+ * 
+ * @return Die berechnete Ortskurve oder <tt>null</tt>, falls weniger als drei Messpunkte vorhanden sind oder die 
+ *         Messpunkte auf einer Geraden liegen.
+ */
+public Ortskurve ortskurveBerechnen()
+   {
+   double[] kreisparameter = this.kreisBerechnen();
+   return kreisparameter == null ? null : 
+      new Ortskurve(new Vector2D(kreisparameter[0], kreisparameter[1]), kreisparameter[2]);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode berechnet algebraisch den Kreis, dessen Mittelpunkt auf der x-Achse liegt (2d-Ausgleichsproblem). Mit
+ * dem Mittelpunkt (a; 0) und dem Radius R gilt für jeden Messpunkt x² + y² = 2ax + (R² - a²). Das ist ein lineares 
+ * Ausgleichsproblem in den zwei Parametern 2a und R² - a², das sich direkt aus den Momentensummen lösen lässt.
+ * 
+ * @return Die Kreisparameter (die x-Koordinate des Kreismittelpunkts und der Radius) oder <tt>null</tt>, falls 
+ *         weniger als zwei Messpunkte vorhanden sind, alle Messpunkte dieselbe x-Komponente besitzen oder kein reeller
+ *         Radius existiert.
+ */
+public double[] kreis2dBerechnen()
+   {
+   // Falls weniger als zwei Messpunkte vorhanden sind, kann kein Kreis berechnet werden.
+   if (this.anzahl < 2)
+      {
+      return null;
+      }
+   
+   // Die Mittelwerte der benötigten Momentensummen werden berechnet. Relativ zum Bezugspunkt liegt der Mittelpunkt 
+   // bei der y-Komponente -y0, daher wird t = z + 2 y0 y als Zielgröße verwendet.
+   double n = this.anzahl;
+   double ex = this.sx / n;
+   double exx = this.sxx / n;
+   double et = (this.sz + 2.0 * this.y0 * this.sy) / n;
+   double ext = (this.sxz + 2.0 * this.y0 * this.sxy) / n;
+   
+   // Die Varianz der x-Komponenten wird berechnet. Falls sie verschwindet, ist das Ausgleichsproblem nicht lösbar.
+   double varianzX = exx - ex * ex;
+   if (varianzX <= 0.0)
+      {
+      return null;
+      }
+   
+   // Die Steigung p = 2a und der Achsenabschnitt q = R² - a² - y0² der Ausgleichsgeraden t = p x + q werden berechnet.
+   double p = (ext - et * ex) / varianzX;
+   double q = et - p * ex;
+   
+   // Der Mittelpunkt und der Radius werden berechnet.
+   double a = 0.5 * p;
+   double radiusQuadrat = q + a * a + this.y0 * this.y0;
+   if (!(radiusQuadrat > 0.0))
+      {
+      return null;
+      }
+   
+   // Die Kreisparameter werden in das ursprüngliche Koordinatensystem umgerechnet und zurückgegeben.
+   return new double[]{a + this.x0, Math.sqrt(radiusQuadrat)};
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * @see java.lang.Object#toString()
+ */
+@Override
+public String toString()
+   {
+   // Die Zeichenkette, welche die Momentensummen repräsentiert, wird zusammengebaut und zurückgegeben.
+   StringBuilder builder = new StringBuilder();
+   builder.append("Kreismomente [bezugspunkt=(").append(this.x0).append("; ").append(this.y0).append("), anzahl=")
+      .append(this.anzahl).append("]");
+   return builder.toString();
+   }
+}
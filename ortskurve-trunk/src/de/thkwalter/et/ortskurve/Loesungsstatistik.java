@@ -0,0 +1,185 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import java.io.Serializable;
+
+/**
+ * Diese Klasse enthält die Kenngrößen einer Lösung des Ausgleichsproblems: das verwendete Lösungsverfahren, die Anzahl
+ * der Iterationsschritte, die Anzahl der Auswertungen der Modellgleichungen, den quadratischen Mittelwert der 
+ * Residuen und ob das Verfahren konvergiert ist.
+ *
+ * @author Th. K. Walter
+ * @version 1.0
+ */
+public class Loesungsstatistik implements Serializable
+{
+/**
+ * Die Serialisierungsnummer
+ */
+private static final long serialVersionUID = 4620913470958155276L;
+
+/**
+ * Das Verfahren, mit dem das Ausgleichsproblem gelöst worden ist.
+ */
+private Loesungsverfahren loesungsverfahren;
+
+/**
+ * Die Anzahl der Iterationsschritte
+ */
+private int anzahlIterationen;
+
+/**
+ * Die Anzahl der Auswertungen der Modellgleichungen
+ */
+private int anzahlAuswertungen;
+
+/**
+ * Der quadratische Mittelwert der Residuen (in A)
+ */
+private double rmsResiduum;
+
+/**
+ * Gibt an, ob das Verfahren konvergiert ist. Ist die Frist der Berechnung abgelaufen, bevor das Verfahren konvergiert 
+ * ist, so ist die Lösung die beste bis dahin gefundene Näherung.
+ */
+private boolean konvergiert;
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor erzeugt die Kenngrößen einer Lösung des Ausgleichsproblems.
+ * 
+ * @param loesungsverfahren Das Verfahren, mit dem das Ausgleichsproblem gelöst worden ist.
+ * @param anzahlIterationen Die Anzahl der Iterationsschritte
+ * @param anzahlAuswertungen Die Anzahl der Auswertungen der Modellgleichungen
+ * @param rmsResiduum Der quadratische Mittelwert der Residuen (in A)
+ */
+public Loesungsstatistik(Loesungsverfahren loesungsverfahren, int anzahlIterationen, int anzahlAuswertungen, 
+   double rmsResiduum)
+   {
+   this(loesungsverfahren, anzahlIterationen, anzahlAuswertungen, rmsResiduum, true);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor erzeugt die Kenngrößen einer Lösung des Ausgleichsproblems.
+ * 
+ * @param loesungsverfahren Das Verfahren, mit dem das Ausgleichsproblem gelöst worden ist.
+ * @param anzahlIterationen Die Anzahl der Iterationsschritte
+ * @param anzahlAuswertungen Die Anzahl der Auswertungen der Modellgleichungen
+ * @param rmsResiduum Der quadratische Mittelwert der Residuen (in A)
+ * @param konvergiert <tt>true</tt>, falls das Verfahren konvergiert ist; <tt>false</tt>, falls die Lösung die beste 
+ *        bis zum Ablauf der Frist gefundene Näherung ist.
+ */
+public Loesungsstatistik(Loesungsverfahren loesungsverfahren, int anzahlIterationen, int anzahlAuswertungen, 
+   double rmsResiduum, boolean konvergiert)
+   {
+   // Die Attribute werden initialisiert.
+   this.loesungsverfahren = loesungsverfahren;
+   this.anzahlIterationen = anzahlIterationen;
+   this.anzahlAuswertungen = anzahlAuswertungen;
+   this.rmsResiduum = rmsResiduum;
+   this.konvergiert = konvergiert;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt das Verfahren zurück, mit dem das Ausgleichsproblem gelöst worden ist.
+ * 
+ * @return Das Lösungsverfahren
+ */
+public Loesungsverfahren getLoesungsverfahren()
+   {
+   return this.loesungsverfahren;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Anzahl der Iterationsschritte zurück.
+ * 
+ * @return Die Anzahl der Iterationsschritte
+ */
+public int getAnzahlIterationen()
+   {
+   return this.anzahlIterationen;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Anzahl der Auswertungen der Modellgleichungen zurück.
+ * 
+ * @return Die Anzahl der Auswertungen der Modellgleichungen
+ */
+public int getAnzahlAuswertungen()
+   {
+   return this.anzahlAuswertungen;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt den quadratischen Mittelwert der Residuen (in A) zurück.
+ * 
+ * @return Der quadratische Mittelwert der Residuen (in A)
+ */
+public double getRmsResiduum()
+   {
+   return this.rmsResiduum;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt an, ob das Verfahren konvergiert ist.
+ * 
+ * @return <tt>true</tt>, falls das Verfahren konvergiert ist; <tt>false</tt>, falls die Lösung die beste bis zum 
+ *         Ablauf der Frist gefundene Näherung ist.
+ */
+public boolean isKonvergiert()
+   {
+   return this.konvergiert;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * @see java.lang.Object#toString()
+ */
+@Override
+public String toString()
+   {
+   // Die Zeichenkette, welche die Kenngrößen der Lösung repräsentiert, wird zusammengebaut und zurückgegeben.
+   StringBuilder builder = new StringBuilder();
+   builder.append("Loesungsstatistik [loesungsverfahren=").append(this.loesungsverfahren)
+      .append(", anzahlIterationen=").append(this.anzahlIterationen).append(", anzahlAuswertungen=")
+      .append(this.anzahlAuswertungen).append(", rmsResiduum=").append(this.rmsResiduum).append(", konvergiert=")
+      .append(this.konvergiert).append("]");
+   return builder.toString();
+   }
+}
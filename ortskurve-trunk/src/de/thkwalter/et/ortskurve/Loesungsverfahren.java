@@ -0,0 +1,87 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+/**
+ * Dieser Aufzählungstyp charakterisiert das Verfahren, mit dem das Ausgleichsproblem gelöst wird.
+ * 
+ * @author Th. K. Walter
+ * @version 1.0
+ */
+public enum Loesungsverfahren
+{
+/**
+ * Das Gauß-Newton-Verfahren der Bibliothek Apache Commons Math. In jedem Iterationsschritt wird die vollständige
+ * Jakobi-Matrix (eine Zeile pro Messpunkt) berechnet.
+ */
+GAUSS_NEWTON,
+
+/**
+ * Das Gauß-Newton-Verfahren, bei dem die Normalgleichungen in einem Durchlauf über die Messpunkte aufsummiert werden.
+ * Der Speicherbedarf eines Iterationsschritts ist unabhängig von der Anzahl der Messpunkte.
+ */
+GAUSS_NEWTON_NORMALGLEICHUNGEN,
+
+/**
+ * Das Levenberg-Marquardt-Verfahren der Bibliothek Apache Commons Math. Es konvergiert auch bei verrauschten 
+ * Messpunkten oder Messpunkten auf einem kurzen Kreisbogen meist in wenigen Iterationsschritten.
+ */
+LEVENBERG_MARQUARDT,
+
+/**
+ * Die algebraische Berechnung des Kreises aus allen Messpunkten in einem Durchlauf (siehe {@link Kreismomente}). Beim
+ * 2d-Ausgleichsproblem wird das lineare Ausgleichsproblem für den Kreis mit Mittelpunkt auf der x-Achse gelöst. Falls
+ * der quadratische Mittelwert der Residuen des algebraischen Kreises die Toleranz überschreitet, wird das 
+ * Ausgleichsproblem zusätzlich mit dem Standardverfahren gelöst, wobei der algebraische Kreis als Startpunkt dient.
+ */
+ALGEBRAISCH,
+
+/**
+ * Das robuste Verfahren mit der Gewichtsfunktion nach Huber (siehe {@link RobusterKreisausgleich}). Ausreißer werden
+ * abgeschwächt, tragen aber weiterhin zur Lösung bei.
+ */
+ROBUST_HUBER,
+
+/**
+ * Das robuste Verfahren mit der Gewichtsfunktion nach Tukey (siehe {@link RobusterKreisausgleich}). Ausreißer erhalten
+ * das Gewicht null und werden damit vollständig verworfen.
+ */
+ROBUST_TUKEY,
+
+/**
+ * Das Lösen von mehreren Startpunkten aus gleichzeitig (siehe {@link Mehrfachstart}). Es kostet mehr Rechenzeit, 
+ * scheitert aber seltener an einem ungünstigen Startpunkt.
+ */
+MEHRFACHSTART;
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt das Lösungsverfahren zurück, das verwendet wird, falls kein Lösungsverfahren ausgewählt worden 
+ * ist.
+ * 
+ * @param ausgleichsproblemtyp Der Typ des Ausgleichsproblems
+ * 
+ * @return Das Levenberg-Marquardt-Verfahren für das 3d-Ausgleichsproblem, das Gauß-Newton-Verfahren mit direkt 
+ *         aufsummierten Normalgleichungen für das 2d-Ausgleichsproblem.
+ */
+public static Loesungsverfahren standardverfahren(Ausgleichsproblemtyp ausgleichsproblemtyp)
+   {
+   return ausgleichsproblemtyp == Ausgleichsproblemtyp.ORTSKURVE_3d ? LEVENBERG_MARQUARDT : 
+      GAUSS_NEWTON_NORMALGLEICHUNGEN;
+   }
+}
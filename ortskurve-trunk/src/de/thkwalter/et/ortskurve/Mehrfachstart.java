@@ -0,0 +1,407 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+import de.thkwalter.jsf.ApplicationRuntimeException;
+
+/**
+ * Diese Klasse löst das Ausgleichsproblem von mehreren Startpunkten aus: dem übergebenen Startpunkt (z. B. der 
+ * vorherigen Lösung oder dem Ergebnis der {@link Startpunktbestimmung}), dem algebraisch berechneten Kreis (siehe
+ * {@link Kreismomente}) und den Kreisen durch mehrere über die Messreihe verteilte Tripel von Messpunkten. Die erste 
+ * konvergierte Lösung, deren quadratischer Mittelwert der Residuen die Toleranz einhält, wird übernommen; die übrigen
+ * Berechnungen werden über ein gemeinsames Abbruchsignal beendet, auch wenn sie bereits begonnen haben. Hält keine 
+ * Lösung die Toleranz ein, wird die Lösung mit den kleinsten Residuen übernommen.
+ * 
+ * Die Berechnungen werden nacheinander im aufrufenden Thread ausgeführt, sofern kein Executor übergeben wird (siehe 
+ * {@link #setExecutor(ExecutorService)}).
+ *
+ * @author Th. K. Walter
+ * @version 1.0
+ */
+public class Mehrfachstart
+{
+/**
+ * Die Anzahl der Tripel von Messpunkten, aus denen zusätzliche Startpunkte berechnet werden
+ */
+private static final int ANZAHL_TRIPEL = 4;
+
+/*
+ * Der Logger dieser Klasse.
+ */
+private static Logger logger = Logger.getLogger(Mehrfachstart.class.getName());
+
+/**
+ * Die Messpunkte
+ */
+private MessreiheAnsicht messpunkte;
+
+/**
+ * Der Typ des Ausgleichsproblems
+ */
+private Ausgleichsproblemtyp ausgleichsproblemtyp;
+
+/**
+ * Die relative Toleranz: Eine konvergierte Lösung wird sofort übernommen, wenn der quadratische Mittelwert ihrer 
+ * Residuen höchstens dieser Anteil des Radius ist.
+ */
+private double toleranz = 0.05;
+
+/**
+ * Die Frist aller Berechnungen (in Millisekunden seit dem 1.1.1970) oder {@link Long#MAX_VALUE}, falls keine Frist 
+ * gesetzt ist
+ */
+private long frist = Long.MAX_VALUE;
+
+/**
+ * Der Executor, auf dem die Ausgleichsprobleme gelöst werden
+ */
+private ExecutorService executor = SequentiellerExecutor.INSTANZ;
+
+/**
+ * Die Kenngrößen der übernommenen Lösung
+ */
+private Loesungsstatistik loesungsstatistik;
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor initialisiert die Messpunkte und den Typ des Ausgleichsproblems.
+ * 
+ * @param messpunkte Die Messpunkte
+ * @param ausgleichsproblemtyp Der Typ des Ausgleichsproblems
+ */
+public Mehrfachstart(MessreiheAnsicht messpunkte, Ausgleichsproblemtyp ausgleichsproblemtyp)
+   {
+   this.messpunkte = messpunkte;
+   this.ausgleichsproblemtyp = ausgleichsproblemtyp;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode löst das Ausgleichsproblem von allen Startpunkten aus mit dem Standardverfahren.
+ * 
+ * @param startpunkt Der übergebene Startpunkt oder <tt>null</tt>
+ * 
+ * @return Die Ortskurve der übernommenen Lösung
+ * 
+ * @throws ApplicationRuntimeException Falls das Ausgleichsproblem von keinem Startpunkt aus gelöst werden konnte oder
+ *         der Thread beim Warten unterbrochen worden ist.
+ */
+public Ortskurve loesen(double[] startpunkt)
+   {
+   // Die Startpunkte werden zusammengestellt.
+   List<double[]> startpunkte = this.startpunkteZusammenstellen(startpunkt);
+   
+   // Das Abbruchsignal beendet alle Berechnungen, sobald eine Lösung übernommen wird.
+   final AtomicBoolean abbruch = new AtomicBoolean();
+   
+   // Für jeden Startpunkt wird eine Berechnung gestartet. Eine Berechnung, die eine übernehmbare Lösung findet, setzt
+   // das Abbruchsignal selbst, damit auch bei der Berechnung im aufrufenden Thread die übrigen Startpunkte 
+   // übersprungen werden.
+   ExecutorCompletionService<Loesung> completionService = new ExecutorCompletionService<Loesung>(this.executor);
+   List<Future<Loesung>> berechnungen = new ArrayList<Future<Loesung>>(startpunkte.size());
+   for (final double[] kandidat : startpunkte)
+      {
+      berechnungen.add(completionService.submit(new Callable<Loesung>()
+         {
+         @Override
+         public Loesung call()
+            {
+            if (abbruch.get())
+               {
+               return null;
+               }
+            Ausgleichsproblem ausgleichsproblem = new Ausgleichsproblem(Mehrfachstart.this.messpunkte);
+            ausgleichsproblem.setFrist(Mehrfachstart.this.frist);
+            ausgleichsproblem.setAbbruch(abbruch);
+            Ortskurve ortskurve = ausgleichsproblem.ausgleichsproblemLoesen(kandidat, 
+               Mehrfachstart.this.ausgleichsproblemtyp);
+            Loesung loesung = new Loesung(ortskurve, ausgleichsproblem.getLoesungsstatistik());
+            if (Mehrfachstart.this.istUebernehmbar(loesung))
+               {
+               abbruch.set(true);
+               }
+            return loesung;
+            }
+         }));
+      }
+   
+   // Die Ergebnisse werden in der Reihenfolge ihrer Fertigstellung ausgewertet.
+   Loesung besteLoesung = null;
+   RuntimeException ersteAusnahme = null;
+   try
+      {
+      for (int i = 0; i < berechnungen.size(); i++)
+         {
+         Loesung loesung;
+         try
+            {
+            loesung = completionService.take().get();
+            }
+         
+         // Scheitert eine Berechnung, wird die erste Ausnahme für den Fall aufbewahrt, dass alle scheitern.
+         catch (ExecutionException e)
+            {
+            if (ersteAusnahme == null && e.getCause() instanceof RuntimeException)
+               {
+               ersteAusnahme = (RuntimeException) e.getCause();
+               }
+            continue;
+            }
+         
+         // Übersprungene Berechnungen liefern keine Lösung.
+         if (loesung == null)
+            {
+            continue;
+            }
+         
+         // Falls die Lösung konvergiert ist und die Toleranz einhält, wird sie übernommen.
+         if (this.istUebernehmbar(loesung))
+            {
+            besteLoesung = loesung;
+            break;
+            }
+         
+         // Andernfalls wird die Lösung mit den kleinsten Residuen gespeichert.
+         if (besteLoesung == null || loesung.rmsResiduum() < besteLoesung.rmsResiduum())
+            {
+            besteLoesung = loesung;
+            }
+         }
+      }
+   
+   // Falls der Thread beim Warten unterbrochen worden ist, wird die Unterbrechung vermerkt und eine Ausnahme geworfen.
+   catch (InterruptedException e)
+      {
+      Thread.currentThread().interrupt();
+      throw new ApplicationRuntimeException("Die Berechnung der Ortskurve ist unterbrochen worden. Versuchen Sie es " +
+         "bitte noch einmal.");
+      }
+   
+   // Die übrigen Berechnungen werden beendet: Laufende Berechnungen erkennen das Abbruchsignal, noch nicht begonnene 
+   // werden verworfen.
+   finally
+      {
+      abbruch.set(true);
+      for (Future<Loesung> berechnung : berechnungen)
+         {
+         berechnung.cancel(false);
+         }
+      }
+   
+   // Falls keine Berechnung erfolgreich war, wird die erste Ausnahme geworfen.
+   if (besteLoesung == null)
+      {
+      // Die Fehlermeldung für den Entwickler wird erzeugt und protokolliert.
+      String fehlermeldung = "Das Ausgleichsproblem konnte von keinem der " + startpunkte.size() + 
+         " Startpunkte aus gelöst werden!";
+      Mehrfachstart.logger.severe(fehlermeldung);
+      
+      if (ersteAusnahme != null)
+         {
+         throw ersteAusnahme;
+         }
+      String jsfMeldung = "Die Ortskurve konnte nicht berechnet werden! Überprüfen Sie bitte, ob die eingegebenen " +
+         "Punkte annähernd auf einem Kreis liegen.";
+      throw new Validierungsausnahme(Fehlercode.NICHT_KONVERGIERT, jsfMeldung);
+      }
+   
+   // Die Kenngrößen der übernommenen Lösung werden gespeichert.
+   this.loesungsstatistik = new Loesungsstatistik(Loesungsverfahren.MEHRFACHSTART, 
+      besteLoesung.loesungsstatistik.getAnzahlIterationen(), besteLoesung.loesungsstatistik.getAnzahlAuswertungen(), 
+      besteLoesung.rmsResiduum(), besteLoesung.loesungsstatistik.isKonvergiert());
+   
+   return besteLoesung.ortskurve;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode prüft, ob eine Lösung ohne Abwarten der übrigen Berechnungen übernommen werden kann. Dies ist der 
+ * Fall, wenn die Lösung konvergiert ist und der quadratische Mittelwert ihrer Residuen die Toleranz einhält.
+ * 
+ * @param loesung Die Lösung
+ * 
+ * @return <tt>true</tt>, falls die Lösung übernommen werden kann; <tt>false</tt> sonst
+ */
+private boolean istUebernehmbar(Loesung loesung)
+   {
+   return loesung.loesungsstatistik.isKonvergiert() && 
+      loesung.rmsResiduum() <= this.toleranz * loesung.ortskurve.getRadiusOrtskurve();
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode stellt die Startpunkte zusammen.
+ * 
+ * @param startpunkt Der übergebene Startpunkt oder <tt>null</tt>
+ * 
+ * @return Die Startpunkte
+ */
+private List<double[]> startpunkteZusammenstellen(double[] startpunkt)
+   {
+   boolean zweidimensional = this.ausgleichsproblemtyp == Ausgleichsproblemtyp.ORTSKURVE_2d;
+   List<double[]> startpunkte = new ArrayList<double[]>();
+   
+   // Der übergebene Startpunkt wird übernommen.
+   if (startpunkt != null)
+      {
+      startpunkte.add(startpunkt);
+      }
+   
+   // Der algebraisch berechnete Kreis wird hinzugefügt.
+   Kreismomente kreismomente = Kreismomente.berechnen(this.messpunkte);
+   double[] algebraischerKreis = zweidimensional ? kreismomente.kreis2dBerechnen() : kreismomente.kreisBerechnen();
+   if (algebraischerKreis != null)
+      {
+      startpunkte.add(algebraischerKreis);
+      }
+   
+   // Die Kreise durch Tripel von Messpunkten, die gleichmäßig über die Messreihe verteilt sind, werden hinzugefügt. 
+   // Beim 2d-Ausgleichsproblem wird der Mittelpunkt auf die x-Achse projiziert.
+   int anzahl = this.messpunkte.getAnzahl();
+   for (int k = 0; k < Math.min(Mehrfachstart.ANZAHL_TRIPEL, anzahl / 3); k++)
+      {
+      int i0 = k;
+      int i1 = (k + anzahl / 3) % anzahl;
+      int i2 = (k + 2 * anzahl / 3) % anzahl;
+      double[] kreis = Startpunktbestimmung.kreisDurchDreiPunkteBerechnen(this.messpunkte.getX(i0), 
+         this.messpunkte.getY(i0), this.messpunkte.getX(i1), this.messpunkte.getY(i1), this.messpunkte.getX(i2), 
+         this.messpunkte.getY(i2));
+      if (kreis != null)
+         {
+         startpunkte.add(zweidimensional ? new double[]{kreis[0], kreis[2]} : kreis);
+         }
+      }
+   
+   return startpunkte;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode legt die relative Toleranz fest.
+ * 
+ * @param toleranz Der größte Anteil des Radius, den der quadratische Mittelwert der Residuen einer Lösung annehmen 
+ *        darf, damit sie ohne Abwarten der übrigen Berechnungen übernommen wird.
+ */
+public void setToleranz(double toleranz)
+   {
+   this.toleranz = toleranz;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode legt die gemeinsame Frist aller Berechnungen fest. Berechnungen, die bei Ablauf der Frist noch nicht 
+ * konvergiert sind, liefern ihre beste bis dahin gefundene Lösung.
+ * 
+ * @param frist Die Frist (in Millisekunden seit dem 1.1.1970) oder {@link Long#MAX_VALUE}, falls die Berechnungen 
+ *        nicht befristet sind.
+ */
+public void setFrist(long frist)
+   {
+   this.frist = frist;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode legt den Executor fest, auf dem die Ausgleichsprobleme gelöst werden. Ohne Angabe werden sie 
+ * nacheinander im aufrufenden Thread gelöst (siehe {@link SequentiellerExecutor}). Der Executor wird von dieser Klasse
+ * nicht beendet.
+ * 
+ * @param executor Der Executor, auf dem die Ausgleichsprobleme gelöst werden
+ */
+public void setExecutor(ExecutorService executor)
+   {
+   this.executor = executor;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Kenngrößen der übernommenen Lösung zurück.
+ * 
+ * @return Die Kenngrößen der übernommenen Lösung oder <tt>null</tt>, falls das Ausgleichsproblem noch nicht gelöst 
+ *         worden ist.
+ */
+public Loesungsstatistik getLoesungsstatistik()
+   {
+   return this.loesungsstatistik;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Klasse repräsentiert die Lösung des Ausgleichsproblems von einem Startpunkt aus.
+ */
+private static class Loesung
+{
+/**
+ * Die Ortskurve
+ */
+private Ortskurve ortskurve;
+
+/**
+ * Die Kenngrößen der Lösung
+ */
+private Loesungsstatistik loesungsstatistik;
+
+/**
+ * Dieser Konstruktor initialisiert die Lösung.
+ * 
+ * @param ortskurve Die Ortskurve
+ * @param loesungsstatistik Die Kenngrößen der Lösung
+ */
+private Loesung(Ortskurve ortskurve, Loesungsstatistik loesungsstatistik)
+   {
+   this.ortskurve = ortskurve;
+   this.loesungsstatistik = loesungsstatistik;
+   }
+
+/**
+ * Diese Methode gibt den quadratischen Mittelwert der Residuen zurück.
+ * 
+ * @return Der quadratische Mittelwert der Residuen (in A)
+ */
+private double rmsResiduum()
+   {
+   return this.loesungsstatistik.getRmsResiduum();
+   }
+}
+}
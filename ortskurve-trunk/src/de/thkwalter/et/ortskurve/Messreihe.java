@@ -0,0 +1,234 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+
+/**
+ * Diese Klasse speichert die Messpunkte (Stromstärken in A im Format (-Im I1, Re I1)) in zwei Feldern primitiver
+ * double-Werte, eines für die x- und eines für die y-Komponenten. Im Gegensatz zu einem Feld von 
+ * {@link Vector2D}-Objekten wird dadurch kein eigenes Objekt pro Messpunkt benötigt. Messpunkte können nur angehängt
+ * werden; bereits gespeicherte Messpunkte werden nie verändert. Die Berechnungen arbeiten auf einer 
+ * {@link MessreiheAnsicht}.
+ *
+ * @author Th. K. Walter
+ */
+public class Messreihe implements Serializable
+{
+/**
+ * Die Serialisierungsnummer
+ */
+private static final long serialVersionUID = -2390524174837156327L;
+
+/**
+ * Die Anfangskapazität, falls keine Kapazität angegeben wird.
+ */
+private static final int ANFANGSKAPAZITAET = 16;
+
+/**
+ * Die x-Komponenten der Messpunkte
+ */
+private double[] x;
+
+/**
+ * Die y-Komponenten der Messpunkte
+ */
+private double[] y;
+
+/**
+ * Die Anzahl der gespeicherten Messpunkte
+ */
+private int anzahl;
+
+/**
+ * Der Text, aus dem die Messreihe eingelesen worden ist (<tt>null</tt>, falls er nicht aufbewahrt wird). Er wird nicht
+ * serialisiert.
+ */
+private transient String quelltext;
+
+/**
+ * Die Anzahl der Messpunkte, die der aufbewahrte Text enthält
+ */
+private transient int quelltextAnzahl;
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor erzeugt eine leere Messreihe.
+ */
+public Messreihe()
+   {
+   this(Messreihe.ANFANGSKAPAZITAET);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor erzeugt eine leere Messreihe mit der angegebenen Kapazität.
+ *
+ * @param kapazitaet Die Anzahl der Messpunkte, die ohne Vergrößerung der Felder gespeichert werden können.
+ */
+public Messreihe(int kapazitaet)
+   {
+   this.x = new double[Math.max(kapazitaet, 1)];
+   this.y = new double[Math.max(kapazitaet, 1)];
+   this.anzahl = 0;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor erzeugt eine Messreihe aus einem Feld von {@link Vector2D}-Objekten.
+ *
+ * @param messpunkte Das Feld der Messpunkte
+ */
+public Messreihe(Vector2D[] messpunkte)
+   {
+   this(messpunkte.length);
+
+   // Die Komponenten der Messpunkte werden kopiert.
+   for (int i = 0; i < messpunkte.length; i++)
+      {
+      this.x[i] = messpunkte[i].getX();
+      this.y[i] = messpunkte[i].getY();
+      }
+   this.anzahl = messpunkte.length;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor erzeugt eine Messreihe aus den übergebenen Feldern. Die Felder werden nicht kopiert, sondern von
+ * der Messreihe übernommen; sie dürfen danach vom Aufrufer nicht mehr verändert werden.
+ *
+ * @param x Die x-Komponenten der Messpunkte
+ * @param y Die y-Komponenten der Messpunkte
+ * @param anzahl Die Anzahl der gültigen Messpunkte am Anfang der Felder
+ */
+public Messreihe(double[] x, double[] y, int anzahl)
+   {
+   // Falls die Felder nicht zueinander passen, wird eine Ausnahme geworfen.
+   if (x.length != y.length || anzahl < 0 || anzahl > x.length)
+      {
+      throw new IllegalArgumentException("Die Felder der x- und y-Komponenten passen nicht zusammen!");
+      }
+
+   this.x = x;
+   this.y = y;
+   this.anzahl = anzahl;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode hängt einen Messpunkt an die Messreihe an.
+ *
+ * @param xKomponente Die x-Komponente des Messpunkts
+ * @param yKomponente Die y-Komponente des Messpunkts
+ */
+public void messpunktHinzufuegen(double xKomponente, double yKomponente)
+   {
+   // Falls die Felder voll sind, werden sie vergrößert.
+   if (this.anzahl == this.x.length)
+      {
+      int neueKapazitaet = this.x.length + (this.x.length >> 1) + 1;
+      this.x = Arrays.copyOf(this.x, neueKapazitaet);
+      this.y = Arrays.copyOf(this.y, neueKapazitaet);
+      }
+
+   // Der Messpunkt wird gespeichert.
+   this.x[this.anzahl] = xKomponente;
+   this.y[this.anzahl] = yKomponente;
+   this.anzahl++;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Anzahl der Messpunkte zurück.
+ *
+ * @return Die Anzahl der Messpunkte
+ */
+public int getAnzahl()
+   {
+   return this.anzahl;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt eine nur lesbare Ansicht der Messreihe zurück. Die Ansicht umfasst die Messpunkte, die zum
+ * Zeitpunkt des Aufrufs in der Messreihe gespeichert sind. Die Messpunkte werden dabei nicht kopiert.
+ *
+ * @return Die nur lesbare Ansicht der Messreihe
+ */
+public MessreiheAnsicht getAnsicht()
+   {
+   return new MessreiheAnsicht(this.x, this.y, this.anzahl);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode bewahrt den Text auf, aus dem die Messreihe eingelesen worden ist.
+ *
+ * @param quelltext Der Text, aus dem die Messreihe eingelesen worden ist.
+ */
+void setQuelltext(String quelltext)
+   {
+   this.quelltext = quelltext;
+   this.quelltextAnzahl = this.anzahl;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt den aufbewahrten Text zurück, aus dem die Messreihe eingelesen worden ist. Da Messpunkte nur
+ * angehängt werden können, beschreibt der Text die Messreihe genau dann noch vollständig, wenn seither kein Messpunkt
+ * hinzugekommen ist.
+ *
+ * @return Der aufbewahrte Text oder <tt>null</tt>, falls kein Text aufbewahrt wird oder die Messreihe inzwischen
+ *         verändert worden ist.
+ */
+String getQuelltext()
+   {
+   return this.quelltextAnzahl == this.anzahl ? this.quelltext : null;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * @see java.lang.Object#toString()
+ */
+@Override
+public String toString()
+   {
+   return this.getAnsicht().toString();
+   }
+}
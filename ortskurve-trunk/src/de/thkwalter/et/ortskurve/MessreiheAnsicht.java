@@ -0,0 +1,236 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+
+/**
+ * Diese Klasse ist eine nur lesbare Ansicht einer {@link Messreihe}. Sie greift direkt auf die Felder der Messreihe zu,
+ * ohne sie zu kopieren. Da an eine Messreihe nur angehängt werden kann, bleibt die Ansicht auch dann gültig, wenn der
+ * Messreihe später weitere Messpunkte hinzugefügt werden.
+ * 
+ * Eine normierte Ansicht (siehe {@link Normierung}) greift auf dieselben Felder zu und verschiebt und skaliert die 
+ * Komponenten erst beim Lesen.
+ *
+ * @author Th. K. Walter
+ */
+public final class MessreiheAnsicht
+{
+/**
+ * Die x-Komponenten der Messpunkte
+ */
+private final double[] x;
+
+/**
+ * Die y-Komponenten der Messpunkte
+ */
+private final double[] y;
+
+/**
+ * Die Anzahl der Messpunkte in dieser Ansicht
+ */
+private final int anzahl;
+
+/**
+ * Die Verschiebung in x-Richtung, die beim Lesen von den x-Komponenten abgezogen wird
+ */
+private final double verschiebungX;
+
+/**
+ * Die Verschiebung in y-Richtung, die beim Lesen von den y-Komponenten abgezogen wird
+ */
+private final double verschiebungY;
+
+/**
+ * Der Skalierungsfaktor, durch den die verschobenen Komponenten beim Lesen dividiert werden
+ */
+private final double skalierung;
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor erzeugt eine Ansicht auf die übergebenen Felder.
+ *
+ * @param x Die x-Komponenten der Messpunkte
+ * @param y Die y-Komponenten der Messpunkte
+ * @param anzahl Die Anzahl der Messpunkte in dieser Ansicht
+ */
+MessreiheAnsicht(double[] x, double[] y, int anzahl)
+   {
+   this(x, y, anzahl, 0.0, 0.0, 1.0);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor erzeugt eine verschobene und skalierte Ansicht auf die übergebenen Felder.
+ *
+ * @param x Die x-Komponenten der Messpunkte
+ * @param y Die y-Komponenten der Messpunkte
+ * @param anzahl Die Anzahl der Messpunkte in dieser Ansicht
+ * @param verschiebungX Die Verschiebung in x-Richtung
+ * @param verschiebungY Die Verschiebung in y-Richtung
+ * @param skalierung Der Skalierungsfaktor
+ */
+private MessreiheAnsicht(double[] x, double[] y, int anzahl, double verschiebungX, double verschiebungY, 
+   double skalierung)
+   {
+   this.x = x;
+   this.y = y;
+   this.anzahl = anzahl;
+   this.verschiebungX = verschiebungX;
+   this.verschiebungY = verschiebungY;
+   this.skalierung = skalierung;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode erzeugt eine Ansicht aus einem Feld von {@link Vector2D}-Objekten.
+ *
+ * @param messpunkte Das Feld der Messpunkte
+ *
+ * @return Die Ansicht der Messpunkte
+ */
+public static MessreiheAnsicht ansichtErzeugen(Vector2D[] messpunkte)
+   {
+   return new Messreihe(messpunkte).getAnsicht();
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode erzeugt eine Ansicht derselben Messpunkte, deren Komponenten beim Lesen zusätzlich verschoben und 
+ * skaliert werden. Die Messpunkte werden dabei nicht kopiert.
+ *
+ * @param verschiebungX Die Verschiebung in x-Richtung
+ * @param verschiebungY Die Verschiebung in y-Richtung
+ * @param skalierung Der Skalierungsfaktor
+ *
+ * @return Die verschobene und skalierte Ansicht
+ */
+MessreiheAnsicht normieren(double verschiebungX, double verschiebungY, double skalierung)
+   {
+   return new MessreiheAnsicht(this.x, this.y, this.anzahl, this.verschiebungX + this.skalierung * verschiebungX, 
+      this.verschiebungY + this.skalierung * verschiebungY, this.skalierung * skalierung);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Anzahl der Messpunkte zurück.
+ *
+ * @return Die Anzahl der Messpunkte
+ */
+public int getAnzahl()
+   {
+   return this.anzahl;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die x-Komponente eines Messpunkts zurück.
+ *
+ * @param index Der Index des Messpunkts
+ *
+ * @return Die x-Komponente des Messpunkts
+ */
+public double getX(int index)
+   {
+   return (this.x[index] - this.verschiebungX) / this.skalierung;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die y-Komponente eines Messpunkts zurück.
+ *
+ * @param index Der Index des Messpunkts
+ *
+ * @return Die y-Komponente des Messpunkts
+ */
+public double getY(int index)
+   {
+   return (this.y[index] - this.verschiebungY) / this.skalierung;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt einen Messpunkt als {@link Vector2D}-Objekt zurück. Sie ist für Meldungen und die Grafik gedacht,
+ * nicht für die Berechnungen.
+ *
+ * @param index Der Index des Messpunkts
+ *
+ * @return Der Messpunkt
+ */
+public Vector2D getMesspunkt(int index)
+   {
+   return new Vector2D(this.getX(index), this.getY(index));
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode wandelt die Messpunkte in ein Feld von {@link Vector2D}-Objekten um.
+ *
+ * @return Das Feld der Messpunkte
+ */
+public Vector2D[] toVector2D()
+   {
+   Vector2D[] messpunkte = new Vector2D[this.anzahl];
+   for (int i = 0; i < this.anzahl; i++)
+      {
+      messpunkte[i] = new Vector2D(this.getX(i), this.getY(i));
+      }
+   return messpunkte;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * @see java.lang.Object#toString()
+ */
+@Override
+public String toString()
+   {
+   // Die Zeichenkette, welche die Messpunkte repräsentiert, wird zusammengebaut.
+   StringBuilder builder = new StringBuilder("[");
+   for (int i = 0; i < this.anzahl; i++)
+      {
+      if (i > 0)
+         {
+         builder.append(", ");
+         }
+      builder.append('{').append(this.getX(i)).append("; ").append(this.getY(i)).append('}');
+      }
+   builder.append(']');
+
+   // Die Zeichenkette wird zurückgegeben.
+   return builder.toString();
+   }
+}
@@ -0,0 +1,164 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.faces.component.UIComponent;
+import javax.faces.context.FacesContext;
+import javax.faces.convert.Converter;
+import javax.faces.convert.ConverterException;
+import javax.faces.convert.FacesConverter;
+
+import de.thkwalter.jsf.converter.CSVConverter;
+import de.thkwalter.jsf.converter.CSVParser;
+import de.thkwalter.jsf.converter.Zahlformatierer;
+
+/**
+ * Dieser Konverter konvertiert zwischen einer Zeichenkette im CSV-Format und einer {@link Messreihe}. Das Format
+ * entspricht dem des {@link CSVConverter}. Im Gegensatz zu diesem wird jedoch kein Objekt pro Messpunkt erzeugt: Die
+ * Felder, die der {@link CSVParser} beim Zerlegen der Zeichenkette füllt, werden ohne Kopie von der Messreihe
+ * übernommen.
+ * <p>
+ * Falls die UI-Komponente das Attribut {@value #ATTRIBUT_EINGABE_BEIBEHALTEN} mit dem Wert <tt>true</tt> besitzt,
+ * wird die eingegebene Zeichenkette bei der Messreihe aufbewahrt und unverändert wieder ausgegeben, solange die
+ * Messreihe nicht verändert worden ist. Die Messpunkte müssen dann nicht erneut formatiert werden; dafür bleibt die
+ * Eingabe zusätzlich zu den Feldern im Speicher.
+ *
+ * @author Th. K. Walter
+ */
+@FacesConverter("MessreiheConverter")
+public class MessreiheConverter implements Converter
+{
+/*
+ * Der Logger dieser Klasse.
+ */
+private static Logger logger = Logger.getLogger(MessreiheConverter.class.getName());
+
+/**
+ * Der Name des Attributs der UI-Komponente, das festlegt, ob die eingegebene Zeichenkette aufbewahrt wird
+ */
+public static final String ATTRIBUT_EINGABE_BEIBEHALTEN = "eingabeBeibehalten";
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode konvertiert eine Zeichenkette im CSV-Format in eine {@link Messreihe}.
+ *
+ * @param facesContext Das Kontext-Objekt
+ * @param uiComponent Die UI-Komponente, welche die Quelle der Zeichenkette ist.
+ * @param eingabe Die Zeichenkette, die konvertiert werden soll.
+ *
+ * @return Die Messreihe
+ *
+ * @see javax.faces.convert.Converter#getAsObject(javax.faces.context.FacesContext, javax.faces.component.UIComponent,
+ * java.lang.String)
+ */
+@Override
+public Object getAsObject(FacesContext facesContext, UIComponent uiComponent, String eingabe)
+   {
+   // Die Zeichenkette wird in einem Durchlauf in die Felder der Komponenten zerlegt.
+   CSVParser parser = CSVConverter.parsen(facesContext, eingabe);
+
+   // Die Felder werden ohne Kopie von der Messreihe übernommen.
+   Messreihe messreihe = new Messreihe(parser.getX(), parser.getY(), parser.getAnzahl());
+   
+   // Falls gewünscht, wird die eingegebene Zeichenkette bei der Messreihe aufbewahrt.
+   if (MessreiheConverter.eingabeBeibehalten(uiComponent))
+      {
+      messreihe.setQuelltext(eingabe);
+      }
+   
+   return messreihe;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode prüft, ob die UI-Komponente das Aufbewahren der eingegebenen Zeichenkette verlangt.
+ *
+ * @param uiComponent Die UI-Komponente
+ *
+ * @return <tt>true</tt>, falls die eingegebene Zeichenkette aufbewahrt werden soll.
+ */
+private static boolean eingabeBeibehalten(UIComponent uiComponent)
+   {
+   if (uiComponent == null)
+      {
+      return false;
+      }
+   Object attribut = uiComponent.getAttributes().get(MessreiheConverter.ATTRIBUT_EINGABE_BEIBEHALTEN);
+   return attribut != null && Boolean.parseBoolean(attribut.toString());
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode konvertiert eine {@link Messreihe} in eine Zeichenkette im CSV-Format.
+ *
+ * @param facesContext Das Kontext-Objekt
+ * @param uiComponent Die UI-Komponente, welche das Ziel der Zeichenkette ist.
+ * @param messreihe Die Messreihe
+ *
+ * @return Eine Zeichenkette im CSV-Format.
+ *
+ * @see javax.faces.convert.Converter#getAsString(javax.faces.context.FacesContext, javax.faces.component.UIComponent,
+ * java.lang.Object)
+ */
+@Override
+public String getAsString(FacesContext facesContext, UIComponent uiComponent, Object messreihe)
+   {
+   // Falls keine Messreihe übergeben worden ist, wird eine leere Zeichenkette zurückgegeben.
+   if (messreihe == null)
+      {
+      return "";
+      }
+
+   // Falls das übergebene Objekt keine Messreihe ist, wird eine Ausnahme geworfen.
+   if (!(messreihe instanceof Messreihe))
+      {
+      String fehlermeldung = "Das Objekt (" + messreihe + ") ist keine Messreihe!";
+      MessreiheConverter.logger.log(Level.SEVERE, fehlermeldung);
+      throw new ConverterException(fehlermeldung);
+      }
+
+   // Falls die eingegebene Zeichenkette aufbewahrt worden ist und die Messreihe unverändert ist, wird sie 
+   // zurückgegeben.
+   String quelltext = ((Messreihe) messreihe).getQuelltext();
+   if (quelltext != null)
+      {
+      return quelltext;
+      }
+   
+   // In dieser Schleife werden alle Messpunkte in der kürzesten Darstellung, die wieder denselben Wert ergibt, zu 
+   // einer Zeichenkette verknüpft.
+   MessreiheAnsicht messpunkte = ((Messreihe) messreihe).getAnsicht();
+   StringBuilder stringBuilder = new StringBuilder(24 * messpunkte.getAnzahl());
+   Zahlformatierer zahlformatierer = new Zahlformatierer();
+   for (int i = 0; i < messpunkte.getAnzahl(); i++)
+      {
+      zahlformatierer.anhaengen(stringBuilder, messpunkte.getX(i)).append(", ");
+      zahlformatierer.anhaengen(stringBuilder, messpunkte.getY(i)).append('\n');
+      }
+
+   // Die zusammengebaute Zeichenkette wird zurückgegeben.
+   return stringBuilder.toString();
+   }
+}
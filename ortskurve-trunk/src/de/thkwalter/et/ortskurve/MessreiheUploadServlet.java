@@ -0,0 +1,356 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.fileupload.FileItemStream;
+import org.apache.commons.fileupload.FileUploadBase;
+import org.apache.commons.fileupload.FileUploadException;
+import org.apache.commons.fileupload.servlet.ServletFileUpload;
+
+import de.thkwalter.jsf.converter.CSVFormatausnahme;
+import de.thkwalter.jsf.converter.CSVParser;
+
+/**
+ * Dieses Servlet nimmt eine Datei mit Messpunkten im CSV-Format entgegen, die als <tt>multipart/form-data</tt>
+ * hochgeladen wird. Der Inhalt der Datei wird direkt aus dem Datenstrom der Anfrage abschnittsweise durch den
+ * {@link CSVParser} in eine {@link Messreihe} geschrieben; weder die Datei noch ihr Inhalt als Zeichenkette werden
+ * vollständig im Speicher gehalten. Die Messreihe wird in der {@link Messreihenablage} abgelegt und beim Aufbau der 
+ * Startseite vom {@link OrtskurveModell} übernommen. In der Sitzung werden nur der Schlüssel der Messreihe, der Name 
+ * der Datei und gegebenenfalls die Fehlermeldung abgelegt.
+ * <p>
+ * Die größte Dateigröße in Byte und die größte Anzahl von Messpunkten können über die Initialisierungsparameter
+ * {@value #PARAMETER_MAX_DATEIGROESSE} und {@value #PARAMETER_MAX_ANZAHL_MESSPUNKTE} festgelegt werden.
+ *
+ * @author Th. K. Walter
+ */
+public class MessreiheUploadServlet extends HttpServlet
+{
+/**
+ * Die Serialisierungsnummer
+ */
+private static final long serialVersionUID = 7709584423365179271L;
+
+/**
+ * Der Name des Initialisierungsparameters für die größte Dateigröße in Byte
+ */
+public static final String PARAMETER_MAX_DATEIGROESSE = "maxDateigroesse";
+
+/**
+ * Der Name des Initialisierungsparameters für die größte Anzahl von Messpunkten
+ */
+public static final String PARAMETER_MAX_ANZAHL_MESSPUNKTE = "maxAnzahlMesspunkte";
+
+/**
+ * Die größte Dateigröße in Byte, falls kein Initialisierungsparameter angegeben ist
+ */
+static final long MAX_DATEIGROESSE = 1024L * 1024L;
+
+/**
+ * Die größte Anzahl von Messpunkten, falls kein Initialisierungsparameter angegeben ist
+ */
+static final int MAX_ANZAHL_MESSPUNKTE = 20000;
+
+/**
+ * Der Name des Sitzungsattributs, in dem der Schlüssel der hochgeladenen Messreihe in der {@link Messreihenablage} 
+ * abgelegt wird
+ */
+public static final String ATTRIBUT_SCHLUESSEL = MessreiheUploadServlet.class.getName() + ".schluessel";
+
+/**
+ * Der Name des Sitzungsattributs, in dem der Name der hochgeladenen Datei abgelegt wird
+ */
+public static final String ATTRIBUT_DATEINAME = MessreiheUploadServlet.class.getName() + ".dateiname";
+
+/**
+ * Der Name des Sitzungsattributs, in dem die Fehlermeldung für die Oberfläche abgelegt wird
+ */
+public static final String ATTRIBUT_FEHLERMELDUNG = MessreiheUploadServlet.class.getName() + ".fehlermeldung";
+
+/**
+ * Die Seite, auf die nach dem Hochladen weitergeleitet wird
+ */
+private static final String STARTSEITE = "/pages/startseite.jsf";
+
+/**
+ * Der Zeichensatz der hochgeladenen Dateien
+ */
+private static final Charset ZEICHENSATZ = Charset.forName("UTF-8");
+
+/**
+ * Der Logger dieser Klasse.
+ */
+private static Logger logger = Logger.getLogger(MessreiheUploadServlet.class.getName());
+
+/**
+ * Die größte Dateigröße in Byte
+ */
+private long maxDateigroesse;
+
+/**
+ * Die größte Anzahl von Messpunkten
+ */
+private int maxAnzahlMesspunkte;
+
+/**
+ * Die Ablage, in der die hochgeladenen Messreihen bis zu ihrer Übernahme aufbewahrt werden
+ */
+private transient Messreihenablage messreihenablage;
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode liest die Initialisierungsparameter des Servlets.
+ *
+ * @see javax.servlet.GenericServlet#init()
+ */
+@Override
+public void init() throws ServletException
+   {
+   String maxDateigroesseParameter = this.getInitParameter(MessreiheUploadServlet.PARAMETER_MAX_DATEIGROESSE);
+   String maxAnzahlParameter = this.getInitParameter(MessreiheUploadServlet.PARAMETER_MAX_ANZAHL_MESSPUNKTE);
+
+   try
+      {
+      this.maxDateigroesse = maxDateigroesseParameter == null ? MessreiheUploadServlet.MAX_DATEIGROESSE :
+         Long.parseLong(maxDateigroesseParameter.trim());
+      this.maxAnzahlMesspunkte = maxAnzahlParameter == null ? MessreiheUploadServlet.MAX_ANZAHL_MESSPUNKTE :
+         Integer.parseInt(maxAnzahlParameter.trim());
+      }
+   catch (NumberFormatException numberFormatException)
+      {
+      String fehlermeldung = "Die Initialisierungsparameter des Servlets sind keine ganzen Zahlen!";
+      MessreiheUploadServlet.logger.severe(fehlermeldung);
+      throw new ServletException(fehlermeldung, numberFormatException);
+      }
+   
+   this.messreihenablage = MessreiheUploadServlet.ablageBestimmen(this.getServletContext());
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Ablage der hochgeladenen Messreihen im Anwendungskontext zurück. Falls sie noch nicht 
+ * existiert, wird sie erzeugt.
+ *
+ * @param servletContext Der Anwendungskontext
+ *
+ * @return Die Ablage der hochgeladenen Messreihen
+ */
+static Messreihenablage ablageBestimmen(ServletContext servletContext)
+   {
+   synchronized (servletContext)
+      {
+      Messreihenablage messreihenablage = (Messreihenablage) servletContext.getAttribute(Messreihenablage.NAME);
+      if (messreihenablage == null)
+         {
+         messreihenablage = new Messreihenablage();
+         servletContext.setAttribute(Messreihenablage.NAME, messreihenablage);
+         }
+      return messreihenablage;
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode nimmt die hochgeladene Datei entgegen, liest die Messreihe ein und leitet auf die Startseite weiter.
+ * Falls die Datei nicht eingelesen werden kann, wird statt des Schlüssels der Messreihe eine Fehlermeldung in der 
+ * Sitzung abgelegt.
+ *
+ * @see javax.servlet.http.HttpServlet#doPost(javax.servlet.http.HttpServletRequest,
+ * javax.servlet.http.HttpServletResponse)
+ */
+@Override
+protected void doPost(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException
+   {
+   // Falls die Anfrage keine Datei enthält, wird sie abgewiesen.
+   if (!ServletFileUpload.isMultipartContent(request))
+      {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Die Anfrage enthält keine Datei!");
+      return;
+      }
+
+   HttpSession sitzung = request.getSession();
+   String alterSchluessel = (String) sitzung.getAttribute(MessreiheUploadServlet.ATTRIBUT_SCHLUESSEL);
+   if (alterSchluessel != null)
+      {
+      this.messreihenablage.entnehmen(alterSchluessel);
+      }
+   sitzung.removeAttribute(MessreiheUploadServlet.ATTRIBUT_SCHLUESSEL);
+   sitzung.removeAttribute(MessreiheUploadServlet.ATTRIBUT_DATEINAME);
+   sitzung.removeAttribute(MessreiheUploadServlet.ATTRIBUT_FEHLERMELDUNG);
+
+   String jsfMeldung = null;
+   try
+      {
+      // Die Anfrage wird als Datenstrom verarbeitet, die Teile der Anfrage werden also nicht zwischengespeichert.
+      ServletFileUpload servletFileUpload = new ServletFileUpload();
+      servletFileUpload.setFileSizeMax(this.maxDateigroesse);
+      FileItemIterator teile = servletFileUpload.getItemIterator(request);
+
+      // Der erste Teil der Anfrage, der eine Datei enthält, wird eingelesen.
+      while (teile.hasNext())
+         {
+         FileItemStream teil = teile.next();
+         if (!teil.isFormField())
+            {
+            InputStream datenstrom = teil.openStream();
+            try
+               {
+               Messreihe messreihe = MessreiheUploadServlet.messreiheEinlesen(
+                  new InputStreamReader(datenstrom, MessreiheUploadServlet.ZEICHENSATZ), this.maxAnzahlMesspunkte);
+               sitzung.setAttribute(MessreiheUploadServlet.ATTRIBUT_SCHLUESSEL, 
+                  this.messreihenablage.ablegen(messreihe));
+               sitzung.setAttribute(MessreiheUploadServlet.ATTRIBUT_DATEINAME, teil.getName());
+               }
+            finally
+               {
+               datenstrom.close();
+               }
+            break;
+            }
+         }
+
+      if (sitzung.getAttribute(MessreiheUploadServlet.ATTRIBUT_SCHLUESSEL) == null)
+         {
+         jsfMeldung = "Es wurde keine Datei hochgeladen! Wählen Sie bitte eine Datei mit Messpunkten aus.";
+         }
+      }
+
+   // Falls eine Ausnahme geworfen worden ist, wird diese behandelt.
+   catch (CSVFormatausnahme csvFormatausnahme)
+      {
+      MessreiheUploadServlet.logger.severe("Die hochgeladene Datei besitzt nicht das richtige Format! " +
+         csvFormatausnahme.getMessage());
+      jsfMeldung = "Die Messpunkte in der Datei besitzen nicht das korrekte Format (" +
+         csvFormatausnahme.getMessage() + ")! Korrigieren Sie bitte das Format der Datei.";
+      }
+   catch (FileUploadException fileUploadException)
+      {
+      jsfMeldung = this.uploadfehlerBehandeln(fileUploadException);
+      }
+   catch (IOException ioException)
+      {
+      // Eine Überschreitung der Dateigröße wird beim Lesen des Datenstroms in eine IOException verpackt.
+      if (!MessreiheUploadServlet.istGroessenueberschreitung(ioException.getCause()))
+         {
+         throw ioException;
+         }
+      jsfMeldung = this.uploadfehlerBehandeln(ioException.getCause());
+      }
+
+   if (jsfMeldung != null)
+      {
+      sitzung.setAttribute(MessreiheUploadServlet.ATTRIBUT_FEHLERMELDUNG, jsfMeldung);
+      }
+
+   // Der Browser wird auf die Startseite weitergeleitet.
+   response.sendRedirect(request.getContextPath() + MessreiheUploadServlet.STARTSEITE);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode protokolliert einen Fehler beim Hochladen und erzeugt die Meldung für die Oberfläche.
+ *
+ * @param ausnahme Die Ausnahme, die beim Hochladen geworfen worden ist.
+ *
+ * @return Die Meldung für die Oberfläche
+ */
+private String uploadfehlerBehandeln(Throwable ausnahme)
+   {
+   MessreiheUploadServlet.logger.severe("Die Datei konnte nicht hochgeladen werden! " + ausnahme.getMessage());
+
+   if (MessreiheUploadServlet.istGroessenueberschreitung(ausnahme))
+      {
+      return "Die Datei ist zu groß! Es sind höchstens " + this.maxDateigroesse / (1024 * 1024) +
+         " MB erlaubt.";
+      }
+   return "Die Datei konnte nicht hochgeladen werden! Versuchen Sie es bitte erneut.";
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode prüft, ob die Ausnahme eine Überschreitung der größten Dateigröße meldet.
+ *
+ * @param ausnahme Die Ausnahme
+ *
+ * @return <tt>true</tt>, falls die Ausnahme eine Überschreitung der größten Dateigröße meldet.
+ */
+private static boolean istGroessenueberschreitung(Throwable ausnahme)
+   {
+   return ausnahme instanceof FileUploadBase.FileSizeLimitExceededException ||
+      ausnahme instanceof FileUploadBase.SizeLimitExceededException;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode liest eine Messreihe im CSV-Format abschnittsweise aus einem Zeichenstrom. Es wird nur ein
+ * Zeichenpuffer fester Größe verwendet. Die Felder des {@link CSVParser} werden auf die Anzahl der Messpunkte gekürzt,
+ * damit die Messreihe keine ungenutzten Reserven aufbewahrt.
+ *
+ * @param zeichenstrom Der Zeichenstrom
+ * @param maxAnzahlMesspunkte Die größte erlaubte Anzahl von Messpunkten
+ *
+ * @return Die Messreihe
+ *
+ * @throws IOException Falls der Zeichenstrom nicht gelesen werden kann.
+ * @throws CSVFormatausnahme Falls die Messpunkte nicht das richtige Format besitzen, die Datei keinen Messpunkt
+ * enthält oder zu viele Messpunkte enthält.
+ */
+static Messreihe messreiheEinlesen(Reader zeichenstrom, int maxAnzahlMesspunkte) throws IOException
+   {
+   CSVParser parser = new CSVParser(1024);
+   parser.setHoechstanzahl(maxAnzahlMesspunkte);
+   parser.lesen(zeichenstrom);
+
+   // Falls die Datei keinen Messpunkt enthält, wird eine Ausnahme geworfen.
+   if (parser.getAnzahl() == 0)
+      {
+      throw new CSVFormatausnahme(1, 1, "Die Datei enthält keine Messpunkte");
+      }
+
+   // Die Felder werden auf die Anzahl der Messpunkte gekürzt, sofern sie größer sind.
+   int anzahl = parser.getAnzahl();
+   double[] x = parser.getX().length == anzahl ? parser.getX() : Arrays.copyOf(parser.getX(), anzahl);
+   double[] y = parser.getY().length == anzahl ? parser.getY() : Arrays.copyOf(parser.getY(), anzahl);
+   return new Messreihe(x, y, anzahl);
+   }
+}
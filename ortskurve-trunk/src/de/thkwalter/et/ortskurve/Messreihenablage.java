@@ -0,0 +1,234 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import java.security.SecureRandom;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import javax.faces.bean.ApplicationScoped;
+import javax.faces.bean.ManagedBean;
+
+/**
+ * Diese anwendungsweite Ablage nimmt die hochgeladenen Messreihen auf, bis sie beim Aufbau der Startseite vom 
+ * {@link OrtskurveModell} übernommen werden. In der Sitzung wird nur der zufällige Schlüssel der Messreihe abgelegt, 
+ * da die Sitzung auf der Google App Engine nach jeder Anfrage mit einer Größengrenze von 1 MB gespeichert wird.
+ * 
+ * Die Ablage ist beschränkt: Jede Messreihe wird nach der Ablaufzeit verworfen, und falls die Gesamtzahl der 
+ * abgelegten Messpunkte die Obergrenze überschreiten würde, werden die ältesten Messreihen verdrängt. Da die Ablage 
+ * im Speicher einer Instanz liegt, kann eine Messreihe auch dann fehlen, wenn die Anfrage nach dem Hochladen von einer
+ * anderen Instanz beantwortet wird; in diesem Fall muss die Datei erneut hochgeladen werden.
+ *
+ * @author Th. K. Walter
+ * @version 1.0
+ */
+@ApplicationScoped
+@ManagedBean(name=Messreihenablage.NAME)
+public class Messreihenablage
+{
+/**
+ * Der Name der Ablage im Anwendungskontext
+ */
+public static final String NAME = "messreihenablage";
+
+/**
+ * Die voreingestellte größte Gesamtzahl der abgelegten Messpunkte
+ */
+private static final long STANDARD_MAX_ANZAHL_MESSPUNKTE = 200000L;
+
+/**
+ * Die voreingestellte Ablaufzeit einer Messreihe (in ms)
+ */
+private static final long STANDARD_ABLAUFZEIT = 5L * 60L * 1000L;
+
+/**
+ * Die Anzahl der Byte eines Schlüssels
+ */
+private static final int SCHLUESSELLAENGE = 16;
+
+/**
+ * Die abgelegten Messreihen in der Reihenfolge ihrer Ablage
+ */
+private final LinkedHashMap<String, Eintrag> eintraege = new LinkedHashMap<String, Eintrag>();
+
+/**
+ * Der Zufallszahlengenerator der Schlüssel
+ */
+private final SecureRandom zufall = new SecureRandom();
+
+/**
+ * Die größte Gesamtzahl der abgelegten Messpunkte
+ */
+private final long maxAnzahlMesspunkte;
+
+/**
+ * Die Ablaufzeit einer Messreihe (in ms)
+ */
+private final long ablaufzeit;
+
+/**
+ * Die Gesamtzahl der abgelegten Messpunkte
+ */
+private long anzahlMesspunkte;
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor erzeugt eine Ablage mit der voreingestellten Obergrenze und Ablaufzeit.
+ */
+public Messreihenablage()
+   {
+   this(Messreihenablage.STANDARD_MAX_ANZAHL_MESSPUNKTE, Messreihenablage.STANDARD_ABLAUFZEIT);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor erzeugt eine Ablage mit der angegebenen Obergrenze und Ablaufzeit.
+ * 
+ * @param maxAnzahlMesspunkte Die größte Gesamtzahl der abgelegten Messpunkte
+ * @param ablaufzeit Die Ablaufzeit einer Messreihe (in ms)
+ */
+public Messreihenablage(long maxAnzahlMesspunkte, long ablaufzeit)
+   {
+   this.maxAnzahlMesspunkte = maxAnzahlMesspunkte;
+   this.ablaufzeit = ablaufzeit;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode legt eine Messreihe ab. Zuvor werden die abgelaufenen Messreihen und, falls die Obergrenze sonst 
+ * überschritten würde, die ältesten Messreihen verworfen.
+ * 
+ * @param messreihe Die Messreihe
+ * 
+ * @return Der zufällige Schlüssel, mit dem die Messreihe entnommen werden kann
+ */
+public synchronized String ablegen(Messreihe messreihe)
+   {
+   long jetzt = System.currentTimeMillis();
+   int anzahl = messreihe.getAnzahl();
+   
+   // Da alle Messreihen dieselbe Ablaufzeit besitzen, stehen die abgelaufenen Messreihen am Anfang.
+   Iterator<Eintrag> iterator = this.eintraege.values().iterator();
+   while (iterator.hasNext())
+      {
+      Eintrag eintrag = iterator.next();
+      if (eintrag.ablaufzeitpunkt >= jetzt && this.anzahlMesspunkte + anzahl <= this.maxAnzahlMesspunkte)
+         {
+         break;
+         }
+      iterator.remove();
+      this.anzahlMesspunkte -= eintrag.messreihe.getAnzahl();
+      }
+   
+   // Die Messreihe wird unter einem zufälligen Schlüssel abgelegt.
+   String schluessel = this.schluesselErzeugen();
+   this.eintraege.put(schluessel, new Eintrag(messreihe, jetzt + this.ablaufzeit));
+   this.anzahlMesspunkte += anzahl;
+   return schluessel;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode entnimmt eine Messreihe. Die Messreihe wird dabei aus der Ablage entfernt.
+ * 
+ * @param schluessel Der Schlüssel der Messreihe
+ * 
+ * @return Die Messreihe oder <tt>null</tt>, falls zu dem Schlüssel keine Messreihe existiert oder die Messreihe 
+ *         abgelaufen ist.
+ */
+public synchronized Messreihe entnehmen(String schluessel)
+   {
+   Eintrag eintrag = this.eintraege.remove(schluessel);
+   if (eintrag == null)
+      {
+      return null;
+      }
+   this.anzahlMesspunkte -= eintrag.messreihe.getAnzahl();
+   return eintrag.ablaufzeitpunkt >= System.currentTimeMillis() ? eintrag.messreihe : null;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Gesamtzahl der abgelegten Messpunkte zurück.
+ * 
+ * @return Die Gesamtzahl der abgelegten Messpunkte
+ */
+public synchronized long getAnzahlMesspunkte()
+   {
+   return this.anzahlMesspunkte;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode erzeugt einen zufälligen Schlüssel, der nicht erraten werden kann.
+ * 
+ * @return Der Schlüssel als Hexadezimalzahl
+ */
+private String schluesselErzeugen()
+   {
+   byte[] zufallsbytes = new byte[Messreihenablage.SCHLUESSELLAENGE];
+   this.zufall.nextBytes(zufallsbytes);
+   StringBuilder schluessel = new StringBuilder(2 * Messreihenablage.SCHLUESSELLAENGE);
+   for (byte b : zufallsbytes)
+      {
+      schluessel.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+      }
+   return schluessel.toString();
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Klasse repräsentiert eine abgelegte Messreihe.
+ */
+private static class Eintrag
+{
+/**
+ * Die Messreihe
+ */
+private final Messreihe messreihe;
+
+/**
+ * Der Zeitpunkt (in Millisekunden seit dem 1.1.1970), nach dem die Messreihe verworfen wird
+ */
+private final long ablaufzeitpunkt;
+
+/**
+ * Dieser Konstruktor initialisiert den Eintrag.
+ * 
+ * @param messreihe Die Messreihe
+ * @param ablaufzeitpunkt Der Zeitpunkt (in Millisekunden seit dem 1.1.1970), nach dem die Messreihe verworfen wird
+ */
+private Eintrag(Messreihe messreihe, long ablaufzeitpunkt)
+   {
+   this.messreihe = messreihe;
+   this.ablaufzeitpunkt = ablaufzeitpunkt;
+   }
+}
+}
@@ -0,0 +1,477 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+import de.thkwalter.jsf.converter.CSVParser;
+
+/**
+ * Diese Klasse liest und schreibt Messreihen in einem kompakten Binärformat, das für die Archivierung von Messungen
+ * gedacht ist. Eine Datei besteht aus einem Kopf von {@value #KOPFLAENGE} Byte und den Messpunkten als Paare von
+ * double-Werten (x, y). Alle Werte werden im Little-Endian-Format gespeichert. Der Kopf ist folgendermaßen aufgebaut:
+ * <ul>
+ * <li>Byte 0 bis 3: die Kennung {@value #KENNUNG} (int)</li>
+ * <li>Byte 4 bis 5: die Version des Formats (short)</li>
+ * <li>Byte 6 bis 7: reserviert, 0 (short)</li>
+ * <li>Byte 8 bis 15: die Anzahl der Messpunkte (long)</li>
+ * <li>Byte 16 bis 23: die Einheit der Messpunkte in ASCII, mit Nullbytes aufgefüllt</li>
+ * <li>Byte 24 bis 31: die Prüfsumme der Messpunkte (long, CRC-32 über die Bytes der Messpunkte im 
+ * Little-Endian-Format)</li>
+ * </ul>
+ * Beim Lesen wird die Datei mit {@link FileChannel#map(FileChannel.MapMode, long, long)} in den Speicher abgebildet.
+ * Die Messpunkte werden in einem Durchlauf ohne Umwandlung aus der Abbildung in die Felder einer {@link Messreihe}
+ * übertragen; die Prüfsumme wird dabei mitberechnet.
+ *
+ * @author Th. K. Walter
+ */
+public final class Messreihendatei
+{
+/**
+ * Die Kennung am Anfang jeder Datei ("ORTK")
+ */
+static final int KENNUNG = 0x4B54524F;
+
+/**
+ * Die Version des Formats
+ */
+static final short VERSION = 1;
+
+/**
+ * Die Länge des Kopfs in Byte
+ */
+static final int KOPFLAENGE = 32;
+
+/**
+ * Die Länge des Feldes der Einheit in Byte
+ */
+private static final int EINHEITLAENGE = 8;
+
+/**
+ * Die Länge eines Messpunkts in Byte
+ */
+private static final int PUNKTLAENGE = 16;
+
+/**
+ * Die größte Anzahl von Messpunkten, die in einem Abschnitt in den Speicher abgebildet werden
+ */
+private static final int PUNKTE_PRO_ABSCHNITT = 1 << 22;
+
+/**
+ * Die größte Anzahl von Messpunkten im Puffer beim Schreiben
+ */
+private static final int PUNKTE_PRO_SCHREIBPUFFER = 1 << 16;
+
+/**
+ * Der Zeichensatz der Einheit
+ */
+private static final Charset ZEICHENSATZ = Charset.forName("US-ASCII");
+
+/**
+ * Der Logger dieser Klasse.
+ */
+private static Logger logger = Logger.getLogger(Messreihendatei.class.getName());
+
+/**
+ * Die gelesene Messreihe
+ */
+private final Messreihe messreihe;
+
+/**
+ * Die Einheit der Messpunkte
+ */
+private final String einheit;
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor speichert die gelesene Messreihe und ihre Einheit.
+ *
+ * @param messreihe Die gelesene Messreihe
+ * @param einheit Die Einheit der Messpunkte
+ */
+private Messreihendatei(Messreihe messreihe, String einheit)
+   {
+   this.messreihe = messreihe;
+   this.einheit = einheit;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode schreibt die Messpunkte in eine Datei im Binärformat. Eine vorhandene Datei wird überschrieben.
+ *
+ * @param datei Die Datei
+ * @param messpunkte Die Messpunkte
+ * @param einheit Die Einheit der Messpunkte (höchstens acht ASCII-Zeichen, z. B. "A")
+ *
+ * @throws IOException Falls die Datei nicht geschrieben werden kann.
+ */
+public static void schreiben(Path datei, MessreiheAnsicht messpunkte, String einheit) throws IOException
+   {
+   byte[] einheitBytes = einheit.getBytes(Messreihendatei.ZEICHENSATZ);
+   if (einheitBytes.length > Messreihendatei.EINHEITLAENGE)
+      {
+      throw new IllegalArgumentException("Die Einheit (" + einheit + ") ist länger als " +
+         Messreihendatei.EINHEITLAENGE + " Zeichen!");
+      }
+
+   int anzahl = messpunkte.getAnzahl();
+
+   // Der Kopf wird erstellt.
+   ByteBuffer kopf = ByteBuffer.allocate(Messreihendatei.KOPFLAENGE).order(ByteOrder.LITTLE_ENDIAN);
+   kopf.putInt(Messreihendatei.KENNUNG).putShort(Messreihendatei.VERSION).putShort((short) 0).putLong(anzahl);
+   kopf.put(einheitBytes).position(24);
+   kopf.putLong(Messreihendatei.pruefsummeBerechnen(messpunkte));
+   kopf.flip();
+
+   FileChannel kanal = FileChannel.open(datei, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+      StandardOpenOption.TRUNCATE_EXISTING);
+   try
+      {
+      Messreihendatei.vollstaendigSchreiben(kanal, kopf);
+
+      // Die Messpunkte werden abschnittsweise über einen direkten Puffer geschrieben.
+      ByteBuffer puffer = ByteBuffer.allocateDirect(Messreihendatei.PUNKTLAENGE *
+         Math.min(Math.max(anzahl, 1), Messreihendatei.PUNKTE_PRO_SCHREIBPUFFER)).order(ByteOrder.LITTLE_ENDIAN);
+      for (int i = 0; i < anzahl; i++)
+         {
+         puffer.putDouble(messpunkte.getX(i)).putDouble(messpunkte.getY(i));
+         if (!puffer.hasRemaining())
+            {
+            puffer.flip();
+            Messreihendatei.vollstaendigSchreiben(kanal, puffer);
+            puffer.clear();
+            }
+         }
+      puffer.flip();
+      Messreihendatei.vollstaendigSchreiben(kanal, puffer);
+      }
+   finally
+      {
+      kanal.close();
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode schreibt den Inhalt des Puffers vollständig in den Kanal.
+ *
+ * @param kanal Der Kanal
+ * @param puffer Der Puffer
+ *
+ * @throws IOException Falls nicht geschrieben werden kann.
+ */
+private static void vollstaendigSchreiben(FileChannel kanal, ByteBuffer puffer) throws IOException
+   {
+   while (puffer.hasRemaining())
+      {
+      kanal.write(puffer);
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode liest eine Datei im Binärformat. Die Datei wird abschnittsweise in den Speicher abgebildet; die
+ * Messpunkte werden ohne Zwischenobjekte direkt in die Felder der Messreihe übertragen.
+ *
+ * @param datei Die Datei
+ *
+ * @return Die gelesene Datei
+ *
+ * @throws IOException Falls die Datei nicht gelesen werden kann, nicht das Binärformat besitzt oder die Prüfsumme
+ * nicht stimmt.
+ */
+public static Messreihendatei lesen(Path datei) throws IOException
+   {
+   FileChannel kanal = FileChannel.open(datei, StandardOpenOption.READ);
+   try
+      {
+      long dateigroesse = kanal.size();
+      if (dateigroesse < Messreihendatei.KOPFLAENGE)
+         {
+         throw Messreihendatei.formatfehler(datei, "Die Datei ist kürzer als der Kopf");
+         }
+
+      // Der Kopf wird gelesen und geprüft.
+      MappedByteBuffer kopf = kanal.map(FileChannel.MapMode.READ_ONLY, 0, Messreihendatei.KOPFLAENGE);
+      kopf.order(ByteOrder.LITTLE_ENDIAN);
+      if (kopf.getInt() != Messreihendatei.KENNUNG)
+         {
+         throw Messreihendatei.formatfehler(datei, "Die Kennung fehlt");
+         }
+      short version = kopf.getShort();
+      if (version != Messreihendatei.VERSION)
+         {
+         throw Messreihendatei.formatfehler(datei, "Die Version " + version + " wird nicht unterstützt");
+         }
+      kopf.getShort();
+      long anzahl = kopf.getLong();
+      byte[] einheitBytes = new byte[Messreihendatei.EINHEITLAENGE];
+      kopf.get(einheitBytes);
+      long pruefsumme = kopf.getLong();
+
+      if (anzahl < 0 || anzahl > Integer.MAX_VALUE - 8 ||
+         dateigroesse != Messreihendatei.KOPFLAENGE + Messreihendatei.PUNKTLAENGE * anzahl)
+         {
+         throw Messreihendatei.formatfehler(datei, "Die Dateigröße passt nicht zur Anzahl der Messpunkte (" +
+            anzahl + ")");
+         }
+
+      // Die Messpunkte werden abschnittsweise in den Speicher abgebildet und in die Felder übertragen.
+      int n = (int) anzahl;
+      double[] x = new double[n];
+      double[] y = new double[n];
+      Pruefsumme berechnetePruefsumme = new Pruefsumme();
+      for (int anfang = 0; anfang < n; anfang += Messreihendatei.PUNKTE_PRO_ABSCHNITT)
+         {
+         int ende = Math.min(n, anfang + Messreihendatei.PUNKTE_PRO_ABSCHNITT);
+         DoubleBuffer abschnitt = kanal.map(FileChannel.MapMode.READ_ONLY,
+            Messreihendatei.KOPFLAENGE + (long) Messreihendatei.PUNKTLAENGE * anfang,
+            (long) Messreihendatei.PUNKTLAENGE * (ende - anfang)).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+         for (int i = anfang; i < ende; i++)
+            {
+            x[i] = abschnitt.get();
+            y[i] = abschnitt.get();
+            berechnetePruefsumme.fortschreiben(x[i], y[i]);
+            }
+         }
+
+      if (berechnetePruefsumme.getWert() != pruefsumme)
+         {
+         throw Messreihendatei.formatfehler(datei, "Die Prüfsumme stimmt nicht");
+         }
+
+      // Die Felder werden ohne Kopie von der Messreihe übernommen.
+      return new Messreihendatei(new Messreihe(x, y, n), Messreihendatei.einheitLesen(einheitBytes));
+      }
+   finally
+      {
+      kanal.close();
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode konvertiert eine Datei im CSV-Format (siehe {@link CSVParser}) in eine Datei im Binärformat. Die
+ * CSV-Datei wird abschnittsweise gelesen.
+ *
+ * @param csvDatei Die Datei im CSV-Format (UTF-8)
+ * @param binaerdatei Die Datei im Binärformat
+ * @param einheit Die Einheit der Messpunkte
+ *
+ * @return Die Anzahl der konvertierten Messpunkte
+ *
+ * @throws IOException Falls eine der Dateien nicht gelesen oder geschrieben werden kann.
+ * @throws de.thkwalter.jsf.converter.CSVFormatausnahme Falls die CSV-Datei nicht das richtige Format besitzt.
+ */
+public static int ausCSVKonvertieren(Path csvDatei, Path binaerdatei, String einheit) throws IOException
+   {
+   CSVParser parser = new CSVParser(1024);
+   Reader zeichenstrom = Files.newBufferedReader(csvDatei, Charset.forName("UTF-8"));
+   try
+      {
+      parser.lesen(zeichenstrom);
+      }
+   finally
+      {
+      zeichenstrom.close();
+      }
+
+   Messreihe messreihe = new Messreihe(parser.getX(), parser.getY(), parser.getAnzahl());
+   Messreihendatei.schreiben(binaerdatei, messreihe.getAnsicht(), einheit);
+
+   return parser.getAnzahl();
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode berechnet die Prüfsumme der Messpunkte.
+ *
+ * @param messpunkte Die Messpunkte
+ *
+ * @return Die Prüfsumme
+ */
+static long pruefsummeBerechnen(MessreiheAnsicht messpunkte)
+   {
+   Pruefsumme pruefsumme = new Pruefsumme();
+   for (int i = 0; i < messpunkte.getAnzahl(); i++)
+      {
+      pruefsumme.fortschreiben(messpunkte.getX(i), messpunkte.getY(i));
+      }
+   return pruefsumme.getWert();
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode liest die Einheit aus dem Feld des Kopfs.
+ *
+ * @param einheitBytes Das Feld der Einheit, mit Nullbytes aufgefüllt
+ *
+ * @return Die Einheit
+ */
+private static String einheitLesen(byte[] einheitBytes)
+   {
+   int laenge = 0;
+   while (laenge < einheitBytes.length && einheitBytes[laenge] != 0)
+      {
+      laenge++;
+      }
+   return new String(einheitBytes, 0, laenge, Messreihendatei.ZEICHENSATZ);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode protokolliert einen Formatfehler und erzeugt die zugehörige Ausnahme.
+ *
+ * @param datei Die Datei
+ * @param beschreibung Die Beschreibung des Fehlers
+ *
+ * @return Die Ausnahme
+ */
+private static IOException formatfehler(Path datei, String beschreibung)
+   {
+   String fehlermeldung = "Die Datei " + datei + " besitzt nicht das Binärformat der Messreihen! " + beschreibung +
+      ".";
+   Messreihendatei.logger.severe(fehlermeldung);
+   return new IOException(fehlermeldung);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die gelesene Messreihe zurück.
+ *
+ * @return Die gelesene Messreihe
+ */
+public Messreihe getMessreihe()
+   {
+   return this.messreihe;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Einheit der Messpunkte zurück.
+ *
+ * @return Die Einheit der Messpunkte
+ */
+public String getEinheit()
+   {
+   return this.einheit;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Klasse berechnet die CRC-32-Prüfsumme der Messpunkte über ihre Bytes im Little-Endian-Format, also über 
+ * dieselbe Bytefolge, die in der Datei steht. Die Bytes werden in einem Puffer gesammelt, damit die Prüfsumme nicht 
+ * für jeden Messpunkt einzeln fortgeschrieben wird.
+ */
+private static final class Pruefsumme
+{
+/**
+ * Die Größe des Puffers in Byte
+ */
+private static final int PUFFERGROESSE = 1 << 12;
+
+/**
+ * Die Prüfsumme
+ */
+private final CRC32 crc32 = new CRC32();
+
+/**
+ * Der Puffer der noch nicht eingerechneten Bytes
+ */
+private final byte[] puffer = new byte[Pruefsumme.PUFFERGROESSE];
+
+/**
+ * Die Anzahl der Bytes im Puffer
+ */
+private int fuellstand;
+
+/**
+ * Diese Methode schreibt die Prüfsumme um einen Messpunkt fort.
+ *
+ * @param x Die x-Komponente des Messpunkts
+ * @param y Die y-Komponente des Messpunkts
+ */
+private void fortschreiben(double x, double y)
+   {
+   if (this.fuellstand == Pruefsumme.PUFFERGROESSE)
+      {
+      this.crc32.update(this.puffer, 0, this.fuellstand);
+      this.fuellstand = 0;
+      }
+   this.anhaengen(Double.doubleToRawLongBits(x));
+   this.anhaengen(Double.doubleToRawLongBits(y));
+   }
+
+/**
+ * Diese Methode hängt die Bytes eines 64-Bit-Musters im Little-Endian-Format an den Puffer an.
+ *
+ * @param bits Das 64-Bit-Muster
+ */
+private void anhaengen(long bits)
+   {
+   for (int k = 0; k < 8; k++)
+      {
+      this.puffer[this.fuellstand++] = (byte) (bits >>> (8 * k));
+      }
+   }
+
+/**
+ * Diese Methode gibt die Prüfsumme aller bisher eingerechneten Messpunkte zurück.
+ *
+ * @return Die Prüfsumme
+ */
+private long getWert()
+   {
+   this.crc32.update(this.puffer, 0, this.fuellstand);
+   this.fuellstand = 0;
+   return this.crc32.getValue();
+   }
+}
+}
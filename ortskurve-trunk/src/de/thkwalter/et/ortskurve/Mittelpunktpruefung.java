@@ -0,0 +1,184 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+
+/**
+ * Diese Klasse prüft vor und nach der Lösung eines Ausgleichsproblems, ob Messpunkte fast mit dem Mittelpunkt des 
+ * Kreises identisch sind (Abstand kleiner als ein Prozent des Radius). Für solche Messpunkte wird das Inverse des 
+ * Abstands in der Jakobi-Matrix beliebig groß, so dass die Iteration abgebrochen werden müsste. Die Prüfung meldet alle
+ * betroffenen Messpunkte auf einmal, bevor Rechenzeit in die Iteration investiert wird.
+ *
+ * @author Th. K. Walter
+ */
+final class Mittelpunktpruefung
+{
+/**
+ * Der Anteil des Radius, unterhalb dessen ein Messpunkt als fast identisch mit dem Mittelpunkt gilt
+ */
+static final double RELATIVER_MINDESTABSTAND = 0.01;
+
+/**
+ * Die größte Anzahl von Messpunkten, die in der Meldung für den Benutzer einzeln aufgeführt werden
+ */
+private static final int MAX_ANZAHL_GEMELDET = 10;
+
+/*
+ * Der Logger dieser Klasse.
+ */
+private static Logger logger = Logger.getLogger(Mittelpunktpruefung.class.getName());
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor verhindert, dass Objekte dieser Klasse erzeugt werden.
+ */
+private Mittelpunktpruefung()
+   {
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode bestimmt die Indizes aller Messpunkte, die fast mit dem Mittelpunkt des Kreises identisch sind. 
+ * Messpunkte mit dem Gewicht 0 werden nicht berücksichtigt, da sie nicht zur Ausgleichsrechnung beitragen.
+ * 
+ * @param messpunkte Die Messpunkte
+ * @param gewichte Die Gewichte der Messpunkte oder <tt>null</tt>, falls alle Messpunkte das Gewicht 1 besitzen
+ * @param kreis Der Kreis
+ * 
+ * @return Die aufsteigend sortierten Indizes der Messpunkte; ein leeres Feld, falls kein Messpunkt betroffen ist
+ */
+static int[] messpunkteNaheMittelpunkt(MessreiheAnsicht messpunkte, double[] gewichte, Ortskurve kreis)
+   {
+   // Die Koordinaten des Mittelpunkts und der Mindestabstand werden gelesen.
+   double mx = kreis.getMittelpunktOrtskurve().getX();
+   double my = kreis.getMittelpunktOrtskurve().getY();
+   double minAbstand = Mittelpunktpruefung.RELATIVER_MINDESTABSTAND * kreis.getRadiusOrtskurve();
+   double minAbstandQuadrat = minAbstand * minAbstand;
+   
+   // In dieser Schleife werden die Indizes der betroffenen Messpunkte gesammelt.
+   int[] indizes = new int[4];
+   int anzahl = 0;
+   for (int i = 0; i < messpunkte.getAnzahl(); i++)
+      {
+      if (gewichte != null && gewichte[i] == 0.0)
+         {
+         continue;
+         }
+      double dx = mx - messpunkte.getX(i);
+      double dy = my - messpunkte.getY(i);
+      if (dx * dx + dy * dy < minAbstandQuadrat)
+         {
+         if (anzahl == indizes.length)
+            {
+            indizes = Arrays.copyOf(indizes, 2 * anzahl);
+            }
+         indizes[anzahl++] = i;
+         }
+      }
+   
+   return Arrays.copyOf(indizes, anzahl);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode meldet die Messpunkte, die fast mit dem Mittelpunkt des Kreises identisch sind, indem sie eine 
+ * Ausnahme wirft.
+ * 
+ * @param messpunkte Die Messpunkte
+ * @param indizes Die Indizes der betroffenen Messpunkte (mindestens einer)
+ * @param kreis Der Kreis
+ * 
+ * @throws Validierungsausnahme Immer
+ */
+static void melden(MessreiheAnsicht messpunkte, int[] indizes, Ortskurve kreis)
+   {
+   throw new Validierungsausnahme(Fehlercode.MESSPUNKTE_NAHE_MITTELPUNKT, 
+      Mittelpunktpruefung.meldungErzeugen(messpunkte, indizes, kreis));
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode erzeugt die Fehlermeldung für den Benutzer, in der alle Messpunkte aufgeführt sind, die fast mit dem 
+ * Mittelpunkt des Kreises identisch sind. Die Fehlermeldung für den Entwickler wird protokolliert.
+ * 
+ * @param messpunkte Die Messpunkte
+ * @param indizes Die Indizes der betroffenen Messpunkte (mindestens einer)
+ * @param kreis Der Kreis
+ * 
+ * @return Die Fehlermeldung für den Benutzer
+ */
+static String meldungErzeugen(MessreiheAnsicht messpunkte, int[] indizes, Ortskurve kreis)
+   {
+   // Die betroffenen Messpunkte werden mit ihren Nummern (beginnend bei 1) aufgezählt.
+   String aufzaehlung = Mittelpunktpruefung.aufzaehlen(messpunkte, indizes);
+   Vector2D mittelpunkt = kreis.getMittelpunktOrtskurve();
+   
+   // Die Fehlermeldung für den Entwickler wird erzeugt und protokolliert.
+   String fehlermeldung = indizes.length + " Messpunkte sind fast identisch mit dem Mittelpunkt " + 
+      mittelpunkt.toString() + ": " + aufzaehlung;
+   Mittelpunktpruefung.logger.severe(fehlermeldung);
+   
+   // Die Fehlermeldung für den Benutzer wird erzeugt.
+   return indizes.length == 1 ? 
+      "Der Messpunkt " + aufzaehlung + " scheint in der Nähe des Kreismittelpunktes " + mittelpunkt.toString() + 
+      " zu liegen! Überprüfen Sie bitte diesen Messpunkt." : 
+      "Die Messpunkte " + aufzaehlung + " scheinen in der Nähe des Kreismittelpunktes " + mittelpunkt.toString() + 
+      " zu liegen! Überprüfen Sie bitte diese Messpunkte.";
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode zählt die betroffenen Messpunkte mit ihren Nummern (beginnend bei 1) auf. Sind es mehr als
+ * {@link #MAX_ANZAHL_GEMELDET}, wird nur die Anzahl der übrigen Messpunkte angegeben.
+ * 
+ * @param messpunkte Die Messpunkte
+ * @param indizes Die Indizes der betroffenen Messpunkte
+ * 
+ * @return Die Aufzählung der Messpunkte
+ */
+static String aufzaehlen(MessreiheAnsicht messpunkte, int[] indizes)
+   {
+   StringBuilder builder = new StringBuilder();
+   int anzahlGemeldet = Math.min(indizes.length, Mittelpunktpruefung.MAX_ANZAHL_GEMELDET);
+   for (int j = 0; j < anzahlGemeldet; j++)
+      {
+      if (j > 0)
+         {
+         builder.append(j == indizes.length - 1 ? " und " : ", ");
+         }
+      builder.append("Nr. ").append(indizes[j] + 1).append(' ').append(messpunkte.getMesspunkt(indizes[j]));
+      }
+   if (indizes.length > anzahlGemeldet)
+      {
+      builder.append(" und ").append(indizes.length - anzahlGemeldet).append(" weitere");
+      }
+   return builder.toString();
+   }
+}
@@ -0,0 +1,522 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+import org.apache.commons.math3.exception.ConvergenceException;
+import org.apache.commons.math3.exception.TooManyEvaluationsException;
+import org.apache.commons.math3.exception.util.LocalizedFormats;
+import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.QRDecomposition;
+import org.apache.commons.math3.linear.SingularMatrixException;
+
+/**
+ * Diese Klasse löst das Ausgleichsproblem der Ortskurve mit dem Gauß-Newton-Verfahren, ohne die Jakobi-Matrix
+ * aufzustellen. In jedem Iterationsschritt werden in einem einzigen Durchlauf über die Messpunkte die Matrix JᵀWJ und
+ * der Vektor JᵀWr der Normalgleichungen aufsummiert. Der Speicherbedarf eines Iterationsschritts ist daher unabhängig 
+ * von der Anzahl der Messpunkte.
+ * 
+ * Das Konvergenzkriterium entspricht dem des GaussNewtonOptimizer der Bibliothek Apache Commons Math mit einem 
+ * SimpleVectorValueChecker: Die Lösung gilt als gefunden, wenn sich kein Residuum zwischen zwei Iterationsschritten um
+ * mehr als den relativen Schwellenwert ändert. 
+ * Damit die Residuen des vorherigen Iterationsschritts nicht gespeichert werden müssen, werden sie im selben Durchlauf 
+ * aus den vorherigen Kreisparametern neu berechnet.
+ * 
+ * Ist eine Frist gesetzt und läuft sie vor der Konvergenz ab, so gibt das Verfahren die Kreisparameter mit der bis 
+ * dahin kleinsten gewichteten Summe der Abstandsquadrate zurück (siehe {@link #isKonvergiert()}). Dasselbe gilt, wenn
+ * das Abbruchsignal gesetzt wird (siehe {@link #setAbbruch(AtomicBoolean)}).
+ * 
+ * @author Th. K. Walter
+ * @version 1.0
+ */
+public class NormalgleichungenGaussNewton
+{
+/**
+ * Die relative Änderung der Residuen, unterhalb derer die Lösung als gefunden gilt.
+ */
+private static final double RELATIVER_SCHWELLENWERT = 0.01;
+
+/**
+ * Die Messpunkte
+ */
+private MessreiheAnsicht messpunkte;
+
+/**
+ * Die Gewichte der Messpunkte in der Ausgleichsrechnung oder <tt>null</tt>, falls alle Messpunkte gleich gewichtet 
+ * werden
+ */
+private double[] gewichte;
+
+/**
+ * Der Typ des Ausgleichsproblems
+ */
+private Ausgleichsproblemtyp ausgleichsproblemtyp;
+
+/**
+ * Die Anzahl der Kreisparameter (2 beim 2d-, 3 beim 3d-Ausgleichsproblem)
+ */
+private int anzahlKreisparameter;
+
+/**
+ * Die Matrix JᵀWJ der Normalgleichungen. Das Feld wird in jedem Iterationsschritt wiederverwendet.
+ */
+private double[][] normalmatrix;
+
+/**
+ * Der Vektor JᵀWr der Normalgleichungen. Das Feld wird in jedem Iterationsschritt wiederverwendet.
+ */
+private double[] rechteSeite;
+
+/**
+ * Die gewichtete Summe der Abstandsquadrate für die zuletzt aufgestellten Normalgleichungen
+ */
+private double quadratsumme;
+
+/**
+ * Die Normierung der Messpunkte oder <tt>null</tt>, falls die Messpunkte nicht normiert sind
+ */
+private Normierung normierung;
+
+/**
+ * Die Frist der Optimierung (in Millisekunden seit dem 1.1.1970) oder {@link Long#MAX_VALUE}, falls keine Frist
+ * gesetzt ist
+ */
+private long frist = Long.MAX_VALUE;
+
+/**
+ * Das Abbruchsignal: Ist es gesetzt, so wird die Optimierung wie nach dem Ablauf der Frist beendet.
+ */
+private AtomicBoolean abbruch = new AtomicBoolean();
+
+/**
+ * Gibt an, ob die letzte Optimierung konvergiert ist.
+ */
+private boolean konvergiert;
+
+/**
+ * Die Anzahl der durchgeführten Iterationsschritte
+ */
+private int anzahlIterationen;
+
+/**
+ * Die Anzahl der Auswertungen der Modellgleichungen
+ */
+private int anzahlAuswertungen;
+
+/**
+ * Der Logger dieser Klasse.
+ */
+private static Logger logger = Logger.getLogger(NormalgleichungenGaussNewton.class.getName());
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor initialisiert die Messpunkte, ihre Gewichte und den Typ des Ausgleichsproblems.
+ * 
+ * @param messpunkte Die Messpunkte
+ * @param gewichte Die Gewichte der Messpunkte in der Ausgleichsrechnung oder <tt>null</tt>, falls alle Messpunkte
+ *        das Gewicht 1 erhalten sollen.
+ * @param ausgleichsproblemtyp Der Typ des Ausgleichsproblems
+ */
+public NormalgleichungenGaussNewton(MessreiheAnsicht messpunkte, double[] gewichte, 
+   Ausgleichsproblemtyp ausgleichsproblemtyp)
+   {
+   this.messpunkte = messpunkte;
+   this.gewichte = gewichte;
+   this.ausgleichsproblemtyp = ausgleichsproblemtyp;
+   
+   // Die Felder der Normalgleichungen werden einmalig erzeugt.
+   this.anzahlKreisparameter = ausgleichsproblemtyp == Ausgleichsproblemtyp.ORTSKURVE_2d ? 2 : 3;
+   this.normalmatrix = new double[this.anzahlKreisparameter][this.anzahlKreisparameter];
+   this.rechteSeite = new double[this.anzahlKreisparameter];
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode löst das Ausgleichsproblem.
+ * 
+ * @param startpunkt Die Kreisparameter, mit denen die Iteration beginnt. Beim 3d-Ausgleichsproblem sind dies die x- 
+ *        und die y-Koordinate des Kreismittelpunkts sowie der Radius, beim 2d-Ausgleichsproblem die x-Koordinate des
+ *        Kreismittelpunkts und der Radius.
+ * @param maxAuswertungen Die maximale Anzahl der Auswertungen der Modellgleichungen
+ * 
+ * @return Die Kreisparameter der Lösung oder, falls die Frist vor der Konvergenz abgelaufen ist, die Kreisparameter 
+ *         mit der bisher kleinsten gewichteten Summe der Abstandsquadrate
+ * 
+ * @throws TooManyEvaluationsException Falls die Lösung nicht innerhalb der maximalen Anzahl von Auswertungen gefunden
+ *         worden ist.
+ */
+public double[] optimieren(double[] startpunkt, int maxAuswertungen)
+   {
+   // Die aktuellen und die vorherigen Kreisparameter werden initialisiert.
+   double[] kreisparameter = startpunkt.clone();
+   double[] vorherigeKreisparameter = new double[this.anzahlKreisparameter];
+   boolean ersterSchritt = true;
+   
+   // Die Kreisparameter mit der bisher kleinsten Summe der Abstandsquadrate werden initialisiert.
+   double[] besteKreisparameter = new double[this.anzahlKreisparameter];
+   double besteQuadratsumme = Double.POSITIVE_INFINITY;
+   
+   this.anzahlIterationen = 0;
+   this.anzahlAuswertungen = 0;
+   this.konvergiert = false;
+   
+   while (true)
+      {
+      // Die Zähler werden erhöht. Falls die maximale Anzahl der Auswertungen überschritten wird, wird eine Ausnahme 
+      // geworfen.
+      this.anzahlIterationen++;
+      this.anzahlAuswertungen++;
+      if (this.anzahlAuswertungen > maxAuswertungen)
+         {
+         throw new TooManyEvaluationsException(maxAuswertungen);
+         }
+      
+      // Die Normalgleichungen werden aufgestellt. Dabei wird überprüft, ob sich die Residuen gegenüber dem vorherigen
+      // Iterationsschritt noch wesentlich ändern.
+      boolean konvergiert = this.normalgleichungenAufstellen(kreisparameter, 
+         ersterSchritt ? null : vorherigeKreisparameter);
+      
+      // Falls sich kein Residuum mehr wesentlich geändert hat, ist die Lösung gefunden.
+      if (konvergiert)
+         {
+         this.konvergiert = true;
+         return kreisparameter;
+         }
+      
+      // Falls die Kreisparameter die bisher kleinste Summe der Abstandsquadrate besitzen, werden sie gespeichert.
+      if (this.quadratsumme < besteQuadratsumme)
+         {
+         besteQuadratsumme = this.quadratsumme;
+         System.arraycopy(kreisparameter, 0, besteKreisparameter, 0, this.anzahlKreisparameter);
+         }
+      
+      // Falls die Frist abgelaufen oder das Abbruchsignal gesetzt ist, werden die bisher besten Kreisparameter 
+      // zurückgegeben.
+      if (System.currentTimeMillis() > this.frist || this.abbruch.get())
+         {
+         NormalgleichungenGaussNewton.logger.warning("Die Optimierung ist nach " + this.anzahlIterationen + 
+            " Iterationsschritten wegen der Frist oder eines Abbruchs beendet worden.");
+         return besteKreisparameter;
+         }
+      
+      // Die Normalgleichungen werden gelöst.
+      double[] schritt = this.normalgleichungenLoesen();
+      
+      // Die Kreisparameter werden aktualisiert.
+      System.arraycopy(kreisparameter, 0, vorherigeKreisparameter, 0, this.anzahlKreisparameter);
+      for (int j = 0; j < this.anzahlKreisparameter; j++)
+         {
+         kreisparameter[j] += schritt[j];
+         }
+      ersterSchritt = false;
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode führt einen einzelnen Iterationsschritt des Gauß-Newton-Verfahrens aus, ohne die Konvergenz zu 
+ * prüfen. Sie eignet sich, um eine bereits nahezu konvergierte Lösung (z. B. die Lösung für eine um einen Messpunkt 
+ * kleinere Messreihe) zu verbessern.
+ * 
+ * @param kreisparameter Die Kreisparameter, von denen der Iterationsschritt ausgeht
+ * 
+ * @return Die verbesserten Kreisparameter
+ */
+public double[] iterationsschrittAusfuehren(double[] kreisparameter)
+   {
+   // Die Normalgleichungen werden aufgestellt und gelöst.
+   this.normalgleichungenAufstellen(kreisparameter, null);
+   double[] schritt = this.normalgleichungenLoesen();
+   
+   // Die verbesserten Kreisparameter werden berechnet und zurückgegeben.
+   double[] neueKreisparameter = kreisparameter.clone();
+   for (int j = 0; j < this.anzahlKreisparameter; j++)
+      {
+      neueKreisparameter[j] += schritt[j];
+      }
+   return neueKreisparameter;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode summiert in einem Durchlauf über die Messpunkte die Normalgleichungen auf. Im selben Durchlauf werden
+ * die Residuen für die vorherigen Kreisparameter berechnet und mit den aktuellen Residuen verglichen.
+ * 
+ * @param kreisparameter Die aktuellen Kreisparameter
+ * @param vorherigeKreisparameter Die Kreisparameter des vorherigen Iterationsschritts oder <tt>null</tt> im ersten 
+ *        Iterationsschritt
+ * 
+ * @return <tt>true</tt>, falls sich kein Residuum gegenüber dem vorherigen Iterationsschritt wesentlich geändert hat;
+ *         <tt>false</tt> sonst.
+ */
+private boolean normalgleichungenAufstellen(double[] kreisparameter, double[] vorherigeKreisparameter)
+   {
+   // Die Koordinaten des Mittelpunkts und der Radius werden gelesen.
+   boolean zweidimensional = this.ausgleichsproblemtyp == Ausgleichsproblemtyp.ORTSKURVE_2d;
+   double mx = kreisparameter[0];
+   double my = zweidimensional ? 0.0 : kreisparameter[1];
+   double radius = kreisparameter[this.anzahlKreisparameter - 1];
+   
+   // Die Koordinaten des vorherigen Mittelpunkts und der vorherige Radius werden gelesen.
+   boolean konvergiert = vorherigeKreisparameter != null;
+   double vorherigesMx = konvergiert ? vorherigeKreisparameter[0] : 0.0;
+   double vorherigesMy = konvergiert && !zweidimensional ? vorherigeKreisparameter[1] : 0.0;
+   double vorherigerRadius = konvergiert ? vorherigeKreisparameter[this.anzahlKreisparameter - 1] : 0.0;
+   
+   // Der Abstand, unterhalb dessen ein Messpunkt als fast identisch mit dem Mittelpunkt gilt (ein Prozent des aktuell
+   // vermuteten Radius).
+   double minAbstand = 0.01 * radius;
+   
+   // Die Normalgleichungen werden zurückgesetzt.
+   double a00 = 0.0, a01 = 0.0, a02 = 0.0, a11 = 0.0, a12 = 0.0, a22 = 0.0;
+   double b0 = 0.0, b1 = 0.0, b2 = 0.0;
+   double summeQuadrate = 0.0;
+   
+   // In dieser Schleife werden die Normalgleichungen aufsummiert.
+   for (int i = 0; i < this.messpunkte.getAnzahl(); i++)
+      {
+      // Messpunkte mit dem Gewicht null (z. B. die von einem robusten Verfahren verworfenen Ausreißer) tragen weder zu
+      // den Normalgleichungen noch zur Konvergenzprüfung bei. Insbesondere führen sie nicht zu einer Ausnahme, wenn sie
+      // fast mit dem Mittelpunkt identisch sind.
+      double gewicht = this.gewichte == null ? 1.0 : this.gewichte[i];
+      if (gewicht == 0.0)
+         {
+         continue;
+         }
+      
+      // Der Abstand des Messpunktes vom Mittelpunkt und das Residuum werden berechnet.
+      double dx = mx - this.messpunkte.getX(i);
+      double dy = my - this.messpunkte.getY(i);
+      double abstandMesspunktMittelpunkt = Math.sqrt(dx * dx + dy * dy);
+      double residuum = abstandMesspunktMittelpunkt - radius;
+      
+      // Falls bisher keine wesentliche Änderung festgestellt worden ist, wird das Residuum mit dem Residuum des 
+      // vorherigen Iterationsschritts verglichen.
+      if (konvergiert)
+         {
+         double vorherigesDx = vorherigesMx - this.messpunkte.getX(i);
+         double vorherigesDy = vorherigesMy - this.messpunkte.getY(i);
+         double vorherigesResiduum = 
+            Math.sqrt(vorherigesDx * vorherigesDx + vorherigesDy * vorherigesDy) - vorherigerRadius;
+         
+         double differenz = Math.abs(vorherigesResiduum - residuum);
+         double groesse = Math.max(Math.abs(vorherigesResiduum), Math.abs(residuum));
+         if (differenz > groesse * NormalgleichungenGaussNewton.RELATIVER_SCHWELLENWERT)
+            {
+            konvergiert = false;
+            }
+         }
+      
+      // Falls der Messpunkt fast mit dem Mittelpunkt identisch ist, wird eine Ausnahme geworfen, da sonst das Inverse
+      // des Abstands unendlich groß wird.
+      if (abstandMesspunktMittelpunkt < minAbstand)
+         {
+         this.naheMittelpunktMelden(this.messpunkte.getMesspunkt(i), new Vector2D(mx, my));
+         }
+      
+      // Die Elemente der Zeile der Jakobi-Matrix werden berechnet.
+      double inverserAbstandMesspunktMittelpunkt = 1.0 / abstandMesspunktMittelpunkt;
+      double j0 = inverserAbstandMesspunktMittelpunkt * dx;
+      double j1 = zweidimensional ? -1.0 : inverserAbstandMesspunktMittelpunkt * dy;
+      
+      // Die Zeile der Jakobi-Matrix wird gewichtet zu den Normalgleichungen addiert. Die Zielwerte sind null, das 
+      // Residuum im Sinne der Normalgleichungen ist daher der negative Abstand des Messpunkts vom Kreis.
+      double gewichtetesResiduum = -gewicht * residuum;
+      summeQuadrate += gewicht * residuum * residuum;
+      double gj0 = gewicht * j0;
+      double gj1 = gewicht * j1;
+      a00 += gj0 * j0;
+      a01 += gj0 * j1;
+      a11 += gj1 * j1;
+      b0 += gewichtetesResiduum * j0;
+      b1 += gewichtetesResiduum * j1;
+      if (!zweidimensional)
+         {
+         // Das dritte Element der Zeile der Jakobi-Matrix ist stets -1.
+         a02 -= gj0;
+         a12 -= gj1;
+         a22 += gewicht;
+         b2 -= gewichtetesResiduum;
+         }
+      }
+   
+   // Die aufsummierten Werte werden in die Felder der Normalgleichungen übertragen.
+   this.quadratsumme = summeQuadrate;
+   this.normalmatrix[0][0] = a00;
+   this.normalmatrix[0][1] = a01;
+   this.normalmatrix[1][0] = a01;
+   this.normalmatrix[1][1] = a11;
+   this.rechteSeite[0] = b0;
+   this.rechteSeite[1] = b1;
+   if (!zweidimensional)
+      {
+      this.normalmatrix[0][2] = a02;
+      this.normalmatrix[2][0] = a02;
+      this.normalmatrix[1][2] = a12;
+      this.normalmatrix[2][1] = a12;
+      this.normalmatrix[2][2] = a22;
+      this.rechteSeite[2] = b2;
+      }
+   
+   return konvergiert;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode löst die Normalgleichungen mit Hilfe der QR-Zerlegung.
+ * 
+ * @return Der Schritt, um den die Kreisparameter verändert werden
+ */
+private double[] normalgleichungenLoesen()
+   {
+   try
+      {
+      return new QRDecomposition(new Array2DRowRealMatrix(this.normalmatrix, false)).getSolver().
+         solve(new ArrayRealVector(this.rechteSeite, false)).toArray();
+      }
+   
+   // Falls die Normalgleichungen singulär sind, wird wie beim GaussNewtonOptimizer eine ConvergenceException geworfen.
+   catch (SingularMatrixException e)
+      {
+      throw new ConvergenceException(LocalizedFormats.UNABLE_TO_SOLVE_SINGULAR_PROBLEM);
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode wirft eine Ausnahme, weil ein Messpunkt fast mit dem Mittelpunkt identisch ist.
+ * 
+ * @param messpunkt Der Messpunkt
+ * @param mittelpunkt Der Mittelpunkt
+ */
+private void naheMittelpunktMelden(Vector2D messpunkt, Vector2D mittelpunkt)
+   {
+   // Der Messpunkt und der Mittelpunkt werden in die ursprünglichen Koordinaten zurückgerechnet.
+   if (this.normierung != null)
+      {
+      messpunkt = this.normierung.punktZurueckrechnen(messpunkt);
+      mittelpunkt = this.normierung.punktZurueckrechnen(mittelpunkt);
+      }
+   
+   // Die Fehlermeldung für den Entwickler wird erzeugt und protokolliert.
+   String fehlermeldung = "Der Punkt " + messpunkt.toString() + " ist fast identisch mit dem " +
+      " Mittelpunkt " + mittelpunkt.toString() + "!";
+   NormalgleichungenGaussNewton.logger.severe(fehlermeldung);
+   
+   // Die Ausnahme wird erzeugt und mit der Fehlermeldung für den Benutzer initialisiert.
+   String jsfMeldung = "Der Punkt " + messpunkt.toString() +
+      " scheint in der Nähe des Kreismittelpunktes zu liegen! Überprüfen Sie bitte diesen Punkt.";
+   throw new Validierungsausnahme(Fehlercode.MESSPUNKTE_NAHE_MITTELPUNKT, jsfMeldung);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Anzahl der Iterationsschritte der letzten Lösung zurück.
+ * 
+ * @return Die Anzahl der Iterationsschritte
+ */
+public int getAnzahlIterationen()
+   {
+   return this.anzahlIterationen;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Anzahl der Auswertungen der Modellgleichungen der letzten Lösung zurück.
+ * 
+ * @return Die Anzahl der Auswertungen der Modellgleichungen
+ */
+public int getAnzahlAuswertungen()
+   {
+   return this.anzahlAuswertungen;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode legt die Frist der Optimierung fest.
+ * 
+ * @param frist Die Frist (in Millisekunden seit dem 1.1.1970) oder {@link Long#MAX_VALUE}, falls die Optimierung 
+ *        nicht befristet ist.
+ */
+public void setFrist(long frist)
+   {
+   this.frist = frist;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode legt das Abbruchsignal der Optimierung fest. Wird es gesetzt, so endet die Optimierung wie nach dem 
+ * Ablauf der Frist.
+ * 
+ * @param abbruch Das Abbruchsignal, das z. B. von mehreren gleichzeitig gelösten Ausgleichsproblemen geteilt wird
+ */
+public void setAbbruch(AtomicBoolean abbruch)
+   {
+   this.abbruch = abbruch;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt an, ob die letzte Optimierung konvergiert ist.
+ * 
+ * @return <tt>true</tt>, falls die letzte Optimierung konvergiert ist; <tt>false</tt>, falls die Frist zuvor 
+ *         abgelaufen oder das Abbruchsignal gesetzt worden ist.
+ */
+public boolean isKonvergiert()
+   {
+   return this.konvergiert;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode legt die Normierung der Messpunkte fest. Sie wird nur benötigt, um in Meldungen die Messpunkte in den
+ * ursprünglichen Koordinaten anzugeben.
+ * 
+ * @param normierung Die Normierung der Messpunkte oder <tt>null</tt>, falls die Messpunkte nicht normiert sind.
+ */
+public void setNormierung(Normierung normierung)
+   {
+   this.normierung = normierung;
+   }
+}
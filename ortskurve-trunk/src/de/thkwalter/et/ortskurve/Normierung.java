@@ -0,0 +1,258 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+
+/**
+ * Diese Klasse normiert die Messpunkte vor der Startpunktbestimmung und der Ausgleichsrechnung: Die Messpunkte werden 
+ * in ihren Schwerpunkt verschoben und so skaliert, dass der quadratische Mittelwert ihrer Abstände vom Schwerpunkt 1 
+ * ist. Dadurch sind die Gleichungssysteme unabhängig von der Einheit und der Lage der Messpunkte gut konditioniert, 
+ * auch wenn z. B. Ströme in kA auf einem kurzen Kreisbogen gemessen worden sind.
+ * 
+ * Beim 2d-Ausgleichsproblem liegt der Mittelpunkt auf der x-Achse. Damit diese Nebenbedingung erhalten bleibt, werden
+ * die Messpunkte dann nur in x-Richtung verschoben.
+ *
+ * @author Th. K. Walter
+ * @version 1.0
+ */
+public final class Normierung
+{
+/**
+ * Die Verschiebung in x-Richtung (der Schwerpunkt der x-Komponenten)
+ */
+private final double verschiebungX;
+
+/**
+ * Die Verschiebung in y-Richtung (der Schwerpunkt der y-Komponenten oder 0 beim 2d-Ausgleichsproblem)
+ */
+private final double verschiebungY;
+
+/**
+ * Der Skalierungsfaktor (der quadratische Mittelwert der Abstände der Messpunkte vom Bezugspunkt)
+ */
+private final double skalierung;
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor initialisiert die Verschiebung und den Skalierungsfaktor.
+ * 
+ * @param verschiebungX Die Verschiebung in x-Richtung
+ * @param verschiebungY Die Verschiebung in y-Richtung
+ * @param skalierung Der Skalierungsfaktor
+ */
+private Normierung(double verschiebungX, double verschiebungY, double skalierung)
+   {
+   this.verschiebungX = verschiebungX;
+   this.verschiebungY = verschiebungY;
+   this.skalierung = skalierung;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode berechnet die Normierung der Messpunkte in zwei Durchläufen über die Messpunkte.
+ * 
+ * @param messpunkte Die Messpunkte
+ * @param ausgleichsproblemtyp Der Typ des Ausgleichsproblems. Beim 2d-Ausgleichsproblem werden die Messpunkte nicht 
+ *        in y-Richtung verschoben.
+ * 
+ * @return Die Normierung. Falls alle Messpunkte im Bezugspunkt liegen, wird nur verschoben.
+ */
+public static Normierung berechnen(MessreiheAnsicht messpunkte, Ausgleichsproblemtyp ausgleichsproblemtyp)
+   {
+   int anzahl = messpunkte.getAnzahl();
+   
+   // Der Schwerpunkt der Messpunkte wird berechnet.
+   double summeX = 0.0;
+   double summeY = 0.0;
+   for (int i = 0; i < anzahl; i++)
+      {
+      summeX += messpunkte.getX(i);
+      summeY += messpunkte.getY(i);
+      }
+   double verschiebungX = summeX / anzahl;
+   double verschiebungY = ausgleichsproblemtyp == Ausgleichsproblemtyp.ORTSKURVE_2d ? 0.0 : summeY / anzahl;
+   
+   // Der quadratische Mittelwert der Abstände vom Bezugspunkt wird berechnet.
+   double summeQuadrate = 0.0;
+   for (int i = 0; i < anzahl; i++)
+      {
+      double dx = messpunkte.getX(i) - verschiebungX;
+      double dy = messpunkte.getY(i) - verschiebungY;
+      summeQuadrate += dx * dx + dy * dy;
+      }
+   double skalierung = Math.sqrt(summeQuadrate / anzahl);
+   
+   // Falls der Skalierungsfaktor nicht verwendbar ist, wird nicht skaliert.
+   if (!(skalierung > 0.0) || Double.isInfinite(skalierung))
+      {
+      skalierung = 1.0;
+      }
+   
+   return new Normierung(verschiebungX, verschiebungY, skalierung);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode normiert die Messpunkte. Die Messpunkte werden nicht kopiert; die zurückgegebene Ansicht verschiebt 
+ * und skaliert sie erst beim Lesen.
+ * 
+ * @param messpunkte Die Messpunkte
+ * 
+ * @return Eine Ansicht der normierten Messpunkte
+ */
+public MessreiheAnsicht messreiheNormieren(MessreiheAnsicht messpunkte)
+   {
+   return messpunkte.normieren(this.verschiebungX, this.verschiebungY, this.skalierung);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode normiert die Kreisparameter.
+ * 
+ * @param kreisparameter Die Kreisparameter (beim 3d-Ausgleichsproblem die x- und y-Komponente des Mittelpunkts und 
+ *        der Radius, beim 2d-Ausgleichsproblem die x-Komponente des Mittelpunkts und der Radius) oder <tt>null</tt>
+ * @param ausgleichsproblemtyp Der Typ des Ausgleichsproblems
+ * 
+ * @return Die normierten Kreisparameter oder <tt>null</tt>
+ */
+public double[] kreisparameterNormieren(double[] kreisparameter, Ausgleichsproblemtyp ausgleichsproblemtyp)
+   {
+   if (kreisparameter == null)
+      {
+      return null;
+      }
+   
+   if (ausgleichsproblemtyp == Ausgleichsproblemtyp.ORTSKURVE_2d)
+      {
+      return new double[]{(kreisparameter[0] - this.verschiebungX) / this.skalierung, 
+         kreisparameter[1] / this.skalierung};
+      }
+   return new double[]{(kreisparameter[0] - this.verschiebungX) / this.skalierung, 
+      (kreisparameter[1] - this.verschiebungY) / this.skalierung, kreisparameter[2] / this.skalierung};
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode rechnet normierte Kreisparameter in die ursprünglichen Koordinaten zurück.
+ * 
+ * @param kreisparameter Die normierten Kreisparameter
+ * @param ausgleichsproblemtyp Der Typ des Ausgleichsproblems
+ * 
+ * @return Die Kreisparameter in den ursprünglichen Koordinaten
+ */
+public double[] kreisparameterZurueckrechnen(double[] kreisparameter, Ausgleichsproblemtyp ausgleichsproblemtyp)
+   {
+   Ortskurve ortskurve = this.ortskurveZurueckrechnen(kreisparameter, ausgleichsproblemtyp);
+   Vector2D mittelpunkt = ortskurve.getMittelpunktOrtskurve();
+   if (ausgleichsproblemtyp == Ausgleichsproblemtyp.ORTSKURVE_2d)
+      {
+      return new double[]{mittelpunkt.getX(), ortskurve.getRadiusOrtskurve()};
+      }
+   return new double[]{mittelpunkt.getX(), mittelpunkt.getY(), ortskurve.getRadiusOrtskurve()};
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode rechnet normierte Kreisparameter in eine Ortskurve in den ursprünglichen Koordinaten zurück. 
+ * 
+ * @param kreisparameter Die normierten Kreisparameter (beim 3d-Ausgleichsproblem die x- und y-Komponente des 
+ *        Mittelpunkts und der Radius, beim 2d-Ausgleichsproblem die x-Komponente des Mittelpunkts und der Radius)
+ * @param ausgleichsproblemtyp Der Typ des Ausgleichsproblems
+ * 
+ * @return Die Ortskurve in den ursprünglichen Koordinaten
+ */
+public Ortskurve ortskurveZurueckrechnen(double[] kreisparameter, Ausgleichsproblemtyp ausgleichsproblemtyp)
+   {
+   Ortskurve normierteOrtskurve = ausgleichsproblemtyp == Ausgleichsproblemtyp.ORTSKURVE_2d ? 
+      new Ortskurve(new Vector2D(kreisparameter[0], 0.0), kreisparameter[1]) : 
+      new Ortskurve(new Vector2D(kreisparameter[0], kreisparameter[1]), kreisparameter[2]);
+   return this.ortskurveZurueckrechnen(normierteOrtskurve);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode rechnet eine normierte Ortskurve in die ursprünglichen Koordinaten zurück. Die Skalierung übernimmt 
+ * {@link Ortskurve#skalierteOrtskurveBerechnen(double)}.
+ * 
+ * @param ortskurve Die normierte Ortskurve
+ * 
+ * @return Die Ortskurve in den ursprünglichen Koordinaten
+ */
+public Ortskurve ortskurveZurueckrechnen(Ortskurve ortskurve)
+   {
+   Ortskurve skalierteOrtskurve = ortskurve.skalierteOrtskurveBerechnen(1.0 / this.skalierung);
+   return new Ortskurve(skalierteOrtskurve.getMittelpunktOrtskurve().add(
+      new Vector2D(this.verschiebungX, this.verschiebungY)), skalierteOrtskurve.getRadiusOrtskurve());
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode rechnet einen normierten Punkt in die ursprünglichen Koordinaten zurück. Sie wird z. B. für Meldungen
+ * benötigt, die einen Messpunkt nennen.
+ * 
+ * @param punkt Der normierte Punkt
+ * 
+ * @return Der Punkt in den ursprünglichen Koordinaten
+ */
+public Vector2D punktZurueckrechnen(Vector2D punkt)
+   {
+   return new Vector2D(punkt.getX() * this.skalierung + this.verschiebungX, 
+      punkt.getY() * this.skalierung + this.verschiebungY);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt den Skalierungsfaktor zurück.
+ * 
+ * @return Der Skalierungsfaktor
+ */
+public double getSkalierung()
+   {
+   return this.skalierung;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * @see java.lang.Object#toString()
+ */
+@Override
+public String toString()
+   {
+   return "Normierung [verschiebungX=" + this.verschiebungX + ", verschiebungY=" + this.verschiebungY + 
+      ", skalierung=" + this.skalierung + "]";
+   }
+}
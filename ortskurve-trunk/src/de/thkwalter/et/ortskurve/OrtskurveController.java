@@ -15,7 +15,8 @@
  */
 package de.thkwalter.et.ortskurve;
 
-import java.util.HashSet;
+import java.util.concurrent.Callable;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.faces.application.FacesMessage;
@@ -24,8 +25,6 @@ import javax.faces.bean.ManagedProperty;
 import javax.faces.bean.RequestScoped;
 import javax.faces.context.FacesContext;
 
-import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
-
 import de.thkwalter.et.schlupfbezifferung.SchlupfbezifferungModell;
 import de.thkwalter.jsf.ApplicationRuntimeException;
 
@@ -43,12 +42,28 @@ public class OrtskurveController
  */
 private static Logger logger = Logger.getLogger(OrtskurveController.class.getName());
 
+/**
+ * Das Zeitbudget einer Berechnung (in ms). Ist es erschöpft, wird die beste bis dahin gefundene Ortskurve angezeigt.
+ */
+private static final long ZEITBUDGET = 2000;
+
+/**
+ * Der Abstand relativ zur größten Ausdehnung der Messreihe, bis zu dem zwei Messpunkte als doppelt eingegeben gelten
+ */
+private static final double DUPLIKATTOLERANZ = 1E-9;
+
 /**
  * Das Frontend-Modell der Ortskurvenberechnung.
  */
 @ManagedProperty(value="#{ortskurveModell}")
 private OrtskurveModell ortskurveModell;
 
+/**
+ * Der anwendungsweite Zwischenspeicher der berechneten Ortskurven.
+ */
+@ManagedProperty(value="#{ergebniscache}")
+private Ergebniscache ergebniscache;
+
 // =====================================================================================================================
 // =====================================================================================================================
 
@@ -61,14 +76,21 @@ public String problemLoesen()
    {
    try
       {   
-      // Die Daten des Frontend-Modells werden protokolliert.
-      OrtskurveController.logger.info(this.ortskurveModell.toString());
+      // Die Anzahl der Messpunkte wird protokolliert. Die vollständigen Daten des Frontend-Modells enthalten alle 
+      // Messpunkte und werden daher nur auf der Stufe FINE protokolliert.
+      OrtskurveController.logger.info("Die Ortskurve wird aus " + this.ortskurveModell.getAnzahlMesspunkte() + 
+         " Messpunkten berechnet.");
+      if (OrtskurveController.logger.isLoggable(Level.FINE))
+         {
+         OrtskurveController.logger.fine(this.ortskurveModell.toString());
+         }
       
       // Die Ortskurve und der Leerlaufpunkt werden berechnet.
       this.ortskurveBerechnenIntern();
       
-      // Die Daten des Frontend-Modells werden protokolliert.
-      OrtskurveController.logger.info(this.ortskurveModell.toString());
+      // Das Ergebnis wird protokolliert.
+      OrtskurveController.logger.info("Ortskurve: " + this.ortskurveModell.getOrtskurve() + ", Kenngrößen: " + 
+         this.ortskurveModell.getLoesungsstatistik());
       }
    
    // Falls eine Ausnahme geworfen worden ist, wird diese in eine FacesMessage umgewandelt.
@@ -100,163 +122,124 @@ private void ortskurveBerechnenIntern()
    // Der optimale Ausgleichskreis muss manuell zurückgesetzt werden, da er nicht jedesmal neu berechnet wird.
    this.ortskurveModell.setOptimalerAusgleichskreis(null);
    
-   // Die Messpunkte werden aus dem Frontend-Modell gelesen.
-   Vector2D[] messpunkte = this.ortskurveModell.getMesspunkte();
-   
-   // Die eingegebenen Messpunkte werden validiert.
-   this.messpunkteValidieren(messpunkte);
-   
-   // Die Startparameter werden bestimmt.
-   double[] startpunkt = Startpunktbestimmung.startpunktBerechnen(messpunkte);
-   
-   // Die Ortskurve wird bestimmt.    
-   Ortskurve ortskurve = this.ortskurveBestimmen(messpunkte, startpunkt);
-   
-   // Die Ortskurve wird im Datenmodell gespeichert.
-   this.ortskurveModell.setOrtskurve(ortskurve);
+   // Die Kenngrößen einer früheren Lösung des Ausgleichsproblems werden zurückgesetzt.
+   this.ortskurveModell.setLoesungsstatistik(null);
    
-   // Falls der Mittelpunkt einen negativen Realteil besitzt, wird das Ausgleichsproblem noch einmal unter der Rand-
-   // bedingung gelöst, dass der Mittelpunkt auf der imaginären Achse liegt.
-   if (ortskurve.getMittelpunktOrtskurve().getY() < 0)
+   // Ohne Zwischenspeicher wird die Ortskurve direkt berechnet.
+   final MessreiheAnsicht messpunkte = this.ortskurveModell.getMessreihe();
+   if (this.ergebniscache == null)
       {
-      // Der Startpunkt für die Lösung des 2d-Ausgleichsproblems wird festgelegt.
-      double[] startpunkt2d = 
-         new double[]{ortskurve.getMittelpunktOrtskurve().getX(), ortskurve.getRadiusOrtskurve()};
-      
-      // Das 2d-Ausgleichsproblem word gelöst.
-      Ausgleichsproblem ausgleichsproblem = new Ausgleichsproblem(messpunkte);
-      Ortskurve ortskurve2d = 
-         ausgleichsproblem.ausgleichsproblemLoesen(startpunkt2d, Ausgleichsproblemtyp.ORTSKURVE_2d);
-      
-      // Die berechnete Ortskurve wird protokolliert.
-      OrtskurveController.logger.info(ortskurve2d.toString());
-      
-      // Der optimale Ausgleichskreis mit negativem Realteil wird umgespeichert.
-      this.ortskurveModell.setOptimalerAusgleichskreis(this.ortskurveModell.getOrtskurve());
-      
-      // Die Ortskurve mit Mittelpunkt auf der Imaginärachse wird im Frontend-Modell gespeichert.
-      this.ortskurveModell.setOrtskurve(ortskurve2d);
+      this.ortskurveBerechnenUndDarstellen(messpunkte, true);
+      return;
       }
    
+   // Falls die Messreihe bereits mit demselben Lösungsverfahren berechnet worden ist, wird das Ergebnis aus dem 
+   // Zwischenspeicher übernommen. Falls sie gerade für eine andere Anfrage berechnet wird, wird auf deren Ergebnis 
+   // gewartet. Andernfalls wird sie berechnet und im Zwischenspeicher gespeichert. Da der Eintrag von allen Anfragen
+   // geteilt wird, hängt er nur von den Messpunkten und vom Lösungsverfahren ab. Die Berechnung wird deshalb ohne den
+   // Warmstart aus der letzten Berechnung dieser Sitzung durchgeführt.
+   String schluessel = Ergebniscache.schluesselBerechnen(messpunkte, this.ortskurveModell.getLoesungsverfahren());
+   Ergebniscache.Eintrag eintrag = this.ergebniscache.berechnen(schluessel, new Callable<Ergebniscache.Eintrag>()
+      {
+      @Override
+      public Ergebniscache.Eintrag call()
+         {
+         return OrtskurveController.this.ortskurveBerechnenUndDarstellen(messpunkte, false);
+         }
+      });
+   
+   // Das Ergebnis und die Daten der Grafik werden übernommen. Für die Anfrage, welche die Berechnung durchgeführt hat,
+   // sind sie bereits im Frontend-Modell gespeichert.
+   this.ergebnisUebernehmen(eintrag.getOrtskurvenergebnis());
+   this.ortskurveModell.setGrafikdaten(eintrag.getGrafikdaten());
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode berechnet die Ortskurve und die Daten ihrer Grafik und speichert sie im Frontend-Modell.
+ * 
+ * @param messpunkte Die Messpunkte
+ * @param warmstart Gibt an, ob das Ergebnis der letzten erfolgreichen Berechnung als Warmstart verwendet werden darf
+ * 
+ * @return Das Ergebnis und die Daten der Grafik als Eintrag für den Zwischenspeicher
+ */
+private Ergebniscache.Eintrag ortskurveBerechnenUndDarstellen(MessreiheAnsicht messpunkte, boolean warmstart)
+   {
+   // Die Ortskurve wird aus den Messpunkten berechnet. Falls erlaubt, dient das Ergebnis der letzten erfolgreichen 
+   // Berechnung als Warmstart, sofern die Messpunkte nur wenig geändert worden sind.
+   Ortskurvenberechnung ortskurvenberechnung = new Ortskurvenberechnung(this.ortskurveModell.getLoesungsverfahren());
+   ortskurvenberechnung.setZeitbudget(OrtskurveController.ZEITBUDGET);
+   ortskurvenberechnung.setDuplikattoleranz(OrtskurveController.DUPLIKATTOLERANZ);
+   Ortskurvenergebnis ortskurvenergebnis = warmstart ? ortskurvenberechnung.ortskurveBerechnen(messpunkte, 
+      this.ortskurveModell.getBerechneteMesspunkte(), this.ortskurveModell.getOrtskurvenergebnis()) : 
+      ortskurvenberechnung.ortskurveBerechnen(messpunkte);
+   this.ergebnisUebernehmen(ortskurvenergebnis);
+   
    // Die Daten der Grafik der Ortskurve werden berechnet.
    this.ortskurveModell.grafikdatenBerechnen();
+   
+   return new Ergebniscache.Eintrag(ortskurvenergebnis, this.ortskurveModell.getGrafikdaten());
    }
 
 // =====================================================================================================================
 // =====================================================================================================================
 
 /**
- * Diese Methode speichert das übergebene Datenmodell der Ortskurve in diesem Objekt.
+ * Diese Methode speichert die Ortskurve, den optimalen Ausgleichskreis mit negativem Realteil und die Kenngrößen der
+ * Lösung im Frontend-Modell. Außerdem werden das Ergebnis und die Messpunkte als Warmstart der nächsten Berechnung 
+ * gespeichert.
  * 
- * @param ortskurveModell Das Datenmodell der Ortskurve
+ * @param ortskurvenergebnis Das Ergebnis der Ortskurvenberechnung
  */
-public void setOrtskurveModell(OrtskurveModell ortskurveModell)
+private void ergebnisUebernehmen(Ortskurvenergebnis ortskurvenergebnis)
    {
-   // Das Datenmodell der Ortskurve wird gespeichert.
-   this.ortskurveModell = ortskurveModell;
+   this.ortskurveModell.setLetzteBerechnung(this.ortskurveModell.getMessreihe(), ortskurvenergebnis);
+   this.ortskurveModell.setOrtskurve(ortskurvenergebnis.getOrtskurve());
+   this.ortskurveModell.setOptimalerAusgleichskreis(ortskurvenergebnis.getOptimalerAusgleichskreis());
+   this.ortskurveModell.setLoesungsstatistik(ortskurvenergebnis.getLoesungsstatistik());
    }
 
 // =====================================================================================================================
 // =====================================================================================================================
 
 /**
- * Diese Methode gibt das Datenmodell der Ortskurvenberechnung zurück.
+ * Diese Methode speichert das übergebene Datenmodell der Ortskurve in diesem Objekt.
  * 
- * @return Das Datenmodell der Ortskurvenberechnung
+ * @param ortskurveModell Das Datenmodell der Ortskurve
  */
-public OrtskurveModell getOrtskurveModell()
+public void setOrtskurveModell(OrtskurveModell ortskurveModell)
    {
-   // Das Datenmodell der Ortskurvenberechnung wird zurückgegeben.
-   return this.ortskurveModell;
+   // Das Datenmodell der Ortskurve wird gespeichert.
+   this.ortskurveModell = ortskurveModell;
    }
 
 // =====================================================================================================================
 // =====================================================================================================================
 
 /**
- * Diese Methode bestimmt die Ortskurve.
- * 
- * @param messpunkte Die Messpunkte
- * @param startpunkt Das erste Element ist die x-Komponente des Mittelpunkts, das zweite Element die y-Komponente des 
- * Mittelpunkts, das dritte Element der Radius.
+ * Diese Methode speichert den anwendungsweiten Zwischenspeicher der berechneten Ortskurven in diesem Objekt.
  * 
- * @return Die Ortskurve
+ * @param ergebniscache Der Zwischenspeicher der berechneten Ortskurven
  */
-private Ortskurve ortskurveBestimmen(Vector2D[] messpunkte, double[] startpunkt)
+public void setErgebniscache(Ergebniscache ergebniscache)
    {
-   // Die Referenz auf die Ortskurve wird deklariert.
-   Ortskurve ortskurve = null;
-   
-   // Falls nur drei Messpunkte eingegeben worden sind, entspricht der Startpunkt der Lösung.
-   if (messpunkte.length == 3)
-      {
-      ortskurve = new Ortskurve(new Vector2D(startpunkt[0], startpunkt[1]), startpunkt[2]);
-      }
-   
-   // Falls mehr als drei Messpunkte eingegeben worden sind, muss die Lösung durch eine nicht-lineare 
-   // Ausgleichsrechnung bestimmt werden.
-   else
-      {
-      Ausgleichsproblem ausgleichsproblem = new Ausgleichsproblem(messpunkte);
-      ortskurve = ausgleichsproblem.ausgleichsproblemLoesen(startpunkt, Ausgleichsproblemtyp.ORTSKURVE_3d);
-      }
-   
-   // Die berechnete Ortskurve wird protokolliert.
-   OrtskurveController.logger.info(ortskurve.toString());
-   
-   // Die berechnete Ortskurve wird zurückgegeben.
-   return ortskurve;
+   this.ergebniscache = ergebniscache;
    }
 
 // =====================================================================================================================
 // =====================================================================================================================
 
 /**
- * Diese Methode validiert die eingegebenen Messpunkte. Falls die eingegebenen Messpunkte nicht valide sind, wird eine
- * Ausnahme geworfen.
+ * Diese Methode gibt das Datenmodell der Ortskurvenberechnung zurück.
  * 
- * @param messpunkte Die Messpunkte
+ * @return Das Datenmodell der Ortskurvenberechnung
  */
-private void messpunkteValidieren(Vector2D[] messpunkte)
+public OrtskurveModell getOrtskurveModell()
    {
-   // Alle Messpunkte werden in ein HashSet eingefügt.
-   HashSet<Vector2D> messpunktSet = new HashSet<Vector2D>();
-   for (Vector2D messpunkt : messpunkte)
-      {
-      messpunktSet.add(messpunkt);
-      }
-   
-   // Falls die Anzahl der Punkte im HashSet kleiner ist als die Anzahl der eingegebenen Messpunkte, so wurden 
-   // Messpunkte doppelt eingegeben. 
-   if (messpunktSet.size() < messpunkte.length)
-      {
-      // Die Fehlermeldung für den Entwickler wird erzeugt und protokolliert.
-      String fehlermeldung = "Es wurden " + (messpunkte.length - messpunktSet.size()) + " Messpunkte doppelt " +
-         " eingegeben!";
-      OrtskurveController.logger.severe(fehlermeldung);
-      
-      // Die Zeichenkette für die Fehlermeldung wird deklariert.
-      String jsfMeldung = "";
-      
-      // Falls nur ein Messpunkt doppelt eingegeben worden ist, ...
-      if (messpunkte.length - messpunktSet.size() == 1)
-         {
-         // Die Zeichenkette für die Fehlermeldung wird festgelegt.
-         jsfMeldung = "Sie haben einen Messpunkt doppelt eingegeben! Entfernen Sie bitte den doppelt eingegebenen " +
-            "Messpunkt.";
-         }
-      
-      // Falls mehrere Messpunkte doppelt eingegeben worden sind, ...
-      else
-         {
-         // Die Zeichenkette für die Fehlermeldung wird festgelegt.
-         jsfMeldung = "Sie haben " +  (messpunkte.length - messpunktSet.size()) + " Messpunkte " +
-            "doppelt eingegeben! Entfernen Sie bitte die doppelt eingegebenen Messpunkte.";
-         }
-      
-      // Die Ausnahme wird erzeugt und geworfen.         
-      throw new ApplicationRuntimeException(jsfMeldung);
-      }
+   // Das Datenmodell der Ortskurvenberechnung wird zurückgegeben.
+   return this.ortskurveModell;
    }
 
 // =====================================================================================================================
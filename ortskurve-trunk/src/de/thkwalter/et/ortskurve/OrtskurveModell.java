@@ -17,11 +17,13 @@ package de.thkwalter.et.ortskurve;
 
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Map;
 
 import javax.annotation.PostConstruct;
+import javax.faces.application.FacesMessage;
 import javax.faces.bean.ManagedBean;
 import javax.faces.bean.ViewScoped;
+import javax.faces.context.FacesContext;
 
 import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
 
@@ -46,9 +48,15 @@ public class OrtskurveModell implements Serializable
 private static final long serialVersionUID = -401924956499809486L;
 
 /**
- * Dieses Feld enthält die Messpunkte.
+ * Die Messpunkte
  */
-private Vector2D[] messpunkte;
+private Messreihe messpunkte;
+
+/**
+ * Der Name der Datei, aus der die Messpunkte hochgeladen worden sind (<tt>null</tt>, falls die Messpunkte eingegeben
+ * worden sind)
+ */
+private String dateiname;
 
 /**
  * Die Ortskurve
@@ -60,6 +68,28 @@ private Ortskurve ortskurve;
  */
 private Ortskurve optimalerAusgleichskreis;
 
+/**
+ * Das ausgewählte Verfahren zur Lösung des Ausgleichsproblems oder <tt>null</tt>, falls das Standardverfahren 
+ * verwendet werden soll.
+ */
+private Loesungsverfahren loesungsverfahren;
+
+/**
+ * Die Kenngrößen der Lösung des Ausgleichsproblems
+ */
+private Loesungsstatistik loesungsstatistik;
+
+/**
+ * Die Ansicht der Messpunkte der letzten erfolgreichen Berechnung. Da an eine Messreihe nur angehängt werden kann, 
+ * bleibt die Ansicht gültig, ohne dass die Messpunkte kopiert werden müssen. Sie wird nicht serialisiert.
+ */
+private transient MessreiheAnsicht berechneteMesspunkte;
+
+/**
+ * Das Ergebnis der letzten erfolgreichen Berechnung
+ */
+private Ortskurvenergebnis ortskurvenergebnis;
+
 /**
  * Die Grafikdarstellung der Messpunkte
  */
@@ -101,6 +131,109 @@ public void init()
    {
    // Die Ortskurve wird zurückgesetzt
    this.ortskurve = null;
+   
+   // Eine hochgeladene Messreihe oder die Fehlermeldung des Hochladens wird aus der Sitzung übernommen.
+   FacesContext facesContext = FacesContext.getCurrentInstance();
+   if (facesContext != null)
+      {
+      this.hochgeladeneMessreiheUebernehmen(facesContext);
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode übernimmt die Messreihe, die vom {@link MessreiheUploadServlet} in der {@link Messreihenablage} 
+ * abgelegt worden ist; ihr Schlüssel steht in der Sitzung. Falls das Hochladen fehlgeschlagen ist oder die Messreihe 
+ * nicht mehr in der Ablage liegt, wird stattdessen eine Fehlermeldung auf der Oberfläche angezeigt. Die 
+ * Sitzungsattribute werden dabei entfernt.
+ * 
+ * @param facesContext Das Kontext-Objekt
+ */
+void hochgeladeneMessreiheUebernehmen(FacesContext facesContext)
+   {
+   Map<String, Object> sitzung = facesContext.getExternalContext().getSessionMap();
+   
+   String schluessel = (String) sitzung.remove(MessreiheUploadServlet.ATTRIBUT_SCHLUESSEL);
+   String hochgeladeneDatei = (String) sitzung.remove(MessreiheUploadServlet.ATTRIBUT_DATEINAME);
+   String jsfMeldung = (String) sitzung.remove(MessreiheUploadServlet.ATTRIBUT_FEHLERMELDUNG);
+   
+   // Die Messreihe wird der Ablage entnommen. Sie fehlt, falls sie abgelaufen ist oder die Anfrage von einer anderen 
+   // Instanz der Anwendung beantwortet wird.
+   Messreihe messreihe = null;
+   if (schluessel != null)
+      {
+      Messreihenablage messreihenablage = 
+         (Messreihenablage) facesContext.getExternalContext().getApplicationMap().get(Messreihenablage.NAME);
+      messreihe = messreihenablage == null ? null : messreihenablage.entnehmen(schluessel);
+      if (messreihe == null)
+         {
+         jsfMeldung = "Die hochgeladene Datei ist nicht mehr verfügbar! Laden Sie die Datei bitte erneut hoch.";
+         }
+      }
+   
+   if (messreihe != null)
+      {
+      this.messpunkte = messreihe;
+      this.dateiname = hochgeladeneDatei == null ? "" : hochgeladeneDatei;
+      }
+   if (jsfMeldung != null)
+      {
+      facesContext.addMessage(null, new FacesMessage(FacesMessage.SEVERITY_ERROR, jsfMeldung, ""));
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode verwirft die hochgeladene Messreihe, so dass die Messpunkte wieder eingegeben werden können.
+ */
+public void hochgeladeneMessreiheVerwerfen()
+   {
+   this.messpunkte = null;
+   this.dateiname = null;
+   this.ortskurve = null;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt zurück, ob die Messpunkte aus einer Datei hochgeladen worden sind.
+ * 
+ * @return <tt>true</tt>, falls die Messpunkte aus einer Datei hochgeladen worden sind.
+ */
+public boolean isMessreiheHochgeladen()
+   {
+   return this.dateiname != null;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt den Namen der Datei zurück, aus der die Messpunkte hochgeladen worden sind.
+ * 
+ * @return Der Name der Datei (<tt>null</tt>, falls die Messpunkte eingegeben worden sind)
+ */
+public String getDateiname()
+   {
+   return this.dateiname;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Anzahl der Messpunkte zurück.
+ * 
+ * @return Die Anzahl der Messpunkte
+ */
+public int getAnzahlMesspunkte()
+   {
+   return this.messpunkte == null ? 0 : this.messpunkte.getAnzahl();
    }
 
 // =====================================================================================================================
@@ -135,9 +268,43 @@ public void grafikdatenBerechnen()
       {
       this.optimalerAusgleichskreisGrafik = new OrtskurveGrafik(this.optimalerAusgleichskreis, punktPixelKonverter);
       }
+   else
+      {
+      this.optimalerAusgleichskreisGrafik = null;
+      }
    
    // Die Grafikdarstellung der Messpunkte wird berechnet.
-   this.messpunkteGrafik = new MesspunkteGrafik(this.messpunkte, punktPixelKonverter);
+   this.messpunkteGrafik = new MesspunkteGrafik(this.getMesspunkte(), punktPixelKonverter);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die berechneten Daten der Grafik der Ortskurve zusammengefasst zurück.
+ * 
+ * @return Die Daten der Grafik der Ortskurve
+ */
+public Grafikdaten getGrafikdaten()
+   {
+   return new Grafikdaten(this.messpunkteGrafik, this.ortskurveGrafik, this.optimalerAusgleichskreisGrafik, 
+      this.koordinatenachsen);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode übernimmt bereits berechnete Daten der Grafik der Ortskurve (z. B. aus dem {@link Ergebniscache}).
+ * 
+ * @param grafikdaten Die Daten der Grafik der Ortskurve
+ */
+public void setGrafikdaten(Grafikdaten grafikdaten)
+   {
+   this.messpunkteGrafik = grafikdaten.getMesspunkteGrafik();
+   this.ortskurveGrafik = grafikdaten.getOrtskurveGrafik();
+   this.optimalerAusgleichskreisGrafik = grafikdaten.getOptimalerAusgleichskreisGrafik();
+   this.koordinatenachsen = grafikdaten.getKoordinatenachsen();
    }
 
 // =====================================================================================================================
@@ -154,9 +321,10 @@ private Vector2D[] randpunkteZusammenstellen()
    ArrayList<Vector2D> randpunkte = new ArrayList<Vector2D>();
    
    // Die Messpunkte werden in das Feld der Randpunkte kopiert.
-   for (int i = 0; i < this.messpunkte.length; i++)
+   MessreiheAnsicht messreihe = this.messpunkte.getAnsicht();
+   for (int i = 0; i < messreihe.getAnzahl(); i++)
       {
-      randpunkte.add(this.messpunkte[i]);
+      randpunkte.add(messreihe.getMesspunkt(i));
       }
    
    // Die Randpunkte der Ortskurve werden hinzugefügt.
@@ -298,7 +466,7 @@ public String toString()
    // Die Zeichenkette, welche die Messpunkte repräsentiert, wird hinzugefügt. 
    if (this.messpunkte != null)
       {
-      builder.append("messpunkte=").append(Arrays.toString(this.messpunkte)).append(", ");
+      builder.append("messpunkte=").append(this.messpunkte).append(", ");
       }
       
    // Die Zeichenkette, welche die Ortskurve repräsentiert, wird hinzugefügt. 
@@ -313,6 +481,12 @@ public String toString()
       builder.append("optimaler Ausgleichskreis=").append(this.optimalerAusgleichskreis).append(", ");
       }
       
+   // Die Zeichenkette, welche die Kenngrößen der Lösung repräsentiert, wird hinzugefügt. 
+   if (this.loesungsstatistik != null)
+      {
+      builder.append("loesungsstatistik=").append(this.loesungsstatistik).append(", ");
+      }
+      
    // Die Zeichenkette, welche die Grafikdarstellung der Messpunkte repräsentiert, wird hinzugefügt. 
    if (this.messpunkteGrafik != null)
       {
@@ -355,8 +529,9 @@ public String toString()
  */
 public void setMesspunkte(Vector2D[] messpunkte)
    {      
-   // Die Messpunkte werden gespeichert.
-   this.messpunkte = messpunkte;
+   // Die Messpunkte werden in einer Messreihe gespeichert.
+   this.messpunkte = messpunkte == null ? null : new Messreihe(messpunkte);
+   this.dateiname = null;
    }
 
 // =====================================================================================================================
@@ -369,13 +544,55 @@ public void setMesspunkte(Vector2D[] messpunkte)
  */
 public Vector2D[] getMesspunkte()
    {
-   // Die Messpunkte werden zurückgegeben.
+   // Die Messpunkte werden als Feld von Vector2D-Objekten zurückgegeben.
+   return this.messpunkte == null ? null : this.messpunkte.getAnsicht().toVector2D();
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Messreihe zurück, die auf der Oberfläche eingegeben worden ist.
+ * 
+ * @return Die Messreihe
+ */
+public Messreihe getMesspunkteEingabe()
+   {
    return this.messpunkte;
    }
 
 // =====================================================================================================================
 // =====================================================================================================================
 
+/**
+ * Diese Methode speichert die Messreihe, die auf der Oberfläche eingegeben worden ist. Die Messreihe wird nicht 
+ * kopiert.
+ * 
+ * @param messreihe Die Messreihe
+ */
+public void setMesspunkteEingabe(Messreihe messreihe)
+   {
+   this.messpunkte = messreihe;
+   this.dateiname = null;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt eine nur lesbare Ansicht der Messpunkte zurück, auf der die Berechnungen arbeiten.
+ * 
+ * @return Die Ansicht der Messpunkte
+ */
+public MessreiheAnsicht getMessreihe()
+   {
+   // Die Ansicht der Messpunkte wird zurückgegeben.
+   return this.messpunkte == null ? null : this.messpunkte.getAnsicht();
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
 /**
  * Diese Methode gibt den optimalen Ausgeleichskreis zurück.
  * 
@@ -404,6 +621,63 @@ public void setOptimalerAusgleichskreis(Ortskurve optimalerAusgleichskreis)
 // =====================================================================================================================
 // =====================================================================================================================
 
+/**
+ * Diese Methode gibt das ausgewählte Verfahren zur Lösung des Ausgleichsproblems zurück.
+ * 
+ * @return Das ausgewählte Lösungsverfahren oder <tt>null</tt>, falls das Standardverfahren verwendet werden soll.
+ */
+public Loesungsverfahren getLoesungsverfahren()
+   {
+   // Das ausgewählte Lösungsverfahren wird zurückgegeben.
+   return this.loesungsverfahren;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode speichert das ausgewählte Verfahren zur Lösung des Ausgleichsproblems in diesem Objekt.
+ * 
+ * @param loesungsverfahren Das ausgewählte Lösungsverfahren oder <tt>null</tt>, falls das Standardverfahren verwendet
+ *        werden soll.
+ */
+public void setLoesungsverfahren(Loesungsverfahren loesungsverfahren)
+   {
+   // Das ausgewählte Lösungsverfahren wird in diesem Objekt gespeichert.
+   this.loesungsverfahren = loesungsverfahren;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Kenngrößen der Lösung des Ausgleichsproblems zurück.
+ * 
+ * @return Die Kenngrößen der Lösung oder <tt>null</tt>, falls kein Ausgleichsproblem gelöst worden ist.
+ */
+public Loesungsstatistik getLoesungsstatistik()
+   {
+   // Die Kenngrößen der Lösung werden zurückgegeben.
+   return this.loesungsstatistik;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode speichert die Kenngrößen der Lösung des Ausgleichsproblems in diesem Objekt.
+ * 
+ * @param loesungsstatistik Die Kenngrößen der Lösung
+ */
+public void setLoesungsstatistik(Loesungsstatistik loesungsstatistik)
+   {
+   // Die Kenngrößen der Lösung werden in diesem Objekt gespeichert.
+   this.loesungsstatistik = loesungsstatistik;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
 /**
  * Diese Methode stellt die Randpunkte einer Ortskurve zusammen.
  * 
@@ -436,4 +710,46 @@ private ArrayList<Vector2D> randpunkteOrtskurveZusammenstellen(Ortskurve ortskur
    // Die Randpunkte der Ortskurve werden zurückgegeben.
    return randpunkte;
    }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode speichert die Messpunkte und das Ergebnis der letzten erfolgreichen Berechnung. Sie dienen als 
+ * Warmstart der nächsten Berechnung.
+ * 
+ * @param berechneteMesspunkte Die Messpunkte der letzten erfolgreichen Berechnung
+ * @param ortskurvenergebnis Das Ergebnis der letzten erfolgreichen Berechnung
+ */
+public void setLetzteBerechnung(MessreiheAnsicht berechneteMesspunkte, Ortskurvenergebnis ortskurvenergebnis)
+   {
+   this.berechneteMesspunkte = berechneteMesspunkte;
+   this.ortskurvenergebnis = ortskurvenergebnis;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Messpunkte der letzten erfolgreichen Berechnung zurück.
+ * 
+ * @return Die Messpunkte der letzten erfolgreichen Berechnung oder <tt>null</tt>
+ */
+public MessreiheAnsicht getBerechneteMesspunkte()
+   {
+   return this.berechneteMesspunkte;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt das Ergebnis der letzten erfolgreichen Berechnung zurück.
+ * 
+ * @return Das Ergebnis der letzten erfolgreichen Berechnung oder <tt>null</tt>
+ */
+public Ortskurvenergebnis getOrtskurvenergebnis()
+   {
+   return this.ortskurvenergebnis;
+   }
 }
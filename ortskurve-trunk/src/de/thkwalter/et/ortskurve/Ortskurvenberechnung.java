@@ -0,0 +1,567 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import java.util.concurrent.ExecutorService;
+import java.util.logging.Logger;
+
+import org.apache.commons.math3.exception.MathIllegalStateException;
+import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+
+import de.thkwalter.jsf.ApplicationRuntimeException;
+
+/**
+ * Diese Klasse berechnet die Ortskurve einer Messreihe unabhängig von der Oberfläche: Die Messpunkte werden validiert,
+ * der Startpunkt wird bestimmt und das 3d-Ausgleichsproblem gelöst. Falls der Mittelpunkt des optimalen 
+ * Ausgleichskreises einen negativen Realteil besitzt, wird zusätzlich das 2d-Ausgleichsproblem gelöst.
+ * 
+ * Optional kann ein Zeitbudget je Berechnung gesetzt werden (siehe {@link #setZeitbudget(long)}). Ist es erschöpft, 
+ * bevor die Ausgleichsprobleme gelöst sind, so enthält das Ergebnis die beste bis dahin gefundene Ortskurve und ist 
+ * als nicht konvergiert gekennzeichnet (siehe {@link Ortskurvenergebnis#isKonvergiert()}).
+ * 
+ * Bei der Validierung werden doppelte Messpunkte erkannt. Mit einer Duplikattoleranz (siehe 
+ * {@link #setDuplikattoleranz(double)}) werden auch nahezu gleiche Messpunkte erkannt, die das Ausgleichsproblem 
+ * schlecht konditionieren. Die Duplikate werden entweder als Fehler gemeldet oder zusammengefasst (siehe
+ * {@link #setDuplikateZusammenfassen(boolean)}).
+ * 
+ * Mit {@link #messpunktePruefen(MessreiheAnsicht)} können alle Fehler einer Messreihe gesammelt werden, ohne dass eine 
+ * Ausnahme geworfen wird. Die Fehler in den Eingaben werden auch auf dem Weg über die Oberfläche nur als 
+ * {@link Validierungsausnahme} ohne Stacktrace gemeldet.
+ * 
+ * Alle Objekte der Berechnung werden bei jedem Aufruf neu erzeugt. Ein Objekt dieser Klasse kann daher von mehreren 
+ * Threads gleichzeitig verwendet werden.
+ *
+ * @author Th. K. Walter
+ * @version 1.0
+ */
+public class Ortskurvenberechnung
+{
+/*
+ * Der Logger dieser Klasse.
+ */
+private static Logger logger = Logger.getLogger(Ortskurvenberechnung.class.getName());
+
+/**
+ * Das Verfahren, mit dem die Ausgleichsprobleme gelöst werden, oder <tt>null</tt> für das Standardverfahren
+ */
+private Loesungsverfahren loesungsverfahren;
+
+/**
+ * Das Zeitbudget jeder Berechnung (in ms) oder {@link Long#MAX_VALUE}, falls die Berechnungen nicht befristet sind
+ */
+private long zeitbudget = Long.MAX_VALUE;
+
+/**
+ * Der Abstand, bis zu dem zwei Messpunkte als gleich gelten, relativ zur größten Ausdehnung der Messreihe
+ */
+private double duplikattoleranz = 0.0;
+
+/**
+ * <tt>true</tt>, falls doppelte Messpunkte zusammengefasst werden sollen; <tt>false</tt>, falls sie als Fehler 
+ * gemeldet werden sollen
+ */
+private boolean duplikateZusammenfassen = false;
+
+/**
+ * Der Executor, auf dem die Teilaufgaben der Ausgleichsprobleme berechnet werden
+ */
+private ExecutorService executor = SequentiellerExecutor.INSTANZ;
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor initialisiert das Lösungsverfahren.
+ * 
+ * @param loesungsverfahren Das Verfahren, mit dem die Ausgleichsprobleme gelöst werden, oder <tt>null</tt>, falls das
+ *        Standardverfahren für den Typ des Ausgleichsproblems verwendet werden soll.
+ */
+public Ortskurvenberechnung(Loesungsverfahren loesungsverfahren)
+   {
+   this.loesungsverfahren = loesungsverfahren;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode berechnet die Ortskurve der Messreihe.
+ * 
+ * @param messpunkte Die Messpunkte
+ * 
+ * @return Das Ergebnis der Berechnung
+ * 
+ * @throws ApplicationRuntimeException Falls die Messpunkte nicht valide sind oder die Ortskurve nicht berechnet 
+ *         werden kann.
+ */
+public Ortskurvenergebnis ortskurveBerechnen(MessreiheAnsicht messpunkte)
+   {
+   return this.ortskurveBerechnen(messpunkte, null, null);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode berechnet die Ortskurve der Messreihe. Falls sich die Messreihe nur wenig von einer bereits 
+ * berechneten Messreihe unterscheidet (einige Messpunkte hinzugefügt, entfernt oder geändert), beginnen die 
+ * Ausgleichsrechnungen bei den Kreisparametern der vorherigen Lösung (Warmstart). Scheitert der Warmstart, wird die 
+ * Ortskurve wie ohne vorherige Lösung berechnet.
+ * 
+ * @param messpunkte Die Messpunkte
+ * @param vorherigeMesspunkte Die Messpunkte der vorherigen Berechnung oder <tt>null</tt>
+ * @param vorherigesErgebnis Das Ergebnis der vorherigen Berechnung oder <tt>null</tt>
+ * 
+ * @return Das Ergebnis der Berechnung
+ * 
+ * @throws ApplicationRuntimeException Falls die Messpunkte nicht valide sind oder die Ortskurve nicht berechnet 
+ *         werden kann.
+ */
+public Ortskurvenergebnis ortskurveBerechnen(MessreiheAnsicht messpunkte, MessreiheAnsicht vorherigeMesspunkte, 
+   Ortskurvenergebnis vorherigesErgebnis)
+   {
+   // Die eingegebenen Messpunkte werden validiert. Alle gefundenen Fehler werden gemeinsam gemeldet.
+   Validierungsergebnis validierungsergebnis = this.messpunktePruefen(messpunkte);
+   if (!validierungsergebnis.isValide())
+      {
+      throw new Validierungsausnahme(validierungsergebnis);
+      }
+   
+   return this.ortskurveBerechnen(validierungsergebnis, vorherigeMesspunkte, vorherigesErgebnis);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode prüft die Messpunkte, ohne eine Ausnahme zu werfen. Es werden alle Fehler gesammelt, welche die 
+ * Berechnung der Ortskurve verhindern, soweit sie vor der Lösung des Ausgleichsproblems erkannt werden können: zu 
+ * wenige Messpunkte, doppelte Messpunkte, eine singuläre Matrix bei der Startpunktbestimmung und Messpunkte in der 
+ * Nähe des Mittelpunkts des Startkreises.
+ * 
+ * @param messpunkte Die Messpunkte
+ * 
+ * @return Das Validierungsergebnis
+ */
+public Validierungsergebnis messpunktePruefen(MessreiheAnsicht messpunkte)
+   {
+   Validierungsergebnis validierungsergebnis = new Validierungsergebnis();
+   
+   // Die doppelten Messpunkte werden gesucht. Falls Duplikate zusammengefasst werden, wird mit den verbliebenen 
+   // Messpunkten weitergerechnet.
+   if (messpunkte != null)
+      {
+      messpunkte = Ortskurvenberechnung.messpunkteValidieren(messpunkte, this.duplikattoleranz, 
+         this.duplikateZusammenfassen, validierungsergebnis);
+      }
+   validierungsergebnis.setMesspunkte(messpunkte);
+   
+   // Der Startpunkt wird bestimmt. Dabei werden zu wenige Messpunkte und eine singuläre Matrix erkannt.
+   double[] startpunkt = Startpunktbestimmung.startpunktBerechnen(messpunkte, validierungsergebnis);
+   validierungsergebnis.setStartpunkt(startpunkt);
+   
+   // Es wird geprüft, ob Messpunkte fast mit dem Mittelpunkt des Startkreises identisch sind. Bei drei Messpunkten 
+   // liegen alle Messpunkte auf dem Startkreis; die robusten Verfahren und der Mehrfachstart behandeln solche 
+   // Messpunkte selbst.
+   if (startpunkt != null && messpunkte.getAnzahl() > 3 && this.loesungsverfahren != Loesungsverfahren.ROBUST_HUBER && 
+      this.loesungsverfahren != Loesungsverfahren.ROBUST_TUKEY && 
+      this.loesungsverfahren != Loesungsverfahren.MEHRFACHSTART)
+      {
+      Ortskurve startkreis = new Ortskurve(new Vector2D(startpunkt[0], startpunkt[1]), startpunkt[2]);
+      int[] indizes = Mittelpunktpruefung.messpunkteNaheMittelpunkt(messpunkte, null, startkreis);
+      if (indizes.length > 0)
+         {
+         validierungsergebnis.fehlerHinzufuegen(Fehlercode.MESSPUNKTE_NAHE_MITTELPUNKT, 
+            Mittelpunktpruefung.meldungErzeugen(messpunkte, indizes, startkreis));
+         }
+      }
+   
+   return validierungsergebnis;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode berechnet die Ortskurve einer bereits validierten Messreihe.
+ * 
+ * @param validierungsergebnis Das Validierungsergebnis der Messreihe ohne Fehler
+ * @param vorherigeMesspunkte Die Messpunkte der vorherigen Berechnung oder <tt>null</tt>
+ * @param vorherigesErgebnis Das Ergebnis der vorherigen Berechnung oder <tt>null</tt>
+ * 
+ * @return Das Ergebnis der Berechnung
+ * 
+ * @throws ApplicationRuntimeException Falls die Ortskurve nicht berechnet werden kann.
+ */
+Ortskurvenergebnis ortskurveBerechnen(Validierungsergebnis validierungsergebnis, 
+   MessreiheAnsicht vorherigeMesspunkte, Ortskurvenergebnis vorherigesErgebnis)
+   {
+   // Die Frist der Berechnung wird aus dem Zeitbudget bestimmt. Sie gilt für alle Ausgleichsprobleme gemeinsam.
+   long frist = this.zeitbudget == Long.MAX_VALUE ? Long.MAX_VALUE : System.currentTimeMillis() + this.zeitbudget;
+   
+   // Die validierten Messpunkte werden gelesen.
+   MessreiheAnsicht messpunkte = validierungsergebnis.getMesspunkte();
+   
+   // Falls mehr als drei Messpunkte eingegeben worden sind und sich die Messreihe nur wenig von der vorherigen 
+   // unterscheidet, wird ein Warmstart versucht.
+   if (messpunkte.getAnzahl() > 3 && vorherigesErgebnis != null && vorherigesErgebnis.isErfolgreich() && 
+      vorherigeMesspunkte != null && Ortskurvenberechnung.kleineAenderung(messpunkte, vorherigeMesspunkte))
+      {
+      // Die Startpunkte werden aus der vorherigen Lösung übernommen. Falls die vorherige Lösung ein 2d-Ausgleichs-
+      // problem enthielt, ist der optimale Ausgleichskreis die Lösung des 3d-Ausgleichsproblems.
+      Ortskurve kreis3d = vorherigesErgebnis.getOptimalerAusgleichskreis() != null ? 
+         vorherigesErgebnis.getOptimalerAusgleichskreis() : vorherigesErgebnis.getOrtskurve();
+      double[] startpunkt = new double[]{kreis3d.getMittelpunktOrtskurve().getX(), 
+         kreis3d.getMittelpunktOrtskurve().getY(), kreis3d.getRadiusOrtskurve()};
+      double[] startpunkt2d = vorherigesErgebnis.getOptimalerAusgleichskreis() == null ? null : 
+         new double[]{vorherigesErgebnis.getOrtskurve().getMittelpunktOrtskurve().getX(), 
+         vorherigesErgebnis.getOrtskurve().getRadiusOrtskurve()};
+      
+      try
+         {
+         Ortskurvenergebnis ortskurvenergebnis = this.ausgleichsproblemeLoesen(messpunkte, startpunkt, startpunkt2d, 
+            frist);
+         Ortskurvenberechnung.logger.info("Die Ortskurve ist mit einem Warmstart berechnet worden.");
+         return ortskurvenergebnis;
+         }
+      
+      // Falls der Warmstart scheitert, wird die Ortskurve ohne vorherige Lösung berechnet.
+      catch (ApplicationRuntimeException e)
+         {
+         Ortskurvenberechnung.logger.warning("Der Warmstart ist gescheitert: " + e.getMessage());
+         }
+      catch (MathIllegalStateException e)
+         {
+         Ortskurvenberechnung.logger.warning("Der Warmstart ist gescheitert: " + e.getMessage());
+         }
+      }
+   
+   // Die Startparameter sind bei der Validierung bestimmt worden.
+   double[] startpunkt = validierungsergebnis.getStartpunkt();
+   
+   // Falls nur drei Messpunkte eingegeben worden sind, entspricht der Startpunkt der Lösung.
+   if (messpunkte.getAnzahl() == 3)
+      {
+      Ortskurve ortskurve = new Ortskurve(new Vector2D(startpunkt[0], startpunkt[1]), startpunkt[2]);
+      Ortskurvenberechnung.logger.info(ortskurve.toString());
+      return ortskurve.getMittelpunktOrtskurve().getY() < 0 ? 
+         this.ausgleichsproblem2dLoesen(messpunkte, ortskurve, null, frist) : 
+         new Ortskurvenergebnis(ortskurve, null, null);
+      }
+   
+   return this.ausgleichsproblemeLoesen(messpunkte, startpunkt, null, frist);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode löst das 3d-Ausgleichsproblem und, falls der Mittelpunkt einen negativen Realteil besitzt, das 
+ * 2d-Ausgleichsproblem.
+ * 
+ * @param messpunkte Die Messpunkte
+ * @param startpunkt Der Startpunkt des 3d-Ausgleichsproblems
+ * @param startpunkt2d Der Startpunkt des 2d-Ausgleichsproblems oder <tt>null</tt>, falls er aus den Messpunkten 
+ *        berechnet werden soll.
+ * @param frist Die Frist (in Millisekunden seit dem 1.1.1970) oder {@link Long#MAX_VALUE}
+ * 
+ * @return Das Ergebnis der Berechnung
+ */
+private Ortskurvenergebnis ausgleichsproblemeLoesen(MessreiheAnsicht messpunkte, double[] startpunkt, 
+   double[] startpunkt2d, long frist)
+   {
+   // Die Lösung wird durch eine nicht-lineare Ausgleichsrechnung bestimmt.
+   Ausgleichsproblem ausgleichsproblem = new Ausgleichsproblem(messpunkte);
+   ausgleichsproblem.setFrist(frist);
+   ausgleichsproblem.setExecutor(this.executor);
+   Ortskurve ortskurve = ausgleichsproblem.ausgleichsproblemLoesen(startpunkt, Ausgleichsproblemtyp.ORTSKURVE_3d, 
+      this.loesungsverfahren);
+   
+   // Die berechnete Ortskurve wird protokolliert.
+   Ortskurvenberechnung.logger.info(ortskurve.toString());
+   
+   // Falls der Mittelpunkt einen negativen Realteil besitzt, wird das Ausgleichsproblem noch einmal unter der Rand-
+   // bedingung gelöst, dass der Mittelpunkt auf der imaginären Achse liegt.
+   if (ortskurve.getMittelpunktOrtskurve().getY() < 0)
+      {
+      return this.ausgleichsproblem2dLoesen(messpunkte, ortskurve, startpunkt2d, frist);
+      }
+   
+   // Die Ortskurve wird zurückgegeben.
+   return new Ortskurvenergebnis(ortskurve, null, ausgleichsproblem.getLoesungsstatistik());
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode löst das 2d-Ausgleichsproblem, bei dem der Mittelpunkt auf der imaginären Achse liegt.
+ * 
+ * @param messpunkte Die Messpunkte
+ * @param ortskurve Der optimale Ausgleichskreis mit negativem Realteil
+ * @param startpunkt2d Der Startpunkt des 2d-Ausgleichsproblems oder <tt>null</tt>, falls er aus den Messpunkten 
+ *        berechnet werden soll.
+ * @param frist Die Frist (in Millisekunden seit dem 1.1.1970) oder {@link Long#MAX_VALUE}
+ * 
+ * @return Das Ergebnis der Berechnung
+ */
+private Ortskurvenergebnis ausgleichsproblem2dLoesen(MessreiheAnsicht messpunkte, Ortskurve ortskurve, 
+   double[] startpunkt2d, long frist)
+   {
+   // Der Startpunkt für die Lösung des 2d-Ausgleichsproblems wird geschlossen aus allen Messpunkten berechnet. Er 
+   // liegt meist schon sehr nahe an der Lösung. Falls er nicht existiert, wird der Mittelpunkt der Ortskurve auf die
+   // x-Achse projiziert.
+   if (startpunkt2d == null)
+      {
+      startpunkt2d = Kreismomente.berechnen(messpunkte).kreis2dBerechnen();
+      }
+   if (startpunkt2d == null)
+      {
+      startpunkt2d = new double[]{ortskurve.getMittelpunktOrtskurve().getX(), ortskurve.getRadiusOrtskurve()};
+      }
+   
+   // Das 2d-Ausgleichsproblem wird gelöst.
+   Ausgleichsproblem ausgleichsproblem = new Ausgleichsproblem(messpunkte);
+   ausgleichsproblem.setFrist(frist);
+   ausgleichsproblem.setExecutor(this.executor);
+   Ortskurve ortskurve2d = ausgleichsproblem.ausgleichsproblemLoesen(startpunkt2d, 
+      Ausgleichsproblemtyp.ORTSKURVE_2d, this.loesungsverfahren);
+   
+   // Die berechnete Ortskurve wird protokolliert.
+   Ortskurvenberechnung.logger.info(ortskurve2d.toString());
+   
+   // Der optimale Ausgleichskreis mit negativem Realteil und die Ortskurve mit Mittelpunkt auf der Imaginärachse 
+   // werden zurückgegeben.
+   return new Ortskurvenergebnis(ortskurve2d, ortskurve, ausgleichsproblem.getLoesungsstatistik());
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode legt das Zeitbudget jeder Berechnung fest.
+ * 
+ * @param zeitbudget Die Zeit (in ms), die für eine Berechnung höchstens zur Verfügung steht, oder 
+ *        {@link Long#MAX_VALUE}, falls die Berechnungen nicht befristet sind.
+ */
+public void setZeitbudget(long zeitbudget)
+   {
+   this.zeitbudget = zeitbudget;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode legt die Toleranz fest, bis zu der zwei Messpunkte als gleich gelten.
+ * 
+ * @param duplikattoleranz Der Abstand relativ zur größten Ausdehnung der Messreihe (z. B. 1E-9) oder 0, falls nur 
+ *        exakt gleiche Messpunkte als Duplikate gelten sollen.
+ */
+public void setDuplikattoleranz(double duplikattoleranz)
+   {
+   this.duplikattoleranz = duplikattoleranz;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode legt fest, ob doppelte Messpunkte zusammengefasst oder als Fehler gemeldet werden.
+ * 
+ * @param duplikateZusammenfassen <tt>true</tt>, falls von mehreren gleichen Messpunkten nur der erste verwendet 
+ *        werden soll; <tt>false</tt>, falls doppelte Messpunkte als Fehler gemeldet werden sollen.
+ */
+public void setDuplikateZusammenfassen(boolean duplikateZusammenfassen)
+   {
+   this.duplikateZusammenfassen = duplikateZusammenfassen;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode legt den Executor fest, auf dem die Teilaufgaben der Ausgleichsprobleme berechnet werden. Ohne Angabe
+ * werden sie im aufrufenden Thread berechnet (siehe {@link SequentiellerExecutor}). Auf der Google App Engine muss 
+ * ein übergebener Executor seine Threads mit der ThreadFactory der aktuellen Anfrage erzeugen.
+ * 
+ * @param executor Der Executor, auf dem die Teilaufgaben berechnet werden
+ */
+public void setExecutor(ExecutorService executor)
+   {
+   this.executor = executor;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode prüft, ob sich die Messreihe nur wenig von der vorherigen Messreihe unterscheidet. Dies ist der Fall,
+ * wenn höchstens ein Viertel der Messpunkte (mindestens aber ein Messpunkt) hinzugefügt, entfernt oder geändert worden
+ * ist und mindestens drei Messpunkte unverändert geblieben sind. Die Messpunkte werden über die Bitmuster ihrer 
+ * Komponenten verglichen (siehe {@link Duplikatpruefung}), so dass pro Messpunkt kein Objekt erzeugt wird.
+ * 
+ * @param messpunkte Die Messpunkte
+ * @param vorherigeMesspunkte Die Messpunkte der vorherigen Berechnung
+ * 
+ * @return <tt>true</tt>, falls sich die Messreihe nur wenig unterscheidet; <tt>false</tt> sonst.
+ */
+static boolean kleineAenderung(MessreiheAnsicht messpunkte, MessreiheAnsicht vorherigeMesspunkte)
+   {
+   // Die Messpunkte, die in beiden Messreihen enthalten sind, werden gezählt.
+   Duplikatpruefung vorherigeDuplikatpruefung = Duplikatpruefung.pruefen(vorherigeMesspunkte, 0.0);
+   int anzahlGemeinsam = 0;
+   for (int i = 0; i < messpunkte.getAnzahl(); i++)
+      {
+      if (vorherigeDuplikatpruefung.enthaelt(messpunkte.getX(i), messpunkte.getY(i)))
+         {
+         anzahlGemeinsam++;
+         }
+      }
+   
+   // Ein geänderter Messpunkt zählt wie ein hinzugefügter oder entfernter Messpunkt als eine Änderung.
+   int maxAnzahl = Math.max(messpunkte.getAnzahl(), vorherigeMesspunkte.getAnzahl());
+   int anzahlAenderungen = maxAnzahl - anzahlGemeinsam;
+   return anzahlGemeinsam >= 3 && anzahlAenderungen <= Math.max(1, maxAnzahl / 4);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode validiert die eingegebenen Messpunkte. Falls Messpunkte doppelt eingegeben worden sind, wird eine 
+ * Ausnahme geworfen.
+ * 
+ * @param messpunkte Die Messpunkte
+ */
+static void messpunkteValidieren(MessreiheAnsicht messpunkte)
+   {
+   Ortskurvenberechnung.messpunkteValidieren(messpunkte, 0.0, false);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode validiert die eingegebenen Messpunkte. Zwei Messpunkte gelten als gleich, falls ihr Abstand höchstens
+ * die Duplikattoleranz multipliziert mit der größten Ausdehnung der Messreihe ist. Falls Messpunkte doppelt 
+ * eingegeben worden sind, wird eine Ausnahme geworfen, oder die Duplikate werden entfernt.
+ * 
+ * @param messpunkte Die Messpunkte
+ * @param duplikattoleranz Die Duplikattoleranz relativ zur größten Ausdehnung der Messreihe
+ * @param duplikateZusammenfassen <tt>true</tt>, falls Duplikate entfernt werden sollen; <tt>false</tt>, falls eine
+ *        Ausnahme geworfen werden soll
+ * 
+ * @return Die Messpunkte ohne Duplikate
+ */
+static MessreiheAnsicht messpunkteValidieren(MessreiheAnsicht messpunkte, double duplikattoleranz, 
+   boolean duplikateZusammenfassen)
+   {
+   Validierungsergebnis validierungsergebnis = new Validierungsergebnis();
+   MessreiheAnsicht validierteMesspunkte = Ortskurvenberechnung.messpunkteValidieren(messpunkte, duplikattoleranz, 
+      duplikateZusammenfassen, validierungsergebnis);
+   if (!validierungsergebnis.isValide())
+      {
+      throw new Validierungsausnahme(validierungsergebnis);
+      }
+   return validierteMesspunkte;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode validiert die eingegebenen Messpunkte wie 
+ * {@link #messpunkteValidieren(MessreiheAnsicht, double, boolean)}. Doppelte Messpunkte werden im Validierungsergebnis 
+ * vermerkt, statt eine Ausnahme zu werfen.
+ * 
+ * @param messpunkte Die Messpunkte
+ * @param duplikattoleranz Die Duplikattoleranz relativ zur größten Ausdehnung der Messreihe
+ * @param duplikateZusammenfassen <tt>true</tt>, falls Duplikate entfernt werden sollen; <tt>false</tt>, falls sie 
+ *        als Fehler vermerkt werden sollen
+ * @param validierungsergebnis Das Validierungsergebnis, in dem die Fehler vermerkt werden
+ * 
+ * @return Die Messpunkte ohne zusammengefasste Duplikate
+ */
+static MessreiheAnsicht messpunkteValidieren(MessreiheAnsicht messpunkte, double duplikattoleranz, 
+   boolean duplikateZusammenfassen, Validierungsergebnis validierungsergebnis)
+   {
+   // Die absolute Toleranz wird aus der Ausdehnung der Messreihe bestimmt.
+   double toleranz = 0.0;
+   if (duplikattoleranz > 0.0 && messpunkte.getAnzahl() > 0)
+      {
+      double minX = messpunkte.getX(0);
+      double maxX = minX;
+      double minY = messpunkte.getY(0);
+      double maxY = minY;
+      for (int i = 1; i < messpunkte.getAnzahl(); i++)
+         {
+         minX = Math.min(minX, messpunkte.getX(i));
+         maxX = Math.max(maxX, messpunkte.getX(i));
+         minY = Math.min(minY, messpunkte.getY(i));
+         maxY = Math.max(maxY, messpunkte.getY(i));
+         }
+      double ausdehnung = Math.max(maxX - minX, maxY - minY);
+      toleranz = ausdehnung > 0.0 && !Double.isInfinite(ausdehnung) ? duplikattoleranz * ausdehnung : 0.0;
+      }
+   
+   // Alle Messpunkte werden auf Duplikate geprüft.
+   Duplikatpruefung duplikatpruefung = Duplikatpruefung.pruefen(messpunkte, toleranz);
+   int anzahlDuplikate = duplikatpruefung.getAnzahlDuplikate();
+   
+   // Falls keine Messpunkte doppelt eingegeben worden sind, werden die Messpunkte unverändert zurückgegeben.
+   if (anzahlDuplikate == 0)
+      {
+      return messpunkte;
+      }
+   
+   // Falls die Duplikate zusammengefasst werden sollen und danach noch genügend Messpunkte übrig sind, werden die 
+   // verbliebenen Messpunkte zurückgegeben.
+   if (duplikateZusammenfassen && messpunkte.getAnzahl() - anzahlDuplikate >= 3)
+      {
+      Ortskurvenberechnung.logger.info("Es wurden " + anzahlDuplikate + " doppelte Messpunkte zusammengefasst.");
+      return duplikatpruefung.getMesspunkte();
+      }
+   
+   // Die Fehlermeldung für den Entwickler wird erzeugt und protokolliert.
+   String fehlermeldung = "Es wurden " + anzahlDuplikate + " Messpunkte doppelt eingegeben (Toleranz: " + toleranz + 
+      ")!";
+   Ortskurvenberechnung.logger.severe(fehlermeldung);
+   
+   // Die Zeichenkette für die Fehlermeldung wird deklariert.
+   String jsfMeldung = "";
+   
+   // Falls nur ein Messpunkt doppelt eingegeben worden ist, ...
+   if (anzahlDuplikate == 1)
+      {
+      // Die Zeichenkette für die Fehlermeldung wird festgelegt.
+      jsfMeldung = "Sie haben einen Messpunkt doppelt eingegeben! Entfernen Sie bitte den doppelt eingegebenen " +
+         "Messpunkt.";
+      }
+   
+   // Falls mehrere Messpunkte doppelt eingegeben worden sind, ...
+   else
+      {
+      // Die Zeichenkette für die Fehlermeldung wird festgelegt.
+      jsfMeldung = "Sie haben " + anzahlDuplikate + " Messpunkte doppelt eingegeben! Entfernen Sie bitte die " +
+         "doppelt eingegebenen Messpunkte.";
+      }
+   
+   // Der Fehler wird vermerkt.
+   validierungsergebnis.fehlerHinzufuegen(Fehlercode.DOPPELTE_MESSPUNKTE, jsfMeldung);
+   return messpunkte;
+   }
+}
@@ -0,0 +1,231 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import java.io.Serializable;
+
+/**
+ * Diese Klasse enthält das Ergebnis der Ortskurvenberechnung für eine Messreihe. Falls die Berechnung gescheitert ist,
+ * enthält sie statt der Ortskurve die Fehlermeldung.
+ *
+ * @author Th. K. Walter
+ * @version 1.0
+ */
+public class Ortskurvenergebnis implements Serializable
+{
+/**
+ * Die Serialisierungsnummer
+ */
+private static final long serialVersionUID = -2305720189473316254L;
+
+/**
+ * Die Ortskurve. Falls der optimale Ausgleichskreis einen Mittelpunkt mit negativem Realteil besitzt, ist dies der
+ * Kreis mit dem Mittelpunkt auf der Imaginärachse.
+ */
+private Ortskurve ortskurve;
+
+/**
+ * Der optimale Ausgleichskreis, falls er einen Mittelpunkt mit negativem Realteil besitzt; <tt>null</tt> sonst.
+ */
+private Ortskurve optimalerAusgleichskreis;
+
+/**
+ * Die Kenngrößen der Lösung des Ausgleichsproblems oder <tt>null</tt>, falls kein Ausgleichsproblem gelöst worden ist
+ */
+private Loesungsstatistik loesungsstatistik;
+
+/**
+ * Die Fehlermeldung, falls die Berechnung gescheitert ist; <tt>null</tt> sonst.
+ */
+private String fehlermeldung;
+
+/**
+ * Das Validierungsergebnis mit den Fehlercodes, falls die Messreihe nicht valide ist; <tt>null</tt> sonst.
+ */
+private Validierungsergebnis validierungsergebnis;
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor erzeugt das Ergebnis einer erfolgreichen Berechnung.
+ * 
+ * @param ortskurve Die Ortskurve
+ * @param optimalerAusgleichskreis Der optimale Ausgleichskreis, falls er einen Mittelpunkt mit negativem Realteil 
+ *        besitzt; <tt>null</tt> sonst.
+ * @param loesungsstatistik Die Kenngrößen der Lösung des Ausgleichsproblems oder <tt>null</tt>, falls kein 
+ *        Ausgleichsproblem gelöst worden ist.
+ */
+public Ortskurvenergebnis(Ortskurve ortskurve, Ortskurve optimalerAusgleichskreis, 
+   Loesungsstatistik loesungsstatistik)
+   {
+   this.ortskurve = ortskurve;
+   this.optimalerAusgleichskreis = optimalerAusgleichskreis;
+   this.loesungsstatistik = loesungsstatistik;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor erzeugt das Ergebnis einer gescheiterten Berechnung.
+ * 
+ * @param fehlermeldung Die Fehlermeldung
+ */
+public Ortskurvenergebnis(String fehlermeldung)
+   {
+   this.fehlermeldung = fehlermeldung;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor erzeugt das Ergebnis einer Berechnung, die an Fehlern in der Messreihe gescheitert ist.
+ * 
+ * @param validierungsergebnis Das Validierungsergebnis mit mindestens einem Fehler
+ */
+public Ortskurvenergebnis(Validierungsergebnis validierungsergebnis)
+   {
+   this.fehlermeldung = validierungsergebnis.getMeldung();
+   this.validierungsergebnis = validierungsergebnis;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt an, ob die Berechnung erfolgreich war.
+ * 
+ * @return <tt>true</tt>, falls die Ortskurve berechnet worden ist; <tt>false</tt> sonst.
+ */
+public boolean isErfolgreich()
+   {
+   return this.fehlermeldung == null;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt an, ob die Ausgleichsrechnung konvergiert ist.
+ * 
+ * @return <tt>false</tt>, falls die Ortskurve nur die beste bis zum Ablauf der Frist gefundene Näherung ist; 
+ *         <tt>true</tt> sonst.
+ */
+public boolean isKonvergiert()
+   {
+   return this.loesungsstatistik == null || this.loesungsstatistik.isKonvergiert();
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Ortskurve zurück.
+ * 
+ * @return Die Ortskurve oder <tt>null</tt>, falls die Berechnung gescheitert ist.
+ */
+public Ortskurve getOrtskurve()
+   {
+   return this.ortskurve;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt den optimalen Ausgleichskreis zurück, falls er einen Mittelpunkt mit negativem Realteil besitzt.
+ * 
+ * @return Der optimale Ausgleichskreis oder <tt>null</tt>
+ */
+public Ortskurve getOptimalerAusgleichskreis()
+   {
+   return this.optimalerAusgleichskreis;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Kenngrößen der Lösung des Ausgleichsproblems zurück.
+ * 
+ * @return Die Kenngrößen der Lösung oder <tt>null</tt>
+ */
+public Loesungsstatistik getLoesungsstatistik()
+   {
+   return this.loesungsstatistik;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Fehlermeldung zurück.
+ * 
+ * @return Die Fehlermeldung oder <tt>null</tt>, falls die Berechnung erfolgreich war.
+ */
+public String getFehlermeldung()
+   {
+   return this.fehlermeldung;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt das Validierungsergebnis mit den Fehlercodes zurück.
+ * 
+ * @return Das Validierungsergebnis oder <tt>null</tt>, falls die Berechnung erfolgreich war oder aus einem anderen 
+ *         Grund als einem Fehler in der Messreihe gescheitert ist.
+ */
+public Validierungsergebnis getValidierungsergebnis()
+   {
+   return this.validierungsergebnis;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt eine Zeichenkette zurück, die das Ergebnis repräsentiert.
+ * 
+ * @return Eine Zeichenkette, die das Ergebnis repräsentiert.
+ * 
+ * @see java.lang.Object#toString()
+ */
+@Override
+public String toString()
+   {
+   if (!this.isErfolgreich())
+      {
+      return "Ortskurvenergebnis [fehlermeldung=" + this.fehlermeldung + "]";
+      }
+   
+   StringBuilder builder = new StringBuilder();
+   builder.append("Ortskurvenergebnis [ortskurve=").append(this.ortskurve);
+   if (this.optimalerAusgleichskreis != null)
+      {
+      builder.append(", optimalerAusgleichskreis=").append(this.optimalerAusgleichskreis);
+      }
+   if (this.loesungsstatistik != null)
+      {
+      builder.append(", loesungsstatistik=").append(this.loesungsstatistik);
+      }
+   builder.append("]");
+   return builder.toString();
+   }
+}
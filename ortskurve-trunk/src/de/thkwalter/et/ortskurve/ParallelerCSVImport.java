@@ -0,0 +1,387 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+import de.thkwalter.jsf.converter.CSVFormatausnahme;
+import de.thkwalter.jsf.converter.CSVParser;
+
+/**
+ * Diese Klasse liest große Dateien mit Messpunkten im CSV-Format (siehe {@link CSVParser}) in Abschnitten ein. Die 
+ * Datei wird an Zeilenumbrüchen in Abschnitte zerlegt. Jeder Abschnitt wird in den Speicher abgebildet und auf einem
+ * Executor von einem eigenen {@link CSVParser} in eigene Felder primitiver double-Werte zerlegt. Die Felder werden 
+ * anschließend in der Reihenfolge der Abschnitte zu einer {@link Messreihe} zusammengefügt. Parallel werden die 
+ * Abschnitte nur zerlegt, wenn ein Executor übergeben wird; andernfalls werden sie nacheinander im aufrufenden Thread
+ * zerlegt (siehe {@link SequentiellerExecutor}).
+ * <p>
+ * Da die Abschnitte nur an einem Zeilenvorschub (<tt>\n</tt>) getrennt werden, bleiben Zeilenumbrüche im Format
+ * <tt>\r\n</tt> und UTF-8-Zeichen aus mehreren Byte vollständig in einem Abschnitt. Fehler werden mit der Zeile in der
+ * gesamten Datei gemeldet; bei mehreren fehlerhaften Abschnitten wird der erste Fehler der Datei gemeldet.
+ *
+ * @author Th. K. Walter
+ */
+public class ParallelerCSVImport
+{
+/**
+ * Die kleinste Größe eines Abschnitts in Byte
+ */
+private static final long MIN_ABSCHNITTSGROESSE = 1L << 20;
+
+/**
+ * Die größte Größe eines Abschnitts in Byte
+ */
+private static final long MAX_ABSCHNITTSGROESSE = 1L << 28;
+
+/**
+ * Die Anzahl der Abschnitte pro Prozessorkern, damit ungleich schnelle Abschnitte ausgeglichen werden
+ */
+private static final int ABSCHNITTE_PRO_KERN = 4;
+
+/**
+ * Die Größe des Puffers, mit dem nach Zeilenumbrüchen gesucht wird
+ */
+private static final int SUCHPUFFERGROESSE = 4096;
+
+/**
+ * Die Größe des Zeichenpuffers, in den ein Abschnitt dekodiert wird
+ */
+private static final int ZEICHENPUFFERGROESSE = 1 << 15;
+
+/**
+ * Der Zeichensatz der Dateien
+ */
+private static final Charset ZEICHENSATZ = Charset.forName("UTF-8");
+
+/*
+ * Der Logger dieser Klasse.
+ */
+private static Logger logger = Logger.getLogger(ParallelerCSVImport.class.getName());
+
+/**
+ * Der Executor, auf dem die Abschnitte zerlegt werden
+ */
+private ExecutorService executor;
+
+/**
+ * Die Größe eines Abschnitts in Byte oder 0, falls sie aus der Dateigröße bestimmt wird
+ */
+private long abschnittsgroesse;
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor erzeugt einen Import, der die Abschnitte nacheinander im aufrufenden Thread zerlegt.
+ */
+public ParallelerCSVImport()
+   {
+   this(SequentiellerExecutor.INSTANZ);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor erzeugt einen Import, der die Abschnitte auf dem angegebenen Executor zerlegt. Der Executor wird
+ * von dieser Klasse nicht beendet. Auf der Google App Engine muss er seine Threads mit der ThreadFactory der aktuellen
+ * Anfrage erzeugen.
+ *
+ * @param executor Der Executor, auf dem die Abschnitte zerlegt werden
+ */
+public ParallelerCSVImport(ExecutorService executor)
+   {
+   this.executor = executor;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode legt die Größe eines Abschnitts fest. Sie wird in den Tests verwendet, um kleine Dateien in viele
+ * Abschnitte zu zerlegen.
+ *
+ * @param abschnittsgroesse Die Größe eines Abschnitts in Byte oder 0, falls sie aus der Dateigröße bestimmt wird
+ */
+void setAbschnittsgroesse(long abschnittsgroesse)
+   {
+   this.abschnittsgroesse = abschnittsgroesse;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode liest die Messpunkte einer Datei im CSV-Format abschnittsweise ein.
+ *
+ * @param datei Die Datei im CSV-Format (UTF-8)
+ *
+ * @return Die Messreihe mit den Messpunkten in der Reihenfolge der Datei
+ *
+ * @throws IOException Falls die Datei nicht gelesen werden kann.
+ * @throws CSVFormatausnahme Falls ein Datensatz nicht das richtige Format besitzt.
+ * @throws InterruptedException Falls der aufrufende Thread während des Wartens unterbrochen worden ist. Die noch nicht
+ *         beendeten Abschnitte werden in diesem Fall abgebrochen.
+ */
+public Messreihe lesen(Path datei) throws IOException, InterruptedException
+   {
+   final FileChannel kanal = FileChannel.open(datei, StandardOpenOption.READ);
+   try
+      {
+      // Die Datei wird an Zeilenumbrüchen in Abschnitte zerlegt.
+      List<Callable<CSVParser>> aufgaben = new ArrayList<Callable<CSVParser>>();
+      long dateigroesse = kanal.size();
+      long groesse = this.abschnittsgroesseBestimmen(dateigroesse);
+      long anfang = 0;
+      while (anfang < dateigroesse)
+         {
+         long ende = anfang + groesse >= dateigroesse ? dateigroesse :
+            ParallelerCSVImport.zeilenendeSuchen(kanal, anfang + groesse, dateigroesse);
+         if (ende - anfang > Integer.MAX_VALUE)
+            {
+            String fehlermeldung = "Die Datei " + datei + 
+               " enthält zu wenige Zeilenvorschübe für den parallelen Import!";
+            ParallelerCSVImport.logger.severe(fehlermeldung);
+            throw new IOException(fehlermeldung);
+            }
+
+         final long abschnittsanfang = anfang;
+         final int abschnittslaenge = (int) (ende - anfang);
+         aufgaben.add(new Callable<CSVParser>()
+            {
+            @Override
+            public CSVParser call() throws IOException
+               {
+               return ParallelerCSVImport.abschnittZerlegen(kanal, abschnittsanfang, abschnittslaenge);
+               }
+            });
+         anfang = ende;
+         }
+
+      // Die Abschnitte werden auf dem Executor zerlegt und in ihrer Reihenfolge zusammengefügt.
+      return this.zusammenfuegen(this.executor.invokeAll(aufgaben));
+      }
+   finally
+      {
+      kanal.close();
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode bestimmt die Größe der Abschnitte so, dass jeder Prozessorkern mehrere Abschnitte erhält.
+ *
+ * @param dateigroesse Die Größe der Datei in Byte
+ *
+ * @return Die Größe eines Abschnitts in Byte
+ */
+private long abschnittsgroesseBestimmen(long dateigroesse)
+   {
+   if (this.abschnittsgroesse > 0)
+      {
+      return this.abschnittsgroesse;
+      }
+
+   long anzahlAbschnitte = (long) ParallelerCSVImport.ABSCHNITTE_PRO_KERN * Runtime.getRuntime().availableProcessors();
+   long groesse = (dateigroesse + anzahlAbschnitte - 1) / anzahlAbschnitte;
+   return Math.min(Math.max(groesse, ParallelerCSVImport.MIN_ABSCHNITTSGROESSE),
+      ParallelerCSVImport.MAX_ABSCHNITTSGROESSE);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode sucht den ersten Zeilenvorschub ab der angegebenen Position.
+ *
+ * @param kanal Der Kanal der Datei
+ * @param position Die Position, ab der gesucht wird
+ * @param dateigroesse Die Größe der Datei in Byte
+ *
+ * @return Die Position hinter dem Zeilenvorschub oder die Dateigröße, falls kein Zeilenvorschub gefunden worden ist.
+ *
+ * @throws IOException Falls die Datei nicht gelesen werden kann.
+ */
+private static long zeilenendeSuchen(FileChannel kanal, long position, long dateigroesse) throws IOException
+   {
+   ByteBuffer puffer = ByteBuffer.allocate(ParallelerCSVImport.SUCHPUFFERGROESSE);
+   while (position < dateigroesse)
+      {
+      puffer.clear();
+      int gelesen = kanal.read(puffer, position);
+      if (gelesen <= 0)
+         {
+         break;
+         }
+      for (int i = 0; i < gelesen; i++)
+         {
+         if (puffer.get(i) == '\n')
+            {
+            return position + i + 1;
+            }
+         }
+      position += gelesen;
+      }
+   return dateigroesse;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode bildet einen Abschnitt der Datei in den Speicher ab, dekodiert ihn abschnittsweise und zerlegt ihn mit
+ * einem eigenen {@link CSVParser}.
+ *
+ * @param kanal Der Kanal der Datei
+ * @param anfang Die Position des ersten Byte des Abschnitts
+ * @param laenge Die Länge des Abschnitts in Byte
+ *
+ * @return Der Parser mit den Datensätzen des Abschnitts. Falls der Abschnitt fehlerhaft ist, wird die
+ *         {@link CSVFormatausnahme} mit der Zeile im Abschnitt geworfen.
+ *
+ * @throws IOException Falls der Abschnitt nicht in den Speicher abgebildet werden kann.
+ */
+private static CSVParser abschnittZerlegen(FileChannel kanal, long anfang, int laenge) throws IOException
+   {
+   ByteBuffer bytes = kanal.map(FileChannel.MapMode.READ_ONLY, anfang, laenge);
+
+   // Ungültige Byte-Folgen werden durch ein Ersatzzeichen ersetzt, das der Parser als Formatfehler meldet.
+   CharsetDecoder dekodierer = ParallelerCSVImport.ZEICHENSATZ.newDecoder()
+      .onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+   CharBuffer zeichen = CharBuffer.allocate(ParallelerCSVImport.ZEICHENPUFFERGROESSE);
+   CSVParser parser = new CSVParser(Math.max(16, laenge / 16));
+
+   // Der Abschnitt wird in Teilen dekodiert, bis alle Byte verarbeitet sind.
+   boolean zeichenpufferVoll;
+   do
+      {
+      zeichenpufferVoll = dekodierer.decode(bytes, zeichen, true).isOverflow();
+      zeichen.flip();
+      parser.verarbeiten(zeichen.array(), zeichen.position(), zeichen.remaining());
+      zeichen.clear();
+      }
+   while (zeichenpufferVoll);
+   dekodierer.flush(zeichen);
+   zeichen.flip();
+   parser.verarbeiten(zeichen.array(), zeichen.position(), zeichen.remaining());
+   parser.abschliessen();
+
+   return parser;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode fügt die Felder der Abschnitte in ihrer Reihenfolge zu einer Messreihe zusammen. Ein Fehler in einem
+ * Abschnitt wird mit der Zeile in der gesamten Datei gemeldet.
+ *
+ * @param abschnitte Die Ergebnisse der Abschnitte in der Reihenfolge der Datei
+ *
+ * @return Die Messreihe
+ *
+ * @throws IOException Falls ein Abschnitt nicht gelesen werden konnte.
+ * @throws InterruptedException Falls der aufrufende Thread während des Wartens unterbrochen worden ist.
+ */
+private Messreihe zusammenfuegen(List<Future<CSVParser>> abschnitte) throws IOException, InterruptedException
+   {
+   List<CSVParser> parser = new ArrayList<CSVParser>(abschnitte.size());
+   long anzahl = 0;
+   int zeilenVorher = 0;
+   for (Future<CSVParser> abschnitt : abschnitte)
+      {
+      try
+         {
+         CSVParser abschnittsparser = abschnitt.get();
+         parser.add(abschnittsparser);
+         anzahl += abschnittsparser.getAnzahl();
+         zeilenVorher += abschnittsparser.getZeile() - 1;
+         }
+      catch (ExecutionException executionException)
+         {
+         Throwable ursache = executionException.getCause();
+
+         // Die Zeile eines Formatfehlers wird auf die gesamte Datei bezogen.
+         if (ursache instanceof CSVFormatausnahme)
+            {
+            CSVFormatausnahme fehler = (CSVFormatausnahme) ursache;
+            CSVFormatausnahme csvFormatausnahme = new CSVFormatausnahme(zeilenVorher + fehler.getZeile(),
+               fehler.getSpalte(), fehler.getBeschreibung());
+            ParallelerCSVImport.logger.severe("Die Datei besitzt nicht das richtige Format! " +
+               csvFormatausnahme.getMessage());
+            throw csvFormatausnahme;
+            }
+         if (ursache instanceof IOException)
+            {
+            throw (IOException) ursache;
+            }
+         if (ursache instanceof RuntimeException)
+            {
+            throw (RuntimeException) ursache;
+            }
+         if (ursache instanceof Error)
+            {
+            throw (Error) ursache;
+            }
+         throw new IOException(ursache);
+         }
+      }
+
+   if (anzahl > Integer.MAX_VALUE - 8)
+      {
+      String fehlermeldung = "Die Datei enthält zu viele Messpunkte (" + anzahl + ")!";
+      ParallelerCSVImport.logger.severe(fehlermeldung);
+      throw new IOException(fehlermeldung);
+      }
+
+   // Ein einzelner Abschnitt wird ohne Kopie übernommen.
+   if (parser.size() == 1)
+      {
+      CSVParser einzigerParser = parser.get(0);
+      return new Messreihe(einzigerParser.getX(), einzigerParser.getY(), einzigerParser.getAnzahl());
+      }
+
+   // Die Felder der Abschnitte werden in ihrer Reihenfolge kopiert.
+   double[] x = new double[(int) anzahl];
+   double[] y = new double[(int) anzahl];
+   int position = 0;
+   for (CSVParser abschnittsparser : parser)
+      {
+      System.arraycopy(abschnittsparser.getX(), 0, x, position, abschnittsparser.getAnzahl());
+      System.arraycopy(abschnittsparser.getY(), 0, y, position, abschnittsparser.getAnzahl());
+      position += abschnittsparser.getAnzahl();
+      }
+
+   return new Messreihe(x, y, position);
+   }
+}
@@ -0,0 +1,705 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import de.thkwalter.jsf.ApplicationRuntimeException;
+
+/**
+ * Diese Klasse löst das Ausgleichsproblem robust gegenüber Ausreißern (z. B. einzelnen Fehlmessungen) in zwei 
+ * Schritten:
+ * <ol>
+ * <li>RANSAC: Aus zufällig ausgewählten minimalen Teilmengen der Messpunkte (drei Messpunkte beim 3d-Ausgleichsproblem,
+ * zwei Messpunkte beim 2d-Ausgleichsproblem) werden Kreise berechnet. Jeder dieser Kreise wird mit allen Messpunkten 
+ * bewertet, wobei der Beitrag eines Messpunkts durch einen Schwellenwert begrenzt wird (MSAC). Die Bewertung der 
+ * Kreise erfolgt in Blöcken, die nacheinander oder, falls ein Executor übergeben worden ist (siehe 
+ * {@link #setExecutor(ExecutorService)}), parallel bewertet werden.</li>
+ * <li>IRLS: Ausgehend vom besten Kreis wird das gewichtete Ausgleichsproblem wiederholt gelöst, wobei die Gewichte der
+ * Messpunkte mit der Gewichtsfunktion nach Huber oder nach Tukey aus den Residuen der vorherigen Lösung berechnet 
+ * werden.</li>
+ * </ol>
+ * Die zufällige Auswahl der Messpunkte ist reproduzierbar, da jede Hypothese einen eigenen, aus ihrem Index 
+ * abgeleiteten Zufallszahlengenerator verwendet.
+ *
+ * @author Th. K. Walter
+ * @version 1.0
+ */
+public class RobusterKreisausgleich
+{
+/**
+ * Die Anzahl der Hypothesen, die in einer Teilaufgabe bewertet werden
+ */
+private static final int HYPOTHESEN_PRO_TEILAUFGABE = 16;
+
+/**
+ * Die Konstante der Gewichtsfunktion nach Huber (95 % Effizienz bei normalverteilten Residuen)
+ */
+private static final double HUBER_KONSTANTE = 1.345;
+
+/**
+ * Die Konstante der Gewichtsfunktion nach Tukey (95 % Effizienz bei normalverteilten Residuen)
+ */
+private static final double TUKEY_KONSTANTE = 4.685;
+
+/**
+ * Der Faktor, mit dem die mittlere absolute Abweichung in eine Schätzung der Standardabweichung umgerechnet wird
+ */
+private static final double MAD_FAKTOR = 1.4826;
+
+/**
+ * Die maximale Anzahl der IRLS-Schritte
+ */
+private static final int MAX_IRLS_SCHRITTE = 20;
+
+/**
+ * Die Messpunkte
+ */
+private MessreiheAnsicht messpunkte;
+
+/**
+ * Der Typ des Ausgleichsproblems
+ */
+private Ausgleichsproblemtyp ausgleichsproblemtyp;
+
+/**
+ * Das Lösungsverfahren, das die Gewichtsfunktion festlegt ({@link Loesungsverfahren#ROBUST_HUBER} oder 
+ * {@link Loesungsverfahren#ROBUST_TUKEY})
+ */
+private Loesungsverfahren loesungsverfahren;
+
+/**
+ * Die Anzahl der RANSAC-Hypothesen
+ */
+private int anzahlHypothesen = 256;
+
+/**
+ * Der Schwellenwert der RANSAC-Bewertung relativ zur Ausdehnung der Messpunkte
+ */
+private double relativerSchwellenwert = 0.02;
+
+/**
+ * Der Startwert der Zufallszahlengeneratoren
+ */
+private long zufallsstartwert = 0L;
+
+/**
+ * Der Executor, auf dem die Hypothesen bewertet werden
+ */
+private ExecutorService executor = SequentiellerExecutor.INSTANZ;
+
+/**
+ * Die Normierung der Messpunkte oder <tt>null</tt>, falls die Messpunkte nicht normiert sind
+ */
+private Normierung normierung;
+
+/**
+ * Die Frist der IRLS-Schritte (in Millisekunden seit dem 1.1.1970) oder {@link Long#MAX_VALUE}, falls keine Frist 
+ * gesetzt ist
+ */
+private long frist = Long.MAX_VALUE;
+
+/**
+ * Das Abbruchsignal: Ist es gesetzt, so werden die IRLS-Schritte wie nach dem Ablauf der Frist beendet.
+ */
+private AtomicBoolean abbruch = new AtomicBoolean();
+
+/**
+ * Gibt an, ob die IRLS-Schritte vor Ablauf der Frist durchgeführt worden sind.
+ */
+private boolean konvergiert;
+
+/**
+ * Die Anzahl der Iterationsschritte des Gauß-Newton-Verfahrens in allen IRLS-Schritten
+ */
+private int anzahlIterationen;
+
+/**
+ * Die Anzahl der Auswertungen der Modellgleichungen in allen IRLS-Schritten
+ */
+private int anzahlAuswertungen;
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor initialisiert die Messpunkte, den Typ des Ausgleichsproblems und das Lösungsverfahren.
+ * 
+ * @param messpunkte Die Messpunkte
+ * @param ausgleichsproblemtyp Der Typ des Ausgleichsproblems
+ * @param loesungsverfahren Das Lösungsverfahren, das die Gewichtsfunktion festlegt 
+ *        ({@link Loesungsverfahren#ROBUST_HUBER} oder {@link Loesungsverfahren#ROBUST_TUKEY})
+ */
+public RobusterKreisausgleich(MessreiheAnsicht messpunkte, Ausgleichsproblemtyp ausgleichsproblemtyp, 
+   Loesungsverfahren loesungsverfahren)
+   {
+   this.messpunkte = messpunkte;
+   this.ausgleichsproblemtyp = ausgleichsproblemtyp;
+   this.loesungsverfahren = loesungsverfahren;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode bestimmt mit dem RANSAC-Verfahren den Kreis, der von den meisten Messpunkten gestützt wird. 
+ * 
+ * @return Die Kreisparameter des besten Kreises oder <tt>null</tt>, falls aus keiner Teilmenge der Messpunkte ein 
+ *         Kreis berechnet werden konnte.
+ * 
+ * @throws ApplicationRuntimeException Falls der Thread beim Warten auf die Bewertung unterbrochen worden ist.
+ */
+public double[] ransacDurchfuehren()
+   {
+   // Für eine minimale Teilmenge werden mindestens drei Messpunkte benötigt.
+   if (this.messpunkte.getAnzahl() < 3)
+      {
+      return null;
+      }
+   
+   // Der Schwellenwert der Bewertung wird aus der Ausdehnung der Messpunkte bestimmt.
+   double minX = Double.POSITIVE_INFINITY;
+   double maxX = Double.NEGATIVE_INFINITY;
+   double minY = Double.POSITIVE_INFINITY;
+   double maxY = Double.NEGATIVE_INFINITY;
+   for (int i = 0; i < this.messpunkte.getAnzahl(); i++)
+      {
+      minX = Math.min(minX, this.messpunkte.getX(i));
+      maxX = Math.max(maxX, this.messpunkte.getX(i));
+      minY = Math.min(minY, this.messpunkte.getY(i));
+      maxY = Math.max(maxY, this.messpunkte.getY(i));
+      }
+   double schwellenwert = this.relativerSchwellenwert * Math.max(maxX - minX, maxY - minY);
+   
+   // Die Hypothesen werden in Blöcken auf dem Executor bewertet.
+   List<Hypothesenbewertung> bewertungen = new ArrayList<Hypothesenbewertung>();
+   for (int von = 0; von < this.anzahlHypothesen; von += RobusterKreisausgleich.HYPOTHESEN_PRO_TEILAUFGABE)
+      {
+      bewertungen.add(new Hypothesenbewertung(von, 
+         Math.min(von + RobusterKreisausgleich.HYPOTHESEN_PRO_TEILAUFGABE, this.anzahlHypothesen), 
+         schwellenwert * schwellenwert));
+      }
+   
+   // Die besten Hypothesen der Blöcke werden verglichen.
+   Hypothese besteHypothese = null;
+   try
+      {
+      for (Future<Hypothese> zukunft : this.executor.invokeAll(bewertungen))
+         {
+         besteHypothese = Hypothese.besser(besteHypothese, zukunft.get());
+         }
+      }
+   
+   // Falls der Thread beim Warten unterbrochen worden ist, wird die Unterbrechung vermerkt und eine Ausnahme geworfen.
+   catch (InterruptedException e)
+      {
+      Thread.currentThread().interrupt();
+      throw new ApplicationRuntimeException("Die Berechnung der Ortskurve ist unterbrochen worden. Versuchen Sie es " +
+         "bitte noch einmal.");
+      }
+   
+   // Die Bewertung wirft keine geprüften Ausnahmen. Laufzeitfehler werden unverändert weitergegeben.
+   catch (ExecutionException e)
+      {
+      if (e.getCause() instanceof RuntimeException)
+         {
+         throw (RuntimeException) e.getCause();
+         }
+      throw (Error) e.getCause();
+      }
+   
+   return besteHypothese == null ? null : besteHypothese.kreisparameter;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode berechnet die Kreisparameter einer Hypothese aus einer zufällig ausgewählten minimalen Teilmenge der 
+ * Messpunkte.
+ * 
+ * @param index Der Index der Hypothese
+ * 
+ * @return Die Kreisparameter der Hypothese oder <tt>null</tt>, falls aus der Teilmenge kein Kreis berechnet werden 
+ *         kann.
+ */
+private double[] hypotheseBerechnen(int index)
+   {
+   // Der Zufallszahlengenerator wird aus dem Index der Hypothese abgeleitet, damit das Ergebnis nicht von der 
+   // Aufteilung der Hypothesen auf die Teilaufgaben abhängt.
+   Random zufall = new Random(this.zufallsstartwert * 31L + index);
+   int anzahl = this.messpunkte.getAnzahl();
+   
+   // Drei verschiedene Messpunkte werden zufällig ausgewählt.
+   int i0 = zufall.nextInt(anzahl);
+   int i1 = zufall.nextInt(anzahl - 1);
+   if (i1 >= i0)
+      {
+      i1++;
+      }
+   int i2 = zufall.nextInt(anzahl - 2);
+   if (i2 >= Math.min(i0, i1))
+      {
+      i2++;
+      }
+   if (i2 >= Math.max(i0, i1))
+      {
+      i2++;
+      }
+   
+   double x0 = this.messpunkte.getX(i0);
+   double y0 = this.messpunkte.getY(i0);
+   double x1 = this.messpunkte.getX(i1);
+   double y1 = this.messpunkte.getY(i1);
+   
+   // Beim 2d-Ausgleichsproblem wird der Kreis mit dem Mittelpunkt auf der x-Achse durch die ersten beiden Messpunkte 
+   // berechnet.
+   if (this.ausgleichsproblemtyp == Ausgleichsproblemtyp.ORTSKURVE_2d)
+      {
+      double dx = x0 - x1;
+      if (Math.abs(dx) <= 1E-10 * Math.max(Math.abs(x0), Math.abs(x1)))
+         {
+         return null;
+         }
+      double mx = 0.5 * (x0 * x0 + y0 * y0 - x1 * x1 - y1 * y1) / dx;
+      return new double[]{mx, Math.sqrt((x0 - mx) * (x0 - mx) + y0 * y0)};
+      }
+   
+   // Beim 3d-Ausgleichsproblem wird der Kreis durch alle drei Messpunkte berechnet.
+   return Startpunktbestimmung.kreisDurchDreiPunkteBerechnen(x0, y0, x1, y1, this.messpunkte.getX(i2), 
+      this.messpunkte.getY(i2));
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode bewertet eine Hypothese. Die Bewertung ist die Summe der quadrierten Residuen aller Messpunkte, wobei 
+ * jedes Quadrat durch das Quadrat des Schwellenwerts begrenzt wird. Kleinere Bewertungen sind besser.
+ * 
+ * @param kreisparameter Die Kreisparameter der Hypothese
+ * @param schwellenwertQuadrat Das Quadrat des Schwellenwerts
+ * 
+ * @return Die Bewertung der Hypothese
+ */
+private double hypotheseBewerten(double[] kreisparameter, double schwellenwertQuadrat)
+   {
+   boolean zweidimensional = this.ausgleichsproblemtyp == Ausgleichsproblemtyp.ORTSKURVE_2d;
+   double mx = kreisparameter[0];
+   double my = zweidimensional ? 0.0 : kreisparameter[1];
+   double radius = kreisparameter[kreisparameter.length - 1];
+   
+   double bewertung = 0.0;
+   for (int i = 0; i < this.messpunkte.getAnzahl(); i++)
+      {
+      double dx = mx - this.messpunkte.getX(i);
+      double dy = my - this.messpunkte.getY(i);
+      double residuum = Math.sqrt(dx * dx + dy * dy) - radius;
+      bewertung += Math.min(residuum * residuum, schwellenwertQuadrat);
+      }
+   
+   return bewertung;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode löst das Ausgleichsproblem durch iterativ neu gewichtete kleinste Quadrate (IRLS). In jedem Schritt 
+ * werden die Gewichte aus den Residuen der vorherigen Lösung berechnet und das gewichtete Ausgleichsproblem mit dem 
+ * Gauß-Newton-Verfahren gelöst. Messpunkte, die fast mit dem Mittelpunkt identisch sind, erhalten das Gewicht null.
+ * Läuft die Frist ab, so wird die bis dahin beste Lösung des aktuellen IRLS-Schritts zurückgegeben.
+ * 
+ * @param startpunkt Die Kreisparameter, mit denen die Iteration beginnt
+ * @param gewichte Das Feld, in das die Gewichte der Messpunkte geschrieben werden. Nach der Rückkehr enthält es die 
+ *        Gewichte des letzten IRLS-Schritts.
+ * @param maxAuswertungen Die maximale Anzahl der Auswertungen der Modellgleichungen in jedem IRLS-Schritt
+ * 
+ * @return Die Kreisparameter der Lösung
+ */
+public double[] irlsDurchfuehren(double[] startpunkt, double[] gewichte, int maxAuswertungen)
+   {
+   this.anzahlIterationen = 0;
+   this.anzahlAuswertungen = 0;
+   this.konvergiert = true;
+   
+   NormalgleichungenGaussNewton normalgleichungenGaussNewton = 
+      new NormalgleichungenGaussNewton(this.messpunkte, gewichte, this.ausgleichsproblemtyp);
+   normalgleichungenGaussNewton.setNormierung(this.normierung);
+   normalgleichungenGaussNewton.setFrist(this.frist);
+   normalgleichungenGaussNewton.setAbbruch(this.abbruch);
+   
+   double[] kreisparameter = startpunkt.clone();
+   for (int schritt = 0; schritt < RobusterKreisausgleich.MAX_IRLS_SCHRITTE; schritt++)
+      {
+      // Die Gewichte werden aus den Residuen der aktuellen Kreisparameter berechnet.
+      this.gewichteBerechnen(kreisparameter, gewichte);
+      
+      // Das gewichtete Ausgleichsproblem wird gelöst.
+      double[] neueKreisparameter = normalgleichungenGaussNewton.optimieren(kreisparameter, maxAuswertungen);
+      this.anzahlIterationen += normalgleichungenGaussNewton.getAnzahlIterationen();
+      this.anzahlAuswertungen += normalgleichungenGaussNewton.getAnzahlAuswertungen();
+      
+      // Falls die Frist abgelaufen ist, werden keine weiteren IRLS-Schritte durchgeführt.
+      if (!normalgleichungenGaussNewton.isKonvergiert())
+         {
+         this.konvergiert = false;
+         kreisparameter = neueKreisparameter;
+         break;
+         }
+      
+      // Falls sich die Kreisparameter kaum noch ändern, ist die Lösung gefunden.
+      double radius = neueKreisparameter[neueKreisparameter.length - 1];
+      double aenderung = 0.0;
+      for (int j = 0; j < kreisparameter.length; j++)
+         {
+         aenderung = Math.max(aenderung, Math.abs(neueKreisparameter[j] - kreisparameter[j]));
+         }
+      kreisparameter = neueKreisparameter;
+      if (aenderung <= 1E-6 * Math.abs(radius))
+         {
+         break;
+         }
+      }
+   
+   // Die Gewichte werden für die endgültigen Kreisparameter berechnet.
+   this.gewichteBerechnen(kreisparameter, gewichte);
+   
+   return kreisparameter;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode berechnet die Gewichte der Messpunkte aus ihren Residuen. Die Residuen werden mit einer robusten 
+ * Schätzung ihrer Standardabweichung (der mittleren absoluten Abweichung) skaliert.
+ * 
+ * @param kreisparameter Die Kreisparameter
+ * @param gewichte Das Feld, in das die Gewichte geschrieben werden
+ */
+private void gewichteBerechnen(double[] kreisparameter, double[] gewichte)
+   {
+   boolean zweidimensional = this.ausgleichsproblemtyp == Ausgleichsproblemtyp.ORTSKURVE_2d;
+   double mx = kreisparameter[0];
+   double my = zweidimensional ? 0.0 : kreisparameter[1];
+   double radius = kreisparameter[kreisparameter.length - 1];
+   
+   // Die Residuen werden berechnet. Messpunkte, die fast mit dem Mittelpunkt identisch sind, werden markiert.
+   int anzahl = this.messpunkte.getAnzahl();
+   double[] residuen = new double[anzahl];
+   double[] betraege = new double[anzahl];
+   for (int i = 0; i < anzahl; i++)
+      {
+      double dx = mx - this.messpunkte.getX(i);
+      double dy = my - this.messpunkte.getY(i);
+      double abstandMesspunktMittelpunkt = Math.sqrt(dx * dx + dy * dy);
+      residuen[i] = abstandMesspunktMittelpunkt < 0.01 * radius ? Double.NaN : abstandMesspunktMittelpunkt - radius;
+      betraege[i] = Math.abs(abstandMesspunktMittelpunkt - radius);
+      }
+   
+   // Die Standardabweichung der Residuen wird robust geschätzt. Damit exakte Messpunkte nicht zu einer Division durch 
+   // null führen, wird sie nach unten begrenzt.
+   Arrays.sort(betraege);
+   double median = anzahl % 2 == 1 ? betraege[anzahl / 2] : 0.5 * (betraege[anzahl / 2 - 1] + betraege[anzahl / 2]);
+   double skala = Math.max(RobusterKreisausgleich.MAD_FAKTOR * median, 1E-9 * Math.abs(radius));
+   
+   // Die Gewichte werden mit der Gewichtsfunktion berechnet.
+   for (int i = 0; i < anzahl; i++)
+      {
+      if (Double.isNaN(residuen[i]))
+         {
+         gewichte[i] = 0.0;
+         continue;
+         }
+      
+      double u = Math.abs(residuen[i]) / skala;
+      if (this.loesungsverfahren == Loesungsverfahren.ROBUST_TUKEY)
+         {
+         double v = u / RobusterKreisausgleich.TUKEY_KONSTANTE;
+         gewichte[i] = v < 1.0 ? (1.0 - v * v) * (1.0 - v * v) : 0.0;
+         }
+      else
+         {
+         gewichte[i] = u <= RobusterKreisausgleich.HUBER_KONSTANTE ? 1.0 : RobusterKreisausgleich.HUBER_KONSTANTE / u;
+         }
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode legt die Anzahl der RANSAC-Hypothesen fest.
+ * 
+ * @param anzahlHypothesen Die Anzahl der RANSAC-Hypothesen
+ */
+public void setAnzahlHypothesen(int anzahlHypothesen)
+   {
+   this.anzahlHypothesen = anzahlHypothesen;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode legt den Schwellenwert der RANSAC-Bewertung relativ zur Ausdehnung der Messpunkte fest.
+ * 
+ * @param relativerSchwellenwert Der Schwellenwert relativ zur größeren Kantenlänge des umschließenden Rechtecks der
+ *        Messpunkte
+ */
+public void setRelativerSchwellenwert(double relativerSchwellenwert)
+   {
+   this.relativerSchwellenwert = relativerSchwellenwert;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode legt den Startwert der Zufallszahlengeneratoren fest.
+ * 
+ * @param zufallsstartwert Der Startwert der Zufallszahlengeneratoren
+ */
+public void setZufallsstartwert(long zufallsstartwert)
+   {
+   this.zufallsstartwert = zufallsstartwert;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode legt den Executor fest, auf dem die RANSAC-Hypothesen bewertet werden. Ohne Angabe werden sie im 
+ * aufrufenden Thread bewertet (siehe {@link SequentiellerExecutor}). Der Executor wird von dieser Klasse nicht beendet.
+ * 
+ * @param executor Der Executor, auf dem die Hypothesen bewertet werden
+ */
+public void setExecutor(ExecutorService executor)
+   {
+   this.executor = executor;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode legt die Normierung der Messpunkte fest. Sie wird nur benötigt, um in Meldungen die Messpunkte in den
+ * ursprünglichen Koordinaten anzugeben.
+ * 
+ * @param normierung Die Normierung der Messpunkte oder <tt>null</tt>, falls die Messpunkte nicht normiert sind.
+ */
+public void setNormierung(Normierung normierung)
+   {
+   this.normierung = normierung;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode legt die Frist der IRLS-Schritte fest.
+ * 
+ * @param frist Die Frist (in Millisekunden seit dem 1.1.1970) oder {@link Long#MAX_VALUE}, falls die IRLS-Schritte 
+ *        nicht befristet sind.
+ */
+public void setFrist(long frist)
+   {
+   this.frist = frist;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode legt das Abbruchsignal der IRLS-Schritte fest. Wird es gesetzt, so enden die IRLS-Schritte wie nach 
+ * dem Ablauf der Frist.
+ * 
+ * @param abbruch Das Abbruchsignal, das z. B. von mehreren gleichzeitig gelösten Ausgleichsproblemen geteilt wird
+ */
+public void setAbbruch(AtomicBoolean abbruch)
+   {
+   this.abbruch = abbruch;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt an, ob die letzten IRLS-Schritte vor Ablauf der Frist durchgeführt worden sind.
+ * 
+ * @return <tt>true</tt>, falls die IRLS-Schritte vor Ablauf der Frist durchgeführt worden sind; <tt>false</tt> sonst.
+ */
+public boolean isKonvergiert()
+   {
+   return this.konvergiert;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Anzahl der Iterationsschritte des Gauß-Newton-Verfahrens in allen IRLS-Schritten zurück.
+ * 
+ * @return Die Anzahl der Iterationsschritte
+ */
+public int getAnzahlIterationen()
+   {
+   return this.anzahlIterationen;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Anzahl der Auswertungen der Modellgleichungen in allen IRLS-Schritten zurück.
+ * 
+ * @return Die Anzahl der Auswertungen
+ */
+public int getAnzahlAuswertungen()
+   {
+   return this.anzahlAuswertungen;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Klasse repräsentiert eine bewertete RANSAC-Hypothese.
+ */
+private static class Hypothese
+{
+/**
+ * Die Kreisparameter der Hypothese
+ */
+private double[] kreisparameter;
+
+/**
+ * Die Bewertung der Hypothese (kleinere Werte sind besser)
+ */
+private double bewertung;
+
+/**
+ * Der Index der Hypothese
+ */
+private int index;
+
+/**
+ * Dieser Konstruktor initialisiert die Hypothese.
+ * 
+ * @param kreisparameter Die Kreisparameter der Hypothese
+ * @param bewertung Die Bewertung der Hypothese
+ * @param index Der Index der Hypothese
+ */
+private Hypothese(double[] kreisparameter, double bewertung, int index)
+   {
+   this.kreisparameter = kreisparameter;
+   this.bewertung = bewertung;
+   this.index = index;
+   }
+
+/**
+ * Diese Methode gibt die bessere von zwei Hypothesen zurück. Bei gleicher Bewertung wird die Hypothese mit dem 
+ * kleineren Index bevorzugt, damit das Ergebnis nicht von der Reihenfolge der Teilaufgaben abhängt.
+ * 
+ * @param a Die erste Hypothese oder <tt>null</tt>
+ * @param b Die zweite Hypothese oder <tt>null</tt>
+ * 
+ * @return Die bessere Hypothese
+ */
+private static Hypothese besser(Hypothese a, Hypothese b)
+   {
+   if (a == null || b == null)
+      {
+      return a == null ? b : a;
+      }
+   if (a.bewertung != b.bewertung)
+      {
+      return a.bewertung < b.bewertung ? a : b;
+      }
+   return a.index < b.index ? a : b;
+   }
+}
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Klasse bewertet die Hypothesen eines Indexbereichs als Teilaufgabe.
+ */
+private class Hypothesenbewertung implements Callable<Hypothese>
+{
+/**
+ * Der Index der ersten Hypothese des Bereichs
+ */
+private int von;
+
+/**
+ * Der Index nach der letzten Hypothese des Bereichs
+ */
+private int bis;
+
+/**
+ * Das Quadrat des Schwellenwerts der Bewertung
+ */
+private double schwellenwertQuadrat;
+
+/**
+ * Dieser Konstruktor initialisiert den Indexbereich und den Schwellenwert.
+ * 
+ * @param von Der Index der ersten Hypothese des Bereichs
+ * @param bis Der Index nach der letzten Hypothese des Bereichs
+ * @param schwellenwertQuadrat Das Quadrat des Schwellenwerts der Bewertung
+ */
+private Hypothesenbewertung(int von, int bis, double schwellenwertQuadrat)
+   {
+   this.von = von;
+   this.bis = bis;
+   this.schwellenwertQuadrat = schwellenwertQuadrat;
+   }
+
+/**
+ * Diese Methode berechnet und bewertet die Hypothesen des Bereichs nacheinander und gibt die beste zurück.
+ * 
+ * @return Die beste Hypothese des Bereichs oder <tt>null</tt>, falls keine Hypothese berechnet werden konnte.
+ * 
+ * @see java.util.concurrent.Callable#call()
+ */
+@Override
+public Hypothese call()
+   {
+   Hypothese beste = null;
+   for (int index = this.von; index < this.bis; index++)
+      {
+      double[] kreisparameter = RobusterKreisausgleich.this.hypotheseBerechnen(index);
+      if (kreisparameter != null)
+         {
+         double bewertung = RobusterKreisausgleich.this.hypotheseBewerten(kreisparameter, this.schwellenwertQuadrat);
+         beste = Hypothese.besser(beste, new Hypothese(kreisparameter, bewertung, index));
+         }
+      }
+   return beste;
+   }
+}
+}
@@ -0,0 +1,148 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dieser Executor führt jede Aufgabe sofort im aufrufenden Thread aus. Er ist der Standard-Executor aller 
+ * Berechnungen, die ihre Teilaufgaben einem {@link java.util.concurrent.ExecutorService} übergeben, weil die Google 
+ * App Engine Threads nur über die ThreadFactory der aktuellen Anfrage zulässt und diese Threads die Anfrage nicht 
+ * überdauern dürfen. Ein Aufrufer, der parallel rechnen möchte, übergibt den Berechnungen stattdessen einen eigenen 
+ * Executor, z. B. einen mit der ThreadFactory der Anfrage erzeugten Thread-Pool, und beendet ihn am Ende der Anfrage.
+ * 
+ * Da der Executor keine Threads besitzt, wird er nie beendet. Die Methoden {@link #shutdown()} und 
+ * {@link #shutdownNow()} haben keine Wirkung.
+ *
+ * @author Th. K. Walter
+ * @version 1.0
+ */
+public final class SequentiellerExecutor extends AbstractExecutorService
+{
+/**
+ * Die einzige Instanz dieser Klasse
+ */
+public static final SequentiellerExecutor INSTANZ = new SequentiellerExecutor();
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor ist privat, da nur die Instanz {@link #INSTANZ} benötigt wird.
+ */
+private SequentiellerExecutor()
+   {
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode führt die Aufgabe im aufrufenden Thread aus.
+ * 
+ * @param aufgabe Die Aufgabe
+ * 
+ * @see java.util.concurrent.Executor#execute(java.lang.Runnable)
+ */
+@Override
+public void execute(Runnable aufgabe)
+   {
+   aufgabe.run();
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode hat keine Wirkung, da der Executor keine Threads besitzt.
+ * 
+ * @see java.util.concurrent.ExecutorService#shutdown()
+ */
+@Override
+public void shutdown()
+   {
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode hat keine Wirkung, da der Executor keine Threads besitzt.
+ * 
+ * @return Eine leere Liste, da keine Aufgaben auf ihre Ausführung warten
+ * 
+ * @see java.util.concurrent.ExecutorService#shutdownNow()
+ */
+@Override
+public List<Runnable> shutdownNow()
+   {
+   return Collections.emptyList();
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt an, ob der Executor beendet worden ist.
+ * 
+ * @return Immer <tt>false</tt>
+ * 
+ * @see java.util.concurrent.ExecutorService#isShutdown()
+ */
+@Override
+public boolean isShutdown()
+   {
+   return false;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt an, ob alle Aufgaben nach dem Beenden des Executors ausgeführt worden sind.
+ * 
+ * @return Immer <tt>false</tt>
+ * 
+ * @see java.util.concurrent.ExecutorService#isTerminated()
+ */
+@Override
+public boolean isTerminated()
+   {
+   return false;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode wartet auf das Ende des Executors. Da der Executor nie beendet wird, kehrt sie sofort zurück.
+ * 
+ * @param zeit Die maximale Wartezeit
+ * @param einheit Die Einheit der Wartezeit
+ * 
+ * @return Immer <tt>false</tt>
+ * 
+ * @see java.util.concurrent.ExecutorService#awaitTermination(long, java.util.concurrent.TimeUnit)
+ */
+@Override
+public boolean awaitTermination(long zeit, TimeUnit einheit)
+   {
+   return false;
+   }
+}
@@ -0,0 +1,194 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+import de.thkwalter.jsf.ApplicationRuntimeException;
+
+/**
+ * Diese Klasse berechnet die Ortskurven vieler Messreihen (z. B. aller Motoren eines Fertigungsloses). Die Messreihen
+ * werden auf einem übergebenen Executor parallel oder, ohne Angabe eines Executors, nacheinander im aufrufenden Thread
+ * berechnet (siehe {@link SequentiellerExecutor}). Jede Messreihe wird unabhängig von den anderen mit einer 
+ * {@link Ortskurvenberechnung} ausgewertet. Scheitert die Berechnung für eine Messreihe, so enthält ihr Ergebnis die 
+ * Fehlermeldung; die übrigen Messreihen werden trotzdem berechnet. Fehler in den Messreihen werden ohne Ausnahme als 
+ * {@link Validierungsergebnis} mit Fehlercodes gemeldet.
+ *
+ * @author Th. K. Walter
+ * @version 1.0
+ */
+public class Stapelberechnung
+{
+/*
+ * Der Logger dieser Klasse.
+ */
+private static Logger logger = Logger.getLogger(Stapelberechnung.class.getName());
+
+/**
+ * Der Executor, auf dem die Messreihen berechnet werden
+ */
+private ExecutorService executor;
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor erzeugt eine Stapelberechnung, welche die Messreihen nacheinander im aufrufenden Thread berechnet.
+ */
+public Stapelberechnung()
+   {
+   this(SequentiellerExecutor.INSTANZ);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor erzeugt eine Stapelberechnung, welche die Messreihen auf dem angegebenen Executor berechnet. Der
+ * Executor wird von dieser Klasse nicht beendet. Auf der Google App Engine muss er seine Threads mit der ThreadFactory
+ * der aktuellen Anfrage erzeugen.
+ * 
+ * @param executor Der Executor, auf dem die Messreihen berechnet werden
+ */
+public Stapelberechnung(ExecutorService executor)
+   {
+   this.executor = executor;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode berechnet die Ortskurven der Messreihen auf dem Executor.
+ * 
+ * @param messreihen Die Messreihen
+ * @param loesungsverfahren Das Verfahren, mit dem die Ausgleichsprobleme gelöst werden, oder <tt>null</tt>, falls das
+ *        Standardverfahren für den Typ des Ausgleichsproblems verwendet werden soll.
+ * 
+ * @return Die Ergebnisse in der Reihenfolge der Messreihen. Für Messreihen, deren Ortskurve nicht berechnet werden 
+ *         konnte, enthält das Ergebnis die Fehlermeldung.
+ * 
+ * @throws InterruptedException Falls der aufrufende Thread während des Wartens unterbrochen worden ist. Die noch nicht
+ *         beendeten Berechnungen werden in diesem Fall abgebrochen.
+ */
+public List<Ortskurvenergebnis> ortskurvenBerechnen(List<MessreiheAnsicht> messreihen, 
+   Loesungsverfahren loesungsverfahren) throws InterruptedException
+   {
+   // Die Berechnung ist zustandslos und kann daher für alle Messreihen gemeinsam verwendet werden.
+   final Ortskurvenberechnung ortskurvenberechnung = new Ortskurvenberechnung(loesungsverfahren);
+   
+   // Für jede Messreihe wird eine Aufgabe an den Executor übergeben.
+   List<Future<Ortskurvenergebnis>> zukuenfte = new ArrayList<Future<Ortskurvenergebnis>>(messreihen.size());
+   for (final MessreiheAnsicht messreihe : messreihen)
+      {
+      zukuenfte.add(this.executor.submit(new Callable<Ortskurvenergebnis>()
+         {
+         @Override
+         public Ortskurvenergebnis call()
+            {
+            return Stapelberechnung.messreiheBerechnen(ortskurvenberechnung, messreihe);
+            }
+         }));
+      }
+   
+   // Die Ergebnisse werden in der Reihenfolge der Messreihen eingesammelt.
+   List<Ortskurvenergebnis> ergebnisse = new ArrayList<Ortskurvenergebnis>(messreihen.size());
+   try
+      {
+      for (Future<Ortskurvenergebnis> zukunft : zukuenfte)
+         {
+         try
+            {
+            ergebnisse.add(zukunft.get());
+            }
+         
+         // Fehler, die nicht bereits in der Aufgabe in ein Ergebnis umgewandelt worden sind (z. B. Errors), werden 
+         // ebenfalls als Ergebnis der Messreihe gemeldet.
+         catch (ExecutionException e)
+            {
+            Stapelberechnung.logger.severe(e.getCause().toString());
+            ergebnisse.add(new Ortskurvenergebnis(e.getCause().toString()));
+            }
+         }
+      }
+   
+   // Falls der aufrufende Thread unterbrochen worden ist, werden die übrigen Berechnungen abgebrochen.
+   catch (InterruptedException e)
+      {
+      for (Future<Ortskurvenergebnis> zukunft : zukuenfte)
+         {
+         zukunft.cancel(true);
+         }
+      throw e;
+      }
+   
+   return ergebnisse;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode berechnet die Ortskurve einer Messreihe. Ausnahmen werden in ein Ergebnis mit Fehlermeldung 
+ * umgewandelt.
+ * 
+ * @param ortskurvenberechnung Die Ortskurvenberechnung
+ * @param messreihe Die Messreihe
+ * 
+ * @return Das Ergebnis der Berechnung
+ */
+private static Ortskurvenergebnis messreiheBerechnen(Ortskurvenberechnung ortskurvenberechnung, 
+   MessreiheAnsicht messreihe)
+   {
+   // Die Messreihe wird validiert. Fehler in der Messreihe werden ohne Ausnahme gemeldet.
+   Validierungsergebnis validierungsergebnis = ortskurvenberechnung.messpunktePruefen(messreihe);
+   if (!validierungsergebnis.isValide())
+      {
+      return new Ortskurvenergebnis(validierungsergebnis);
+      }
+   
+   try
+      {
+      return ortskurvenberechnung.ortskurveBerechnen(validierungsergebnis, null, null);
+      }
+   
+   // Fehler, die erst bei der Lösung erkannt werden (z. B. fehlende Konvergenz), werden mit ihren Fehlercodes 
+   // übernommen.
+   catch (Validierungsausnahme e)
+      {
+      return new Ortskurvenergebnis(e.getValidierungsergebnis());
+      }
+   
+   // Die Fehlermeldungen der Anwendung werden unverändert übernommen.
+   catch (ApplicationRuntimeException e)
+      {
+      return new Ortskurvenergebnis(e.getMessage());
+      }
+   
+   // Andere Laufzeitfehler (z. B. singuläre Normalgleichungen) werden protokolliert und ebenfalls gemeldet.
+   catch (RuntimeException e)
+      {
+      Stapelberechnung.logger.severe(e.toString());
+      return new Ortskurvenergebnis(e.toString());
+      }
+   }
+}
@@ -15,7 +15,6 @@
  */
 package de.thkwalter.et.ortskurve;
 
-import java.util.ArrayList;
 import java.util.logging.Logger;
 
 import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
@@ -27,10 +26,13 @@ import org.apache.commons.math3.linear.RealMatrix;
 import org.apache.commons.math3.linear.RealVector;
 import org.apache.commons.math3.linear.SingularMatrixException;
 
-import de.thkwalter.jsf.ApplicationRuntimeException;
 
 /**
- * Diese Klasse berechnet aus drei Punkten den Startpunkt für das Ausgleichsproblem. 
+ * Diese Klasse berechnet den Startpunkt für das Ausgleichsproblem. Bei mehr als drei Messpunkten wird der Kreis 
+ * algebraisch in einem Durchlauf über alle Messpunkte berechnet (siehe {@link Kreismomente}). Falls das nicht möglich 
+ * ist, und bei genau drei Messpunkten, wird der Kreis durch drei Messpunkte gelegt. In beiden Fällen wird mit 
+ * normierten Messpunkten gerechnet (siehe {@link Normierung}), damit die Gleichungssysteme auch bei großen Strömen auf
+ * kurzen Kreisbögen gut konditioniert sind.
  *
  * @author Th. K. Walter
  */
@@ -48,35 +50,94 @@ private static Logger logger = Logger.getLogger(Startpunktbestimmung.class.getNa
  * Dieser Konstruktor bestimmt aus den Messpunkten den Startpunkt für die nichtlineare Ausgleichsrechnung.
  * 
  * @param messpunkte Das Feld der Messpunkte
+ * 
+ * @return Der Startpunkt
  */
 public static double[] startpunktBerechnen(Vector2D[] messpunkte)
+   {
+   return Startpunktbestimmung.startpunktBerechnen(
+      messpunkte == null ? null : MessreiheAnsicht.ansichtErzeugen(messpunkte));
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode bestimmt aus den Messpunkten den Startpunkt für die nichtlineare Ausgleichsrechnung.
+ * 
+ * @param messpunkte Die Messpunkte
+ * 
+ * @return Der Startpunkt. Die erste Komponente des Feldes repräsentiert die x-Komponente des Mittelpunktes, die zweite
+ * Komponente die y-Komponente, die dritte Komponente den Radius.
+ */
+public static double[] startpunktBerechnen(MessreiheAnsicht messpunkte)
+   {
+   // Der Startpunkt wird bestimmt. Falls dabei ein Fehler gefunden wird, wird eine Ausnahme geworfen.
+   Validierungsergebnis validierungsergebnis = new Validierungsergebnis();
+   double[] startpunkt = Startpunktbestimmung.startpunktBerechnen(messpunkte, validierungsergebnis);
+   if (startpunkt == null)
+      {
+      throw new Validierungsausnahme(validierungsergebnis);
+      }
+   return startpunkt;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode bestimmt aus den Messpunkten den Startpunkt für die nichtlineare Ausgleichsrechnung. Falls der 
+ * Startpunkt nicht bestimmt werden kann, wird der Fehler im Validierungsergebnis vermerkt, statt eine Ausnahme zu 
+ * werfen.
+ * 
+ * @param messpunkte Die Messpunkte
+ * @param validierungsergebnis Das Validierungsergebnis, in dem die Fehler vermerkt werden
+ * 
+ * @return Der Startpunkt oder <tt>null</tt>, falls er nicht bestimmt werden kann. Die erste Komponente des Feldes 
+ * repräsentiert die x-Komponente des Mittelpunktes, die zweite Komponente die y-Komponente, die dritte Komponente den 
+ * Radius.
+ */
+static double[] startpunktBerechnen(MessreiheAnsicht messpunkte, Validierungsergebnis validierungsergebnis)
    {   
-   // Falls weniger als drei Messpunkte existieren, wird eine JSFAusnahme geworfen.
-   if (messpunkte == null || messpunkte.length < 3)
+   // Falls weniger als drei Messpunkte existieren, wird ein Fehler vermerkt.
+   if (messpunkte == null || messpunkte.getAnzahl() < 3)
       {
       // Die Anzahl der Messpunkte wird bestimmt.
-      int anzahlMesspunkte = messpunkte == null ? 0 : messpunkte.length;
+      int anzahlMesspunkte = messpunkte == null ? 0 : messpunkte.getAnzahl();
       
       // Die Fehlermeldung für den Entwickler wird erzeugt und protokolliert.
       String fehlermeldung = "Es existieren nur " + anzahlMesspunkte + " Messpunkte!";
       Startpunktbestimmung.logger.severe(fehlermeldung);
       
-      // Die Ausnahme wird erzeugt und mit der Fehlermeldung für den Benutzer initialisiert.
+      // Der Fehler wird mit der Fehlermeldung für den Benutzer vermerkt.
       String jsfMeldung = "Um einen Kreis berechnen zu können, werden mindestens drei Messpunkte benötigt. " +
          "Es stehen jedoch nur " + anzahlMesspunkte + " Messpunkte zur Verfügung! " +
          "Fügen Sie bitte weitere Messpunkte hinzu.";
-      ApplicationRuntimeException applicationRuntimeException = new ApplicationRuntimeException(jsfMeldung);
+      validierungsergebnis.fehlerHinzufuegen(Fehlercode.ZU_WENIGE_MESSPUNKTE, jsfMeldung);
+      return null;
+      }
+   
+   // Falls mehr als drei Messpunkte existieren, wird der Kreis algebraisch aus allen Messpunkten berechnet.
+   if (messpunkte.getAnzahl() > 3)
+      {
+      Normierung normierung = Normierung.berechnen(messpunkte, Ausgleichsproblemtyp.ORTSKURVE_3d);
+      double[] startpunkt = Kreismomente.berechnen(normierung.messreiheNormieren(messpunkte)).kreisBerechnen();
       
-      throw applicationRuntimeException;
+      // Falls der algebraische Kreis existiert, wird er als Startpunkt verwendet. Andernfalls wird der Startpunkt wie
+      // bisher aus drei ausgewählten Messpunkten bestimmt.
+      if (startpunkt != null)
+         {
+         return normierung.kreisparameterZurueckrechnen(startpunkt, Ausgleichsproblemtyp.ORTSKURVE_3d);
+         }
       }
    
    // Die Messpunkte, die zur Startpunktbestimmung verwendet werden
    Vector2D[] messpunkteZurStartpunktbestimmung = null;
    
    // Falls nur drei Messpunkte existieren, werden diese zur Startpunktbestimmung verwendet.
-   if (messpunkte.length == 3)
+   if (messpunkte.getAnzahl() == 3)
       {
-      messpunkteZurStartpunktbestimmung = messpunkte;
+      messpunkteZurStartpunktbestimmung = messpunkte.toVector2D();
       }
    
    // Falls mehr als drei Messpunkte existieren, wird bestimmt, welche davon zur Startpunktbestimmung verwendet werden.
@@ -87,24 +148,35 @@ public static double[] startpunktBerechnen(Vector2D[] messpunkte)
       }
    
    // Der Startpunkt wird bestimmt.
-   return Startpunktbestimmung.startpunktBestimmen(messpunkteZurStartpunktbestimmung);
+   return Startpunktbestimmung.startpunktBestimmen(messpunkteZurStartpunktbestimmung, validierungsergebnis);
    }
 
 // =====================================================================================================================
 // =====================================================================================================================
 
 /**
- * Diese Methode berechnet den Startpunkt aus den ersten drei Messpunkten.
+ * Diese Methode berechnet den Startpunkt aus den ersten drei Messpunkten. Das Gleichungssystem wird für die normierten
+ * Messpunkte aufgestellt; der Startpunkt wird anschließend in die ursprünglichen Koordinaten zurückgerechnet.
  * 
- * @return Der Startpunkt. Die erste Komponente des Feldes repräsentiert die x-Komponente des Mittelpunktes, die zweite
- * Komponente die y-Komponente, die dritte Komponente den Radius.
+ * @param messpunkteZurStartpunktbestimmung Die drei Messpunkte
+ * @param validierungsergebnis Das Validierungsergebnis, in dem ein Fehler vermerkt wird
+ * 
+ * @return Der Startpunkt oder <tt>null</tt>, falls die Matrix singulär ist. Die erste Komponente des Feldes 
+ * repräsentiert die x-Komponente des Mittelpunktes, die zweite Komponente die y-Komponente, die dritte Komponente den 
+ * Radius.
  */
-private static double[] startpunktBestimmen(Vector2D[] messpunkteZurStartpunktbestimmung)
+private static double[] startpunktBestimmen(Vector2D[] messpunkteZurStartpunktbestimmung, 
+   Validierungsergebnis validierungsergebnis)
    {
    // Die Felder für die Koeffizientenmatrix und die Inhomogenität werden definiert.
    double[][] koeffizienten = new double[3][];
    double[] inhomogenitaet = new double[3];
    
+   // Die drei Messpunkte werden normiert.
+   MessreiheAnsicht dreiMesspunkte = MessreiheAnsicht.ansichtErzeugen(messpunkteZurStartpunktbestimmung);
+   Normierung normierung = Normierung.berechnen(dreiMesspunkte, Ausgleichsproblemtyp.ORTSKURVE_3d);
+   MessreiheAnsicht normierteMesspunkte = normierung.messreiheNormieren(dreiMesspunkte);
+   
    // Einige Hilfsgrößen werden deklariert.
    double[] zeile = null;
    double x = Double.NaN;
@@ -113,9 +185,9 @@ private static double[] startpunktBestimmen(Vector2D[] messpunkteZurStartpunktbe
    // In der folgenden Schleife werden die Koeffizientenmatrix und die Inhomogenität initialisiert.
    for (int i = 0; i < 3; i++)
       {
-      // Die x- und y-Komponente eines Punktes werden gelesen.
-      x = messpunkteZurStartpunktbestimmung[i].getX();
-      y = messpunkteZurStartpunktbestimmung[i].getY();
+      // Die normierte x- und y-Komponente eines Punktes werden gelesen.
+      x = normierteMesspunkte.getX(i);
+      y = normierteMesspunkte.getY(i);
       
       // Eine Zeile der Koeffizientenmatrix wird initialisiert
       zeile = new double[3];
@@ -150,16 +222,15 @@ private static double[] startpunktBestimmen(Vector2D[] messpunkteZurStartpunktbe
          messpunkteZurStartpunktbestimmung[1] + " und " + messpunkteZurStartpunktbestimmung[2] + " ist singulär.";
       Startpunktbestimmung.logger.severe(fehlermeldung);
       
-      // Die Ausnahme wird erzeugt und mit der Fehlermeldung für den Benutzer initialisiert.
+      // Der Fehler wird mit der Fehlermeldung für den Benutzer vermerkt.
       String jsfMeldung = "Eine von den Messpunkten (" + messpunkteZurStartpunktbestimmung[0].getX() + ", " + 
          messpunkteZurStartpunktbestimmung[0].getY() + "), ("+ messpunkteZurStartpunktbestimmung[1].getX() + ", " + 
          messpunkteZurStartpunktbestimmung[1].getY() + ") und (" + messpunkteZurStartpunktbestimmung[2].getX() + ", " + 
          messpunkteZurStartpunktbestimmung[2].getY() + ")" + " abhängige Matrix ist singuär. Der " +
          "Berechnungsalgorithmus benötigt jedoch eine reguläre Matrix! Entfernen Sie bitte einen der oben " +
          "angegebenen Messpunkte.";
-      ApplicationRuntimeException applicationRuntimeException = new ApplicationRuntimeException(jsfMeldung);
-      
-      throw applicationRuntimeException;
+      validierungsergebnis.fehlerHinzufuegen(Fehlercode.SINGULAERE_MESSPUNKTE, jsfMeldung);
+      return null;
       }
    
    // Der Startpunkt wird aus der Läsung des linearen Gleichungssystems bestimmt.
@@ -167,201 +238,155 @@ private static double[] startpunktBestimmen(Vector2D[] messpunkteZurStartpunktbe
    double yMittelpunkt = 0.5 * loesung.getEntry(2);
    double radius = Math.sqrt(xMittelpunkt * xMittelpunkt + yMittelpunkt * yMittelpunkt - loesung.getEntry(0));
    
-   // Der Startpunkt wird zurückgegeben.
-   return new double[]{xMittelpunkt, yMittelpunkt, radius};
+   // Der Startpunkt wird in die ursprünglichen Koordinaten zurückgerechnet und zurückgegeben.
+   return normierung.kreisparameterZurueckrechnen(new double[]{xMittelpunkt, yMittelpunkt, radius}, 
+      Ausgleichsproblemtyp.ORTSKURVE_3d);
    }
 
 // =====================================================================================================================
 // =====================================================================================================================
 
 /**
- * Diese Methode bestimmt die Messpunkte, die zur Startpunktbestimmung verwendet werden. Das sind die beiden
- * Messpunkte mit dem größten bzw. kleinsten y-Komponente (Realteil des Stroms) und der Messpunkt, dessen y-Komponente 
- * am nähesten zum Mittelwert aus der größten und der kleinsten auftreteten y-Komponente liegt.
+ * Diese Methode berechnet den Kreis durch drei Punkte. Sie löst dasselbe lineare Gleichungssystem wie 
+ * {@link #startpunktBestimmen(Vector2D[], Validierungsergebnis)}, eliminiert aber zunächst die konstante Unbekannte 
+ * und löst das verbleibende 2x2-System mit der Cramerschen Regel. Anders als 
+ * {@link #startpunktBestimmen(Vector2D[], Validierungsergebnis)} vermerkt sie keinen Fehler, wenn die Punkte (fast) 
+ * auf einer Geraden liegen, sodass sie sich für viele zufällig ausgewählte Tripel eignet.
+ * 
+ * @param x0 Die x-Komponente des ersten Punkts
+ * @param y0 Die y-Komponente des ersten Punkts
+ * @param x1 Die x-Komponente des zweiten Punkts
+ * @param y1 Die y-Komponente des zweiten Punkts
+ * @param x2 Die x-Komponente des dritten Punkts
+ * @param y2 Die y-Komponente des dritten Punkts
+ * 
+ * @return Die x- und die y-Komponente des Mittelpunktes und der Radius des Kreises oder <tt>null</tt>, falls die 
+ *         Punkte (fast) auf einer Geraden liegen.
  */
-private static Vector2D[] messpunkteAuswaehlen(Vector2D[] messpunkte)
-   {   
-   // Zwei Listen mit den Messpunkten werden erstellt.
-   ArrayList<XKomponenteMesspunkt> xListe = new ArrayList<XKomponenteMesspunkt>();
-   ArrayList<YKomponenteMesspunkt> yListe = new ArrayList<YKomponenteMesspunkt>();
+static double[] kreisDurchDreiPunkteBerechnen(double x0, double y0, double x1, double y1, double x2, double y2)
+   {
+   // Die Differenzen zum ersten Punkt werden berechnet.
+   double ux = x1 - x0;
+   double uy = y1 - y0;
+   double vx = x2 - x0;
+   double vy = y2 - y0;
    
-   // Die Listen werden mit den Messpunkten initialisiert.
-   for (Vector2D messpunkt : messpunkte)
+   // Falls die Determinante im Vergleich zu den Abständen der Punkte verschwindet, liegen die Punkte auf einer Geraden.
+   double determinante = ux * vy - uy * vx;
+   if (Math.abs(determinante) <= 1E-10 * Math.sqrt((ux * ux + uy * uy) * (vx * vx + vy * vy)))
       {
-      xListe.add(new XKomponenteMesspunkt(messpunkt));
-      yListe.add(new YKomponenteMesspunkt(messpunkt));
+      return null;
       }
    
-   // Die Messpunkte mit der größten und kleinsten x-Komponente werden bestimmt.
-   Vector2D maxXMesspunkt = Startpunktbestimmung.maxMesspunktBestimmen(xListe);
-   Vector2D minXMesspunkt = Startpunktbestimmung.minMesspunktBestimmen(xListe);
-   
-   // Die Messpunkte mit der größten und kleinsten y-Komponente werden bestimmt.
-   Vector2D maxYMesspunkt = Startpunktbestimmung.maxMesspunktBestimmen(yListe);
-   Vector2D minYMesspunkt = Startpunktbestimmung.minMesspunktBestimmen(yListe);
-   
-   // Die Messpunkte, die bei der Startpunktbestimmung verwendet werden, werden deklariert.
-   Vector2D maxMesspunkt = null;
-   Vector2D minMesspunkt = null;
-   Vector2D mittlererMesspunkt = null;
-   
-   // Falls der Wertebereich der x-Komponente der Messpunkte größer ist als der Wertebereich der y-Komponente, ...
-   if (maxXMesspunkt.getX() - minXMesspunkt.getX() > maxYMesspunkt.getY() - minYMesspunkt.getY())
-      {
-      // Die Messpunkte mit der größten und kleinsten x-Kompomnente werden bei der Startpunktbestimmung verwendet.
-      maxMesspunkt = maxXMesspunkt;
-      minMesspunkt = minXMesspunkt;
-      mittlererMesspunkt = 
-         Startpunktbestimmung.mittlerenMesspunktBestimmen(xListe, 0.5 * (maxXMesspunkt.getX() + minXMesspunkt.getX()));
-      }
+   // Die rechten Seiten des 2x2-Systems werden berechnet.
+   double u = 0.5 * (ux * ux + uy * uy);
+   double v = 0.5 * (vx * vx + vy * vy);
    
-   // Falls der Wertebereich der x-Komponente der Messpunkte nicht größer ist als der Wertebereich der y-Komponente, ...
-   else
-      {
-      // Die Messpunkte mit der größten und kleinsten y-Kompomnente werden bei der Startpunktbestimmung verwendet.
-      maxMesspunkt = maxYMesspunkt;
-      minMesspunkt = minYMesspunkt;
-      mittlererMesspunkt = 
-         Startpunktbestimmung.mittlerenMesspunktBestimmen(yListe, 0.5 * (maxYMesspunkt.getY() + minYMesspunkt.getY()));
-      }
+   // Der Mittelpunkt relativ zum ersten Punkt und der Radius werden berechnet.
+   double xMittelpunkt = (u * vy - v * uy) / determinante;
+   double yMittelpunkt = (v * ux - u * vx) / determinante;
+   double radius = Math.sqrt(xMittelpunkt * xMittelpunkt + yMittelpunkt * yMittelpunkt);
    
-   // Die Messpunkte, die zur Startpunktbestimmung verwendet werden, werden zurückgegeben.
-   return new Vector2D[]{maxMesspunkt, minMesspunkt, mittlererMesspunkt};
+   return new double[]{x0 + xMittelpunkt, y0 + yMittelpunkt, radius};
    }
 
 // =====================================================================================================================
 // =====================================================================================================================
 
 /**
- * Diese Methode bestimmt den Messpunkt, dessen x- bzw. y-Komponente am nähesten zum Mittelwert aus der größten und der 
- * kleinsten auftreteten x- bzw. y-Komponente liegt. 
+ * Diese Methode bestimmt die Messpunkte, die zur Startpunktbestimmung verwendet werden. Das sind die beiden
+ * Messpunkte mit dem größten bzw. kleinsten y-Komponente (Realteil des Stroms) und der Messpunkt, dessen y-Komponente 
+ * am nähesten zum Mittelwert aus der größten und der kleinsten auftreteten y-Komponente liegt. Falls der Wertebereich
+ * der x-Komponente größer ist, werden die Messpunkte entsprechend nach der x-Komponente ausgewählt.
+ * 
+ * Die Methode arbeitet direkt auf den Komponenten der Messreihe: Ein Durchlauf bestimmt die Indizes der größten und 
+ * kleinsten Komponenten, ein zweiter Durchlauf den mittleren Messpunkt. Außer den drei ausgewählten Messpunkten werden
+ * keine Objekte erzeugt.
  * 
- * @param messpunkte Eine Liste der x- bzw. y-Komponenten der Messpunkte
- * @param mittelwert Der Mittelwert aus der größten und der kleinsten auftreteten x- bzw. y-Komponente
+ * @param messpunkte Die Messpunkte (mindestens drei)
  * 
- * @return Der Messpunkt, dessen x- bzw. y-Komponente am nähesten zum Mittelwert aus der größten und der 
- * kleinsten auftreteten x- bzw. y-Komponente liegt
+ * @return Der Messpunkt mit der größten Komponente, der Messpunkt mit der kleinsten Komponente und der mittlere 
+ *         Messpunkt
  */
-private static Vector2D mittlerenMesspunktBestimmen(ArrayList<? extends KomponenteMesspunkt> liste, double mittelwert)
+static Vector2D[] messpunkteAuswaehlen(MessreiheAnsicht messpunkte)
    {
-   // Der gesuchte Messpunkt.
-   KomponenteMesspunkt mittlereKomponenteMesspunkt = null;
-   
-   // Der kleinste bisher gefundene Abstand der x- bzw. y-Komponente eines Messpunkts zum Mittelwert.
-   double minAbstandZumMittelwert = Double.POSITIVE_INFINITY;
+   int anzahl = messpunkte.getAnzahl();
    
-   // Der Abstand der x- bzw. y-Komponente eines Messpunkts zum Mittelwert.
-   double abstandZumMittelwert = Double.NaN;
+   // Die Indizes und Werte der größten und kleinsten x- und y-Komponenten werden initialisiert.
+   int maxXIndex = 0;
+   int minXIndex = 0;
+   int maxYIndex = 0;
+   int minYIndex = 0;
+   double maxX = messpunkte.getX(0);
+   double minX = maxX;
+   double maxY = messpunkte.getY(0);
+   double minY = maxY;
    
-   // Eine Schleife über alle Messpunkte.
-   for (KomponenteMesspunkt komponenteMesspunkt : liste)
+   // In einem Durchlauf werden die größten und kleinsten Komponenten bestimmt. Bei gleichen Werten wird wie bisher der
+   // erste Messpunkt gewählt.
+   for (int i = 1; i < anzahl; i++)
       {
-      // Der Abstand der x- bzw. y-Komponente eines Messpunkts zum Mittelwert wird berechnet.
-      abstandZumMittelwert = Math.abs(komponenteMesspunkt.getWert() - mittelwert);
-      
-      // Falls der Abstand der x- bzw. y-Komponente des aktuellen Messpunkts zum Mittelwert kleiner als das bisherige 
-      // Minimum ist, ...
-      if (abstandZumMittelwert < minAbstandZumMittelwert)
+      double x = messpunkte.getX(i);
+      double y = messpunkte.getY(i);
+      if (x > maxX)
          {
-         // Der minimale Abstand der x- bzw. y-Komponente eines Messpunkts zum Mittelwert wird aktualisiert.
-         minAbstandZumMittelwert = abstandZumMittelwert;
-         
-         // Der gesuchte Punkt wird aktualisiert.
-         mittlereKomponenteMesspunkt = komponenteMesspunkt;
+         maxX = x;
+         maxXIndex = i;
+         }
+      if (x < minX)
+         {
+         minX = x;
+         minXIndex = i;
+         }
+      if (y > maxY)
+         {
+         maxY = y;
+         maxYIndex = i;
+         }
+      if (y < minY)
+         {
+         minY = y;
+         minYIndex = i;
          }
       }
-
-   // Der gesuchte Messpunkt wird zurückgegeben.
-   return mittlereKomponenteMesspunkt.getMesspunkt();
-   }
-
-// =====================================================================================================================
-// =====================================================================================================================
-
-/**
- * Diese Methode bestimmt den Messpunkt mit dem größten Wert der x- bzw. y-Komponente.
- * 
- * @param liste Eine Liste der x- bzw. y-Komponenten der Messpunkte
- * 
- * @return Der Messpunkt mit dem größten Wert der x- bzw. y-Komponente
- */
-private static Vector2D maxMesspunktBestimmen(ArrayList<? extends KomponenteMesspunkt> liste)
-   {
-   // Die Messpunkte mit der größten x- bzw. y-Komponente.
-   KomponenteMesspunkt maxKomponenteMesspunkt = null;
-   
-   // Die x- bzw. y-Komponente eines Messwertes.
-   double wert = Double.NaN;
-   
-   // Die größte bisher gefundene x- bzw. y-Komponente.
-   double maxWert = Double.NEGATIVE_INFINITY;
    
-   // Eine Schleife über alle Messpunkte in der Liste
-   for (KomponenteMesspunkt komponenteMesspunkt : liste)
+   // Falls alle Komponenten gleich sind, wird als kleinste Komponente die des nächsten Messpunktes verwendet, damit
+   // drei verschiedene Messpunkte ausgewählt werden.
+   if (minXIndex == maxXIndex)
       {
-      // Die x- bzw. y-Komponente des Messpunktes wird gelesen.
-      wert = komponenteMesspunkt.getWert();
-      
-      // Falls die x- bzw. y-Komponente des Messpunkts größer als die größte bisher gefundene x- bzw. y-Komponente, ...
-      if (wert > maxWert)
-         {
-         // Die größte bisher gefundene x- bzw. y-Komponente wird aktualisiert.  
-         maxWert = wert;
-         
-         // Der Messpunkt mit der größten x- bzw. y-Komponente wird aktualisiert.
-         maxKomponenteMesspunkt = komponenteMesspunkt;
-         } 
+      minXIndex = maxXIndex + 1;
+      }
+   if (minYIndex == maxYIndex)
+      {
+      minYIndex = maxYIndex + 1;
       }
    
-   // Der Messpunkt mit der größten x- bzw. y-Komponente wird aus der Liste entfernt.
-   liste.remove(maxKomponenteMesspunkt);
-
-   // Der Messpunkt mit der größten x- bzw. y-Komponente wird zurückgegeben.
-   return maxKomponenteMesspunkt.getMesspunkt();
-   }
-
-// =====================================================================================================================
-// =====================================================================================================================
-
-/**
- * Diese Methode bestimmt den Messpunkt mit dem kleinsten Wert der x- bzw. y-Komponente.
- * 
- * @param liste Eine Liste der x- bzw. y-Komponenten der Messpunkte
- * 
- * @return Der Messpunkt mit dem kleinstenbgh Wert der x- bzw. y-Komponente
- */
-private static Vector2D minMesspunktBestimmen(ArrayList<? extends KomponenteMesspunkt> liste)
-   {
-   // Die Messpunkte mit der kleinsten x- bzw. y-Komponente.
-   KomponenteMesspunkt minKomponenteMesspunkt = null;
-   
-   // Die x- bzw. y-Komponente eines Messwertes.
-   double wert = Double.NaN;
-   
-   // Die kleinste bisher gefundene x- bzw. y-Komponente.
-   double minWert = Double.POSITIVE_INFINITY;
+   // Die Komponente mit dem größeren Wertebereich wird ausgewählt.
+   boolean xKomponente = maxX - minX > maxY - minY;
+   int maxIndex = xKomponente ? maxXIndex : maxYIndex;
+   int minIndex = xKomponente ? minXIndex : minYIndex;
+   double mittelwert = xKomponente ? 0.5 * (maxX + minX) : 0.5 * (maxY + minY);
    
-   // Eine Schleife über alle Messpunkte in der Liste
-   for (KomponenteMesspunkt komponenteMesspunkt : liste)
+   // Der Messpunkt, dessen Komponente am nähesten zum Mittelwert liegt, wird unter den übrigen Messpunkten bestimmt.
+   int mittlererIndex = -1;
+   double minAbstandZumMittelwert = Double.POSITIVE_INFINITY;
+   for (int i = 0; i < anzahl; i++)
       {
-      // Die x- bzw. y-Komponente des Messpunktes wird gelesen.
-      wert = komponenteMesspunkt.getWert();
+      if (i == maxIndex || i == minIndex)
+         {
+         continue;
+         }
       
-      // Falls die x- bzw. y-Komponente des Messpunkts kleiner als die kleinste bisher gefundene x- bzw. y-Komponente, ...
-      if (wert < minWert)
+      double abstandZumMittelwert = Math.abs((xKomponente ? messpunkte.getX(i) : messpunkte.getY(i)) - mittelwert);
+      if (abstandZumMittelwert < minAbstandZumMittelwert)
          {
-         // Die größte bisher gefundene x- bzw. y-Komponente wird aktualisiert.  
-         minWert = wert;
-         
-         // Der Messpunkt mit der kleinsten x- bzw. y-Komponente wird aktualisiert.
-         minKomponenteMesspunkt = komponenteMesspunkt;
-         } 
+         minAbstandZumMittelwert = abstandZumMittelwert;
+         mittlererIndex = i;
+         }
       }
    
-   // Der Messpunkt mit der kleinsten x- bzw. y-Komponente wird aus der Liste entfernt.
-   liste.remove(minKomponenteMesspunkt);
-
-   // Der Messpunkt mit der größten x- bzw. y-Komponente wird zurückgegeben.
-   return minKomponenteMesspunkt.getMesspunkt();
+   // Die Messpunkte, die zur Startpunktbestimmung verwendet werden, werden zurückgegeben.
+   return new Vector2D[]{messpunkte.getMesspunkt(maxIndex), messpunkte.getMesspunkt(minIndex), 
+      messpunkte.getMesspunkt(mittlererIndex)};
    }
 }
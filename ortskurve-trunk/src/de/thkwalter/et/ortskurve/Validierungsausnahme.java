@@ -0,0 +1,97 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import de.thkwalter.jsf.ApplicationRuntimeException;
+
+/**
+ * Diese Ausnahme meldet die Fehler eines {@link Validierungsergebnis} auf dem bisherigen Weg über die Oberfläche. Da 
+ * die Fehler in den Eingaben des Benutzers liegen, wird kein Stacktrace erzeugt; der 
+ * {@link de.thkwalter.jsf.ApplicationExceptionHandler} zeigt nur die Fehlermeldungen an.
+ *
+ * @author Th. K. Walter
+ */
+public class Validierungsausnahme extends ApplicationRuntimeException
+{
+/**
+ * Die Serialisierungsnummer
+ */
+private static final long serialVersionUID = 3371958841203512746L;
+
+/**
+ * Das Validierungsergebnis mit den Fehlern
+ */
+private final Validierungsergebnis validierungsergebnis;
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor erzeugt die Ausnahme aus einem Validierungsergebnis.
+ * 
+ * @param validierungsergebnis Das Validierungsergebnis mit mindestens einem Fehler
+ */
+public Validierungsausnahme(Validierungsergebnis validierungsergebnis)
+   {
+   super(validierungsergebnis.getMeldung(), false);
+   this.validierungsergebnis = validierungsergebnis;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor erzeugt die Ausnahme für einen einzelnen Fehler.
+ * 
+ * @param fehlercode Der Fehlercode
+ * @param meldung Die Fehlermeldung für den Benutzer
+ */
+public Validierungsausnahme(Fehlercode fehlercode, String meldung)
+   {
+   this(Validierungsausnahme.validierungsergebnisErzeugen(fehlercode, meldung));
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode erzeugt ein Validierungsergebnis mit einem einzelnen Fehler.
+ * 
+ * @param fehlercode Der Fehlercode
+ * @param meldung Die Fehlermeldung für den Benutzer
+ * 
+ * @return Das Validierungsergebnis
+ */
+private static Validierungsergebnis validierungsergebnisErzeugen(Fehlercode fehlercode, String meldung)
+   {
+   Validierungsergebnis validierungsergebnis = new Validierungsergebnis();
+   validierungsergebnis.fehlerHinzufuegen(fehlercode, meldung);
+   return validierungsergebnis;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt das Validierungsergebnis mit den Fehlern zurück.
+ * 
+ * @return Das Validierungsergebnis
+ */
+public Validierungsergebnis getValidierungsergebnis()
+   {
+   return this.validierungsergebnis;
+   }
+}
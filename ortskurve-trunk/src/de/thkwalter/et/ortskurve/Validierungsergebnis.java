@@ -0,0 +1,278 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.et.ortskurve;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Diese Klasse sammelt die Fehler, die bei der Validierung einer Messreihe gefunden werden. Im Gegensatz zu einer 
+ * Ausnahme werden alle Fehler auf einmal gemeldet, und es wird kein Stacktrace erzeugt. Für die Oberfläche kann aus dem
+ * Ergebnis eine {@link Validierungsausnahme} erzeugt werden.
+ *
+ * @author Th. K. Walter
+ */
+public class Validierungsergebnis implements Serializable
+{
+/**
+ * Die Serialisierungsnummer
+ */
+private static final long serialVersionUID = 6052391648255732910L;
+
+/**
+ * Die gefundenen Fehler in der Reihenfolge, in der sie gefunden worden sind
+ */
+private List<Fehler> fehler = new ArrayList<Fehler>(2);
+
+/**
+ * Die validierten Messpunkte (ohne zusammengefasste Duplikate) oder <tt>null</tt>
+ */
+private transient MessreiheAnsicht messpunkte;
+
+/**
+ * Der bei der Validierung bestimmte Startpunkt der Ausgleichsrechnung oder <tt>null</tt>
+ */
+private transient double[] startpunkt;
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode fügt einen Fehler hinzu.
+ * 
+ * @param fehlercode Der Fehlercode
+ * @param meldung Die Fehlermeldung für den Benutzer
+ */
+public void fehlerHinzufuegen(Fehlercode fehlercode, String meldung)
+   {
+   this.fehler.add(new Fehler(fehlercode, meldung));
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt an, ob die Messreihe valide ist.
+ * 
+ * @return <tt>true</tt>, falls kein Fehler gefunden worden ist; <tt>false</tt> sonst.
+ */
+public boolean isValide()
+   {
+   return this.fehler.isEmpty();
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die gefundenen Fehler zurück.
+ * 
+ * @return Die nicht veränderbare Liste der Fehler
+ */
+public List<Fehler> getFehler()
+   {
+   return Collections.unmodifiableList(this.fehler);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt an, ob ein Fehler mit dem angegebenen Fehlercode gefunden worden ist.
+ * 
+ * @param fehlercode Der Fehlercode
+ * 
+ * @return <tt>true</tt>, falls ein solcher Fehler gefunden worden ist; <tt>false</tt> sonst.
+ */
+public boolean enthaelt(Fehlercode fehlercode)
+   {
+   for (Fehler einFehler : this.fehler)
+      {
+      if (einFehler.getFehlercode() == fehlercode)
+         {
+         return true;
+         }
+      }
+   return false;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Fehlermeldungen aller Fehler zurück, durch Leerzeichen getrennt.
+ * 
+ * @return Die Fehlermeldungen oder eine leere Zeichenkette, falls kein Fehler gefunden worden ist.
+ */
+public String getMeldung()
+   {
+   StringBuilder builder = new StringBuilder();
+   for (Fehler einFehler : this.fehler)
+      {
+      if (builder.length() > 0)
+         {
+         builder.append(' ');
+         }
+      builder.append(einFehler.getMeldung());
+      }
+   return builder.toString();
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die validierten Messpunkte zurück, mit denen die Ortskurve berechnet wird.
+ * 
+ * @return Die validierten Messpunkte oder <tt>null</tt>
+ */
+MessreiheAnsicht getMesspunkte()
+   {
+   return this.messpunkte;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode speichert die validierten Messpunkte.
+ * 
+ * @param messpunkte Die validierten Messpunkte
+ */
+void setMesspunkte(MessreiheAnsicht messpunkte)
+   {
+   this.messpunkte = messpunkte;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt den bei der Validierung bestimmten Startpunkt der Ausgleichsrechnung zurück.
+ * 
+ * @return Der Startpunkt oder <tt>null</tt>
+ */
+double[] getStartpunkt()
+   {
+   return this.startpunkt;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode speichert den bei der Validierung bestimmten Startpunkt der Ausgleichsrechnung.
+ * 
+ * @param startpunkt Der Startpunkt
+ */
+void setStartpunkt(double[] startpunkt)
+   {
+   this.startpunkt = startpunkt;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * @see java.lang.Object#toString()
+ */
+@Override
+public String toString()
+   {
+   return "Validierungsergebnis [fehler=" + this.fehler + "]";
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Klasse beschreibt einen bei der Validierung gefundenen Fehler.
+ *
+ * @author Th. K. Walter
+ */
+public static class Fehler implements Serializable
+{
+/**
+ * Die Serialisierungsnummer
+ */
+private static final long serialVersionUID = -4417285303316785124L;
+
+/**
+ * Der Fehlercode
+ */
+private final Fehlercode fehlercode;
+
+/**
+ * Die Fehlermeldung für den Benutzer
+ */
+private final String meldung;
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor initialisiert den Fehlercode und die Fehlermeldung.
+ * 
+ * @param fehlercode Der Fehlercode
+ * @param meldung Die Fehlermeldung für den Benutzer
+ */
+Fehler(Fehlercode fehlercode, String meldung)
+   {
+   this.fehlercode = fehlercode;
+   this.meldung = meldung;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt den Fehlercode zurück.
+ * 
+ * @return Der Fehlercode
+ */
+public Fehlercode getFehlercode()
+   {
+   return this.fehlercode;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Fehlermeldung für den Benutzer zurück.
+ * 
+ * @return Die Fehlermeldung
+ */
+public String getMeldung()
+   {
+   return this.meldung;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * @see java.lang.Object#toString()
+ */
+@Override
+public String toString()
+   {
+   return this.fehlercode + ": " + this.meldung;
+   }
+}
+}
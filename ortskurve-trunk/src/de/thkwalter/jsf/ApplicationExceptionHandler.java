@@ -94,8 +94,6 @@ public void handle() throws FacesException
    ExceptionQueuedEvent event = null;
    ExceptionQueuedEventContext context = null;
    Throwable throwable = null;
-   StringWriter stringWriter = null;
-   PrintWriter printWriter = null;
    String stackTrace = null;
    
    // Das aktuelle Datum wird gelesen.
@@ -113,15 +111,23 @@ public void handle() throws FacesException
 
       try
          {
-         // Ein PrintWiter, der in einen StringWriter schreibt, wird erzeugt.
-         stringWriter = new StringWriter();
-         printWriter = new PrintWriter(stringWriter);
+         // Falls die Ursache eine Ausnahme ohne Stacktrace ist (ein Fehler in den Eingaben des Benutzers), wird nur 
+         // ihr Text angezeigt.
+         ApplicationRuntimeException ohneStacktrace = ApplicationExceptionHandler.ausnahmeOhneStacktrace(throwable);
+         if (ohneStacktrace != null)
+            {
+            stackTrace = ohneStacktrace.getMessage();
+            }
          
-         // Der StackTrace wird in den PrintWriter geschrieben und dieser gibt sie an den StringWriter weiter.
-         throwable.printStackTrace(printWriter);
-         
-         // Der StackTrace wird aus dem StringWriter gelesen.
-         stackTrace = stringWriter.toString();
+         // Andernfalls wird der StackTrace in einen PrintWriter geschrieben und dieser gibt sie an einen StringWriter 
+         // weiter. Der StackTrace wird anschließend aus dem StringWriter gelesen.
+         else
+            {
+            StringWriter stringWriter = new StringWriter();
+            PrintWriter printWriter = new PrintWriter(stringWriter);
+            throwable.printStackTrace(printWriter);
+            stackTrace = stringWriter.toString();
+            }
          
          // Der StackTrace wird protokolliert.
          ApplicationExceptionHandler.logger.severe(throwable.getMessage());
@@ -146,4 +152,29 @@ public void handle() throws FacesException
    getWrapped().handle();
    }
 
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode sucht in der Kette der Ursachen einer Ausnahme nach einer {@link ApplicationRuntimeException} ohne 
+ * Stacktrace, also nach einem Fehler in den Eingaben des Benutzers (siehe 
+ * {@link ApplicationRuntimeException#isEingabefehler()}). JSF verpackt die in einer Aktion geworfenen Ausnahmen in 
+ * eigene Ausnahmen.
+ * 
+ * @param throwable Die Ausnahme
+ * 
+ * @return Die {@link ApplicationRuntimeException} ohne Stacktrace oder <tt>null</tt>, falls keine existiert.
+ */
+static ApplicationRuntimeException ausnahmeOhneStacktrace(Throwable throwable)
+   {
+   for (Throwable ursache = throwable; ursache != null; ursache = ursache.getCause())
+      {
+      if (ursache instanceof ApplicationRuntimeException && ((ApplicationRuntimeException) ursache).isEingabefehler())
+         {
+         return (ApplicationRuntimeException) ursache;
+         }
+      }
+   return null;
+   }
+
 }
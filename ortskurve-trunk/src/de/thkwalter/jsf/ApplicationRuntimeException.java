@@ -28,6 +28,12 @@ public class ApplicationRuntimeException extends RuntimeException
  */
 private static final long serialVersionUID = 8982555710277296332L;
 
+/**
+ * <tt>true</tt>, falls die Ausnahme einen Fehler in den Eingaben des Benutzers meldet und ohne Stacktrace erzeugt 
+ * worden ist; <tt>false</tt> sonst.
+ */
+private final boolean eingabefehler;
+
 // =====================================================================================================================
 // =====================================================================================================================
 
@@ -41,6 +47,7 @@ private static final long serialVersionUID = 8982555710277296332L;
 public ApplicationRuntimeException(String message)
    {
    super(message);
+   this.eingabefehler = false;
    }
 
 // =====================================================================================================================
@@ -56,6 +63,7 @@ public ApplicationRuntimeException(String message)
 public ApplicationRuntimeException(Throwable cause)
    {
    super(cause);
+   this.eingabefehler = false;
    }
 
 // =====================================================================================================================
@@ -72,5 +80,40 @@ public ApplicationRuntimeException(Throwable cause)
 public ApplicationRuntimeException(String message, Throwable cause)
    {
    super(message, cause);
+   this.eingabefehler = false;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor erzeugt eine neue Ausnahme, optional ohne Stacktrace. Ausnahmen ohne Stacktrace sind für Fehler in
+ * den Eingaben des Benutzers gedacht, bei denen der Stacktrace keine Information enthält; sie können deutlich 
+ * schneller erzeugt werden. Eine Ausnahme ohne Stacktrace wird als Fehler in den Eingaben des Benutzers markiert 
+ * (siehe {@link #isEingabefehler()}).
+ * 
+ * @param message Der Text der Ausnahme.
+ * @param stacktrace <tt>true</tt>, falls der Stacktrace erzeugt werden soll; <tt>false</tt> sonst.
+ * 
+ * @see RuntimeException#RuntimeException(String, Throwable, boolean, boolean)
+ */
+protected ApplicationRuntimeException(String message, boolean stacktrace)
+   {
+   super(message, null, false, stacktrace);
+   this.eingabefehler = !stacktrace;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt zurück, ob die Ausnahme einen Fehler in den Eingaben des Benutzers meldet. Für solche Ausnahmen 
+ * wird nur ihr Text angezeigt.
+ * 
+ * @return <tt>true</tt>, falls die Ausnahme einen Fehler in den Eingaben des Benutzers meldet; <tt>false</tt> sonst.
+ */
+public boolean isEingabefehler()
+   {
+   return this.eingabefehler;
    }
 }
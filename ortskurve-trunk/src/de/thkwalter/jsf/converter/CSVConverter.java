@@ -30,7 +30,9 @@ import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
 /**
  * Dieser Konverter konvertiert zwischen einer Zeichenketten im CSV-Format und einem Feld von {@link Vector2D}-Objekten.
  * Zwei Datensätze der Zeichenkette sind jeweils durch einen Zeilenumbruch getrennt. Jeder Datensatz besteht aus zwei
- * Datenfeldern, die durch ein Komma getrennt sind. Jedes Datenfeld besteht aus einem double-Wert.
+ * Datenfeldern, die durch ein Komma getrennt sind. Jedes Datenfeld besteht aus einem double-Wert. Beim Einlesen werden
+ * auch Zeilenumbrüche im Format <tt>\r\n</tt>, Semikolons als Trennzeichen und zusätzlicher Leerraum akzeptiert (siehe
+ * {@link CSVParser}).
  *
  * @author Th. K. Walter
  */
@@ -48,7 +50,8 @@ private static Logger logger = Logger.getLogger(CSVConverter.class.getName());
 /**
  * Diese Methode konvertiert eine Zeichenketten im CSV-Format in ein Feld von {@link Vector2D}-Objekten. Zwei Datensätze 
  * der Zeichenkette sind jeweils durch einen Zeilenumbruch getrennt. Jeder Datensatz besteht aus zwei Datenfeldern, die 
- * durch ein Komma getrennt sind. Jedes Datenfeld besteht aus einem double-Wert.
+ * durch ein Komma oder ein Semikolon getrennt sind. Jedes Datenfeld besteht aus einem double-Wert. Die Zeichenkette 
+ * wird in einem einzigen Durchlauf zerlegt (siehe {@link CSVParser}).
  *  
  * @param facesContext Das Kontext-Objekt
  * @param uiComponent Die UI-Komponente, welche die Quelle der Zeichenkette ist.
@@ -62,50 +65,63 @@ private static Logger logger = Logger.getLogger(CSVConverter.class.getName());
 @Override
 public Object getAsObject(FacesContext facesContext, UIComponent uiComponent, String eingabe)
    {
-   // Das Feld, das die Vektoren speichern soll, wird deklariert.
-   Vector2D[] vektoren = null;
+   // Die Zeichenkette wird in einem Durchlauf in die Felder der Komponenten zerlegt.
+   CSVParser parser = CSVConverter.parsen(facesContext, eingabe);
+   double[] x = parser.getX();
+   double[] y = parser.getY();
+   
+   // Das Feld, das die Vektoren speichern soll, wird erzeugt und gefüllt.
+   Vector2D[] vektoren = new Vector2D[parser.getAnzahl()];
+   for (int i = 0; i < vektoren.length; i++)
+      {
+      vektoren[i] = new Vector2D(x[i], y[i]);
+      }
    
+   // Das Feld, das die Vektoren speichert, wird zurückgegeben.
+   return vektoren;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode zerlegt eine Zeichenkette im CSV-Format mit dem {@link CSVParser}. Falls die Zeichenkette keinen 
+ * Datensatz enthält oder ein Datensatz nicht das richtige Format besitzt, wird eine Meldung für die Oberfläche erzeugt,
+ * die Zeile und Spalte des ersten Fehlers nennt, und eine {@link ConverterException} geworfen.
+ * 
+ * @param facesContext Das Kontext-Objekt
+ * @param eingabe Die Zeichenkette, die zerlegt werden soll.
+ * 
+ * @return Der Parser, der die gelesenen Datensätze enthält.
+ */
+public static CSVParser parsen(FacesContext facesContext, String eingabe)
+   {
    try
       {
-      // Die Zeichenkette wird in Zeilen zerlegt.
-      String[] zeilen = eingabe.trim().split("\n");
-      
-      // Das Feld, das die Vektoren speichern soll, wird erzeugt.
-      vektoren = new Vector2D[zeilen.length];
+      CSVParser parser = CSVParser.parsen(eingabe == null ? "" : eingabe);
       
-      // Einige Variablen und Referenzen werden deklariert.
-      String[] datenfelder = null;
-      double x = Double.NaN;
-      double y = Double.NaN;
-      
-      // In dieser Schleife werden die einzelnen Zeilen in Vektoren umgewandelt.
-      for (int i = 0; i < zeilen.length; i++)
+      // Falls die Zeichenkette keinen Datensatz enthält, wird eine Ausnahme geworfen.
+      if (parser.getAnzahl() == 0)
          {
-         // Die einzelnen Zeilen werden in Datenfelder zerlegt.
-         datenfelder = zeilen[i].split(",");
-         
-         // Die Zeichenketten der Datenfelder werden in double-Werte umgewandelt.
-         x = Double.parseDouble(datenfelder[0].trim());
-         y = Double.parseDouble(datenfelder[1].trim());
-         
-         // Ein Vektor wird erzeugt und dem Feld der Vektoren hinzugefügt.
-         vektoren[i] = new Vector2D(x, y);
-         
-         // Der Vektor wird protokolliert.
-         CSVConverter.logger.fine(vektoren[i].toString());
+         throw new CSVFormatausnahme(1, 1, "Es wurde kein Datensatz eingegeben");
          }
+      
+      return parser;
       }
    
    // Falls eine Ausnahme geworfen worden ist, wird diese behandelt.
-   catch (Exception exception)
+   catch (CSVFormatausnahme csvFormatausnahme)
       {
-      // Die Fehlermeldung für den Entwickler wird erzeugt und protokolliert.
-      String fehlermeldung = "Die eingegebene Zeichenkette ("+ eingabe + ") besitzt nicht das richtige Format!";
+      // Die Fehlermeldung für den Entwickler wird erzeugt und protokolliert. Die Eingabe selbst wird nicht 
+      // protokolliert, da sie sehr lang sein kann.
+      String fehlermeldung = "Die eingegebene Zeichenkette besitzt nicht das richtige Format! " + 
+         csvFormatausnahme.getMessage();
       CSVConverter.logger.log(Level.SEVERE, fehlermeldung);
       
       // Die Meldung für die Oberfläche und eine Ausnahme werden erzeugt und mit der Fehlermeldung für den Benutzer
       // initialisiert.
-      String jsfMeldung = "Die Messpunkte wurden nicht im korrekten Format eingegeben! " +
+      String jsfMeldung = "Die Messpunkte wurden nicht im korrekten Format eingegeben (Zeile " + 
+         csvFormatausnahme.getZeile() + ", Spalte " + csvFormatausnahme.getSpalte() + ")! " +
          "Korrigieren Sie bitte das Format ihrer Eingabe.";
       facesContext.addMessage(null, new FacesMessage(FacesMessage.SEVERITY_ERROR, jsfMeldung, ""));
       ConverterException converterException = new ConverterException(jsfMeldung);
@@ -113,9 +129,6 @@ public Object getAsObject(FacesContext facesContext, UIComponent uiComponent, St
       // Die ConverterException wird geworfen.
       throw converterException;
       }
-   
-   // Das Feld, das die Vektoren speichert, wird zurückgegeben.
-   return vektoren;
    }
 
 // =====================================================================================================================
@@ -138,8 +151,8 @@ public Object getAsObject(FacesContext facesContext, UIComponent uiComponent, St
 @Override
 public String getAsString(FacesContext facesContext, UIComponent uiComponent, Object vektoren)
    {
-   // Der StringBuffer wird mit einer leeren Zeichenkette initialisiert.
-   StringBuffer stringBuffer = new StringBuffer("");
+   // Der StringBuilder wird mit einer leeren Zeichenkette initialisiert.
+   StringBuilder stringBuilder = new StringBuilder();
    
    try
       {
@@ -149,10 +162,14 @@ public String getAsString(FacesContext facesContext, UIComponent uiComponent, Ob
          // Das übergebene Object wird in ein Feld von Vector2D-Objekten umgewandelt.
          Vector2D[] punkte = (Vector2D[]) vektoren;
          
-         // In dieser Schleife werden alle Vektoren zu einer Zeichenkette verknüpft.
+         // In dieser Schleife werden alle Vektoren zu einer Zeichenkette verknüpft. Die Zahlen werden in der 
+         // kürzesten Darstellung geschrieben, die wieder denselben Wert ergibt.
+         stringBuilder.ensureCapacity(24 * punkte.length);
+         Zahlformatierer zahlformatierer = new Zahlformatierer();
          for (Vector2D punkt : punkte)
             {
-            stringBuffer.append(punkt.getX()).append(", ").append(punkt.getY()).append("\n");
+            zahlformatierer.anhaengen(stringBuilder, punkt.getX()).append(", ");
+            zahlformatierer.anhaengen(stringBuilder, punkt.getY()).append('\n');
             }
          }
       }
@@ -170,7 +187,7 @@ public String getAsString(FacesContext facesContext, UIComponent uiComponent, Ob
       }
    
    // Die zusammengebaute Zeichenkette wird zurückgegeben.
-   return stringBuffer.toString();
+   return stringBuilder.toString();
    }
 
 }
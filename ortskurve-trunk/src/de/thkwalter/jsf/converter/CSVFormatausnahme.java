@@ -0,0 +1,103 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.jsf.converter;
+
+/**
+ * Diese Ausnahme wird vom {@link CSVParser} geworfen, falls ein Datensatz nicht das erwartete Format besitzt. Sie
+ * speichert die Zeile und die Spalte des ersten fehlerhaften Zeichens.
+ *
+ * @author Th. K. Walter
+ */
+public class CSVFormatausnahme extends IllegalArgumentException
+{
+/**
+ * Die Serialisierungsnummer
+ */
+private static final long serialVersionUID = 4385214009624981175L;
+
+/**
+ * Die Zeile des fehlerhaften Zeichens (beginnend mit 1)
+ */
+private final int zeile;
+
+/**
+ * Die Spalte des fehlerhaften Zeichens (beginnend mit 1)
+ */
+private final int spalte;
+
+/**
+ * Die Beschreibung des Fehlers
+ */
+private final String beschreibung;
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor erzeugt die Ausnahme.
+ *
+ * @param zeile Die Zeile des fehlerhaften Zeichens (beginnend mit 1)
+ * @param spalte Die Spalte des fehlerhaften Zeichens (beginnend mit 1)
+ * @param beschreibung Die Beschreibung des Fehlers
+ */
+public CSVFormatausnahme(int zeile, int spalte, String beschreibung)
+   {
+   super("Zeile " + zeile + ", Spalte " + spalte + ": " + beschreibung);
+
+   this.zeile = zeile;
+   this.spalte = spalte;
+   this.beschreibung = beschreibung;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Zeile des fehlerhaften Zeichens zurück.
+ *
+ * @return Die Zeile des fehlerhaften Zeichens (beginnend mit 1)
+ */
+public int getZeile()
+   {
+   return this.zeile;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Spalte des fehlerhaften Zeichens zurück.
+ *
+ * @return Die Spalte des fehlerhaften Zeichens (beginnend mit 1)
+ */
+public int getSpalte()
+   {
+   return this.spalte;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Beschreibung des Fehlers ohne Zeile und Spalte zurück.
+ *
+ * @return Die Beschreibung des Fehlers
+ */
+public String getBeschreibung()
+   {
+   return this.beschreibung;
+   }
+}
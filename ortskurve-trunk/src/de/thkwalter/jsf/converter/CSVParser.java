@@ -0,0 +1,781 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.jsf.converter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Dieser Parser zerlegt eine Zeichenfolge im CSV-Format in einem einzigen Durchlauf in Paare von double-Werten und
+ * speichert sie direkt in zwei Feldern primitiver double-Werte. Es werden weder Teilzeichenketten pro Zeile noch
+ * Objekte pro Datensatz erzeugt. Die Zeichen können in beliebigen Abschnitten übergeben werden, so dass auch Eingaben
+ * aus einem {@link java.io.Reader} verarbeitet werden können, ohne sie vollständig im Speicher zu halten.
+ * <p>
+ * Jeder Datensatz steht in einer eigenen Zeile und besteht aus zwei Zahlen. Zeilen können durch <tt>\n</tt>,
+ * <tt>\r\n</tt> oder <tt>\r</tt> getrennt sein. Die beiden Zahlen eines Datensatzes werden durch ein Komma, ein
+ * Semikolon oder nur durch Leerraum getrennt. Leerraum am Anfang und am Ende der Felder sowie leere Zeilen werden
+ * ignoriert. Beim ersten fehlerhaften Datensatz wird eine {@link CSVFormatausnahme} mit Zeile und Spalte geworfen.
+ *
+ * @author Th. K. Walter
+ */
+public final class CSVParser
+{
+/**
+ * Der Zustand am Anfang einer Zeile
+ */
+private static final int ZEILENANFANG = 0;
+
+/**
+ * Der Zustand innerhalb der x-Komponente
+ */
+private static final int X_KOMPONENTE = 1;
+
+/**
+ * Der Zustand nach der x-Komponente
+ */
+private static final int NACH_X_KOMPONENTE = 2;
+
+/**
+ * Der Zustand nach dem Trennzeichen
+ */
+private static final int NACH_TRENNZEICHEN = 3;
+
+/**
+ * Der Zustand innerhalb der y-Komponente
+ */
+private static final int Y_KOMPONENTE = 4;
+
+/**
+ * Der Zustand nach der y-Komponente
+ */
+private static final int NACH_Y_KOMPONENTE = 5;
+
+/**
+ * Die größte Anzahl signifikanter Ziffern, die in einem long-Wert gesammelt werden
+ */
+private static final int MAX_ZIFFERN = 18;
+
+/**
+ * Die größte Anzahl signifikanter Ziffern, die in einem double-Wert exakt dargestellt werden
+ */
+private static final int MAX_ZIFFERN_EXAKT = 15;
+
+/**
+ * Die Zehnerpotenzen, die in einem double-Wert exakt dargestellt werden
+ */
+static final double[] ZEHNERPOTENZEN = {1E0, 1E1, 1E2, 1E3, 1E4, 1E5, 1E6, 1E7, 1E8, 1E9, 1E10, 1E11, 1E12,
+   1E13, 1E14, 1E15, 1E16, 1E17, 1E18, 1E19, 1E20, 1E21, 1E22};
+
+/**
+ * Die Größe des Zeichenpuffers, mit dem aus einem {@link Reader} gelesen wird
+ */
+private static final int PUFFERGROESSE = 8192;
+
+/**
+ * Die x-Komponenten der gelesenen Datensätze
+ */
+private double[] x;
+
+/**
+ * Die y-Komponenten der gelesenen Datensätze
+ */
+private double[] y;
+
+/**
+ * Die Anzahl der gelesenen Datensätze
+ */
+private int anzahl;
+
+/**
+ * Die größte erlaubte Anzahl von Datensätzen
+ */
+private int hoechstanzahl;
+
+/**
+ * Der aktuelle Zustand des Parsers
+ */
+private int zustand;
+
+/**
+ * Die Zeichen der Zahl, die gerade gelesen wird
+ */
+private char[] zahl;
+
+/**
+ * Die Anzahl der Zeichen der Zahl, die gerade gelesen wird
+ */
+private int zahlLaenge;
+
+/**
+ * Die Spalte des ersten Zeichens der Zahl, die gerade gelesen wird
+ */
+private int zahlSpalte;
+
+/**
+ * Die x-Komponente des Datensatzes, der gerade gelesen wird
+ */
+private double xKomponente;
+
+/**
+ * Die aktuelle Zeile (beginnend mit 1)
+ */
+private int zeile;
+
+/**
+ * Die Spalte des zuletzt gelesenen Zeichens (beginnend mit 1)
+ */
+private int spalte;
+
+/**
+ * Der Indikator, ob das zuletzt gelesene Zeichen ein Wagenrücklauf war
+ */
+private boolean nachWagenruecklauf;
+
+/**
+ * Der Indikator, ob die Eingabe abgeschlossen ist
+ */
+private boolean abgeschlossen;
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Dieser Konstruktor erzeugt einen Parser mit der angegebenen Anfangskapazität.
+ *
+ * @param kapazitaet Die Anzahl der Datensätze, die ohne Vergrößerung der Felder gespeichert werden können.
+ */
+public CSVParser(int kapazitaet)
+   {
+   this.x = new double[Math.max(kapazitaet, 1)];
+   this.y = new double[Math.max(kapazitaet, 1)];
+   this.zahl = new char[32];
+   this.zeile = 1;
+   this.zustand = CSVParser.ZEILENANFANG;
+   this.hoechstanzahl = Integer.MAX_VALUE;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode legt die größte erlaubte Anzahl von Datensätzen fest. Der Datensatz, der diese Anzahl überschreitet,
+ * löst eine {@link CSVFormatausnahme} aus, bevor die Felder vergrößert werden.
+ *
+ * @param hoechstanzahl Die größte erlaubte Anzahl von Datensätzen
+ */
+public void setHoechstanzahl(int hoechstanzahl)
+   {
+   if (hoechstanzahl < 0)
+      {
+      throw new IllegalArgumentException("Die größte erlaubte Anzahl von Datensätzen darf nicht negativ sein!");
+      }
+
+   this.hoechstanzahl = hoechstanzahl;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode zerlegt die übergebene Zeichenfolge vollständig.
+ *
+ * @param eingabe Die Zeichenfolge im CSV-Format
+ *
+ * @return Der Parser, der die gelesenen Datensätze enthält.
+ *
+ * @throws CSVFormatausnahme Falls ein Datensatz nicht das erwartete Format besitzt.
+ */
+public static CSVParser parsen(CharSequence eingabe)
+   {
+   // Die Anfangskapazität wird aus der Länge der Eingabe grob abgeschätzt.
+   CSVParser parser = new CSVParser(Math.max(16, eingabe.length() / 16));
+
+   parser.verarbeiten(eingabe);
+   parser.abschliessen();
+
+   return parser;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode verarbeitet den nächsten Abschnitt der Eingabe.
+ *
+ * @param abschnitt Der nächste Abschnitt der Eingabe
+ *
+ * @throws CSVFormatausnahme Falls ein Datensatz nicht das erwartete Format besitzt.
+ */
+public void verarbeiten(CharSequence abschnitt)
+   {
+   this.offenPruefen();
+
+   int laenge = abschnitt.length();
+   for (int i = 0; i < laenge; i++)
+      {
+      this.zeichenVerarbeiten(abschnitt.charAt(i));
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode verarbeitet den nächsten Abschnitt der Eingabe, der in einem Zeichenpuffer übergeben wird.
+ *
+ * @param puffer Der Zeichenpuffer
+ * @param anfang Der Index des ersten Zeichens des Abschnitts
+ * @param laenge Die Anzahl der Zeichen des Abschnitts
+ *
+ * @throws CSVFormatausnahme Falls ein Datensatz nicht das erwartete Format besitzt.
+ */
+public void verarbeiten(char[] puffer, int anfang, int laenge)
+   {
+   this.offenPruefen();
+
+   int ende = anfang + laenge;
+   for (int i = anfang; i < ende; i++)
+      {
+      this.zeichenVerarbeiten(puffer[i]);
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode verarbeitet einen Zeichenstrom bis zu seinem Ende und schließt die Eingabe ab. Es wird nur ein
+ * Zeichenpuffer fester Größe verwendet. Der Zeichenstrom wird nicht geschlossen.
+ *
+ * @param zeichenstrom Der Zeichenstrom
+ *
+ * @throws IOException Falls der Zeichenstrom nicht gelesen werden kann.
+ * @throws CSVFormatausnahme Falls ein Datensatz nicht das erwartete Format besitzt.
+ */
+public void lesen(Reader zeichenstrom) throws IOException
+   {
+   char[] puffer = new char[CSVParser.PUFFERGROESSE];
+   int gelesen;
+   while ((gelesen = zeichenstrom.read(puffer)) != -1)
+      {
+      this.verarbeiten(puffer, 0, gelesen);
+      }
+   this.abschliessen();
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode schließt die Eingabe ab. Ein Datensatz in der letzten Zeile benötigt keinen Zeilenumbruch.
+ *
+ * @throws CSVFormatausnahme Falls der letzte Datensatz nicht das erwartete Format besitzt.
+ */
+public void abschliessen()
+   {
+   this.offenPruefen();
+
+   // Das Ende der Eingabe wird wie ein Zeilenende behandelt, das hinter dem letzten Zeichen steht.
+   this.spalte++;
+   this.zeilenendeVerarbeiten();
+   this.abgeschlossen = true;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode wirft eine Ausnahme, falls die Eingabe bereits abgeschlossen ist.
+ */
+private void offenPruefen()
+   {
+   if (this.abgeschlossen)
+      {
+      throw new IllegalStateException("Die Eingabe ist bereits abgeschlossen!");
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode verarbeitet ein einzelnes Zeichen der Eingabe.
+ *
+ * @param zeichen Das Zeichen
+ */
+private void zeichenVerarbeiten(char zeichen)
+   {
+   // Der Zeilenvorschub nach einem Wagenrücklauf gehört zum selben Zeilenumbruch.
+   if (this.nachWagenruecklauf)
+      {
+      this.nachWagenruecklauf = false;
+      if (zeichen == '\n')
+         {
+         return;
+         }
+      }
+
+   this.spalte++;
+
+   // Ein Zeilenumbruch schließt den aktuellen Datensatz ab.
+   if (zeichen == '\n' || zeichen == '\r')
+      {
+      this.zeilenendeVerarbeiten();
+      this.nachWagenruecklauf = zeichen == '\r';
+      this.zeile++;
+      this.spalte = 0;
+      return;
+      }
+
+   switch (this.zustand)
+      {
+      case CSVParser.ZEILENANFANG:
+         if (CSVParser.istZahlzeichen(zeichen))
+            {
+            this.zahlBeginnen(zeichen, CSVParser.X_KOMPONENTE);
+            }
+         else if (!CSVParser.istLeerraum(zeichen))
+            {
+            throw this.fehler(this.spalte, "Zahl erwartet statt '" + zeichen + "'");
+            }
+         break;
+
+      case CSVParser.X_KOMPONENTE:
+         if (CSVParser.istZahlzeichen(zeichen))
+            {
+            this.zahlFortsetzen(zeichen);
+            break;
+            }
+         this.xKomponente = this.zahlUmwandeln();
+         this.zustand = CSVParser.NACH_X_KOMPONENTE;
+         this.nachXKomponenteVerarbeiten(zeichen);
+         break;
+
+      case CSVParser.NACH_X_KOMPONENTE:
+         this.nachXKomponenteVerarbeiten(zeichen);
+         break;
+
+      case CSVParser.NACH_TRENNZEICHEN:
+         if (CSVParser.istZahlzeichen(zeichen))
+            {
+            this.zahlBeginnen(zeichen, CSVParser.Y_KOMPONENTE);
+            }
+         else if (!CSVParser.istLeerraum(zeichen))
+            {
+            throw this.fehler(this.spalte, "Zahl erwartet statt '" + zeichen + "'");
+            }
+         break;
+
+      case CSVParser.Y_KOMPONENTE:
+         if (CSVParser.istZahlzeichen(zeichen))
+            {
+            this.zahlFortsetzen(zeichen);
+            break;
+            }
+         this.datensatzSpeichern(this.zahlUmwandeln());
+         this.zustand = CSVParser.NACH_Y_KOMPONENTE;
+         this.nachYKomponenteVerarbeiten(zeichen);
+         break;
+
+      default:
+         this.nachYKomponenteVerarbeiten(zeichen);
+         break;
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode verarbeitet ein Zeichen, das nach der x-Komponente eines Datensatzes steht.
+ *
+ * @param zeichen Das Zeichen
+ */
+private void nachXKomponenteVerarbeiten(char zeichen)
+   {
+   if (zeichen == ',' || zeichen == ';')
+      {
+      this.zustand = CSVParser.NACH_TRENNZEICHEN;
+      }
+
+   // Die beiden Zahlen eines Datensatzes dürfen auch nur durch Leerraum getrennt sein.
+   else if (CSVParser.istZahlzeichen(zeichen))
+      {
+      this.zahlBeginnen(zeichen, CSVParser.Y_KOMPONENTE);
+      }
+   else if (!CSVParser.istLeerraum(zeichen))
+      {
+      throw this.fehler(this.spalte, "Trennzeichen erwartet statt '" + zeichen + "'");
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode verarbeitet ein Zeichen, das nach der y-Komponente eines Datensatzes steht.
+ *
+ * @param zeichen Das Zeichen
+ */
+private void nachYKomponenteVerarbeiten(char zeichen)
+   {
+   if (!CSVParser.istLeerraum(zeichen))
+      {
+      throw this.fehler(this.spalte, "Zeilenende erwartet statt '" + zeichen + "'");
+      }
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode schließt den Datensatz der aktuellen Zeile ab.
+ */
+private void zeilenendeVerarbeiten()
+   {
+   switch (this.zustand)
+      {
+      case CSVParser.X_KOMPONENTE:
+         this.zahlUmwandeln();
+         throw this.fehler(this.spalte, "Trennzeichen und y-Komponente erwartet");
+
+      case CSVParser.NACH_X_KOMPONENTE:
+         throw this.fehler(this.spalte, "Trennzeichen und y-Komponente erwartet");
+
+      case CSVParser.NACH_TRENNZEICHEN:
+         throw this.fehler(this.spalte, "y-Komponente erwartet");
+
+      case CSVParser.Y_KOMPONENTE:
+         this.datensatzSpeichern(this.zahlUmwandeln());
+         break;
+
+      default:
+         break;
+      }
+
+   this.zustand = CSVParser.ZEILENANFANG;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode beginnt eine neue Zahl.
+ *
+ * @param zeichen Das erste Zeichen der Zahl
+ * @param neuerZustand Der Zustand, der die Komponente der Zahl angibt.
+ */
+private void zahlBeginnen(char zeichen, int neuerZustand)
+   {
+   this.zahl[0] = zeichen;
+   this.zahlLaenge = 1;
+   this.zahlSpalte = this.spalte;
+   this.zustand = neuerZustand;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode hängt ein Zeichen an die Zahl an, die gerade gelesen wird.
+ *
+ * @param zeichen Das Zeichen
+ */
+private void zahlFortsetzen(char zeichen)
+   {
+   if (this.zahlLaenge == this.zahl.length)
+      {
+      this.zahl = Arrays.copyOf(this.zahl, 2 * this.zahl.length);
+      }
+   this.zahl[this.zahlLaenge++] = zeichen;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode wandelt die gelesenen Zeichen einer Zahl in einen double-Wert um. Zahlen mit höchstens 15
+ * signifikanten Ziffern und einem Zehnerexponenten zwischen -22 und 22 werden direkt aus Mantisse und Zehnerpotenz
+ * berechnet; da beide Werte exakt darstellbar sind, ist das Ergebnis korrekt gerundet. Alle anderen Zahlen werden
+ * nach der Prüfung der Syntax an {@link Double#parseDouble(String)} übergeben.
+ *
+ * @return Der double-Wert der Zahl
+ */
+private double zahlUmwandeln()
+   {
+   int i = 0;
+   boolean negativ = false;
+   if (this.zahl[0] == '+' || this.zahl[0] == '-')
+      {
+      negativ = this.zahl[0] == '-';
+      i++;
+      }
+
+   long mantisse = 0;
+   int ziffern = 0;
+   int exponent = 0;
+   boolean zifferGefunden = false;
+   boolean gekuerzt = false;
+
+   // Die Ziffern vor dem Dezimalpunkt werden gelesen. Führende Nullen zählen nicht als signifikante Ziffern.
+   for (; i < this.zahlLaenge && CSVParser.istZiffer(this.zahl[i]); i++)
+      {
+      zifferGefunden = true;
+      int ziffer = this.zahl[i] - '0';
+      if (mantisse == 0 && ziffer == 0)
+         {
+         continue;
+         }
+      if (ziffern < CSVParser.MAX_ZIFFERN)
+         {
+         mantisse = 10 * mantisse + ziffer;
+         ziffern++;
+         }
+      else
+         {
+         exponent++;
+         gekuerzt = true;
+         }
+      }
+
+   // Die Ziffern nach dem Dezimalpunkt werden gelesen.
+   if (i < this.zahlLaenge && this.zahl[i] == '.')
+      {
+      for (i++; i < this.zahlLaenge && CSVParser.istZiffer(this.zahl[i]); i++)
+         {
+         zifferGefunden = true;
+         int ziffer = this.zahl[i] - '0';
+         if (mantisse == 0 && ziffer == 0)
+            {
+            exponent--;
+            }
+         else if (ziffern < CSVParser.MAX_ZIFFERN)
+            {
+            mantisse = 10 * mantisse + ziffer;
+            ziffern++;
+            exponent--;
+            }
+         else
+            {
+            gekuerzt = true;
+            }
+         }
+      }
+
+   if (!zifferGefunden)
+      {
+      throw this.fehler(this.zahlSpalte + i, "Ziffer erwartet");
+      }
+
+   // Der Exponent wird gelesen.
+   if (i < this.zahlLaenge && (this.zahl[i] == 'e' || this.zahl[i] == 'E'))
+      {
+      i++;
+      boolean exponentNegativ = false;
+      if (i < this.zahlLaenge && (this.zahl[i] == '+' || this.zahl[i] == '-'))
+         {
+         exponentNegativ = this.zahl[i] == '-';
+         i++;
+         }
+      if (i == this.zahlLaenge || !CSVParser.istZiffer(this.zahl[i]))
+         {
+         throw this.fehler(this.zahlSpalte + i, "Ziffer im Exponenten erwartet");
+         }
+      int exponentWert = 0;
+      for (; i < this.zahlLaenge && CSVParser.istZiffer(this.zahl[i]); i++)
+         {
+         // Sehr große Exponenten werden begrenzt, damit kein Überlauf entsteht.
+         if (exponentWert < 100000)
+            {
+            exponentWert = 10 * exponentWert + this.zahl[i] - '0';
+            }
+         }
+      exponent += exponentNegativ ? -exponentWert : exponentWert;
+      }
+
+   if (i < this.zahlLaenge)
+      {
+      throw this.fehler(this.zahlSpalte + i, "Unerwartetes Zeichen '" + this.zahl[i] + "'");
+      }
+
+   double wert;
+   if (!gekuerzt && ziffern <= CSVParser.MAX_ZIFFERN_EXAKT && exponent >= -22 && exponent <= 22)
+      {
+      wert = exponent < 0 ? mantisse / CSVParser.ZEHNERPOTENZEN[-exponent] :
+         mantisse * CSVParser.ZEHNERPOTENZEN[exponent];
+      wert = negativ ? -wert : wert;
+      }
+   else
+      {
+      wert = Double.parseDouble(new String(this.zahl, 0, this.zahlLaenge));
+      }
+
+   if (Double.isInfinite(wert))
+      {
+      throw this.fehler(this.zahlSpalte, "Die Zahl liegt außerhalb des Wertebereichs");
+      }
+
+   return wert;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode speichert einen vollständig gelesenen Datensatz.
+ *
+ * @param yKomponente Die y-Komponente des Datensatzes
+ */
+private void datensatzSpeichern(double yKomponente)
+   {
+   // Falls die größte erlaubte Anzahl von Datensätzen überschritten wird, wird eine Ausnahme geworfen.
+   if (this.anzahl == this.hoechstanzahl)
+      {
+      throw this.fehler(this.spalte, "Es sind höchstens " + this.hoechstanzahl + " Datensätze erlaubt");
+      }
+
+   // Falls die Felder voll sind, werden sie vergrößert.
+   if (this.anzahl == this.x.length)
+      {
+      int neueKapazitaet = (int) Math.min((long) this.x.length + (this.x.length >> 1) + 1, this.hoechstanzahl);
+      this.x = Arrays.copyOf(this.x, neueKapazitaet);
+      this.y = Arrays.copyOf(this.y, neueKapazitaet);
+      }
+
+   this.x[this.anzahl] = this.xKomponente;
+   this.y[this.anzahl] = yKomponente;
+   this.anzahl++;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode erzeugt eine Ausnahme für einen Formatfehler in der aktuellen Zeile.
+ *
+ * @param fehlerspalte Die Spalte des fehlerhaften Zeichens
+ * @param beschreibung Die Beschreibung des Fehlers
+ *
+ * @return Die Ausnahme
+ */
+private CSVFormatausnahme fehler(int fehlerspalte, String beschreibung)
+   {
+   return new CSVFormatausnahme(this.zeile, fehlerspalte, beschreibung);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode prüft, ob das Zeichen Teil einer Zahl sein kann.
+ *
+ * @param zeichen Das Zeichen
+ *
+ * @return <tt>true</tt>, falls das Zeichen Teil einer Zahl sein kann.
+ */
+private static boolean istZahlzeichen(char zeichen)
+   {
+   return CSVParser.istZiffer(zeichen) || zeichen == '.' || zeichen == '-' || zeichen == '+' || zeichen == 'e' ||
+      zeichen == 'E';
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode prüft, ob das Zeichen eine Dezimalziffer ist.
+ *
+ * @param zeichen Das Zeichen
+ *
+ * @return <tt>true</tt>, falls das Zeichen eine Dezimalziffer ist.
+ */
+private static boolean istZiffer(char zeichen)
+   {
+   return zeichen >= '0' && zeichen <= '9';
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode prüft, ob das Zeichen Leerraum ist. Dazu zählen auch das geschützte Leerzeichen und die
+ * Byte-Order-Markierung, die beim Einfügen aus Tabellenkalkulationen oder am Anfang von Dateien auftreten.
+ *
+ * @param zeichen Das Zeichen
+ *
+ * @return <tt>true</tt>, falls das Zeichen Leerraum ist.
+ */
+private static boolean istLeerraum(char zeichen)
+   {
+   return zeichen == ' ' || zeichen == '\t' || zeichen == '\u00A0' || zeichen == '\uFEFF';
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die aktuelle Zeile zurück. Nach dem Abschluss der Eingabe ist das die Anzahl der Zeilenumbrüche
+ * plus eins.
+ *
+ * @return Die aktuelle Zeile (beginnend mit 1)
+ */
+public int getZeile()
+   {
+   return this.zeile;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die Anzahl der gelesenen Datensätze zurück.
+ *
+ * @return Die Anzahl der gelesenen Datensätze
+ */
+public int getAnzahl()
+   {
+   return this.anzahl;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die x-Komponenten der gelesenen Datensätze zurück. Das Feld wird nicht kopiert; es kann länger
+ * als die Anzahl der gelesenen Datensätze sein.
+ *
+ * @return Die x-Komponenten der gelesenen Datensätze
+ */
+public double[] getX()
+   {
+   return this.x;
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode gibt die y-Komponenten der gelesenen Datensätze zurück. Das Feld wird nicht kopiert; es kann länger
+ * als die Anzahl der gelesenen Datensätze sein.
+ *
+ * @return Die y-Komponenten der gelesenen Datensätze
+ */
+public double[] getY()
+   {
+   return this.y;
+   }
+}
@@ -0,0 +1,130 @@
+/**
+ *  Copyright 2013 Th. K. Walter, Nürnberg.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package de.thkwalter.jsf.converter;
+
+/**
+ * Dieser Formatierer hängt double-Werte in der kürzesten Dezimaldarstellung an einen {@link StringBuilder} an, die
+ * beim Einlesen wieder genau denselben double-Wert ergibt. Das Format entspricht dem von
+ * {@link Double#toString(double)}: Beträge zwischen 10<sup>-3</sup> und 10<sup>7</sup> werden ohne Exponent und mit
+ * mindestens einer Nachkommastelle geschrieben (z. B. <tt>2.11</tt>, <tt>-3.0</tt>), alle anderen Werte wie von
+ * {@link Double#toString(double)}.
+ * <p>
+ * Für Beträge ohne Exponent wird die kleinste Anzahl k von Nachkommastellen gesucht, für welche die auf k Stellen
+ * gerundete Zahl m &middot; 10<sup>-k</sup> wieder den Wert ergibt. Da m und 10<sup>k</sup> exakt als double-Werte
+ * darstellbar sind, ist die Division m / 10<sup>k</sup> korrekt gerundet und die Prüfung damit exakt. Die Ziffern
+ * werden in einen wiederverwendeten Zeichenpuffer geschrieben, so dass pro Wert keine Objekte erzeugt werden.
+ *
+ * @author Th. K. Walter
+ */
+public final class Zahlformatierer
+{
+/**
+ * Die kleinste Zahl, die nicht mehr exakt als ganzzahliger double-Wert dargestellt werden kann (2<sup>53</sup>)
+ */
+private static final double GRENZE_EXAKT = 9007199254740992.0;
+
+/**
+ * Die größte Anzahl von Nachkommastellen, die ohne Exponent geschrieben werden
+ */
+private static final int MAX_NACHKOMMASTELLEN = 17;
+
+/**
+ * Der kleinste Betrag, der ohne Exponent geschrieben wird
+ */
+private static final double UNTERE_GRENZE = 1E-3;
+
+/**
+ * Der kleinste Betrag, der wieder mit Exponent geschrieben wird
+ */
+private static final double OBERE_GRENZE = 1E7;
+
+/**
+ * Der Zeichenpuffer für die Ziffern einer Zahl
+ */
+private final char[] ziffern = new char[20];
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode hängt die kürzeste Dezimaldarstellung des double-Werts an.
+ *
+ * @param ziel Der {@link StringBuilder}, an den die Darstellung angehängt wird.
+ * @param wert Der double-Wert
+ *
+ * @return Der übergebene {@link StringBuilder}
+ */
+public StringBuilder anhaengen(StringBuilder ziel, double wert)
+   {
+   double betrag = Math.abs(wert);
+   if (betrag >= Zahlformatierer.UNTERE_GRENZE && betrag < Zahlformatierer.OBERE_GRENZE)
+      {
+      // Die kleinste Anzahl von Nachkommastellen, mit der die Zahl wieder genau den Wert ergibt, wird gesucht.
+      for (int k = 0; k <= Zahlformatierer.MAX_NACHKOMMASTELLEN; k++)
+         {
+         double skaliert = betrag * CSVParser.ZEHNERPOTENZEN[k];
+         if (skaliert >= Zahlformatierer.GRENZE_EXAKT)
+            {
+            break;
+            }
+         double mantisse = Math.rint(skaliert);
+         if (mantisse / CSVParser.ZEHNERPOTENZEN[k] == betrag)
+            {
+            if (wert < 0.0)
+               {
+               ziel.append('-');
+               }
+            return this.festkommaAnhaengen(ziel, (long) mantisse, k);
+            }
+         }
+      }
+
+   // Alle übrigen Werte (auch 0, NaN und unendliche Werte) werden wie von Double.toString() geschrieben.
+   return ziel.append(wert);
+   }
+
+// =====================================================================================================================
+// =====================================================================================================================
+
+/**
+ * Diese Methode hängt die Zahl m &middot; 10<sup>-k</sup> ohne Exponent an.
+ *
+ * @param ziel Der {@link StringBuilder}, an den die Zahl angehängt wird.
+ * @param mantisse Die ganzzahlige Mantisse m
+ * @param nachkommastellen Die Anzahl k der Nachkommastellen
+ *
+ * @return Der übergebene {@link StringBuilder}
+ */
+private StringBuilder festkommaAnhaengen(StringBuilder ziel, long mantisse, int nachkommastellen)
+   {
+   // Die Ziffern werden von hinten in den Zeichenpuffer geschrieben, mindestens eine Ziffer vor dem Komma.
+   int anfang = this.ziffern.length;
+   do
+      {
+      this.ziffern[--anfang] = (char) ('0' + mantisse % 10);
+      mantisse /= 10;
+      }
+   while (mantisse != 0 || this.ziffern.length - anfang <= nachkommastellen);
+
+   int komma = this.ziffern.length - nachkommastellen;
+   ziel.append(this.ziffern, anfang, komma - anfang).append('.');
+   if (nachkommastellen == 0)
+      {
+      return ziel.append('0');
+      }
+   return ziel.append(this.ziffern, komma, nachkommastellen);
+   }
+}